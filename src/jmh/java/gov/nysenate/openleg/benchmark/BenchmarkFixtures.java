@@ -0,0 +1,93 @@
+package gov.nysenate.openleg.benchmark;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Helpers for loading the checked in benchmark fixtures and standing in for the services
+ * that the benchmarked code would normally have wired in by Spring.
+ *
+ * Only real source data is checked in as a fixture. Benchmarks over LBDC files that are not in the repository,
+ * such as law dumps and floor transcripts, take the path of a real file as a JMH parameter instead.
+ */
+public class BenchmarkFixtures
+{
+    /** Fixtures are stored under this directory in src/jmh/resources. */
+    private static final String FIXTURE_DIR = "benchmark/";
+
+    private BenchmarkFixtures() {}
+
+    /**
+     * Returns a handle to the fixture file at the given path, relative to the fixture directory.
+     * An absolute path is used as is, so that real source files can be passed in as parameters.
+     */
+    public static File getFile(String path) {
+        File file = new File(path);
+        if (file.isAbsolute()) {
+            if (!file.isFile()) {
+                throw new IllegalArgumentException("No benchmark sample found at " + path);
+            }
+            return file;
+        }
+        URL url = BenchmarkFixtures.class.getClassLoader().getResource(FIXTURE_DIR + path);
+        if (url == null) {
+            throw new IllegalArgumentException("No benchmark fixture found at " + path);
+        }
+        try {
+            return new File(url.toURI());
+        }
+        catch (URISyntaxException ex) {
+            throw new IllegalArgumentException("Invalid benchmark fixture path " + path, ex);
+        }
+    }
+
+    /**
+     * Returns a handle to the real source file passed in with the given JMH parameter.
+     *
+     * @param path String - The value of the parameter
+     * @param param String - The name of the parameter
+     * @param description String - Describes the expected file, e.g. "law dump"
+     * @throws IllegalStateException - If the parameter was not set
+     */
+    public static File getSample(String path, String param, String description) {
+        if (path == null || path.trim().isEmpty()) {
+            throw new IllegalStateException("No " + description + " is checked in, pass the path of a real one with -p " +
+                                            param + "=<path>");
+        }
+        return getFile(path.trim());
+    }
+
+    /**
+     * Reads the UTF-8 text of the fixture file at the given path.
+     */
+    public static String readText(String path) throws IOException {
+        return FileUtils.readFileToString(getFile(path), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates a stub implementation of the given interface. Calls to methods named in the answer map are
+     * delegated to the matching function, all other methods return null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals": return proxy == args[0];
+                    case "hashCode": return System.identityHashCode(proxy);
+                    default: return "Stub " + type.getSimpleName();
+                }
+            }
+            Function<Object[], Object> answer = answers.get(method.getName());
+            return (answer != null) ? answer.apply(args) : null;
+        });
+    }
+}
@@ -0,0 +1,133 @@
+package gov.nysenate.openleg.client.view.bill;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import gov.nysenate.openleg.benchmark.BenchmarkFixtures;
+import gov.nysenate.openleg.config.ApplicationConfig;
+import gov.nysenate.openleg.model.base.PublishStatus;
+import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.*;
+import gov.nysenate.openleg.model.entity.Chamber;
+import gov.nysenate.openleg.model.entity.SessionMember;
+import gov.nysenate.openleg.service.bill.data.BillDataService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures constructing and serializing the bill views returned by the bill API. The bill has two amendments
+ * carrying the full text fixtures along with a typical number of actions, sponsors and votes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BillViewSerializationBenchmark
+{
+    private ObjectMapper objectMapper;
+    private BillDataService billDataService;
+    private Bill bill;
+    private BillView billView;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ApplicationConfig().objectMapper();
+        billDataService = BenchmarkFixtures.stub(BillDataService.class, ImmutableMap.of(
+            "getBillInfo", args -> getRefBill((BaseBillId) args[0]).getBillInfo(),
+            "getBillInfos", args -> ((Collection<?>) args[0]).stream()
+                .map(billId -> getRefBill((BaseBillId) billId).getBillInfo())
+                .collect(Collectors.toList())));
+        bill = getTestBill();
+        billView = new BillView(bill);
+    }
+
+    @Benchmark
+    public byte[] serializeBillView() throws Exception {
+        return objectMapper.writeValueAsBytes(billView);
+    }
+
+    @Benchmark
+    public byte[] createAndSerializeBillView() throws Exception {
+        return objectMapper.writeValueAsBytes(new BillView(bill));
+    }
+
+    @Benchmark
+    public byte[] createAndSerializeDetailBillView() throws Exception {
+        return objectMapper.writeValueAsBytes(new DetailBillView(bill, billDataService));
+    }
+
+    /** --- Internal --- */
+
+    private Bill getTestBill() throws Exception {
+        LocalDateTime published = LocalDateTime.of(2014, 5, 9, 12, 47, 6);
+        BaseBillId baseBillId = new BaseBillId("S7300", 2013);
+        Version amendVersion = Version.of("A");
+        List<SessionMember> members = getMembers(40);
+
+        Bill bill = new Bill(baseBillId);
+        bill.setTitle("Relates to the filing of rate applications by insurers for coverage in the individual market");
+        bill.setSummary("Amends the insurance law in relation to rate applications for individual health insurance.");
+        bill.setPublishedDateTime(published);
+        bill.setModifiedDateTime(published.plusDays(30));
+        bill.setSponsor(new BillSponsor(members.get(0)));
+        bill.addDirectPreviousVersion(new BillId("S5512", 2011));
+        bill.setAllPreviousVersions(bill.getDirectPreviousVersions());
+
+        // Only the original text is checked in, it stands in for the amendment's text as well
+        String fullText = BenchmarkFixtures.readText("bill/S7300.txt");
+        Version[] versions = {Version.DEFAULT, amendVersion};
+        for (int i = 0; i < versions.length; i++) {
+            BillAmendment amendment = new BillAmendment(baseBillId, versions[i]);
+            amendment.setFullText(fullText);
+            amendment.setActClause("AN ACT to amend the insurance law, in relation to rate applications");
+            amendment.setLawSection("Insurance Law");
+            amendment.setLaw("Amd S2119, Ins L");
+            amendment.setCoSponsors(members.subList(1, 20));
+            amendment.setMultiSponsors(new ArrayList<>());
+            amendment.getSameAs().add(new BillId("A9642", SessionYear.of(2013), versions[i]));
+            BillVote vote = new BillVote(amendment.getBillId(), LocalDate.of(2014, 6, 2 + i), BillVoteType.FLOOR);
+            members.forEach(member -> vote.addMemberVote(BillVoteCode.AYE, member));
+            amendment.updateVote(vote);
+            bill.addAmendment(amendment);
+            bill.updatePublishStatus(versions[i], new PublishStatus(true, published.plusDays(i * 20)));
+        }
+        bill.setActiveVersion(amendVersion);
+
+        for (int i = 0; i < 12; i++) {
+            Version version = (i < 6) ? Version.DEFAULT : amendVersion;
+            bill.addAction(new BillAction(LocalDate.of(2014, 5, 9).plusDays(i * 3), "AMEND AND RECOMMIT TO INSURANCE",
+                                          Chamber.SENATE, i + 1, new BillId(baseBillId, version)));
+        }
+        bill.setStatus(new BillStatus(BillStatusType.PASSED_SENATE, LocalDate.of(2014, 6, 3)));
+        return bill;
+    }
+
+    private static Bill getRefBill(BaseBillId baseBillId) {
+        Bill refBill = new Bill(baseBillId);
+        refBill.setTitle("Reference bill " + baseBillId);
+        refBill.addAmendment(new BillAmendment(baseBillId, Version.DEFAULT));
+        refBill.setActiveVersion(Version.DEFAULT);
+        return refBill;
+    }
+
+    private static List<SessionMember> getMembers(int count) {
+        List<SessionMember> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            SessionMember member = new SessionMember(1000 + i, SessionYear.of(2013));
+            member.setLbdcShortName("MEMBER" + i);
+            member.setFullName("Member Number " + i);
+            member.setChamber(Chamber.SENATE);
+            members.add(member);
+        }
+        return members;
+    }
+}
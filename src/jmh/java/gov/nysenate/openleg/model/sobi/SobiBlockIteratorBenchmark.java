@@ -0,0 +1,101 @@
+package gov.nysenate.openleg.model.sobi;
+
+import com.google.common.base.Strings;
+import gov.nysenate.openleg.benchmark.BenchmarkFixtures;
+import gov.nysenate.openleg.processor.sobi.SobiFragmentSplitter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.stream.Collectors;
+
+/**
+ * Compares reading the blocks of the recorded SOBI bill fragments, repeated to the size of a large batch of
+ * bill updates, using the SobiBlockIterator against the previous approach of splitting the fragment into lines
+ * and matching each line against SobiBlock.blockPattern.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SobiBlockIteratorBenchmark
+{
+    private static final int FRAGMENT_REPEATS = 200;
+
+    private SobiFragment billFragment;
+
+    @Setup
+    public void setUp() throws Exception {
+        SobiFile sobiFile = new SobiFile(BenchmarkFixtures.getFile("sobi/SOBI.D140509.T124706.TXT"));
+        String billText = new SobiFragmentSplitter(sobiFile).split().stream()
+            .filter(fragment -> fragment.getType() == SobiFragmentType.BILL)
+            .map(SobiFragment::getText)
+            .collect(Collectors.joining("\n"));
+        billFragment = new SobiFragment(sobiFile, SobiFragmentType.BILL,
+                                        Strings.repeat(billText + "\n", FRAGMENT_REPEATS), 1);
+    }
+
+    @Benchmark
+    public void blockIterator(Blackhole blackhole) {
+        Iterator<SobiBlock> blocks = billFragment.getSobiBlockIterator();
+        while (blocks.hasNext()) {
+            blackhole.consume(blocks.next().getData());
+        }
+    }
+
+    @Benchmark
+    public void lineSplitRegex(Blackhole blackhole) {
+        for (SobiBlock block : splitBlocks(billFragment)) {
+            blackhole.consume(block.getData());
+        }
+    }
+
+    /**
+     * The line split and regex based block parsing that the SobiBlockIterator replaced.
+     */
+    private static List<SobiBlock> splitBlocks(SobiFragment fragment) {
+        String fragmentId = fragment.getFragmentId();
+        SobiFragmentType type = fragment.getType();
+        List<SobiBlock> blocks = new ArrayList<>();
+        SobiBlock block = null;
+        List<String> lines = new ArrayList<>(Arrays.asList(fragment.getText().split("\\r?\\n")));
+        lines.add("");
+        for (int lineNo = 0; lineNo < lines.size(); lineNo++) {
+            String line = lines.get(lineNo).replace('\0', ' ');
+            Matcher headerMatcher = SobiBlock.blockPattern.matcher(line);
+            if (headerMatcher.find()) {
+                if (block == null) {
+                    block = new SobiBlock(fragmentId, type, lineNo, line);
+                }
+                else if (block.getHeader().equals(headerMatcher.group()) && block.isMultiline()) {
+                    block.extend(line);
+                }
+                else {
+                    block.setEndLineNo(lineNo - 1);
+                    blocks.add(block);
+                    SobiBlock newBlock = new SobiBlock(fragmentId, type, lineNo, line);
+                    if (newBlock.getBillHeader().equals(block.getBillHeader())) {
+                        if (newBlock.getType().equals(SobiLineType.SUMMARY) && !block.getType().equals(SobiLineType.LAW)) {
+                            blocks.add(new SobiBlock(fragmentId, type, lineNo,
+                                                     block.getBillHeader() + SobiLineType.LAW.getTypeCode()));
+                        }
+                    }
+                    block = newBlock;
+                }
+            }
+            else if (block != null) {
+                block.setEndLineNo(lineNo - 1);
+                blocks.add(block);
+                block = null;
+            }
+        }
+        return blocks;
+    }
+}
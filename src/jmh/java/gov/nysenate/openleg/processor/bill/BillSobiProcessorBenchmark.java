@@ -0,0 +1,80 @@
+package gov.nysenate.openleg.processor.bill;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.eventbus.EventBus;
+import gov.nysenate.openleg.benchmark.BenchmarkFixtures;
+import gov.nysenate.openleg.config.Environment;
+import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.entity.Chamber;
+import gov.nysenate.openleg.model.entity.SessionMember;
+import gov.nysenate.openleg.model.sobi.SobiFile;
+import gov.nysenate.openleg.model.sobi.SobiFragment;
+import gov.nysenate.openleg.model.sobi.SobiFragmentType;
+import gov.nysenate.openleg.processor.base.IngestCache;
+import gov.nysenate.openleg.processor.sobi.SobiFragmentSplitter;
+import gov.nysenate.openleg.service.bill.data.BillDataService;
+import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
+import gov.nysenate.openleg.service.entity.member.data.MemberService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures applying a recorded SOBI bill fragment with the BillSobiProcessor. Bills are always created from
+ * scratch and kept in the ingest cache, which is cleared after each invocation, so nothing is persisted.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BillSobiProcessorBenchmark
+{
+    private BillSobiProcessor billSobiProcessor;
+    private IngestCache<BaseBillId, Bill, SobiFragment> billIngestCache;
+    private SobiFragment billFragment;
+
+    @Setup
+    public void setUp() throws Exception {
+        SobiFile sobiFile = new SobiFile(BenchmarkFixtures.getFile("sobi/SOBI.D140509.T124706.TXT"));
+        billFragment = new SobiFragmentSplitter(sobiFile).split().stream()
+            .filter(fragment -> fragment.getType() == SobiFragmentType.BILL)
+            .findFirst().orElseThrow(() -> new IllegalStateException("Fixture has no bill fragment"));
+
+        Environment env = new Environment();
+        env.setSobiBatchEnabled(true);
+        env.setSobiParallelEnabled(false);
+
+        billIngestCache = new IngestCache<>(Integer.MAX_VALUE);
+        billSobiProcessor = new BillSobiProcessor();
+        ReflectionTestUtils.setField(billSobiProcessor, "env", env);
+        ReflectionTestUtils.setField(billSobiProcessor, "eventBus", new EventBus());
+        ReflectionTestUtils.setField(billSobiProcessor, "billIngestCache", billIngestCache);
+        ReflectionTestUtils.setField(billSobiProcessor, "billDataService", BenchmarkFixtures.stub(BillDataService.class,
+            ImmutableMap.of("getBill", args -> { throw new BillNotFoundEx((BaseBillId) args[0], null); },
+                            "getBills", args -> Collections.emptyList())));
+        ReflectionTestUtils.setField(billSobiProcessor, "memberService", BenchmarkFixtures.stub(MemberService.class,
+            ImmutableMap.of("getMemberByShortNameEnsured",
+                            args -> getMember((String) args[0], (SessionYear) args[1], (Chamber) args[2]))));
+    }
+
+    @Benchmark
+    public void process(Blackhole blackhole) {
+        billSobiProcessor.process(billFragment);
+        billIngestCache.getCurrentCache().forEach(entry -> blackhole.consume(entry.getLeft()));
+        billIngestCache.clearCache();
+    }
+
+    private static SessionMember getMember(String shortName, SessionYear sessionYear, Chamber chamber) {
+        SessionMember member = new SessionMember(shortName.hashCode(), sessionYear);
+        member.setLbdcShortName(shortName);
+        member.setChamber(chamber);
+        return member;
+    }
+}
@@ -0,0 +1,51 @@
+package gov.nysenate.openleg.processor.law;
+
+import gov.nysenate.openleg.benchmark.BenchmarkFixtures;
+import gov.nysenate.openleg.model.law.LawFile;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures extracting the law blocks from a law dump, either from the memory mapped file or line by line.
+ * No law dump is checked in, so a real one, e.g. a few laws cut from DATABASE.LAWS, has to be passed in with
+ * -p lawFilePath=/path/to/DATABASE.LAWS. The file name must be that of an initial dump or an update.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class LawProcessorBenchmark
+{
+    /** Absolute path of the law file. */
+    @Param({""})
+    private String lawFilePath;
+
+    private LawProcessor lawProcessor;
+    private LawFile lawFile;
+
+    @Setup
+    public void setUp() {
+        lawProcessor = new LawProcessor();
+        lawFile = new LawFile(BenchmarkFixtures.getSample(lawFilePath, "lawFilePath", "law dump"));
+    }
+
+    @Benchmark
+    public List<LawBlock> getLawBlocks() throws Exception {
+        return lawProcessor.getLawBlocks(lawFile);
+    }
+
+    @Benchmark
+    public void getLawBlocksWithText(Blackhole blackhole) throws Exception {
+        lawProcessor.readLawBlocks(lawFile, block -> blackhole.consume(block.getText()));
+    }
+
+    @Benchmark
+    public void getLawBlocksByLine(Blackhole blackhole) throws Exception {
+        lawProcessor.readLawBlocksByLine(lawFile, block -> blackhole.consume(block.getText()));
+    }
+}
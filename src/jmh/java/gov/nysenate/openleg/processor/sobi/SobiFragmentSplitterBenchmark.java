@@ -0,0 +1,33 @@
+package gov.nysenate.openleg.processor.sobi;
+
+import gov.nysenate.openleg.benchmark.BenchmarkFixtures;
+import gov.nysenate.openleg.model.sobi.SobiFile;
+import gov.nysenate.openleg.model.sobi.SobiFragment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures splitting a recorded SOBI file into fragments, i.e. ManagedSobiProcessService.createFragments.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SobiFragmentSplitterBenchmark
+{
+    private SobiFile sobiFile;
+
+    @Setup
+    public void setUp() throws Exception {
+        sobiFile = new SobiFile(BenchmarkFixtures.getFile("sobi/SOBI.D140509.T124706.TXT"));
+    }
+
+    @Benchmark
+    public List<SobiFragment> createFragments() throws Exception {
+        return new SobiFragmentSplitter(sobiFile).split();
+    }
+}
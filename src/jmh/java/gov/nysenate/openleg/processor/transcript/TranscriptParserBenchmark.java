@@ -0,0 +1,50 @@
+package gov.nysenate.openleg.processor.transcript;
+
+import com.google.common.collect.ImmutableMap;
+import gov.nysenate.openleg.benchmark.BenchmarkFixtures;
+import gov.nysenate.openleg.model.transcript.Transcript;
+import gov.nysenate.openleg.model.transcript.TranscriptFile;
+import gov.nysenate.openleg.service.transcript.data.TranscriptDataService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing a floor transcript. The parsed transcript is handed to a stub data service instead of being
+ * saved. No floor transcript is checked in, so a real one has to be passed in with
+ * -p transcriptFilePath=/path/to/transcript, e.g. a file from the transcript archive directory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TranscriptParserBenchmark
+{
+    /** Absolute path of the transcript file. */
+    @Param({""})
+    private String transcriptFilePath;
+
+    private TranscriptParser transcriptParser;
+    private TranscriptFile transcriptFile;
+    private Transcript parsed;
+
+    @Setup
+    public void setUp() throws Exception {
+        transcriptParser = new TranscriptParser();
+        TranscriptDataService dataService = BenchmarkFixtures.stub(TranscriptDataService.class,
+            ImmutableMap.of("saveTranscript", args -> parsed = (Transcript) args[0]));
+        ReflectionTestUtils.setField(transcriptParser, "transcriptDataService", dataService);
+        transcriptFile = new TranscriptFile(
+            BenchmarkFixtures.getSample(transcriptFilePath, "transcriptFilePath", "floor transcript"));
+    }
+
+    @Benchmark
+    public void process(Blackhole blackhole) throws Exception {
+        transcriptParser.process(transcriptFile);
+        blackhole.consume(parsed);
+    }
+}
@@ -0,0 +1,53 @@
+package gov.nysenate.openleg.util;
+
+import gov.nysenate.openleg.benchmark.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures diffing the full text of a bill against its amendment. The original is the text of S7300 from the
+ * recorded SOBI file. Its amendment is not checked in, so the amended text has to be passed in with
+ * -p amended=/path/to/S7300A.txt, e.g. from a later SOBI or the bill text api.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StringDifferBenchmark
+{
+    /** Fixture path or absolute path of the original text. */
+    @Param({"bill/S7300.txt"})
+    private String original;
+
+    /** Absolute path of the amended text. */
+    @Param({""})
+    private String amended;
+
+    private StringDiffer stringDiffer;
+    private String originalText;
+    private String amendedText;
+
+    @Setup
+    public void setUp() throws Exception {
+        stringDiffer = new StringDiffer();
+        originalText = BenchmarkFixtures.readText(original);
+        amendedText = BenchmarkFixtures.readText(
+            BenchmarkFixtures.getSample(amended, "amended", "amended bill text").getPath());
+    }
+
+    @Benchmark
+    public LinkedList<StringDiffer.Diff> diffMain() {
+        return stringDiffer.diff_main(originalText, amendedText);
+    }
+
+    @Benchmark
+    public LinkedList<StringDiffer.Diff> diffMainSemanticCleanup() {
+        LinkedList<StringDiffer.Diff> diffs = stringDiffer.diff_main(originalText, amendedText);
+        stringDiffer.diff_cleanupSemantic(diffs);
+        return diffs;
+    }
+}
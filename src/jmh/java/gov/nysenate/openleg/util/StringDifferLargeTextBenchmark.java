@@ -0,0 +1,82 @@
+package gov.nysenate.openleg.util;
+
+import gov.nysenate.openleg.benchmark.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the diff modes on texts the size of an omnibus budget bill.
+ *
+ * No text of that size is checked in, so the original has to be passed in with -p original=/path/to/text, e.g. a
+ * budget bill or a law dump. By default the amended text is derived from it by rewording, dropping and inserting
+ * lines throughout. A real amendment can be compared instead with -p amended=/path/to/text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StringDifferLargeTextBenchmark
+{
+    /** Absolute path of the original text. */
+    @Param({""})
+    private String original;
+
+    /** Absolute path of the amended text, or blank to derive it from the original. */
+    @Param({""})
+    private String amended;
+
+    private StringDiffer stringDiffer;
+    private String originalText;
+    private String amendedText;
+
+    @Setup
+    public void setUp() throws Exception {
+        stringDiffer = new StringDiffer();
+        // Measure the full diff rather than however much fits in the default timeout.
+        stringDiffer.Diff_Timeout = 0;
+        originalText = BenchmarkFixtures.readText(
+            BenchmarkFixtures.getSample(original, "original", "omnibus sized text").getPath());
+        amendedText = amended.isEmpty() ? amend(originalText) : BenchmarkFixtures.readText(amended);
+    }
+
+    private static String amend(String text) {
+        StringBuilder amendedText = new StringBuilder(text.length());
+        String[] lines = text.split("\n", -1);
+        for (int i = 0; i < lines.length; i++) {
+            if (i % 97 == 0) {
+                amendedText.append(lines[i].replace(" the ", " such ")).append('\n');
+            }
+            else if (i % 211 == 0) {
+                amendedText.append("  NEW MATTER INSERTED BY AMENDMENT ").append(i).append('\n');
+            }
+            else if (i % 353 != 0) {
+                amendedText.append(lines[i]).append('\n');
+            }
+        }
+        return amendedText.toString();
+    }
+
+    @Benchmark
+    public LinkedList<StringDiffer.Diff> diffMain() {
+        return stringDiffer.diff_main(originalText, amendedText);
+    }
+
+    @Benchmark
+    public LinkedList<StringDiffer.Diff> diffLines() {
+        return stringDiffer.diff_tokens(originalText, amendedText, StringDiffer.TokenMode.LINE);
+    }
+
+    @Benchmark
+    public LinkedList<StringDiffer.Diff> diffWords() {
+        return stringDiffer.diff_tokens(originalText, amendedText, StringDiffer.TokenMode.WORD);
+    }
+
+    @Benchmark
+    public LinkedList<StringDiffer.Diff> diffParallel() {
+        return stringDiffer.diff_parallel(originalText, amendedText);
+    }
+}
@@ -0,0 +1,81 @@
+package gov.nysenate.openleg.util;
+
+import gov.nysenate.openleg.benchmark.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares extracting the calendar entries of a senate calendar xml document using the DOM/XPath based
+ * XmlHelper against the StaxXmlParser with precompiled XmlPaths.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class XmlExtractionBenchmark
+{
+    private static final XmlPath CALENDAR = XmlPath.compile("SENATEDATA/sencalendar");
+    private static final XmlPath SESSION_YEAR = XmlPath.compile("@sessyr");
+    private static final XmlPath SUPPLEMENTALS = XmlPath.compile("supplemental");
+    private static final XmlPath CAL_DATE = XmlPath.compile("caldate/text()");
+    private static final XmlPath CAL_NOS = XmlPath.compile("sections/section/calnos/calno");
+    private static final XmlPath CAL_NO = XmlPath.compile("@no");
+    private static final XmlPath BILL_NO = XmlPath.compile("bill/@no");
+    private static final XmlPath SPONSOR = XmlPath.compile("bill/@sponsor");
+    private static final XmlPath SUB_BILL_NO = XmlPath.compile("subbill/@no");
+
+    private String calendarXml;
+    private XmlHelper xmlHelper;
+    private StaxXmlParser staxXmlParser;
+
+    @Setup
+    public void setUp() throws Exception {
+        calendarXml = BenchmarkFixtures.readText("xml/sencalendar.xml");
+        xmlHelper = new XmlHelper();
+        staxXmlParser = new StaxXmlParser();
+    }
+
+    @Benchmark
+    public List<String> domXPath() throws Exception {
+        List<String> entries = new ArrayList<>();
+        Document doc = xmlHelper.parse(calendarXml);
+        Node calendar = xmlHelper.getNode("SENATEDATA/sencalendar", doc);
+        int sessionYear = xmlHelper.getInteger("@sessyr", calendar);
+        NodeList supplementals = xmlHelper.getNodeList("supplemental", calendar);
+        for (int i = 0; i < supplementals.getLength(); i++) {
+            Node supplemental = supplementals.item(i);
+            String calDate = xmlHelper.getString("caldate/text()", supplemental);
+            NodeList calNos = xmlHelper.getNodeList("sections/section/calnos/calno", supplemental);
+            for (int j = 0; j < calNos.getLength(); j++) {
+                Node calNo = calNos.item(j);
+                entries.add(sessionYear + calDate + xmlHelper.getString("@no", calNo)
+                    + xmlHelper.getString("bill/@no", calNo) + xmlHelper.getString("bill/@sponsor", calNo)
+                    + xmlHelper.getString("subbill/@no", calNo));
+            }
+        }
+        return entries;
+    }
+
+    @Benchmark
+    public List<String> staxXmlPath() throws Exception {
+        List<String> entries = new ArrayList<>();
+        XmlElement calendar = staxXmlParser.parse(calendarXml).getRequiredElement(CALENDAR);
+        int sessionYear = calendar.getInteger(SESSION_YEAR);
+        for (XmlElement supplemental : calendar.getElements(SUPPLEMENTALS)) {
+            String calDate = supplemental.getString(CAL_DATE);
+            for (XmlElement calNo : supplemental.getElements(CAL_NOS)) {
+                entries.add(sessionYear + calDate + calNo.getString(CAL_NO) + calNo.getString(BILL_NO)
+                    + calNo.getString(SPONSOR) + calNo.getString(SUB_BILL_NO));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,66 @@
+package gov.nysenate.openleg.client.response.base;
+
+import com.google.common.collect.Range;
+import gov.nysenate.openleg.client.view.base.ListView;
+import gov.nysenate.openleg.client.view.base.StreamingListView;
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.util.DateUtils;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * A list response that is paged with a continuation token instead of a limit and offset. The total number of
+ * results is not computed, instead the 'next' token is passed back to retrieve the results that follow this page.
+ * The token is returned even when the page is empty so that clients can keep polling for new results with it.
+ */
+public class CursorListViewResponse<ViewType> extends BaseResponse
+{
+    protected ListView<ViewType> result;
+    protected LocalDateTime fromDateTime;
+    protected LocalDateTime toDateTime;
+    protected int limit;
+    protected String next;
+
+    protected CursorListViewResponse(ListView<ViewType> result, Range<LocalDateTime> dateTimeRange, int limit,
+                                     String next) {
+        this.result = result;
+        this.fromDateTime = DateUtils.startOfDateTimeRange(dateTimeRange);
+        this.toDateTime = DateUtils.endOfDateTimeRange(dateTimeRange);
+        this.limit = limit;
+        this.next = next;
+        if (result != null) {
+            success = true;
+            this.responseType = result.getViewType();
+        }
+    }
+
+    /**
+     * Creates a response whose items are produced from the stream as the response is written.
+     * @see StreamingListView
+     */
+    public static <ViewType extends ViewObject> CursorListViewResponse<ViewType> ofStream(
+        Stream<ViewType> items, Range<LocalDateTime> dateTimeRange, int limit, String next) {
+        return new CursorListViewResponse<>(StreamingListView.of(items), dateTimeRange, limit, next);
+    }
+
+    public ListView<ViewType> getResult() {
+        return result;
+    }
+
+    public LocalDateTime getFromDateTime() {
+        return fromDateTime;
+    }
+
+    public LocalDateTime getToDateTime() {
+        return toDateTime;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public String getNext() {
+        return next;
+    }
+}
@@ -2,12 +2,14 @@ package gov.nysenate.openleg.client.response.base;
 
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.client.view.base.ListView;
+import gov.nysenate.openleg.client.view.base.StreamingListView;
 import gov.nysenate.openleg.client.view.base.ViewObject;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.util.DateUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class DateRangeListViewResponse<ViewType> extends ListViewResponse<ViewType>
 {
@@ -26,6 +28,15 @@ public class DateRangeListViewResponse<ViewType> extends ListViewResponse<ViewTy
         return new DateRangeListViewResponse<>(ListView.of(items), dateTimeRange, total, limitOffset);
     }
 
+    /**
+     * Creates a response whose items are produced from the stream as the response is written.
+     * @see StreamingListView
+     */
+    public static <ViewType extends ViewObject> DateRangeListViewResponse<ViewType> ofStream(
+        Stream<ViewType> items, Range<LocalDateTime> dateTimeRange, int total, LimitOffset limitOffset) {
+        return new DateRangeListViewResponse<>(StreamingListView.of(items), dateTimeRange, total, limitOffset);
+    }
+
     public LocalDateTime getFromDateTime() {
         return fromDateTime;
     }
@@ -1,10 +1,12 @@
 package gov.nysenate.openleg.client.response.base;
 
 import gov.nysenate.openleg.client.view.base.ListView;
+import gov.nysenate.openleg.client.view.base.StreamingListView;
 import gov.nysenate.openleg.client.view.base.ViewObject;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public class ListViewResponse<ViewType> extends PaginationResponse
 {
@@ -23,6 +25,15 @@ public class ListViewResponse<ViewType> extends PaginationResponse
         return new ListViewResponse<>(ListView.of(items), total, limitOffset);
     }
 
+    /**
+     * Creates a response whose items are produced from the stream as the response is written.
+     * @see StreamingListView
+     */
+    public static <ViewType extends ViewObject> ListViewResponse<ViewType> ofStream(Stream<ViewType> items, int total,
+                                                                                   LimitOffset limitOffset) {
+        return new ListViewResponse<>(StreamingListView.of(items), total, limitOffset);
+    }
+
     public static ListViewResponse<String> ofStringList(List<String> items, int total, LimitOffset limitOffset) {
         return new ListViewResponse<>(ListView.ofStringList(items), total, limitOffset);
     }
@@ -2,9 +2,9 @@ package gov.nysenate.openleg.client.view.agenda;
 
 import gov.nysenate.openleg.client.view.base.ListView;
 import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.client.view.bill.BillInfoLookup;
 import gov.nysenate.openleg.model.agenda.AgendaInfoCommittee;
 import gov.nysenate.openleg.model.agenda.AgendaVoteCommittee;
-import gov.nysenate.openleg.service.bill.data.BillDataService;
 
 import java.time.LocalDateTime;
 
@@ -20,14 +20,14 @@ public class AgendaCommAddendumView implements ViewObject
     private AgendaVoteView voteInfo;
 
     public AgendaCommAddendumView(String addendumId, LocalDateTime modDateTime, AgendaInfoCommittee infoComm,
-                                  AgendaVoteCommittee voteComm, BillDataService billDataService) {
+                                  AgendaVoteCommittee voteComm, BillInfoLookup billInfoLookup) {
         this.addendumId = addendumId;
         if (infoComm != null) {
             this.modifiedDateTime = modDateTime;
             this.meeting = new AgendaMeetingView(infoComm.getChair(), infoComm.getLocation(),
                                                  infoComm.getMeetingDateTime(), infoComm.getNotes());
             this.bills = ListView.of(infoComm.getItems().stream()
-                .map(i -> new AgendaItemView(i, billDataService))
+                .map(i -> new AgendaItemView(i, billInfoLookup))
                 .collect(toList()));
             this.hasVotes = voteComm != null;
             if (this.hasVotes) {
@@ -2,15 +2,20 @@ package gov.nysenate.openleg.client.view.agenda;
 
 import gov.nysenate.openleg.client.view.base.ListView;
 import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.client.view.bill.BillInfoLookup;
 import gov.nysenate.openleg.model.agenda.Agenda;
 import gov.nysenate.openleg.model.agenda.AgendaInfoCommittee;
+import gov.nysenate.openleg.model.agenda.AgendaInfoCommitteeItem;
 import gov.nysenate.openleg.model.agenda.AgendaVoteCommittee;
+import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.entity.CommitteeId;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 public class AgendaCommView implements ViewObject
 {
@@ -18,6 +23,16 @@ public class AgendaCommView implements ViewObject
     private ListView<AgendaCommAddendumView> addenda;
 
     public AgendaCommView(CommitteeId committeeId, Agenda agenda, BillDataService billDataService) {
+        this(committeeId, agenda, billDataService != null && agenda != null
+                ? BillInfoLookup.of(billDataService, getReferencedBillIds(committeeId, agenda))
+                : null);
+    }
+
+    /**
+     * Builds the committee agenda view using bill infos that were loaded together with a {@link BillInfoLookup}.
+     * Bill infos are omitted from the view if the lookup is null.
+     */
+    public AgendaCommView(CommitteeId committeeId, Agenda agenda, BillInfoLookup billInfoLookup) {
         this.committeeId = committeeId;
         List<AgendaCommAddendumView> addendaList = new ArrayList<>();
         if (agenda != null) {
@@ -35,13 +50,24 @@ public class AgendaCommView implements ViewObject
                         agenda.getAgendaVoteAddendum(addendumId).getCommitteeVoteMap().containsKey(committeeId)) {
                         voteComm = agenda.getAgendaVoteAddendum(addendumId).getCommitteeVoteMap().get(committeeId);
                     }
-                    addendaList.add(new AgendaCommAddendumView(addendumId, modifiedDateTime, infoComm, voteComm, billDataService));
+                    addendaList.add(new AgendaCommAddendumView(addendumId, modifiedDateTime, infoComm, voteComm, billInfoLookup));
                 }
             }
             this.addenda = ListView.of(addendaList);
         }
     }
 
+    /**
+     * @return Stream<BillId> - the bills on the committee's agenda across all addenda.
+     */
+    static Stream<BillId> getReferencedBillIds(CommitteeId committeeId, Agenda agenda) {
+        return agenda.getAgendaInfoAddenda().values().stream()
+                .map(addendum -> addendum.getCommitteeInfoMap().get(committeeId))
+                .filter(Objects::nonNull)
+                .flatMap(infoComm -> infoComm.getItems().stream())
+                .map(AgendaInfoCommitteeItem::getBillId);
+    }
+
     public CommitteeId getCommitteeId() {
         return committeeId;
     }
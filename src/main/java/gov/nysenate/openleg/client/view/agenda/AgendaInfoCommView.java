@@ -2,8 +2,10 @@ package gov.nysenate.openleg.client.view.agenda;
 
 import gov.nysenate.openleg.client.view.base.ListView;
 import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.client.view.bill.BillInfoLookup;
 import gov.nysenate.openleg.client.view.committee.CommitteeIdView;
 import gov.nysenate.openleg.model.agenda.AgendaInfoCommittee;
+import gov.nysenate.openleg.model.agenda.AgendaInfoCommitteeItem;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 
 import java.time.LocalDateTime;
@@ -25,8 +27,10 @@ public class AgendaInfoCommView implements ViewObject
             this.location = infoComm.getLocation();
             this.meetingDateTime = infoComm.getMeetingDateTime();
             this.notes = infoComm.getNotes();
+            BillInfoLookup billInfoLookup = BillInfoLookup.of(billDataService,
+                    infoComm.getItems().stream().map(AgendaInfoCommitteeItem::getBillId));
             this.bills = ListView.of(infoComm.getItems().stream()
-                    .map(i -> new AgendaItemView(i, billDataService))
+                    .map(i -> new AgendaItemView(i, billInfoLookup))
                     .collect(Collectors.toList()));
         }
     }
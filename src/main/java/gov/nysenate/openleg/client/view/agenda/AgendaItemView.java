@@ -2,12 +2,12 @@ package gov.nysenate.openleg.client.view.agenda;
 
 import gov.nysenate.openleg.client.view.base.ViewObject;
 import gov.nysenate.openleg.client.view.bill.BillIdView;
+import gov.nysenate.openleg.client.view.bill.BillInfoLookup;
 import gov.nysenate.openleg.client.view.bill.BillInfoView;
 import gov.nysenate.openleg.client.view.bill.SimpleBillInfoView;
 import gov.nysenate.openleg.model.agenda.AgendaInfoCommitteeItem;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.BillInfo;
-import gov.nysenate.openleg.service.bill.data.BillDataService;
 
 public class AgendaItemView implements ViewObject
 {
@@ -15,11 +15,11 @@ public class AgendaItemView implements ViewObject
     private BillInfoView billInfo;
     private String message;
 
-    public AgendaItemView(AgendaInfoCommitteeItem item, BillDataService billDataService) {
+    public AgendaItemView(AgendaInfoCommitteeItem item, BillInfoLookup billInfoLookup) {
         if (item != null) {
             billId = new BillIdView(item.getBillId());
-            if (billDataService != null) {
-                this.billInfo = new BillInfoView(billDataService.getBillInfoSafe(BaseBillId.of(item.getBillId())));
+            if (billInfoLookup != null) {
+                this.billInfo = new BillInfoView(billInfoLookup.getBillInfoSafe(BaseBillId.of(item.getBillId())));
             }
             this.message = item.getMessage();
         }
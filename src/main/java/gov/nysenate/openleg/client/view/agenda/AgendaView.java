@@ -2,7 +2,9 @@ package gov.nysenate.openleg.client.view.agenda;
 
 import gov.nysenate.openleg.client.view.base.ListView;
 import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.client.view.bill.BillInfoLookup;
 import gov.nysenate.openleg.model.agenda.Agenda;
+import gov.nysenate.openleg.model.agenda.AgendaInfoCommitteeItem;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 
 import java.util.stream.Collectors;
@@ -14,10 +16,17 @@ public class AgendaView extends AgendaSummaryView implements ViewObject
     public AgendaView(Agenda agenda, BillDataService billDataService) {
         super(agenda);
         if (agenda != null) {
+            // Load the bill infos for every committee at once rather than per committee
+            BillInfoLookup billInfoLookup = billDataService != null
+                    ? BillInfoLookup.of(billDataService, agenda.getAgendaInfoAddenda().values().stream()
+                        .flatMap(ia -> ia.getCommitteeInfoMap().values().stream())
+                        .flatMap(infoComm -> infoComm.getItems().stream())
+                        .map(AgendaInfoCommitteeItem::getBillId))
+                    : null;
             this.committeeAgendas = ListView.of(agenda.getAgendaInfoAddenda().values().stream()
                 .flatMap(ia -> ia.getCommitteeInfoMap().keySet().stream())
                 .distinct()
-                .map(cid -> new AgendaCommView(cid, agenda, billDataService))
+                .map(cid -> new AgendaCommView(cid, agenda, billInfoLookup))
                 .collect(Collectors.toList()));
         }
     }
@@ -18,6 +18,8 @@ public class MapView<KeyType, ViewType> implements ViewObject
         return new MapView<>(items);
     }
 
+    protected MapView() {}
+
     private MapView(Map<KeyType, ViewType> map) {
         if (map != null) {
             items = ImmutableMap.copyOf(map);
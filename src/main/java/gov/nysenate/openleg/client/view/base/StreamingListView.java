@@ -0,0 +1,88 @@
+package gov.nysenate.openleg.client.view.base;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * A list view whose items are produced lazily as the view is serialized, so that only the item currently
+ * being written has to be held in memory. The items can only be iterated once, and the size is the number
+ * of items that have been written so far, which is why it is serialized after the items.
+ *
+ * The first item is produced up front to determine the view type of the list, so any error raised while
+ * producing it is reported before the response is written.
+ *
+ * Calling {@link #getItems()} before the items are written produces all of them into a regular list, after
+ * which the view behaves like a plain ListView.
+ */
+@JsonPropertyOrder({"items", "size"})
+public class StreamingListView<ViewType> extends ListView<ViewType>
+{
+    private final PeekingIterator<ViewType> iterator;
+    private final String viewType;
+    private int size = 0;
+    private boolean streamed = false;
+
+    public static <ViewType extends ViewObject> StreamingListView<ViewType> of(Stream<ViewType> items) {
+        return new StreamingListView<>(items.iterator());
+    }
+
+    private StreamingListView(Iterator<ViewType> items) {
+        this.iterator = Iterators.peekingIterator(items);
+        this.viewType = (iterator.hasNext() ? ViewObject.getViewTypeOf(iterator.peek()) : "empty") + " list";
+    }
+
+    @JsonProperty("items")
+    public Iterator<ViewType> getItemIterator() {
+        if (items != null) {
+            return items.iterator();
+        }
+        streamed = true;
+        return new Iterator<ViewType>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public ViewType next() {
+                ViewType item = iterator.next();
+                size++;
+                return item;
+            }
+        };
+    }
+
+    /**
+     * Produces the remaining items and retains them, giving up the memory savings of streaming.
+     *
+     * @throws IllegalStateException - if the items have already been streamed, since they were not retained.
+     */
+    @Override
+    @JsonIgnore
+    public ImmutableList<ViewType> getItems() {
+        if (items == null) {
+            if (streamed) {
+                throw new IllegalStateException("The items of this list view have already been streamed");
+            }
+            items = ImmutableList.copyOf(iterator);
+        }
+        return items;
+    }
+
+    @Override
+    public int getSize() {
+        return (items != null) ? items.size() : size;
+    }
+
+    @Override
+    public String getViewType() {
+        return viewType;
+    }
+}
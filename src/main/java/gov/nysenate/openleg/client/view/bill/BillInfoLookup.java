@@ -0,0 +1,69 @@
+package gov.nysenate.openleg.client.view.bill;
+
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.bill.BillInfo;
+import gov.nysenate.openleg.service.bill.data.BillDataService;
+import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Holds the BillInfos for a set of bills that were loaded together, so that views which reference many bills
+ * (e.g. calendars and agendas) can be built with a single batched lookup rather than one lookup per reference.
+ *
+ * Bills that were not part of the batch, or that could not be found, are looked up individually through the
+ * BillDataService.
+ */
+public class BillInfoLookup
+{
+    private final BillDataService billDataService;
+    private final Map<BaseBillId, BillInfo> billInfos = new HashMap<>();
+
+    /** --- Constructors --- */
+
+    private BillInfoLookup(BillDataService billDataService) {
+        this.billDataService = billDataService;
+    }
+
+    /**
+     * Loads the BillInfos for the given bill ids in one batch. Null ids are ignored.
+     *
+     * @param billDataService BillDataService
+     * @param billIds Stream<? extends BillId> - Bill ids of any version, possibly containing duplicates.
+     * @return BillInfoLookup
+     */
+    public static BillInfoLookup of(BillDataService billDataService, Stream<? extends BillId> billIds) {
+        BillInfoLookup lookup = new BillInfoLookup(billDataService);
+        Set<BaseBillId> baseBillIds = new LinkedHashSet<>();
+        billIds.filter(Objects::nonNull).forEach(billId -> baseBillIds.add(BaseBillId.of(billId)));
+        if (!baseBillIds.isEmpty()) {
+            billDataService.getBillInfos(baseBillIds)
+                .forEach(billInfo -> lookup.billInfos.put(BaseBillId.of(billInfo.getBillId()), billInfo));
+        }
+        return lookup;
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * @see BillDataService#getBillInfo(BaseBillId)
+     */
+    public BillInfo getBillInfo(BaseBillId billId) throws BillNotFoundEx {
+        BillInfo billInfo = billInfos.get(billId);
+        return billInfo != null ? billInfo : billDataService.getBillInfo(billId);
+    }
+
+    /**
+     * @see BillDataService#getBillInfoSafe(BaseBillId)
+     */
+    public BillInfo getBillInfoSafe(BaseBillId billId) {
+        BillInfo billInfo = billInfos.get(billId);
+        return billInfo != null ? billInfo : billDataService.getBillInfoSafe(billId);
+    }
+}
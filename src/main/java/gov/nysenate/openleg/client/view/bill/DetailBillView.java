@@ -10,7 +10,9 @@ import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -30,14 +32,14 @@ public class DetailBillView extends BillView implements ViewObject
     public DetailBillView(Bill bill, BillDataService billDataService) {
         super(bill);
 
+        // Previous version refs, same as refs from each amendment, and the substituted by ref
+        List<BillId> refIds = new ArrayList<>(bill.getAllPreviousVersions());
+        bill.getAmendmentList().forEach(amendment -> refIds.addAll(amendment.getSameAs()));
+        refIds.add(bill.getSubstitutedBy());
+        BillInfoLookup billInfoLookup = BillInfoLookup.of(billDataService, refIds.stream());
+
         Map<String, BillInfoView> refs = new HashMap<>();
-        // Previous version refs
-        bill.getAllPreviousVersions().stream().forEach(billId -> addBillInfoRefToMap(billDataService, refs, billId));
-        // Same as refs from each amendment
-        bill.getAmendmentList().stream().flatMap(a -> a.getSameAs().stream())
-            .forEach(billId -> addBillInfoRefToMap(billDataService, refs, billId));
-        // Substituted by ref
-        addBillInfoRefToMap(billDataService, refs, bill.getSubstitutedBy());
+        refIds.forEach(billId -> addBillInfoRefToMap(billInfoLookup, refs, billId));
 
         this.billInfoRefs = MapView.of(refs);
     }
@@ -58,12 +60,12 @@ public class DetailBillView extends BillView implements ViewObject
     /**
      * Checks if the supplied map has a key with the given bill id and associates a BillInfoView if found.
      */
-    private void addBillInfoRefToMap(BillDataService billDataService, Map<String, BillInfoView> refs, BillId billId) {
+    private void addBillInfoRefToMap(BillInfoLookup billInfoLookup, Map<String, BillInfoView> refs, BillId billId) {
         if (billId != null) {
             BaseBillId baseBillId = BaseBillId.of(billId);
             if (!refs.containsKey(baseBillId.toString())) {
                 try {
-                    refs.put(baseBillId.toString(), new BillInfoView(billDataService.getBillInfo(baseBillId)));
+                    refs.put(baseBillId.toString(), new BillInfoView(billInfoLookup.getBillInfo(baseBillId)));
                 }
                 catch (BillNotFoundEx ex) {
                     logger.trace("Bill reference not found while constructing detailed bill view", ex);
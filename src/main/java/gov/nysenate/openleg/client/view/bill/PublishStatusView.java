@@ -17,6 +17,8 @@ public class PublishStatusView implements ViewObject
         }
     }
 
+    protected PublishStatusView() {}
+
     @Override
     public String getViewType() {
         return "publish-status";
@@ -34,6 +34,18 @@ public class CacheStatsView implements ViewObject
         }
     }
 
+    /**
+     * Creates a view for an in-memory index that is not backed by an Ehcache, which only tracks
+     * its size and hit/miss counts.
+     */
+    public CacheStatsView(String cacheName, long size, long hitCount, long missCount) {
+        this.cacheName = cacheName;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.hitRatio = (hitCount + missCount > 0) ? (double) hitCount / (hitCount + missCount) : 0;
+    }
+
     @Override
     public String getViewType() {
         return "cache-stats";
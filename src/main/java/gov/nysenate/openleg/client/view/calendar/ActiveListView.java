@@ -1,25 +1,40 @@
 package gov.nysenate.openleg.client.view.calendar;
 
 import gov.nysenate.openleg.client.view.base.ListView;
+import gov.nysenate.openleg.client.view.bill.BillInfoLookup;
+import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.calendar.CalendarActiveList;
+import gov.nysenate.openleg.model.calendar.CalendarEntry;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class ActiveListView extends SimpleActiveListView
 {
     ListView<CalendarEntryView> entries;
 
     public ActiveListView(CalendarActiveList activeList, BillDataService billDataService) {
+        this(activeList, BillInfoLookup.of(billDataService, getReferencedBillIds(activeList)));
+    }
+
+    public ActiveListView(CalendarActiveList activeList, BillInfoLookup billInfoLookup) {
         super(activeList);
         this.entries = ListView.of(
                 activeList.getEntries().stream()
-                        .map(entry -> new CalendarEntryView(entry, billDataService))
+                        .map(entry -> new CalendarEntryView(entry, billInfoLookup))
                         .sorted(CalendarEntryView.calEntryViewComparator)
                         .collect(Collectors.toList())
         );
     }
 
+    /**
+     * @return Stream<BillId> - the bills referenced by the active list's entries.
+     */
+    static Stream<BillId> getReferencedBillIds(CalendarActiveList activeList) {
+        return activeList.getEntries().stream().map(CalendarEntry::getBillId);
+    }
+
     public ListView<CalendarEntryView> getEntries() {
         return entries;
     }
@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.client.view.calendar;
 
+import gov.nysenate.openleg.client.view.bill.BillInfoLookup;
 import gov.nysenate.openleg.client.view.bill.BillInfoView;
 import gov.nysenate.openleg.model.base.Version;
 import gov.nysenate.openleg.model.bill.BillId;
@@ -8,6 +9,7 @@ import gov.nysenate.openleg.service.bill.data.BillDataService;
 
 import java.util.Comparator;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class CalendarEntryView extends BillInfoView
 {
@@ -16,7 +18,12 @@ public class CalendarEntryView extends BillInfoView
     protected String selectedVersion;
 
     public CalendarEntryView(CalendarEntry calendarEntry, BillDataService billDataService) {
-        super(calendarEntry != null ? billDataService.getBillInfoSafe(BillId.getBaseId(calendarEntry.getBillId())) : null);
+        this(calendarEntry, BillInfoLookup.of(billDataService,
+                calendarEntry != null ? Stream.of(calendarEntry.getBillId()) : Stream.empty()));
+    }
+
+    public CalendarEntryView(CalendarEntry calendarEntry, BillInfoLookup billInfoLookup) {
+        super(calendarEntry != null ? billInfoLookup.getBillInfoSafe(BillId.getBaseId(calendarEntry.getBillId())) : null);
         if (calendarEntry != null) {
             this.billCalNo = calendarEntry.getBillCalNo();
             this.selectedVersion = Optional.ofNullable(calendarEntry.getBillId())
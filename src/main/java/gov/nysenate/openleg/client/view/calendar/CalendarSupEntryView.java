@@ -1,9 +1,9 @@
 package gov.nysenate.openleg.client.view.calendar;
 
+import gov.nysenate.openleg.client.view.bill.BillInfoLookup;
 import gov.nysenate.openleg.client.view.bill.SimpleBillInfoView;
 import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.calendar.CalendarSupplementalEntry;
-import gov.nysenate.openleg.service.bill.data.BillDataService;
 
 import java.util.Comparator;
 
@@ -15,13 +15,13 @@ public class CalendarSupEntryView extends CalendarEntryView {
 
     protected boolean billHigh;
 
-    public CalendarSupEntryView(CalendarSupplementalEntry supEntry, BillDataService billDataService) {
-        super(supEntry, billDataService);
+    public CalendarSupEntryView(CalendarSupplementalEntry supEntry, BillInfoLookup billInfoLookup) {
+        super(supEntry, billInfoLookup);
 
         if (supEntry != null) {
             this.sectionType = supEntry.getSectionType().toString();
             this.subBillInfo = supEntry.getSubBillId() != null
-                    ? new SimpleBillInfoView(billDataService.getBillInfo(BillId.getBaseId(supEntry.getSubBillId())))
+                    ? new SimpleBillInfoView(billInfoLookup.getBillInfo(BillId.getBaseId(supEntry.getSubBillId())))
                     : null;
             this.billHigh = supEntry.getBillHigh();
         }
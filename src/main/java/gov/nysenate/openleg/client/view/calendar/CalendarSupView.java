@@ -2,22 +2,29 @@ package gov.nysenate.openleg.client.view.calendar;
 
 import gov.nysenate.openleg.client.view.base.ListView;
 import gov.nysenate.openleg.client.view.base.MapView;
+import gov.nysenate.openleg.client.view.bill.BillInfoLookup;
+import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.calendar.CalendarSupplemental;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class CalendarSupView extends SimpleCalendarSupView {
 
     protected MapView<String, ListView<CalendarSupEntryView>> entriesBySection;
 
     public CalendarSupView(CalendarSupplemental calendarSupplemental, BillDataService billDataService) {
+        this(calendarSupplemental, BillInfoLookup.of(billDataService, getReferencedBillIds(calendarSupplemental)));
+    }
+
+    public CalendarSupView(CalendarSupplemental calendarSupplemental, BillInfoLookup billInfoLookup) {
         super(calendarSupplemental);
         this.entriesBySection = MapView.of(
                 calendarSupplemental.getSectionEntries().asMap().values().stream()
                     .map(entryList -> entryList.stream()
-                            .map(entry -> new CalendarSupEntryView(entry, billDataService))
+                            .map(entry -> new CalendarSupEntryView(entry, billInfoLookup))
                             .sorted(CalendarSupEntryView.supEntryViewComparator)
                             .collect(Collectors.toList()))
                     .map(ListView::of)
@@ -25,6 +32,14 @@ public class CalendarSupView extends SimpleCalendarSupView {
         );
     }
 
+    /**
+     * @return Stream<BillId> - the bills and substituted bills referenced by the supplemental's entries.
+     */
+    static Stream<BillId> getReferencedBillIds(CalendarSupplemental calendarSupplemental) {
+        return calendarSupplemental.getAllEntries().stream()
+                .flatMap(entry -> Stream.of(entry.getBillId(), entry.getSubBillId()));
+    }
+
     public MapView<String, ListView<CalendarSupEntryView>> getEntriesBySection() {
         return entriesBySection;
     }
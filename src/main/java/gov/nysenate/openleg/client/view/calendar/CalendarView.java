@@ -1,7 +1,9 @@
 package gov.nysenate.openleg.client.view.calendar;
 
 import gov.nysenate.openleg.client.view.base.MapView;
+import gov.nysenate.openleg.client.view.bill.BillInfoLookup;
 import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.calendar.Calendar;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 
@@ -9,6 +11,7 @@ import java.time.LocalDate;
 import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class CalendarView extends CalendarIdView {
 
@@ -18,21 +21,30 @@ public class CalendarView extends CalendarIdView {
     protected LocalDate calDate;
 
     public CalendarView(Calendar calendar, BillDataService billDataService) {
+        this(calendar, calendar != null
+                ? BillInfoLookup.of(billDataService, getReferencedBillIds(calendar))
+                : null);
+    }
+
+    /**
+     * Builds the calendar view using bill infos that were loaded together with a {@link BillInfoLookup}.
+     */
+    public CalendarView(Calendar calendar, BillInfoLookup billInfoLookup) {
         super(calendar !=null ? calendar.getId() : null);
         if (calendar != null) {
             if (calendar.getSupplemental(Version.DEFAULT) != null) {
-                this.floorCalendar = new CalendarSupView(calendar.getSupplemental(Version.DEFAULT), billDataService);
+                this.floorCalendar = new CalendarSupView(calendar.getSupplemental(Version.DEFAULT), billInfoLookup);
             }
             this.supplementalCalendars = MapView.of(
                     calendar.getSupplementalMap().values().stream()
                             .filter((calSup) -> !calSup.getVersion().equals(Version.DEFAULT))
-                            .map(calSup -> new CalendarSupView(calSup, billDataService))
+                            .map(calSup -> new CalendarSupView(calSup, billInfoLookup))
                             .collect(Collectors.toMap(SimpleCalendarSupView::getVersion, Function.identity(),
                                     (a, b) -> b, TreeMap::new))
             );
             this.activeLists = MapView.of(
                     calendar.getActiveListMap().values().stream()
-                            .map(activeList -> new ActiveListView(activeList, billDataService))
+                            .map(activeList -> new ActiveListView(activeList, billInfoLookup))
                             .collect(Collectors.toMap(ActiveListView::getSequenceNumber, Function.identity(),
                                     (a, b) -> b, TreeMap::new))
             );
@@ -40,6 +52,15 @@ public class CalendarView extends CalendarIdView {
         }
     }
 
+    /**
+     * @return Stream<BillId> - the bills referenced by all of the calendar's supplementals and active lists.
+     */
+    private static Stream<BillId> getReferencedBillIds(Calendar calendar) {
+        return Stream.concat(
+                calendar.getSupplementalMap().values().stream().flatMap(CalendarSupView::getReferencedBillIds),
+                calendar.getActiveListMap().values().stream().flatMap(ActiveListView::getReferencedBillIds));
+    }
+
     public CalendarSupView getFloorCalendar() {
         return floorCalendar;
     }
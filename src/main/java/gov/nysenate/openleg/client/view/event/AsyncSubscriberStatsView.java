@@ -0,0 +1,66 @@
+package gov.nysenate.openleg.client.view.event;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.service.event.AsyncEventDispatcher;
+
+public class AsyncSubscriberStatsView implements ViewObject
+{
+    protected String subscriber;
+    protected String overflowPolicy;
+    protected int capacity;
+    protected int queueDepth;
+    protected boolean delivering;
+    protected long deliveredCount;
+    protected long overflowCount;
+    protected long discardedCount;
+
+    public AsyncSubscriberStatsView(AsyncEventDispatcher dispatcher) {
+        if (dispatcher != null) {
+            this.subscriber = dispatcher.getName();
+            this.overflowPolicy = dispatcher.getOverflowPolicy().name();
+            this.capacity = dispatcher.getCapacity();
+            this.queueDepth = dispatcher.getQueueDepth();
+            this.delivering = dispatcher.isDelivering();
+            this.deliveredCount = dispatcher.getDeliveredCount();
+            this.overflowCount = dispatcher.getOverflowCount();
+            this.discardedCount = dispatcher.getDiscardedCount();
+        }
+    }
+
+    @Override
+    public String getViewType() {
+        return "async-subscriber-stats";
+    }
+
+    public String getSubscriber() {
+        return subscriber;
+    }
+
+    public String getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public boolean isDelivering() {
+        return delivering;
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount;
+    }
+
+    public long getOverflowCount() {
+        return overflowCount;
+    }
+
+    public long getDiscardedCount() {
+        return discardedCount;
+    }
+}
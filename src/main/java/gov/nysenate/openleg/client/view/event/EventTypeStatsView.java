@@ -0,0 +1,54 @@
+package gov.nysenate.openleg.client.view.event;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.service.event.EventTypeStats;
+
+public class EventTypeStatsView implements ViewObject
+{
+    protected String eventType;
+    protected long postCount;
+    protected long deliveryCount;
+    protected long failureCount;
+    protected double avgLatencyMillis;
+    protected double maxLatencyMillis;
+
+    public EventTypeStatsView(EventTypeStats stats) {
+        if (stats != null) {
+            this.eventType = stats.getEventType().getSimpleName();
+            this.postCount = stats.getPostCount();
+            this.deliveryCount = stats.getDeliveryCount();
+            this.failureCount = stats.getFailureCount();
+            this.avgLatencyMillis = stats.getAvgLatencyMillis();
+            this.maxLatencyMillis = stats.getMaxLatencyMillis();
+        }
+    }
+
+    @Override
+    public String getViewType() {
+        return "event-type-stats";
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public long getPostCount() {
+        return postCount;
+    }
+
+    public long getDeliveryCount() {
+        return deliveryCount;
+    }
+
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    public double getAvgLatencyMillis() {
+        return avgLatencyMillis;
+    }
+
+    public double getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+}
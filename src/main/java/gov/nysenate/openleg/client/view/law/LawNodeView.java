@@ -17,7 +17,8 @@ public class LawNodeView extends LawDocInfoView implements ViewObject
     protected LocalDate repealedDate;
     protected String fromSection;
     protected String toSection;
-    protected String text;  // Can be null when just displaying structure.
+    protected String documentId;
+    protected Map<String, LawDocument> docMap;  // Can be null when just displaying structure.
 
     protected ListView<LawNodeView> documents;
 
@@ -29,9 +30,8 @@ public class LawNodeView extends LawDocInfoView implements ViewObject
         super((treeNode != null) ? treeNode.getLawDocInfo() : null);
         if (treeNode != null) {
             initFromLawTreeNode(treeNode);
-            this.text = (docMap != null && docMap.containsKey(treeNode.getDocumentId()))
-                ? docMap.get(treeNode.getDocumentId()).getText()
-                : null;
+            this.documentId = treeNode.getDocumentId();
+            this.docMap = docMap;
             if (depth == null || depth > 0) {
                 final Integer childDepth = (depth != null) ? depth - 1 : null;
                 this.documents = ListView.of(
@@ -69,8 +69,13 @@ public class LawNodeView extends LawDocInfoView implements ViewObject
         return repealedDate;
     }
 
+    /**
+     * The text is looked up from the document map as the view is serialized, so that the text of every
+     * node in a large law does not have to be held at once.
+     */
     public String getText() {
-        return text;
+        LawDocument doc = (docMap != null && documentId != null) ? docMap.get(documentId) : null;
+        return (doc != null) ? doc.getText() : null;
     }
 
     public String getFromSection() {
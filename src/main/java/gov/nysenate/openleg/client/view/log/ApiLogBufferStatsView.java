@@ -0,0 +1,84 @@
+package gov.nysenate.openleg.client.view.log;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.service.log.data.BufferedApiLogWriter;
+
+public class ApiLogBufferStatsView implements ViewObject
+{
+    protected int bufferSize;
+    protected int bufferCapacity;
+    protected int flushSize;
+    protected long flushIntervalMs;
+    protected int overloadSampleRate;
+    protected long acceptedCount;
+    protected long sampledOutCount;
+    protected long droppedCount;
+    protected long writtenCount;
+    protected long failedCount;
+    protected long batchCount;
+
+    public ApiLogBufferStatsView(BufferedApiLogWriter apiLogWriter) {
+        if (apiLogWriter != null) {
+            this.bufferSize = apiLogWriter.getBufferSize();
+            this.bufferCapacity = apiLogWriter.getBufferCapacity();
+            this.flushSize = apiLogWriter.getFlushSize();
+            this.flushIntervalMs = apiLogWriter.getFlushIntervalMs();
+            this.overloadSampleRate = apiLogWriter.getOverloadSampleRate();
+            this.acceptedCount = apiLogWriter.getAcceptedCount();
+            this.sampledOutCount = apiLogWriter.getSampledOutCount();
+            this.droppedCount = apiLogWriter.getDroppedCount();
+            this.writtenCount = apiLogWriter.getWrittenCount();
+            this.failedCount = apiLogWriter.getFailedCount();
+            this.batchCount = apiLogWriter.getBatchCount();
+        }
+    }
+
+    @Override
+    public String getViewType() {
+        return "api-log-buffer-stats";
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    public int getFlushSize() {
+        return flushSize;
+    }
+
+    public long getFlushIntervalMs() {
+        return flushIntervalMs;
+    }
+
+    public int getOverloadSampleRate() {
+        return overloadSampleRate;
+    }
+
+    public long getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    public long getSampledOutCount() {
+        return sampledOutCount;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    public long getWrittenCount() {
+        return writtenCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public long getBatchCount() {
+        return batchCount;
+    }
+}
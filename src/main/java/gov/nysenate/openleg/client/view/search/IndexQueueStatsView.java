@@ -0,0 +1,96 @@
+package gov.nysenate.openleg.client.view.search;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.dao.base.ElasticIndexQueue;
+
+public class IndexQueueStatsView implements ViewObject
+{
+    protected boolean asyncEnabled;
+    protected int queueDepth;
+    protected long pendingBytes;
+    protected int inFlightCount;
+    protected long pendingLagMs;
+    protected long lastLagMs;
+    protected long queuedCount;
+    protected long coalescedCount;
+    protected long completedCount;
+    protected long failedCount;
+    protected long retryCount;
+    protected long bulkRequestCount;
+    protected long droppedBatchCount;
+
+    public IndexQueueStatsView(ElasticIndexQueue indexQueue) {
+        if (indexQueue != null) {
+            this.asyncEnabled = indexQueue.isAsyncEnabled();
+            this.queueDepth = indexQueue.getQueueDepth();
+            this.pendingBytes = indexQueue.getPendingBytes();
+            this.inFlightCount = indexQueue.getInFlightCount();
+            this.pendingLagMs = indexQueue.getPendingLagMs();
+            this.lastLagMs = indexQueue.getLastLagMs();
+            this.queuedCount = indexQueue.getQueuedCount();
+            this.coalescedCount = indexQueue.getCoalescedCount();
+            this.completedCount = indexQueue.getCompletedCount();
+            this.failedCount = indexQueue.getFailedCount();
+            this.retryCount = indexQueue.getRetryCount();
+            this.bulkRequestCount = indexQueue.getBulkRequestCount();
+            this.droppedBatchCount = indexQueue.getDroppedBatchCount();
+        }
+    }
+
+    @Override
+    public String getViewType() {
+        return "index-queue-stats";
+    }
+
+    public boolean isAsyncEnabled() {
+        return asyncEnabled;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public long getPendingBytes() {
+        return pendingBytes;
+    }
+
+    public int getInFlightCount() {
+        return inFlightCount;
+    }
+
+    public long getPendingLagMs() {
+        return pendingLagMs;
+    }
+
+    public long getLastLagMs() {
+        return lastLagMs;
+    }
+
+    public long getQueuedCount() {
+        return queuedCount;
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public long getRetryCount() {
+        return retryCount;
+    }
+
+    public long getBulkRequestCount() {
+        return bulkRequestCount;
+    }
+
+    public long getDroppedBatchCount() {
+        return droppedBatchCount;
+    }
+}
@@ -5,10 +5,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.guava.GuavaModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.google.common.eventbus.AsyncEventBus;
-import com.google.common.eventbus.EventBus;
-import com.google.common.eventbus.SubscriberExceptionContext;
-import com.google.common.eventbus.SubscriberExceptionHandler;
 import gov.nysenate.openleg.model.agenda.Agenda;
 import gov.nysenate.openleg.model.agenda.AgendaId;
 import gov.nysenate.openleg.model.bill.BaseBillId;
@@ -16,8 +12,9 @@ import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.calendar.CalendarId;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
 import gov.nysenate.openleg.processor.base.IngestCache;
+import gov.nysenate.openleg.service.event.AsyncSubscriber;
+import gov.nysenate.openleg.service.event.OpenlegEventBus;
 import gov.nysenate.openleg.util.AsciiArt;
-import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.config.SizeOfPolicyConfiguration;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -46,8 +43,6 @@ import java.net.InetSocketAddress;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Calendar;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 @Configuration
 @EnableCaching
@@ -123,25 +118,18 @@ public class ApplicationConfig implements CachingConfigurer
         }
     }
 
-    /** --- Guava Event Bus Configuration --- */
+    /** --- Event Bus Configuration --- */
 
-    @Bean
-    public EventBus eventBus() {
-        SubscriberExceptionHandler errorHandler = (exception, context) -> {
-            logger.error("Event Bus Exception thrown during event handling within {}: {}, {}", context.getSubscriberMethod(),
-                exception, ExceptionUtils.getStackTrace(exception));
-        };
-        return new EventBus(errorHandler);
-    }
+    @Value("${eventbus.async.queue.size:10000}")
+    private int eventBusAsyncQueueSize;
 
-    @Bean
-    public AsyncEventBus asyncEventBus() {
-        SubscriberExceptionHandler errorHandler = (exception, context) -> {
-            logger.error("Async Event Bus Exception thrown during event handling within {}: {}, {}",
-                    context.getSubscriberMethod(), exception, ExceptionUtils.getStackTrace(exception));
-        };
-        ExecutorService executor = Executors.newCachedThreadPool(new OpenlegThreadFactory("async-eventbus"));
-        return new AsyncEventBus(executor, errorHandler);
+    /**
+     * The application event bus. Subscribers are invoked synchronously unless they are annotated with
+     * {@link AsyncSubscriber}, in which case they receive events through a bounded queue.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public OpenlegEventBus eventBus() {
+        return new OpenlegEventBus(eventBusAsyncQueueSize);
     }
 
     /** --- Object Mapper --- */
@@ -71,6 +71,18 @@ public class Environment
     /** If SOBI batch is enabled, this specifies the maximum batch size. */
     @Value("${sobi.batch.process.size}") private int sobiBatchSize;
 
+    /** Enable the pipelined SOBI processing mode where bill updates are applied in parallel. */
+    @Value("${sobi.parallel.process.enabled:false}") private boolean sobiParallelEnabled;
+
+    /** The number of threads used to apply bill updates when parallel SOBI processing is enabled. */
+    @Value("${sobi.parallel.process.threads:4}") private int sobiParallelThreads;
+
+    /** Enable the parallel law processing mode where each law in a law file is built and persisted concurrently. */
+    @Value("${law.parallel.process.enabled:false}") private boolean lawParallelEnabled;
+
+    /** The number of threads used to build and persist laws when parallel law processing is enabled. */
+    @Value("${law.parallel.process.threads:4}") private int lawParallelThreads;
+
     /** --- Scheduling Settings --- */
 
     /** Enable processing of data at scheduled intervals. */
@@ -191,6 +203,34 @@ public class Environment
         this.sobiBatchSize = sobiBatchSize;
     }
 
+    public boolean isSobiParallelEnabled() {
+        return sobiParallelEnabled;
+    }
+
+    public void setSobiParallelEnabled(boolean sobiParallelEnabled) {
+        this.sobiParallelEnabled = sobiParallelEnabled;
+    }
+
+    public int getSobiParallelThreads() {
+        return sobiParallelThreads;
+    }
+
+    public boolean isLawParallelEnabled() {
+        return lawParallelEnabled;
+    }
+
+    public void setLawParallelEnabled(boolean lawParallelEnabled) {
+        this.lawParallelEnabled = lawParallelEnabled;
+    }
+
+    public int getLawParallelThreads() {
+        return lawParallelThreads;
+    }
+
+    public void setLawParallelThreads(int lawParallelThreads) {
+        this.lawParallelThreads = lawParallelThreads;
+    }
+
     public String getApiSecret() {
         return apiSecret;
     }
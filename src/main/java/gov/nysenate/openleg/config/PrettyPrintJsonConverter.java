@@ -0,0 +1,46 @@
+package gov.nysenate.openleg.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+
+/**
+ * Json message converter that lets clients turn off the indented output of the object mapper by
+ * setting the 'pretty' request parameter to false, which makes large responses noticeably smaller.
+ */
+public class PrettyPrintJsonConverter extends MappingJackson2HttpMessageConverter
+{
+    public static final String PRETTY_PARAM = "pretty";
+
+    /** {@inheritDoc} */
+    @Override
+    protected void writeInternal(Object object, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!isPrettyPrintDisabled()) {
+            super.writeInternal(object, outputMessage);
+            return;
+        }
+        JsonGenerator generator = getObjectMapper().getFactory().createGenerator(
+            outputMessage.getBody(), getJsonEncoding(outputMessage.getHeaders().getContentType()));
+        try {
+            getObjectMapper().writer().without(SerializationFeature.INDENT_OUTPUT).writeValue(generator, object);
+        }
+        catch (JsonProcessingException ex) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static boolean isPrettyPrintDisabled() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes &&
+            "false".equalsIgnoreCase(((ServletRequestAttributes) attributes).getRequest().getParameter(PRETTY_PARAM));
+    }
+}
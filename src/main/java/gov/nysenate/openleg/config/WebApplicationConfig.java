@@ -97,7 +97,7 @@ public class WebApplicationConfig extends WebMvcConfigurerAdapter implements Sch
 
     @Bean
     public MappingJackson2HttpMessageConverter jackson2Converter() {
-        MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
+        MappingJackson2HttpMessageConverter converter = new PrettyPrintJsonConverter();
         converter.setObjectMapper(appConfig.objectMapper());
         return converter;
     }
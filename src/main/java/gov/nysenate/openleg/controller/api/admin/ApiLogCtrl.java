@@ -2,7 +2,9 @@ package gov.nysenate.openleg.controller.api.admin;
 
 import gov.nysenate.openleg.client.response.base.BaseResponse;
 import gov.nysenate.openleg.client.response.base.ListViewResponse;
+import gov.nysenate.openleg.client.response.base.ViewObjectResponse;
 import gov.nysenate.openleg.client.view.base.SearchResultView;
+import gov.nysenate.openleg.client.view.log.ApiLogBufferStatsView;
 import gov.nysenate.openleg.client.view.log.ApiLogItemView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.dao.base.LimitOffset;
@@ -12,6 +14,7 @@ import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.search.SearchResult;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.service.auth.ApiUserService;
+import gov.nysenate.openleg.service.log.data.BufferedApiLogWriter;
 import gov.nysenate.openleg.service.log.search.ApiLogSearchService;
 import org.apache.shiro.authz.annotation.RequiresPermissions;
 import org.slf4j.Logger;
@@ -35,6 +38,7 @@ public class ApiLogCtrl extends BaseCtrl
 
     @Autowired private ApiLogSearchService logSearchService;
     @Autowired private ApiUserService apiUserService;
+    @Autowired private BufferedApiLogWriter apiLogWriter;
 
     @RequiresPermissions("admin:apilog:view")
     @RequestMapping("")
@@ -48,4 +52,15 @@ public class ApiLogCtrl extends BaseCtrl
                 .map(r -> new SearchResultView(r.getResult(), r.getRank(), r.getHighlights()))
                 .collect(toList()), results.getTotalResults(), limOff);
     }
+
+    /**
+     * Api Log Buffer API
+     *
+     * Get the size and drop/sample counters of the api log write buffer: (GET) /api/3/admin/apiLogs/buffer
+     */
+    @RequiresPermissions("admin:apilog:view")
+    @RequestMapping(value = "/buffer", method = RequestMethod.GET)
+    public BaseResponse getBufferStats() {
+        return new ViewObjectResponse<>(new ApiLogBufferStatsView(apiLogWriter));
+    }
 }
@@ -20,6 +20,8 @@ import gov.nysenate.openleg.model.calendar.CalendarId;
 import gov.nysenate.openleg.model.entity.Chamber;
 import gov.nysenate.openleg.model.entity.CommitteeSessionId;
 import gov.nysenate.openleg.model.law.LawVersionId;
+import gov.nysenate.openleg.service.entity.member.data.CachedMemberService;
+import gov.nysenate.openleg.service.entity.member.data.MemberShortNameIndex;
 import net.sf.ehcache.CacheManager;
 import org.apache.shiro.authz.annotation.RequiresAuthentication;
 import org.apache.shiro.authz.annotation.RequiresPermissions;
@@ -35,6 +37,7 @@ import org.springframework.web.context.request.WebRequest;
 
 import javax.annotation.PostConstruct;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -48,6 +51,7 @@ public class CacheCtrl extends BaseCtrl
 
     @Autowired private EventBus eventBus;
     @Autowired private CacheManager cacheManager;
+    @Autowired private CachedMemberService memberService;
 
     @PostConstruct
     private void init() {
@@ -58,14 +62,18 @@ public class CacheCtrl extends BaseCtrl
      * Cache Stats API
      * ---------------
      *
-     * Gets stats for all memory caches: (GET) /api/3/admin/cache/
+     * Gets stats for all memory caches, including the member short name index: (GET) /api/3/admin/cache/
      */
     @RequiresPermissions("admin:cacheEdit")
     @RequestMapping(value = "", method = RequestMethod.GET)
     public BaseResponse getCacheStats() {
-        return ListViewResponse.of(Arrays.asList(cacheManager.getCacheNames()).stream()
+        List<CacheStatsView> stats = Arrays.asList(cacheManager.getCacheNames()).stream()
             .map(cn -> new CacheStatsView(cacheManager.getCache(cn).getStatistics()))
-            .collect(Collectors.toList()), cacheManager.getCacheNames().length, LimitOffset.ALL);
+            .collect(Collectors.toList());
+        MemberShortNameIndex shortNameIndex = memberService.getShortNameIndex();
+        stats.add(new CacheStatsView("MEMBER_SHORTNAME", shortNameIndex.size(),
+                                     shortNameIndex.getHitCount(), shortNameIndex.getMissCount()));
+        return ListViewResponse.of(stats, stats.size(), LimitOffset.ALL);
     }
 
     /**
@@ -161,12 +169,14 @@ public class CacheCtrl extends BaseCtrl
             throws MissingServletRequestParameterException {
         switch (targetCache) {
             case BILL:
+            case BILL_DIFF:
                 return getBaseBillId(request);
             case AGENDA:
                 return getAgendaId(request);
             case CALENDAR:
                 return getCalendarId(request);
             case LAW:
+            case LAW_DOCUMENT:
                 return getLawVersionId(request);
             case COMMITTEE:
                 return getCommitteeSessionId(request);
@@ -0,0 +1,60 @@
+package gov.nysenate.openleg.controller.api.admin;
+
+import gov.nysenate.openleg.client.response.base.BaseResponse;
+import gov.nysenate.openleg.client.response.base.ListViewResponse;
+import gov.nysenate.openleg.client.view.event.AsyncSubscriberStatsView;
+import gov.nysenate.openleg.client.view.event.EventTypeStatsView;
+import gov.nysenate.openleg.controller.api.base.BaseCtrl;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.service.event.OpenlegEventBus;
+import org.apache.shiro.authz.annotation.RequiresPermissions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_ADMIN_API_PATH;
+import static java.util.stream.Collectors.toList;
+
+@RestController
+@RequestMapping(value = BASE_ADMIN_API_PATH + "/eventbus", method = RequestMethod.GET)
+public class EventBusCtrl extends BaseCtrl
+{
+    @Autowired private OpenlegEventBus eventBus;
+
+    /**
+     * Event Stats API
+     * ---------------
+     *
+     * Gets the number of posts and deliveries along with the delivery latency for each event type that has
+     * been posted: (GET) /api/3/admin/eventbus/events
+     */
+    @RequiresPermissions("admin:view")
+    @RequestMapping(value = "/events")
+    public BaseResponse getEventStats() {
+        List<EventTypeStatsView> stats = eventBus.getEventTypeStats().stream()
+            .map(EventTypeStatsView::new)
+            .sorted(Comparator.comparing(EventTypeStatsView::getEventType))
+            .collect(toList());
+        return ListViewResponse.of(stats, stats.size(), LimitOffset.ALL);
+    }
+
+    /**
+     * Async Subscriber Stats API
+     * --------------------------
+     *
+     * Gets the queue depth and delivery counts of each asynchronous subscriber: (GET) /api/3/admin/eventbus/subscribers
+     */
+    @RequiresPermissions("admin:view")
+    @RequestMapping(value = "/subscribers")
+    public BaseResponse getSubscriberStats() {
+        List<AsyncSubscriberStatsView> stats = eventBus.getAsyncDispatchers().stream()
+            .map(AsyncSubscriberStatsView::new)
+            .sorted(Comparator.comparing(AsyncSubscriberStatsView::getSubscriber))
+            .collect(toList());
+        return ListViewResponse.of(stats, stats.size(), LimitOffset.ALL);
+    }
+}
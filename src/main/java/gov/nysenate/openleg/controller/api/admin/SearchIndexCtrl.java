@@ -4,9 +4,12 @@ import com.google.common.collect.Sets;
 import com.google.common.eventbus.EventBus;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
 import gov.nysenate.openleg.client.response.base.SimpleResponse;
+import gov.nysenate.openleg.client.response.base.ViewObjectResponse;
 import gov.nysenate.openleg.client.response.error.ErrorCode;
 import gov.nysenate.openleg.client.response.error.ErrorResponse;
+import gov.nysenate.openleg.client.view.search.IndexQueueStatsView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
+import gov.nysenate.openleg.dao.base.ElasticIndexQueue;
 import gov.nysenate.openleg.dao.base.SearchIndex;
 import gov.nysenate.openleg.model.search.ClearIndexEvent;
 import gov.nysenate.openleg.model.search.RebuildIndexEvent;
@@ -32,12 +35,24 @@ public class SearchIndexCtrl extends BaseCtrl
     private static final Logger logger = LoggerFactory.getLogger(SearchIndexCtrl.class);
 
     @Autowired private EventBus eventBus;
+    @Autowired private ElasticIndexQueue indexQueue;
 
     @PostConstruct
     private void init() {
         eventBus.register(this);
     }
 
+    /**
+     * Search Index Queue API
+     *
+     * Get the depth, lag and throughput counters of the background index queue: (GET) /api/3/admin/index/queue
+     */
+    @RequiresPermissions("admin:view")
+    @RequestMapping(value = "/queue", method = RequestMethod.GET)
+    public BaseResponse getIndexQueueStats() {
+        return new ViewObjectResponse<>(new IndexQueueStatsView(indexQueue));
+    }
+
     /**
      * Search Index Rebuild API
      *
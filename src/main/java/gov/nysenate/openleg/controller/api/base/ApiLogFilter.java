@@ -4,7 +4,7 @@ import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import gov.nysenate.openleg.model.auth.ApiUser;
 import gov.nysenate.openleg.service.auth.ApiUserService;
-import gov.nysenate.openleg.service.log.data.ApiLogDataService;
+import gov.nysenate.openleg.service.log.data.BufferedApiLogWriter;
 import gov.nysenate.openleg.service.log.event.ApiLogEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,7 +27,7 @@ public class ApiLogFilter implements Filter
     private static final Logger logger = LoggerFactory.getLogger(ApiLogFilter.class);
 
     @Autowired protected EventBus eventBus;
-    @Autowired protected ApiLogDataService logDataService;
+    @Autowired protected BufferedApiLogWriter apiLogWriter;
     @Autowired protected ApiUserService apiUserService;
 
     private static String[] IGNORED_PATHS = new String[]{"/api/3/admin/apiLog", "/api/3/admin/process/runs/"};
@@ -64,12 +64,12 @@ public class ApiLogFilter implements Filter
     }
 
     /**
-     * The log event is handled here so that the data service can occur asynchronously.
+     * The log event is handled here by buffering the response, which is written out in the background.
      * @param apiLogEvent ApiLogEvent
      */
     @Subscribe
     public void handleApiLogEvent(ApiLogEvent apiLogEvent) {
-        logDataService.saveApiResponseAsync(apiLogEvent, true);
+        apiLogWriter.offer(apiLogEvent.getApiResponse());
     }
 
     @Override
@@ -17,6 +17,7 @@ import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.notification.Notification;
 import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.search.UnexpectedSearchException;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateType;
 import org.apache.catalina.connector.ClientAbortException;
 import org.apache.commons.lang3.BooleanUtils;
@@ -323,6 +324,43 @@ public abstract class BaseCtrl
         return "published".equalsIgnoreCase(type) ? UpdateType.PUBLISHED_DATE : UpdateType.PROCESSED_DATE;
     }
 
+    /**
+     * Returns the page size of a request that is paged with continuation tokens. These pages are always
+     * bounded, so a limit of 'all' is capped at the maximum limit and the token is used to get the rest.
+     *
+     * @param limitOffset LimitOffset - The limit requested via {@link #getLimitOffset(WebRequest, int)}
+     * @return int
+     */
+    protected int getCursorLimit(LimitOffset limitOffset) {
+        return (limitOffset.getLimit() > 0) ? limitOffset.getLimit() : MAX_LIMIT;
+    }
+
+    /**
+     * Parses the 'next' continuation token of a paged update request. An empty token starts paging from
+     * the beginning of the requested date range.
+     *
+     * @param request WebRequest
+     * @param sortOrder SortOrder - The order the updates are paged in
+     * @return UpdateCursor - The cursor to seek past, or null if the request does not use continuation tokens
+     * @throws InvalidRequestParamEx if the token is malformed
+     */
+    protected UpdateCursor getUpdateCursorFromParam(WebRequest request, SortOrder sortOrder) {
+        String next = request.getParameter("next");
+        if (next == null) {
+            return null;
+        }
+        if (next.isEmpty()) {
+            return UpdateCursor.start(sortOrder);
+        }
+        try {
+            return UpdateCursor.decode(next);
+        }
+        catch (IllegalArgumentException ex) {
+            throw new InvalidRequestParamEx(next, "next", "string",
+                "Must be a continuation token from the 'next' field of a previous response");
+        }
+    }
+
     private <T extends Enum<T>> InvalidRequestParamEx getEnumParamEx(Class<T> enumType, Function<T, String> valueFunction,
                                                         String paramName, String paramValue) {
         throw new InvalidRequestParamEx(paramValue, paramName, "string",
@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.controller.api.bill;
 
+import com.google.common.collect.Lists;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
 import gov.nysenate.openleg.client.response.base.ListViewResponse;
 import gov.nysenate.openleg.client.response.base.ViewObjectResponse;
@@ -10,37 +11,38 @@ import gov.nysenate.openleg.client.view.base.StringView;
 import gov.nysenate.openleg.client.view.base.ViewObject;
 import gov.nysenate.openleg.client.view.bill.*;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
+import gov.nysenate.openleg.controller.pdf.PdfResponseUtils;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.base.Version;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
-import gov.nysenate.openleg.model.bill.BillAmendment;
 import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.search.SearchException;
+import gov.nysenate.openleg.model.search.SearchResult;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.service.bill.data.BillAmendNotFoundEx;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
+import gov.nysenate.openleg.service.bill.diff.BillDiffService;
 import gov.nysenate.openleg.service.bill.search.BillSearchService;
-import gov.nysenate.openleg.util.BillTextUtils;
+import gov.nysenate.openleg.service.pdf.PdfRenderService;
 import gov.nysenate.openleg.util.OutputUtils;
-import gov.nysenate.openleg.util.StringDiffer;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.ByteArrayOutputStream;
-import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_API_PATH;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
@@ -54,8 +56,13 @@ public class BillGetCtrl extends BaseCtrl
 {
     private static final Logger logger = LoggerFactory.getLogger(BillGetCtrl.class);
 
+    /** The number of bills that are fetched at a time when streaming a listing of full bills. */
+    private static final int FULL_BILL_BATCH_SIZE = 25;
+
     @Autowired protected BillDataService billData;
     @Autowired protected BillSearchService billSearch;
+    @Autowired protected PdfRenderService pdfRenderService;
+    @Autowired protected BillDiffService billDiffService;
 
     protected enum BillViewLevel
     {
@@ -88,6 +95,8 @@ public class BillGetCtrl extends BaseCtrl
      * Retrieve bills for session year: (GET) /api/3/bills/{session}
      * Request Parameters: sort - Lucene syntax for sorting by any field from the bill response.
      *                     full - If true, the full bill view should be returned. Otherwise just the info.
+     *                     fromIndex - If true (and full is false), bill infos are read from the search index,
+     *                                 falling back to the data service for any that are out of date.
      *                     limit - Limit the number of results.
      *                     offset - Start results from an offset.
      *
@@ -97,16 +106,32 @@ public class BillGetCtrl extends BaseCtrl
     public BaseResponse getBills(@PathVariable int sessionYear,
                                  @RequestParam(defaultValue = "status.actionDate:desc") String sort,
                                  @RequestParam(defaultValue = "false") boolean full,
+                                 @RequestParam(defaultValue = "false") boolean fromIndex,
                                  WebRequest webRequest) throws SearchException {
         LimitOffset limOff = getLimitOffset(webRequest, 50);
+        if (fromIndex && !full) {
+            SearchResults<BillInfoView> infoResults = billSearch.searchBillInfos(SessionYear.of(sessionYear), sort, limOff);
+            return ListViewResponse.of(infoResults.getRawResults(), infoResults.getTotalResults(), limOff);
+        }
         SearchResults<BaseBillId> results =
             billSearch.searchBills(SessionYear.of(sessionYear), sort, limOff);
         // The bill data is retrieved from the data service so the data is always fresh.
-        return ListViewResponse.of(
-            results.getResults().stream()
-                .map(r -> (full) ? new BillView(billData.getBill(r.getResult()))
-                        : new BillInfoView(billData.getBillInfo(r.getResult())))
-                .collect(Collectors.toList()), results.getTotalResults(), limOff);
+        List<BaseBillId> billIds = results.getResults().stream()
+            .map(SearchResult::getResult)
+            .collect(Collectors.toList());
+        if (full) {
+            // Full bills are fetched a batch at a time and written out as they are viewed,
+            // so that a large page never has to be held in memory at once.
+            return ListViewResponse.ofStream(Lists.partition(billIds, FULL_BILL_BATCH_SIZE).stream()
+                .flatMap(batch -> getBillViews(batch, ids -> billData.getBills(ids).stream()
+                    .collect(Collectors.toMap(Bill::getBaseBillId, BillView::new)))),
+                results.getTotalResults(), limOff);
+        }
+        // The entire page of infos is fetched at once so that cache misses are loaded together.
+        return ListViewResponse.of(getBillViews(billIds, ids -> billData.getBillInfos(ids).stream()
+                .collect(Collectors.toMap(bi -> BaseBillId.of(bi.getBillId()), BillInfoView::new)))
+                .collect(Collectors.toList()),
+            results.getTotalResults(), limOff);
     }
 
     /**
@@ -155,6 +180,21 @@ public class BillGetCtrl extends BaseCtrl
         return strippedBill;
     }
 
+    /**
+     * Loads the views for the given bill ids in one call and returns them in the same order.
+     * @throws BillNotFoundEx if a view was not loaded for one of the bill ids
+     */
+    private Stream<ViewObject> getBillViews(List<BaseBillId> billIds,
+                                            Function<List<BaseBillId>, Map<BaseBillId, ? extends ViewObject>> loader) {
+        Map<BaseBillId, ? extends ViewObject> views = loader.apply(billIds);
+        return billIds.stream().map(billId -> {
+            if (!views.containsKey(billId)) {
+                throw new BillNotFoundEx(billId, null);
+            }
+            return views.get(billId);
+        });
+    }
+
     /**
      * Single Bill PDF retrieval API
      * -----------------------------
@@ -167,15 +207,12 @@ public class BillGetCtrl extends BaseCtrl
      * Expected Output: PDF response
      */
     @RequestMapping(value = "/{sessionYear:[\\d]{4}}/{printNo}.pdf")
-    public ResponseEntity<byte[]> getBillPdf(@PathVariable int sessionYear, @PathVariable String printNo)
+    public void getBillPdf(@PathVariable int sessionYear, @PathVariable String printNo,
+                           HttpServletRequest request, HttpServletResponse response)
                            throws Exception {
         BillId billId = getBillId(printNo, sessionYear, "printNo");
         Bill bill = billData.getBill(BaseBillId.of(billId));
-        ByteArrayOutputStream pdfBytes = new ByteArrayOutputStream();
-        BillPdfView.writeBillPdf(bill, billId.getVersion(), pdfBytes);
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("application/pdf"));
-        return new ResponseEntity<>(pdfBytes.toByteArray(), headers, HttpStatus.OK);
+        PdfResponseUtils.writePdf(pdfRenderService.getBillPdf(bill, billId.getVersion()), request, response);
     }
 
     /**
@@ -189,22 +226,13 @@ public class BillGetCtrl extends BaseCtrl
     @RequestMapping(value = "/{sessionYear:[\\d]{4}}/{printNo}/diff/{version1}/{version2}")
     public BaseResponse getBillDiff(@PathVariable int sessionYear, @PathVariable String printNo, @PathVariable String version1,
                             @PathVariable String version2) {
-        StringDiffer stringDiffer = new StringDiffer();
         BaseBillId baseBillId = getBaseBillId(printNo, sessionYear, "printNo");
         Bill bill = billData.getBill(baseBillId);
-        BillAmendment amend1 = bill.getAmendment(parseVersion(version1, "version1"));
-        BillAmendment amend2 = bill.getAmendment(parseVersion(version2, "version2"));
-        String fullText1 = BillTextUtils.formatBillText(bill.isResolution(), amend1.getFullText());
-        String fullText2 = BillTextUtils.formatBillText(bill.isResolution(), amend2.getFullText());
-        LinkedList<StringDiffer.Diff> diffs = stringDiffer.diff_main(fullText1, fullText2);
-        stringDiffer.diff_cleanupEfficiency(diffs);
-        stringDiffer.diff_cleanupSemantic(diffs);
-        stringDiffer.diff_cleanupMerge(diffs);
-        String prettyHtml = stringDiffer.diff_prettyHtml(diffs).replace("&para;", " ");
+        Version v1 = parseVersion(version1, "version1");
+        Version v2 = parseVersion(version2, "version2");
+        String prettyHtml = billDiffService.getDiffHtml(bill, v1, v2);
         return new ViewObjectResponse<>(
-            new BillDiffView(
-                new BaseBillIdView(baseBillId), amend1.getVersion().toString(), amend2.getVersion().toString(),
-                    prettyHtml));
+            new BillDiffView(new BaseBillIdView(baseBillId), v1.toString(), v2.toString(), prettyHtml));
     }
 
 
@@ -3,6 +3,7 @@ package gov.nysenate.openleg.controller.api.bill;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
 import gov.nysenate.openleg.client.response.base.ListViewResponse;
 import gov.nysenate.openleg.client.view.base.SearchResultView;
+import gov.nysenate.openleg.client.view.base.ViewObject;
 import gov.nysenate.openleg.client.view.bill.BillIdView;
 import gov.nysenate.openleg.client.view.bill.BillInfoView;
 import gov.nysenate.openleg.client.view.bill.BillView;
@@ -11,8 +12,10 @@ import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.search.SearchException;
+import gov.nysenate.openleg.model.search.SearchResult;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
+import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
 import gov.nysenate.openleg.service.bill.search.BillSearchService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +23,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_API_PATH;
 import static java.util.stream.Collectors.toList;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
@@ -44,6 +51,8 @@ public class BillSearchCtrl extends BaseCtrl
      * Request Parameters:  term - The lucene query string
      *                      sort - The lucene sort string (blank by default)
      *                      full - Set to true to retrieve full bill responses (false by default)
+     *                      idOnly - Set to true to retrieve only the bill ids (false by default)
+     *                      fromIndex - Set to true to read bill info responses from the search index (false by default)
      *                      limit - Limit the number of results (default 25)
      *                      offset - Start results from offset
      */
@@ -52,8 +61,12 @@ public class BillSearchCtrl extends BaseCtrl
                                      @RequestParam(defaultValue = "") String sort,
                                      @RequestParam(defaultValue = "false") boolean full,
                                      @RequestParam(defaultValue = "false") boolean idOnly,
+                                     @RequestParam(defaultValue = "false") boolean fromIndex,
                                      WebRequest webRequest) throws SearchException {
         LimitOffset limOff = getLimitOffset(webRequest, 25);
+        if (fromIndex && !full && !idOnly) {
+            return getBillInfoSearchResponse(billSearch.searchBillInfos(term, sort, limOff), limOff);
+        }
         SearchResults<BaseBillId> results = billSearch.searchBills(term, sort, limOff);
         return getBillSearchResponse(results, full, idOnly, limOff);
     }
@@ -71,8 +84,13 @@ public class BillSearchCtrl extends BaseCtrl
                                       @RequestParam(defaultValue = "") String sort,
                                       @RequestParam(defaultValue = "false") boolean full,
                                       @RequestParam(defaultValue = "false") boolean idOnly,
+                                      @RequestParam(defaultValue = "false") boolean fromIndex,
                                       WebRequest webRequest) throws SearchException {
         LimitOffset limOff = getLimitOffset(webRequest, 25);
+        if (fromIndex && !full && !idOnly) {
+            return getBillInfoSearchResponse(
+                billSearch.searchBillInfos(term, SessionYear.of(sessionYear), sort, limOff), limOff);
+        }
         SearchResults<BaseBillId> results = billSearch.searchBills(term, SessionYear.of(sessionYear), sort, limOff);
         return getBillSearchResponse(results, full, idOnly, limOff);
     }
@@ -80,13 +98,34 @@ public class BillSearchCtrl extends BaseCtrl
     /** --- Internal --- */
 
     private BaseResponse getBillSearchResponse(SearchResults<BaseBillId> results, boolean full, boolean idOnly, LimitOffset limOff) {
+        // Retrieve the bill data for the entire page at once rather than one result at a time.
+        List<BaseBillId> billIds = results.getResults().stream().map(SearchResult::getResult).collect(toList());
+        Map<BaseBillId, ViewObject> views = new HashMap<>();
+        if (full) {
+            billData.getBills(billIds).forEach(b -> views.put(b.getBaseBillId(), new BillView(b)));
+        }
+        else if (!idOnly) {
+            billData.getBillInfos(billIds).forEach(bi -> views.put(BaseBillId.of(bi.getBillId()), new BillInfoView(bi)));
+        }
+        return ListViewResponse.of(
+            results.getResults().stream()
+                .map(r -> new SearchResultView((full || !idOnly)
+                        ? getResultView(views, r.getResult())
+                        : new BillIdView(r.getResult()), r.getRank(), r.getHighlights()))
+                .collect(toList()), results.getTotalResults(), limOff);
+    }
+
+    private BaseResponse getBillInfoSearchResponse(SearchResults<BillInfoView> results, LimitOffset limOff) {
         return ListViewResponse.of(
             results.getResults().stream()
-                .map(r -> new SearchResultView((full)
-                        ? new BillView(billData.getBill(r.getResult()))
-                        : (idOnly)
-                            ? new BillIdView(r.getResult())
-                            : new BillInfoView(billData.getBillInfo(r.getResult())), r.getRank(), r.getHighlights()))
+                .map(r -> new SearchResultView(r.getResult(), r.getRank(), r.getHighlights()))
                 .collect(toList()), results.getTotalResults(), limOff);
     }
+
+    private ViewObject getResultView(Map<BaseBillId, ViewObject> views, BaseBillId billId) {
+        if (!views.containsKey(billId)) {
+            throw new BillNotFoundEx(billId, null);
+        }
+        return views.get(billId);
+    }
 }
\ No newline at end of file
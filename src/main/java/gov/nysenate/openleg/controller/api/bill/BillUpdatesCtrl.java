@@ -2,7 +2,9 @@ package gov.nysenate.openleg.controller.api.bill;
 
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
+import gov.nysenate.openleg.client.response.base.CursorListViewResponse;
 import gov.nysenate.openleg.client.response.base.DateRangeListViewResponse;
+import gov.nysenate.openleg.client.view.base.ViewObject;
 import gov.nysenate.openleg.client.view.bill.BaseBillIdView;
 import gov.nysenate.openleg.client.view.bill.SimpleBillInfoView;
 import gov.nysenate.openleg.client.view.updates.UpdateDigestModelView;
@@ -17,6 +19,7 @@ import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.dao.bill.data.BillUpdatesDao;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.BillUpdateField;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
@@ -32,11 +35,11 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_API_PATH;
-import static java.util.stream.Collectors.toList;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 /**
@@ -68,6 +71,9 @@ public class BillUpdatesCtrl extends BaseCtrl
      *                 type (string) - Update type (processed, published) Default: published
      *                 filter (string) - Filter updates by a BillUpdateField value
      *                 limit, offset (int) - Paginate
+     *                 next (string) - Page through digests with continuation tokens instead of an offset, starting
+     *                                 with an empty value and then passing the 'next' value of each response.
+     *                                 The total is not counted in this mode. Requires detail = true.
      *                 order (string) - Order by update date
      *
      * Expected Output: List of UpdateTokenView<BaseBillId> or UpdateDigestView<BaseBillId> if detail = true.
@@ -106,6 +112,7 @@ public class BillUpdatesCtrl extends BaseCtrl
      *
      * Request Params: filter (string) - Filter updates by a BillUpdateField
      *                 type (string) - Update type (processed, published) Default: published
+     *                 next (string) - Page through digests with continuation tokens, see the Updated Bills API
      *
      * Expected Output: List of UpdateDigestView<BaseBillId>
      */
@@ -144,27 +151,35 @@ public class BillUpdatesCtrl extends BaseCtrl
         String filter = request.getParameter("filter");
         UpdateType updateType = getUpdateTypeFromParam(request);
         BillUpdateField fieldFilter = getUpdateFieldFromParam(filter);
+        UpdateCursor cursor = getUpdateCursorFromParam(request, sortOrder);
 
-        if (!detail) {
+        if (cursor != null) {
+            if (!detail) {
+                throw new InvalidRequestParamEx(request.getParameter("next"), "next", "string",
+                    "Continuation tokens can only be used when detail = true");
+            }
+            int limit = getCursorLimit(limOff);
+            List<UpdateDigest<BaseBillId>> updateDigests = billUpdatesDao.getDetailedUpdates(
+                updateRange, updateType, fieldFilter, sortOrder, cursor, limit);
+            return CursorListViewResponse.ofStream(resolveSummaries(summary, updateDigests.stream()
+                .map(digest -> getDigestView(digest, summary))), updateRange, limit,
+                UpdateCursor.next(updateDigests, cursor, updateType).encode());
+        }
+        else if (!detail) {
             PaginatedList<UpdateToken<BaseBillId>> updateTokens =
                 billUpdatesDao.getUpdates(updateRange, updateType, fieldFilter, sortOrder, limOff);
-            return DateRangeListViewResponse.of(updateTokens.getResults().stream()
+            return DateRangeListViewResponse.ofStream(resolveSummaries(summary, updateTokens.getResults().stream()
                 .map(token ->
                     (!summary) ? new UpdateTokenView(token, new BaseBillIdView(token.getId()))
                                : new UpdateTokenModelView(token, new BaseBillIdView(token.getId()),
                                                                  new SimpleBillInfoView(billData.getBillInfo(token.getId())))
-                ).collect(toList()), updateRange, updateTokens.getTotal(), limOff);
+                )), updateRange, updateTokens.getTotal(), limOff);
         }
         else {
             PaginatedList<UpdateDigest<BaseBillId>> updateDigests =
                 billUpdatesDao.getDetailedUpdates(updateRange, updateType, fieldFilter, sortOrder, limOff);
-            return DateRangeListViewResponse.of(updateDigests.getResults().stream()
-                .map(digest ->
-                        (!summary) ? new UpdateDigestView(digest, new BaseBillIdView(digest.getId()))
-                                   : new UpdateDigestModelView(digest, new BaseBillIdView(digest.getId()),
-                                                                       new SimpleBillInfoView(billData.getBillInfo(digest.getId())))
-                )
-                .collect(toList()), updateRange, updateDigests.getTotal(), limOff);
+            return DateRangeListViewResponse.ofStream(resolveSummaries(summary, updateDigests.getResults().stream()
+                .map(digest -> getDigestView(digest, summary))), updateRange, updateDigests.getTotal(), limOff);
         }
     }
 
@@ -175,11 +190,36 @@ public class BillUpdatesCtrl extends BaseCtrl
         LimitOffset limOff = getLimitOffset(request, 50);
         Range<LocalDateTime> updateRange = getOpenRange(from, to, "from", "to");
         UpdateType updateType = getUpdateTypeFromParam(request);
+        BaseBillId billId = getBaseBillId(printNo, sessionYear, "printNo");
+        UpdateCursor cursor = getUpdateCursorFromParam(request, sortOrder);
+        if (cursor != null) {
+            int limit = getCursorLimit(limOff);
+            List<UpdateDigest<BaseBillId>> digests = billUpdatesDao.getDetailedUpdatesForBill(
+                billId, updateRange, updateType, filterField, sortOrder, cursor, limit);
+            return CursorListViewResponse.ofStream(digests.stream()
+                .map(digest -> getDigestView(digest, false)), updateRange, limit,
+                UpdateCursor.next(digests, cursor, updateType).encode());
+        }
         PaginatedList<UpdateDigest<BaseBillId>> digests = billUpdatesDao.getDetailedUpdatesForBill(
-            getBaseBillId(printNo, sessionYear, "printNo"), updateRange, updateType, filterField, sortOrder, limOff);
-        return DateRangeListViewResponse.of(digests.getResults().stream()
-            .map(digest -> new UpdateDigestView(digest, new BaseBillIdView(digest.getId())))
-            .collect(toList()), updateRange, digests.getTotal(), limOff);
+            billId, updateRange, updateType, filterField, sortOrder, limOff);
+        return DateRangeListViewResponse.ofStream(digests.getResults().stream()
+            .map(digest -> getDigestView(digest, false)),
+            updateRange, digests.getTotal(), limOff);
+    }
+
+    /**
+     * Summary views look up bill infos, which fails for bills that no longer exist. So they are all produced
+     * before the response is written, where an error still results in an error response instead of a
+     * truncated one.
+     */
+    private static <ViewType> Stream<ViewType> resolveSummaries(boolean summary, Stream<ViewType> views) {
+        return (summary) ? views.collect(Collectors.toList()).stream() : views;
+    }
+
+    private ViewObject getDigestView(UpdateDigest<BaseBillId> digest, boolean summary) {
+        return (!summary) ? new UpdateDigestView(digest, new BaseBillIdView(digest.getId()))
+                          : new UpdateDigestModelView(digest, new BaseBillIdView(digest.getId()),
+                                                      new SimpleBillInfoView(billData.getBillInfo(digest.getId())));
     }
 
     private BillUpdateField getUpdateFieldFromParam(String filter) {
@@ -2,18 +2,21 @@ package gov.nysenate.openleg.controller.api.law;
 
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
+import gov.nysenate.openleg.client.response.base.CursorListViewResponse;
 import gov.nysenate.openleg.client.response.base.DateRangeListViewResponse;
 import gov.nysenate.openleg.client.view.law.LawDocIdView;
 import gov.nysenate.openleg.client.view.law.LawVersionIdView;
 import gov.nysenate.openleg.client.view.updates.UpdateDigestView;
 import gov.nysenate.openleg.client.view.updates.UpdateTokenView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
+import gov.nysenate.openleg.controller.api.base.InvalidRequestParamEx;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.dao.law.data.LawUpdatesDao;
 import gov.nysenate.openleg.model.law.LawDocId;
 import gov.nysenate.openleg.model.law.LawVersionId;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
@@ -28,6 +31,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_API_PATH;
 import static java.util.stream.Collectors.toList;
@@ -53,6 +57,9 @@ public class LawUpdatesCtrl extends BaseCtrl
      * Request Params: detail (boolean) - Show update digests within each token.
      *                 type (string) - Update type (processed, published) Default: published
      *                 limit, offset (int) - Paginate
+     *                 next (string) - Page through digests with continuation tokens instead of an offset, starting
+     *                                 with an empty value and then passing the 'next' value of each response.
+     *                                 The total is not counted in this mode. Requires detail = true.
      *                 order (string) - Order by update date
      *
      * Expected Response: List of UpdateTokenView<LawVersionId> or UpdateDigestTokenView<LawDocId> if detail = true
@@ -135,7 +142,16 @@ public class LawUpdatesCtrl extends BaseCtrl
 
     private BaseResponse getAllUpdates(LocalDateTime from, LocalDateTime to, WebRequest request) {
         BaseLawUpdatesParams params = getBaseParams(from, to, request);
-        if (!params.detail) {
+        if (params.cursor != null) {
+            if (!params.detail) {
+                throw new InvalidRequestParamEx(request.getParameter("next"), "next", "string",
+                    "Continuation tokens can only be used when detail = true");
+            }
+            List<UpdateDigest<LawDocId>> updateDigests = lawUpdatesDao.getDetailedUpdates(
+                params.updateRange, params.updateType, params.sortOrder, params.cursor, params.cursorLimit);
+            return getDigestCursorResponse(params, updateDigests);
+        }
+        else if (!params.detail) {
             PaginatedList<UpdateToken<LawVersionId>> updateTokens =
                 lawUpdatesDao.getUpdates(params.updateRange, params.updateType, params.sortOrder, params.limOff);
             return getTokenListResponse(params, updateTokens);
@@ -149,6 +165,10 @@ public class LawUpdatesCtrl extends BaseCtrl
 
     private BaseResponse getUpdatesForLaw(String lawId, LocalDateTime from, LocalDateTime to, WebRequest request) {
         BaseLawUpdatesParams params = getBaseParams(from, to, request);
+        if (params.cursor != null) {
+            return getDigestCursorResponse(params, lawUpdatesDao.getDetailedUpdatesForLaw(lawId, params.updateRange,
+                params.updateType, params.sortOrder, params.cursor, params.cursorLimit));
+        }
         PaginatedList<UpdateDigest<LawDocId>> updateDigests =
             lawUpdatesDao.getDetailedUpdatesForLaw(lawId, params.updateRange, params.updateType,
                                                    params.sortOrder, params.limOff);
@@ -159,6 +179,10 @@ public class LawUpdatesCtrl extends BaseCtrl
                                              WebRequest request) {
         BaseLawUpdatesParams params = getBaseParams(from, to, request);
         String docId = lawId + locationId;
+        if (params.cursor != null) {
+            return getDigestCursorResponse(params, lawUpdatesDao.getDetailedUpdatesForDocument(docId,
+                params.updateRange, params.updateType, params.sortOrder, params.cursor, params.cursorLimit));
+        }
         PaginatedList<UpdateDigest<LawDocId>> updateDigests =
             lawUpdatesDao.getDetailedUpdatesForDocument(docId, params.updateRange, params.updateType,
                     params.sortOrder, params.limOff);
@@ -177,12 +201,21 @@ public class LawUpdatesCtrl extends BaseCtrl
             .collect(toList()), params.updateRange, updateDigests.getTotal(), params.limOff);
     }
 
+    private BaseResponse getDigestCursorResponse(BaseLawUpdatesParams params, List<UpdateDigest<LawDocId>> updateDigests) {
+        return CursorListViewResponse.ofStream(updateDigests.stream()
+            .map(digest -> new UpdateDigestView(digest, new LawDocIdView(digest.getId()))),
+            params.updateRange, params.cursorLimit,
+            UpdateCursor.next(updateDigests, params.cursor, params.updateType).encode());
+    }
+
     private static class BaseLawUpdatesParams {
         LimitOffset limOff;
         Range<LocalDateTime> updateRange;
         SortOrder sortOrder;
         UpdateType updateType;
         boolean detail;
+        UpdateCursor cursor;
+        int cursorLimit;
     }
 
     private BaseLawUpdatesParams getBaseParams(LocalDateTime from, LocalDateTime to, WebRequest request) {
@@ -192,6 +225,8 @@ public class LawUpdatesCtrl extends BaseCtrl
         params.sortOrder = getSortOrder(request, SortOrder.ASC);
         params.updateType = getUpdateTypeFromParam(request);
         params.detail = getBooleanParam(request, "detail", false);
+        params.cursor = getUpdateCursorFromParam(request, params.sortOrder);
+        params.cursorLimit = getCursorLimit(params.limOff);
         return params;
     }
 }
@@ -2,6 +2,7 @@ package gov.nysenate.openleg.controller.api.update;
 
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
+import gov.nysenate.openleg.client.response.base.CursorListViewResponse;
 import gov.nysenate.openleg.client.response.base.DateRangeListViewResponse;
 import gov.nysenate.openleg.client.view.agenda.AgendaIdView;
 import gov.nysenate.openleg.client.view.base.ViewObject;
@@ -12,6 +13,7 @@ import gov.nysenate.openleg.client.view.law.LawVersionIdView;
 import gov.nysenate.openleg.client.view.updates.UpdateDigestView;
 import gov.nysenate.openleg.client.view.updates.UpdateTokenView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
+import gov.nysenate.openleg.controller.api.base.InvalidRequestParamEx;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
@@ -22,6 +24,7 @@ import gov.nysenate.openleg.model.calendar.CalendarId;
 import gov.nysenate.openleg.model.law.LawDocId;
 import gov.nysenate.openleg.model.law.LawVersionId;
 import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
@@ -35,9 +38,9 @@ import org.springframework.web.context.request.WebRequest;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.*;
 import static org.springframework.http.MediaType.*;
@@ -62,6 +65,9 @@ public class AggregateUpdatesCtrl extends BaseCtrl {
      *                                           Default: all types (AGENDA, BILL, CALENDAR, LAW)
      *                 type (string) - Update type (processed, published) Default: processed
      *                 limit, offset (int) - Paginate
+     *                 next (string) - Page through digests with continuation tokens instead of an offset, starting
+     *                                 with an empty value and then passing the 'next' value of each response.
+     *                                 The total is not counted in this mode. Requires detail = true.
      *                 order (string) - Order by update
      *
      * Expected Response: List of UpdateTokenView or UpdateDigestTokenView if detail = true
@@ -88,7 +94,16 @@ public class AggregateUpdatesCtrl extends BaseCtrl {
         Set<UpdateContentType> contentTypes = getContentTypes(webRequest);
         LimitOffset limitOffset = getLimitOffset(webRequest, 50);
         SortOrder order = getSortOrder(webRequest, SortOrder.DESC);
+        UpdateCursor cursor = getUpdateCursorFromParam(webRequest, order);
 
+        if (cursor != null) {
+            if (!detail) {
+                throw new InvalidRequestParamEx(webRequest.getParameter("next"), "next", "string",
+                    "Continuation tokens can only be used when detail = true");
+            }
+            return getDigestResponse(dateTimeRange, updateType, contentTypes, fields, cursor,
+                                     getCursorLimit(limitOffset), order);
+        }
         return detail
                 ? getDigestResponse(dateTimeRange, updateType, contentTypes, fields, limitOffset, order)
                 : getTokenResponse(dateTimeRange, updateType, contentTypes, limitOffset, order);
@@ -99,10 +114,9 @@ public class AggregateUpdatesCtrl extends BaseCtrl {
                                           LimitOffset limitOffset, SortOrder order) {
         PaginatedList<UpdateToken<Map<String, String>>> result =
                 updatesDao.getUpdateTokens(dateTimeRange, contentTypes, updateType, order, limitOffset);
-        return DateRangeListViewResponse.of(
+        return DateRangeListViewResponse.ofStream(
                 result.getResults().stream()
-                        .map(this::getTokenView)
-                        .collect(Collectors.toList()),
+                        .map(this::getTokenView),
                 dateTimeRange, result.getTotal(), limitOffset);
     }
 
@@ -111,13 +125,23 @@ public class AggregateUpdatesCtrl extends BaseCtrl {
                                            LimitOffset limitOffset, SortOrder order) {
         PaginatedList<UpdateDigest<Map<String, String>>> result =
                 updatesDao.getUpdateDigests(dateTimeRange, contentTypes, updateType, order, limitOffset, fields);
-        return DateRangeListViewResponse.of(
+        return DateRangeListViewResponse.ofStream(
                 result.getResults().stream()
-                        .map(this::getDigestView)
-                        .collect(Collectors.toList()),
+                        .map(this::getDigestView),
                 dateTimeRange, result.getTotal(), limitOffset);
     }
 
+    private BaseResponse getDigestResponse(Range<LocalDateTime> dateTimeRange, UpdateType updateType,
+                                           Set<UpdateContentType> contentTypes, boolean fields,
+                                           UpdateCursor cursor, int limit, SortOrder order) {
+        List<UpdateDigest<Map<String, String>>> result =
+                updatesDao.getUpdateDigests(dateTimeRange, contentTypes, updateType, order, cursor, limit, fields);
+        return CursorListViewResponse.ofStream(
+                result.stream()
+                        .map(this::getDigestView),
+                dateTimeRange, limit, UpdateCursor.next(result, cursor, updateType).encode());
+    }
+
     private Set<UpdateContentType> getContentTypes(WebRequest webRequest) {
         String[] contentTypeStrings = webRequest.getParameterValues("content-type");
         Set<UpdateContentType> types = new HashSet<>();
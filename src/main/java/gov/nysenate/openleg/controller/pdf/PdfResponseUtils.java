@@ -0,0 +1,79 @@
+package gov.nysenate.openleg.controller.pdf;
+
+import gov.nysenate.openleg.service.pdf.CachedPdf;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes cached pdfs to http responses.
+ */
+public class PdfResponseUtils
+{
+    /** Request attributes used by Tomcat to serve a file using sendfile. */
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private PdfResponseUtils() {}
+
+    /**
+     * Writes the given pdf to the response. If the request's If-None-Match header matches the pdf's ETag
+     * a 304 response is sent instead. Otherwise the file is handed to the container's sendfile support
+     * when available, or transferred directly from the file channel to the response.
+     *
+     * @param pdf CachedPdf
+     * @param request HttpServletRequest
+     * @param response HttpServletResponse
+     * @throws IOException
+     */
+    public static void writePdf(CachedPdf pdf, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setHeader("ETag", pdf.getETag());
+        if (eTagMatches(pdf.getETag(), request.getHeader("If-None-Match"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        long length = pdf.getLength();
+        response.setContentType("application/pdf");
+        response.setContentLengthLong(length);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, pdf.getFile().getCanonicalPath());
+            request.setAttribute(SENDFILE_START_ATTR, 0L);
+            request.setAttribute(SENDFILE_END_ATTR, length);
+            return;
+        }
+        try (FileChannel fileChannel = FileChannel.open(pdf.getFile().toPath(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < length) {
+                position += fileChannel.transferTo(position, length - position, out);
+            }
+        }
+    }
+
+    /**
+     * Checks if the given If-None-Match header value contains the given ETag.
+     */
+    static boolean eTagMatches(String eTag, String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
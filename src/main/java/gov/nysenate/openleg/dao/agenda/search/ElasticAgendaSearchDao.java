@@ -81,7 +81,7 @@ public class ElasticAgendaSearchDao extends ElasticBaseDao implements AgendaSear
                                 agenda.getId().getYear() + "-" + cfv.getAgenda().getId().getNumber(),
                                 cfv.getCommittee().getCommitteeId().getName())
                             .setSource(OutputUtils.toJson(cfv)))));
-            safeBulkRequestExecute(bulkRequest);
+            queueBulkRequest(bulkRequest);
         }
     }
 
@@ -89,7 +89,7 @@ public class ElasticAgendaSearchDao extends ElasticBaseDao implements AgendaSear
     @Override
     public void deleteAgendaFromIndex(AgendaId agendaId) {
         if (agendaId != null) {
-            deleteEntry(agendaIndexName, Integer.toString(agendaId.getYear()), Long.toString(agendaId.getNumber()));
+            queueDeleteEntry(agendaIndexName, Integer.toString(agendaId.getYear()), Long.toString(agendaId.getNumber()));
         }
     }
 
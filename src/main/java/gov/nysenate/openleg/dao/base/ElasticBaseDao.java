@@ -6,9 +6,11 @@ import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.search.SearchResult;
 import gov.nysenate.openleg.model.search.SearchResults;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequestBuilder;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.elasticsearch.action.admin.indices.exists.indices.IndicesExistsRequest;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteAction;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.delete.DeleteRequestBuilder;
@@ -48,6 +50,9 @@ public abstract class ElasticBaseDao
     @Autowired
     protected Client searchClient;
 
+    @Autowired
+    protected ElasticIndexQueue indexQueue;
+
     @PostConstruct
     private void init() {
         createIndices();
@@ -62,7 +67,10 @@ public abstract class ElasticBaseDao
     }
 
     public void purgeIndices() {
-        getIndices().forEach(this::deleteIndex);
+        getIndices().forEach(index -> {
+            indexQueue.discard(index);
+            deleteIndex(index);
+        });
     }
 
     /** --- Abstract methods --- */
@@ -172,13 +180,39 @@ public abstract class ElasticBaseDao
      * Performs a bulk request execution while making sure that the bulk request is actually valid to
      * prevent exceptions.
      * @param bulkRequest BulkRequestBuilder
+     * @return BulkResponse - null if there was nothing to execute.
+     */
+    protected BulkResponse safeBulkRequestExecute(BulkRequestBuilder bulkRequest) {
+        if (bulkRequest != null && bulkRequest.numberOfActions() > 0) {
+            return bulkRequest.execute().actionGet();
+        }
+        return null;
+    }
+
+    /**
+     * Hands the actions in the bulk request off to the index queue to be sent in the background.
+     * @see ElasticIndexQueue
+     * @param bulkRequest BulkRequestBuilder
      */
-    protected void safeBulkRequestExecute(BulkRequestBuilder bulkRequest) {
+    protected void queueBulkRequest(BulkRequestBuilder bulkRequest) {
         if (bulkRequest != null && bulkRequest.numberOfActions() > 0) {
-            bulkRequest.execute().actionGet();
+            try {
+                indexQueue.submit(bulkRequest.request());
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ElasticsearchException("Interrupted while queueing search index requests", ex);
+            }
         }
     }
 
+    /**
+     * Queues the deletion of a document, to be sent in the background with other queued requests.
+     */
+    protected void queueDeleteEntry(String indexName, String type, String id) {
+        queueBulkRequest(searchClient.prepareBulk().add(new DeleteRequest(indexName, type, id)));
+    }
+
     protected void deleteEntry(String indexName, String type, String id) {
         DeleteRequestBuilder request = searchClient.prepareDelete();
         request.setIndex(indexName);
@@ -188,6 +222,70 @@ public abstract class ElasticBaseDao
 
     }
 
+    /**
+     * Returns the names of the indices that the alias points to.
+     */
+    protected List<String> getAliasIndices(String alias) {
+        List<String> indices = new ArrayList<>();
+        searchClient.admin().indices().prepareGetAliases(alias).execute().actionGet().getAliases()
+            .forEach(entry -> {
+                if (!entry.value.isEmpty()) {
+                    indices.add(entry.key);
+                }
+            });
+        return indices;
+    }
+
+    /**
+     * Points the alias at the given index and removes it from any other indices in a single request, so
+     * searches switch over atomically. The indices previously behind the alias are then deleted.
+     *
+     * A concrete index with the same name as the alias (i.e. one created before aliases were used) has to be
+     * deleted before the alias can be added, since this version of elastic search cannot remove an index within
+     * an aliases request. The index queue is held in the meantime so that a queued write cannot auto create the
+     * index again before the alias exists. Searches will still fail briefly the first time this is called.
+     */
+    protected void swapAlias(String alias, String indexName) {
+        List<String> oldIndices = getAliasIndices(alias);
+        oldIndices.remove(indexName);
+        if (oldIndices.isEmpty() && indicesExist(alias)) {
+            logger.info("Replacing index {} with an alias to {}", alias, indexName);
+            holdIndexQueue();
+            try {
+                deleteIndex(alias);
+                updateAlias(alias, indexName, oldIndices);
+            }
+            finally {
+                indexQueue.release();
+            }
+        }
+        else {
+            updateAlias(alias, indexName, oldIndices);
+        }
+        logger.info("Search alias {} now points to {}", alias, indexName);
+        oldIndices.forEach(this::deleteIndex);
+    }
+
+    /**
+     * Adds the alias to the index and removes it from the old indices in a single aliases request.
+     */
+    protected void updateAlias(String alias, String indexName, List<String> oldIndices) {
+        IndicesAliasesRequestBuilder aliasRequest = searchClient.admin().indices().prepareAliases()
+            .addAlias(indexName, alias);
+        oldIndices.forEach(oldIndex -> aliasRequest.removeAlias(oldIndex, alias));
+        aliasRequest.execute().actionGet();
+    }
+
+    private void holdIndexQueue() {
+        try {
+            indexQueue.hold();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ElasticsearchException("Interrupted while holding the search index queue", ex);
+        }
+    }
+
     protected boolean indicesExist(String... indices) {
         return searchClient.admin().indices().exists(new IndicesExistsRequest(indices)).actionGet().isExists();
     }
@@ -0,0 +1,637 @@
+package gov.nysenate.openleg.dao.base;
+
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.ActionRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.rest.RestStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Queues index and delete requests bound for elastic search so that they can be sent in the background
+ * instead of blocking the thread that produced them (typically data processing).
+ *
+ * Requests for the same document that arrive within the coalesce window are collapsed so only the latest
+ * one is sent. Pending requests are drained into bulk requests that are bounded by both action count and
+ * size in bytes, and the bulk requests are executed one at a time on a dedicated thread, retrying failures
+ * with an exponential backoff. Producers block once the number of pending documents reaches the queue
+ * capacity, so a slow cluster throttles processing rather than exhausting the heap.
+ *
+ * When asynchronous indexing is disabled, requests that could not be sent cause an ElasticsearchException
+ * on the submitting thread. Asynchronous failures are logged and counted.
+ *
+ * The queue can be held to stop any requests from reaching the cluster while an index is being replaced.
+ */
+@Repository
+public class ElasticIndexQueue
+{
+    private static final Logger logger = LoggerFactory.getLogger(ElasticIndexQueue.class);
+
+    /** Base delay between retries of a failed bulk request, doubled on each attempt. */
+    private static final long RETRY_BACKOFF_MS = 500;
+
+    @Autowired private Client searchClient;
+
+    /** When disabled, requests are executed immediately on the calling thread. */
+    @Value("${elastic.index.async.enabled:true}") boolean asyncEnabled;
+
+    /** Time to wait after a document is first queued before sending it, so repeated updates can coalesce. */
+    @Value("${elastic.index.coalesce.window.ms:1000}") long coalesceWindowMs;
+
+    /** Maximum number of pending documents before producers are blocked. */
+    @Value("${elastic.index.queue.capacity:10000}") int queueCapacity;
+
+    /** Upper bounds on the size of a single bulk request. */
+    @Value("${elastic.index.bulk.max.actions:1000}") int maxBulkActions;
+    @Value("${elastic.index.bulk.max.bytes:5242880}") long maxBulkBytes;
+
+    /** Number of times a failed bulk request or item is retried before it is dropped. */
+    @Value("${elastic.index.max.retries:3}") int maxRetries;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition drained = lock.newCondition();
+    private final Condition released = lock.newCondition();
+    private final Condition sendFinished = lock.newCondition();
+
+    /** Pending requests keyed by document, in the order the documents were first queued. */
+    private final LinkedHashMap<String, PendingRequest> pending = new LinkedHashMap<>();
+    private long pendingBytes = 0;
+    private int inFlightCount = 0;
+    /** Number of bulk requests being sent on submitting threads while asynchronous indexing is disabled. */
+    private int syncSendCount = 0;
+    private boolean held = false;
+
+    private ExecutorService indexExecutor;
+    private volatile boolean running = false;
+
+    /** --- Metrics --- */
+
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong bulkRequestCount = new AtomicLong();
+    private final AtomicLong droppedBatchCount = new AtomicLong();
+    private volatile long lastLagMs = 0;
+
+    @PostConstruct
+    public void init() {
+        if (asyncEnabled) {
+            running = true;
+            indexExecutor = Executors.newSingleThreadExecutor(new OpenlegThreadFactory("es-index"));
+            indexExecutor.submit(this::processQueue);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (indexExecutor != null) {
+            logger.info("Shutting down search index queue with {} pending requests", getQueueDepth());
+            lock.lock();
+            try {
+                running = false;
+                notEmpty.signalAll();
+            }
+            finally {
+                lock.unlock();
+            }
+            indexExecutor.shutdown();
+            if (!indexExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+                logger.warn("Search index queue did not drain before shutdown, {} requests dropped", getQueueDepth());
+                indexExecutor.shutdownNow();
+            }
+        }
+    }
+
+    /** --- Public Methods --- */
+
+    /**
+     * Queues the index/delete requests contained in the bulk request.
+     *
+     * @param bulkRequest BulkRequest
+     * @throws InterruptedException - if interrupted while waiting for space in the queue.
+     */
+    public void submit(BulkRequest bulkRequest) throws InterruptedException {
+        submit(bulkRequest.requests());
+    }
+
+    /**
+     * Queues the given index/delete requests, replacing any pending requests for the same documents.
+     * Blocks while the queue is at capacity. If asynchronous indexing is disabled the requests are sent
+     * immediately instead.
+     *
+     * @param requests Collection<ActionRequest> - Must be IndexRequests or DeleteRequests.
+     * @throws InterruptedException - if interrupted while waiting for space in the queue.
+     * @throws ElasticsearchException - if asynchronous indexing is disabled and some requests could not be sent.
+     */
+    public void submit(Collection<ActionRequest> requests) throws InterruptedException {
+        if (requests.isEmpty()) {
+            return;
+        }
+        if (!asyncEnabled) {
+            List<PendingRequest> batch = new ArrayList<>();
+            requests.forEach(request -> batch.add(new PendingRequest(request)));
+            int dropped;
+            beginSyncSend();
+            try {
+                dropped = recordBatch(batch, executeBulk(batch));
+            }
+            finally {
+                endSyncSend();
+            }
+            if (dropped > 0) {
+                throw new ElasticsearchException("Failed to send " + dropped + " of " + batch.size() +
+                                                 " search index requests");
+            }
+            return;
+        }
+        lock.lockInterruptibly();
+        try {
+            for (ActionRequest request : requests) {
+                PendingRequest pendingRequest = new PendingRequest(request);
+                while (pending.size() >= queueCapacity && !pending.containsKey(pendingRequest.key)) {
+                    notFull.await();
+                }
+                PendingRequest existing = pending.get(pendingRequest.key);
+                if (existing != null) {
+                    // Keep the original queued time so coalescing cannot postpone a document indefinitely
+                    pendingRequest.queuedTime = existing.queuedTime;
+                    pendingBytes -= existing.bytes;
+                    coalescedCount.incrementAndGet();
+                }
+                pending.put(pendingRequest.key, pendingRequest);
+                pendingBytes += pendingRequest.bytes;
+                queuedCount.incrementAndGet();
+            }
+            notEmpty.signalAll();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes any pending requests for the given index. Used when the index is about to be deleted.
+     *
+     * @param indexName String
+     */
+    public void discard(String indexName) {
+        lock.lock();
+        try {
+            Iterator<PendingRequest> pendingIter = pending.values().iterator();
+            while (pendingIter.hasNext()) {
+                PendingRequest pendingRequest = pendingIter.next();
+                if (pendingRequest.index.equals(indexName)) {
+                    pendingBytes -= pendingRequest.bytes;
+                    pendingIter.remove();
+                }
+            }
+            notFull.signalAll();
+            signalIfDrained();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops requests from being sent until {@link #release()} is called, then waits for any bulk request that
+     * is already being sent to finish. Requests can still be queued while the queue is held, but submitting
+     * threads block when asynchronous indexing is disabled. Shutting down the queue overrides the hold.
+     *
+     * @throws InterruptedException - if interrupted while waiting, in which case the queue is not held.
+     */
+    public void hold() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            held = true;
+            while (inFlightCount > 0 || syncSendCount > 0) {
+                sendFinished.await();
+            }
+        }
+        catch (InterruptedException ex) {
+            release();
+            throw ex;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Resumes sending requests after a call to {@link #hold()}.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            held = false;
+            released.signalAll();
+            notEmpty.signalAll();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isHeld() {
+        lock.lock();
+        try {
+            return held;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until all pending and in flight requests have been sent.
+     *
+     * @param timeout long
+     * @param unit TimeUnit
+     * @return boolean - true if the queue was drained before the timeout elapsed.
+     * @throws InterruptedException
+     */
+    public boolean awaitDrained(long timeout, TimeUnit unit) throws InterruptedException {
+        long remainingNanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            notEmpty.signalAll();
+            while (!pending.isEmpty() || inFlightCount > 0) {
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                remainingNanos = drained.awaitNanos(remainingNanos);
+            }
+            return true;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /** --- Metrics --- */
+
+    /** Number of documents waiting to be sent. */
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return pending.size();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /** Approximate size of the pending requests in bytes. */
+    public long getPendingBytes() {
+        lock.lock();
+        try {
+            return pendingBytes;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /** Number of documents in the bulk request currently being sent. */
+    public int getInFlightCount() {
+        lock.lock();
+        try {
+            return inFlightCount;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /** Milliseconds since the oldest pending document was queued, 0 if nothing is pending. */
+    public long getPendingLagMs() {
+        lock.lock();
+        try {
+            return pending.isEmpty() ? 0 : System.currentTimeMillis() - pending.values().iterator().next().queuedTime;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Milliseconds between queueing and completion for the oldest document in the last bulk request that
+     * completed at least one document.
+     */
+    public long getLastLagMs() {
+        return lastLagMs;
+    }
+
+    public long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    public long getBulkRequestCount() {
+        return bulkRequestCount.get();
+    }
+
+    /** Number of batches in which at least one request was dropped after failing. */
+    public long getDroppedBatchCount() {
+        return droppedBatchCount.get();
+    }
+
+    public boolean isAsyncEnabled() {
+        return asyncEnabled;
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Loop run by the index thread that sends batches of pending requests until shutdown.
+     */
+    private void processQueue() {
+        try {
+            List<PendingRequest> batch;
+            while (!(batch = takeBatch()).isEmpty()) {
+                try {
+                    recordBatch(batch, executeBulk(batch));
+                }
+                catch (RuntimeException ex) {
+                    logger.error("Unexpected error while sending search index requests", ex);
+                    failedCount.addAndGet(batch.size());
+                    droppedBatchCount.incrementAndGet();
+                }
+                finally {
+                    lock.lock();
+                    try {
+                        inFlightCount = 0;
+                        sendFinished.signalAll();
+                        signalIfDrained();
+                    }
+                    finally {
+                        lock.unlock();
+                    }
+                }
+            }
+        }
+        catch (InterruptedException ex) {
+            logger.warn("Search index queue was interrupted with {} pending requests", getQueueDepth());
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Blocks until a batch is ready to be sent. A batch is ready once the oldest pending request has been
+     * queued for the coalesce window, once a full bulk request has accumulated, or once the queue is shutting
+     * down or being drained. No batch is taken while the queue is held.
+     *
+     * @return List<PendingRequest> - An empty list once the queue is shut down and empty.
+     */
+    private List<PendingRequest> takeBatch() throws InterruptedException {
+        lock.lock();
+        try {
+            do {
+                while (running && (pending.isEmpty() || held)) {
+                    notEmpty.await();
+                }
+                while (running && !held && !pending.isEmpty() && !lock.hasWaiters(drained) &&
+                       pending.size() < maxBulkActions && pendingBytes < maxBulkBytes) {
+                    long waitMs = pending.values().iterator().next().queuedTime + coalesceWindowMs - System.currentTimeMillis();
+                    if (waitMs <= 0) {
+                        break;
+                    }
+                    notEmpty.await(waitMs, TimeUnit.MILLISECONDS);
+                }
+            }
+            // Wait again if the queue was held, or the pending requests were discarded, while coalescing
+            while (running && (held || pending.isEmpty()));
+            return drainBatch();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the next batch of requests from the head of the queue, stopping once the bulk request limits
+     * are reached. A single request larger than the byte limit is still sent in its own batch.
+     */
+    List<PendingRequest> drainBatch() {
+        lock.lock();
+        try {
+            List<PendingRequest> batch = new ArrayList<>();
+            long batchBytes = 0;
+            Iterator<PendingRequest> pendingIter = pending.values().iterator();
+            while (pendingIter.hasNext() && batch.size() < maxBulkActions) {
+                PendingRequest pendingRequest = pendingIter.next();
+                if (!batch.isEmpty() && batchBytes + pendingRequest.bytes > maxBulkBytes) {
+                    break;
+                }
+                pendingIter.remove();
+                batch.add(pendingRequest);
+                batchBytes += pendingRequest.bytes;
+                pendingBytes -= pendingRequest.bytes;
+            }
+            inFlightCount = batch.size();
+            notFull.signalAll();
+            return batch;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends the batch as a single bulk request, retrying failed items that are likely to succeed later.
+     *
+     * @return int - The number of requests that were dropped because they could not be sent.
+     */
+    int executeBulk(List<PendingRequest> batch) {
+        List<PendingRequest> remaining = batch;
+        int dropped = 0;
+        for (int attempt = 0; !remaining.isEmpty(); attempt++) {
+            if (attempt > 0) {
+                if (attempt > maxRetries) {
+                    logger.error("Dropping {} search index requests after {} retries", remaining.size(), maxRetries);
+                    failedCount.addAndGet(remaining.size());
+                    return dropped + remaining.size();
+                }
+                retryCount.addAndGet(remaining.size());
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MS << (attempt - 1));
+                }
+                catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    failedCount.addAndGet(remaining.size());
+                    return dropped + remaining.size();
+                }
+            }
+            BulkRequest bulkRequest = new BulkRequest();
+            remaining.forEach(pendingRequest -> bulkRequest.add(pendingRequest.request));
+            try {
+                bulkRequestCount.incrementAndGet();
+                BulkResponse response = sendBulk(bulkRequest);
+                List<PendingRequest> retryable = new ArrayList<>();
+                dropped += recordResponse(remaining, response, retryable);
+                remaining = retryable;
+            }
+            catch (ElasticsearchException ex) {
+                logger.warn("Bulk request of {} search index requests failed: {}", remaining.size(), ex.getMessage());
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Executes the bulk request against the cluster.
+     */
+    BulkResponse sendBulk(BulkRequest bulkRequest) {
+        return searchClient.bulk(bulkRequest).actionGet();
+    }
+
+    /**
+     * Updates the lag and dropped batch metrics once a batch is finished.
+     *
+     * @return int - The number of dropped requests that was passed in.
+     */
+    private int recordBatch(List<PendingRequest> batch, int dropped) {
+        if (dropped > 0) {
+            droppedBatchCount.incrementAndGet();
+        }
+        // The lag only reflects batches in which documents actually made it into the index
+        if (dropped < batch.size()) {
+            lastLagMs = System.currentTimeMillis() - batch.stream().mapToLong(r -> r.queuedTime).min().orElse(0);
+        }
+        return dropped;
+    }
+
+    /**
+     * Records the results of a bulk request, adding the requests that failed but may be retried to 'retryable'.
+     *
+     * @return int - The number of requests that failed and cannot be retried.
+     */
+    private int recordResponse(List<PendingRequest> sent, BulkResponse response, List<PendingRequest> retryable) {
+        int failed = 0;
+        for (BulkItemResponse item : response.getItems()) {
+            if (!item.isFailed()) {
+                completedCount.incrementAndGet();
+            }
+            else if (isRetryable(item.getFailure().getStatus())) {
+                retryable.add(sent.get(item.getItemId()));
+            }
+            else {
+                logger.error("Failed to {} search document {}/{}/{}: {}", item.getOpType(),
+                    item.getIndex(), item.getType(), item.getId(), item.getFailureMessage());
+                failedCount.incrementAndGet();
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    private static boolean isRetryable(RestStatus status) {
+        return status == RestStatus.TOO_MANY_REQUESTS || status == RestStatus.SERVICE_UNAVAILABLE;
+    }
+
+    /**
+     * Waits for the queue to be released before a bulk request is sent on the submitting thread.
+     */
+    private void beginSyncSend() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (held) {
+                released.await();
+            }
+            syncSendCount++;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private void endSyncSend() {
+        lock.lock();
+        try {
+            syncSendCount--;
+            sendFinished.signalAll();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /** Must be called while holding the lock. */
+    private void signalIfDrained() {
+        if (pending.isEmpty() && inFlightCount == 0) {
+            drained.signalAll();
+        }
+    }
+
+    /** --- Internal Classes --- */
+
+    /**
+     * An index or delete request along with the document key used to coalesce it.
+     */
+    static class PendingRequest
+    {
+        final ActionRequest request;
+        final String index;
+        final String key;
+        final long bytes;
+        long queuedTime = System.currentTimeMillis();
+
+        PendingRequest(ActionRequest request) {
+            this.request = request;
+            if (request instanceof IndexRequest) {
+                IndexRequest indexRequest = (IndexRequest) request;
+                this.index = indexRequest.index();
+                this.key = String.join("/", indexRequest.index(), indexRequest.type(), indexRequest.id());
+                this.bytes = (indexRequest.source() != null) ? indexRequest.source().length() : 0;
+            }
+            else if (request instanceof DeleteRequest) {
+                DeleteRequest deleteRequest = (DeleteRequest) request;
+                this.index = deleteRequest.index();
+                this.key = String.join("/", deleteRequest.index(), deleteRequest.type(), deleteRequest.id());
+                this.bytes = 0;
+            }
+            else {
+                throw new IllegalArgumentException("Only index and delete requests can be queued, got " +
+                                                   request.getClass().getSimpleName());
+            }
+        }
+    }
+}
@@ -6,6 +6,7 @@ import gov.nysenate.openleg.model.base.BaseLegislativeContent;
 import gov.nysenate.openleg.config.Environment;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateType;
 import gov.nysenate.openleg.util.DateUtils;
 import org.apache.commons.io.FileUtils;
@@ -82,6 +83,15 @@ public abstract class SqlBaseDao
         params.addValue("endDateTime", DateUtils.toDate(DateUtils.endOfDateTimeRange(dateTimeRange)));
     }
 
+    /**
+     * Adds parameters for the change log position of an update cursor.
+     */
+    protected static void addUpdateCursorParams(MapSqlParameterSource params, UpdateCursor cursor) {
+        params.addValue("cursorDateTime", DateUtils.toDate(cursor.getDateTime()));
+        params.addValue("cursorContentType", cursor.getContentType());
+        params.addValue("cursorChangeId", cursor.getChangeId());
+    }
+
     /**
      * Gets a new parameter map containing params for the given date time range
      */
@@ -223,6 +233,25 @@ public abstract class SqlBaseDao
         return orderBy;
     }
 
+    /**
+     * Returns the ordering used when seeking through update digests with an UpdateCursor. The change id breaks
+     * ties between digests with the same date time so that every digest has a stable position.
+     * Seeking requires a definite order, so SortOrder.NONE is treated as ascending.
+     */
+    protected OrderBy getCursorOrderByForUpdateType(UpdateType updateType, SortOrder sortOrder) {
+        String dateColumn = (updateType.equals(UpdateType.PUBLISHED_DATE)) ? "last_published_date_time"
+                                                                           : "last_processed_date_time";
+        SortOrder order = (sortOrder == SortOrder.DESC) ? SortOrder.DESC : SortOrder.ASC;
+        return new OrderBy(dateColumn, order, "change_id", order);
+    }
+
+    /**
+     * Returns the row comparison operator that selects the rows following a cursor in the given order.
+     */
+    protected static String getSeekOperator(SortOrder sortOrder) {
+        return (sortOrder == SortOrder.DESC) ? "<" : ">";
+    }
+
     /** --- Date Methods -- */
 
     /**
@@ -3,15 +3,20 @@ package gov.nysenate.openleg.dao.bill.data;
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.dao.base.SqlTable;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.bill.BillInfo;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.dao.DataAccessException;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -29,6 +34,21 @@ public interface BillDao
      */
     public Bill getBill(BillId billId) throws DataAccessException;
 
+    /**
+     * Retrieves full Bills for each of the given base bill ids. Rather than querying each bill
+     * individually, every table that makes up a Bill is queried once for the entire set of ids and
+     * the bills are assembled in memory. Bill ids that do not have a matching bill are omitted
+     * from the result.
+     *
+     * Note that the ids are supplied as a single parameter list, so callers should keep the
+     * collection reasonably sized (a few thousand ids at most).
+     *
+     * @param billIds Collection<BaseBillId>
+     * @return Map<BaseBillId, Bill> - Ordered by the iteration order of 'billIds'.
+     * @throws DataAccessException
+     */
+    public Map<BaseBillId, Bill> getBills(Collection<BaseBillId> billIds) throws DataAccessException;
+
     /**
      * Retrieves a BillInfo for the given BillId. The query time for a BillInfo will be less than that
      * of a full bill retrieval because it has significantly fewer pieces of data to gather.
@@ -39,6 +59,27 @@ public interface BillDao
      */
     public BillInfo getBillInfo(BillId billId) throws DataAccessException;
 
+    /**
+     * Retrieves BillInfos for each of the given base bill ids using a fixed number of queries
+     * regardless of how many ids are supplied. Bill ids that do not have a matching bill are
+     * omitted from the result.
+     *
+     * @param billIds Collection<BaseBillId>
+     * @return Map<BaseBillId, BillInfo> - Ordered by the iteration order of 'billIds'.
+     * @throws DataAccessException
+     */
+    public Map<BaseBillId, BillInfo> getBillInfos(Collection<BaseBillId> billIds) throws DataAccessException;
+
+    /**
+     * Retrieves the modified date time of each of the given bills with a single query. This is much
+     * cheaper than loading the bills and can be used to check if a copy of a bill held elsewhere is current.
+     *
+     * @param billIds Collection<BaseBillId>
+     * @return Map<BaseBillId, LocalDateTime> - Bill ids that do not have a matching bill are omitted.
+     * @throws DataAccessException
+     */
+    public Map<BaseBillId, LocalDateTime> getModifiedDateTimes(Collection<BaseBillId> billIds) throws DataAccessException;
+
     /**
      * This method applies the memo and full text for all amendments contained in the given Bill object.
      * This can be used by caching implementations where the bill object is kept in memory but the references
@@ -49,6 +90,15 @@ public interface BillDao
      */
     public void applyText(Bill strippedBill) throws DataAccessException;
 
+    /**
+     * Bulk version of {@link #applyText(Bill)} that applies the memo and full text to each of
+     * the given bills using a single query.
+     *
+     * @param strippedBills Collection<Bill> - The stripped Bill objects.
+     * @throws DataAccessException
+     */
+    public void applyText(Collection<Bill> strippedBills) throws DataAccessException;
+
     /**
      * Gets a List of BaseBillIds for the given session year with options to order and limit the results.
      *
@@ -60,6 +110,18 @@ public interface BillDao
      */
     public List<BaseBillId> getBillIds(SessionYear sessionYear, LimitOffset limOff, SortOrder billIdSort) throws DataAccessException;
 
+    /**
+     * Gets the next page of BaseBillIds across all sessions using keyset pagination, i.e. the ids that
+     * sort after 'afterId' by print no and session year. Unlike offset pagination, the cost of fetching
+     * a page does not grow with how far into the table it is.
+     *
+     * @param afterId BaseBillId - The last id of the previous page, or null to start from the beginning.
+     * @param limit int - The maximum number of ids to return.
+     * @return List<BaseBillId>
+     * @throws DataAccessException
+     */
+    public List<BaseBillId> getBillIds(BaseBillId afterId, int limit) throws DataAccessException;
+
     /**
      * Retrieves a simple count of all the unique base bills in the database for all session years.
      *
@@ -102,4 +164,15 @@ public interface BillDao
      * @throws DataAccessException - If there was an error while trying to save the Bill.
      */
     public void updateBill(Bill bill, SobiFragment sobiFragment) throws DataAccessException;
+
+    /**
+     * Bulk version of {@link #updateBill(Bill, SobiFragment)}. Each bill is diffed against its persisted
+     * state and only the changed rows are written, batched across all of the bills. The update is
+     * performed in a single transaction.
+     *
+     * @param billUpdates Collection<Pair<Bill, SobiFragment>> - Bills paired with the fragment that triggered the update.
+     * @return Map<SqlTable, Integer> - The number of rows written to each table.
+     * @throws DataAccessException - If there was an error while trying to save the Bills.
+     */
+    public Map<SqlTable, Integer> updateBills(Collection<Pair<Bill, SobiFragment>> billUpdates) throws DataAccessException;
 }
@@ -6,11 +6,13 @@ import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.BillUpdateField;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public interface BillUpdatesDao
 {
@@ -34,6 +36,19 @@ public interface BillUpdatesDao
     public PaginatedList<UpdateDigest<BaseBillId>> getDetailedUpdates(
         Range<LocalDateTime> dateTimeRange, UpdateType type, BillUpdateField filter, SortOrder dateOrder, LimitOffset limOff);
 
+    /**
+     * Retrieves the update digests that follow the given cursor, without counting the total number of digests in
+     * the date range. This allows clients to page through a large date range at a constant cost per page.
+     *
+     * @param after UpdateCursor - Only digests positioned after this cursor in the given order are returned
+     * @param limit int - The maximum number of digests to return
+     * @see #getUpdates for other param details.
+     * @return List<UpdateDigest<BaseBillId>>
+     */
+    public List<UpdateDigest<BaseBillId>> getDetailedUpdates(
+        Range<LocalDateTime> dateTimeRange, UpdateType type, BillUpdateField filter, SortOrder dateOrder,
+        UpdateCursor after, int limit);
+
     /**
      * Returns a list of digests which contain all the information pertaining to a bill that have changed during the
      * specified date range.
@@ -45,4 +60,13 @@ public interface BillUpdatesDao
     public PaginatedList<UpdateDigest<BaseBillId>> getDetailedUpdatesForBill(
         BaseBillId billId, Range<LocalDateTime> dateTimeRange, UpdateType type, BillUpdateField filter, SortOrder dateOrder,
         LimitOffset limOff);
+
+    /**
+     * Retrieves the update digests for a bill that follow the given cursor.
+     * @see #getDetailedUpdatesForBill and {@link #getDetailedUpdates(Range, UpdateType, BillUpdateField, SortOrder,
+     *      UpdateCursor, int)} for param details.
+     */
+    public List<UpdateDigest<BaseBillId>> getDetailedUpdatesForBill(
+        BaseBillId billId, Range<LocalDateTime> dateTimeRange, UpdateType type, BillUpdateField filter, SortOrder dateOrder,
+        UpdateCursor after, int limit);
 }
\ No newline at end of file
@@ -13,6 +13,10 @@ public enum SqlApprovalQuery implements BasicSqlQuery
         "SELECT * FROM ${schema}." + SqlTable.BILL_APPROVAL + "\n" +
         "WHERE bill_print_no = :billPrintNo AND bill_session_year = :sessionYear"
     ),
+    SELECT_APPROVALS_BY_BILLS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_APPROVAL + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
     SELECT_APPROVALS_BY_YEAR(
         "SELECT * FROM ${schema}." + SqlTable.BILL_APPROVAL + "\n" +
         "WHERE year = :year "
@@ -1,8 +1,6 @@
 package gov.nysenate.openleg.dao.bill.data;
 
-import com.google.common.collect.MapDifference;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Range;
+import com.google.common.collect.*;
 import gov.nysenate.openleg.dao.base.*;
 import gov.nysenate.openleg.dao.common.BillVoteRowHandler;
 import gov.nysenate.openleg.model.agenda.AgendaId;
@@ -19,6 +17,7 @@ import gov.nysenate.openleg.service.bill.data.ApprovalNotFoundException;
 import gov.nysenate.openleg.service.bill.data.VetoDataService;
 import gov.nysenate.openleg.service.bill.data.VetoNotFoundException;
 import gov.nysenate.openleg.service.entity.member.data.MemberService;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,15 +28,18 @@ import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 
 import static gov.nysenate.openleg.util.CollectionUtils.difference;
 import static gov.nysenate.openleg.util.DateUtils.toDate;
+import static java.util.stream.Collectors.toList;
 
 @Repository
 public class SqlBillDao extends SqlBaseDao implements BillDao
@@ -101,6 +103,62 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
         return bill;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<BaseBillId, Bill> getBills(Collection<BaseBillId> billIds) throws DataAccessException {
+        Map<BaseBillId, Bill> bills = new LinkedHashMap<>();
+        if (billIds.isEmpty()) {
+            return bills;
+        }
+        logger.trace("Fetching {} Bills from database...", billIds.size());
+        final ImmutableParams idParams = getBaseBillIdsParams(billIds);
+        // Retrieve base Bill objects, maintaining the order of the requested ids
+        bills.putAll(getBaseBills(billIds, idParams));
+        if (bills.isEmpty()) {
+            return bills;
+        }
+        // Each of the remaining tables is queried once for the entire set of bills
+        ListMultimap<BaseBillId, BillAmendment> amendments = getBillsAmendments(idParams);
+        Map<BaseBillId, TreeMap<Version, PublishStatus>> publishStatuses = getBillsPublishStatuses(idParams);
+        Map<BaseBillId, BillSponsor> sponsors = getBillsSponsors(idParams);
+        ListMultimap<BaseBillId, SessionMember> additionalSponsors = ArrayListMultimap.create();
+        BillMemberRowMapper memberRowMapper = new BillMemberRowMapper(memberService);
+        jdbcNamed.query(SqlBillQuery.SELECT_BILLS_ADDTL_SPONSORS.getSql(schema(), new OrderBy("sequence_no", SortOrder.ASC)),
+            idParams, (RowCallbackHandler) rs -> additionalSponsors.put(getBaseBillIdFromRs(rs), memberRowMapper.mapRow(rs, 0)));
+        ListMultimap<BaseBillId, BillStatus> milestones = getBillsMilestones(idParams);
+        ListMultimap<BaseBillId, BillAction> actions = getBillsActions(idParams);
+        SetMultimap<BaseBillId, BillId> directPrevVersions = getBillIdSet(SqlBillQuery.SELECT_BILLS_PREVIOUS_VERSIONS, idParams);
+        SetMultimap<BaseBillId, BillId> allPrevVersions = getBillIdSet(SqlBillQuery.SELECT_BILLS_ALL_PREVIOUS_VERSIONS, idParams);
+        ListMultimap<BaseBillId, CommitteeVersionId> committees = getBillsCommittees(idParams);
+        Map<BaseBillId, Map<VetoId, VetoMessage>> vetoes = vetoDataService.getBillVetoes(bills.keySet());
+        Map<BaseBillId, ApprovalMessage> approvals = approvalDataService.getApprovalMessages(bills.keySet());
+        ListMultimap<BaseBillId, CommitteeAgendaId> agendas = ArrayListMultimap.create();
+        jdbcNamed.query(SqlBillQuery.SELECT_BILLS_COMM_AGENDA_IDS.getSql(schema(), new OrderBy("aic.meeting_date_time", SortOrder.ASC)),
+            idParams, (RowCallbackHandler) rs -> agendas.put(getBaseBillIdFromRs(rs), new CommitteeAgendaIdRowMapper().mapRow(rs, 0)));
+        ListMultimap<BaseBillId, CalendarId> calendars = ArrayListMultimap.create();
+        OrderBy calOrderBy = new OrderBy("cs.calendar_year", SortOrder.ASC, "cs.calendar_no", SortOrder.ASC);
+        jdbcNamed.query(SqlBillQuery.SELECT_BILLS_CALENDAR_IDS.getSql(schema(), calOrderBy, LimitOffset.ALL),
+            idParams, (RowCallbackHandler) rs -> calendars.put(getBaseBillIdFromRs(rs), new CalendarIdRowMapper().mapRow(rs, 0)));
+        // Assemble each bill from the retrieved data
+        for (Bill bill : bills.values()) {
+            BaseBillId baseBillId = bill.getBaseBillId();
+            bill.addAmendments(amendments.get(baseBillId));
+            bill.setPublishStatuses(publishStatuses.getOrDefault(baseBillId, new TreeMap<>()));
+            bill.setSponsor(sponsors.get(baseBillId));
+            bill.setAdditionalSponsors(new ArrayList<>(additionalSponsors.get(baseBillId)));
+            bill.setMilestones(new LinkedList<>(milestones.get(baseBillId)));
+            bill.setActions(new ArrayList<>(actions.get(baseBillId)));
+            bill.setDirectPreviousVersions(new TreeSet<>(directPrevVersions.get(baseBillId)));
+            bill.setAllPreviousVersions(new TreeSet<>(allPrevVersions.get(baseBillId)));
+            bill.setPastCommittees(new TreeSet<>(committees.get(baseBillId)));
+            bill.setVetoMessages(vetoes.getOrDefault(baseBillId, new HashMap<>()));
+            bill.setApprovalMessage(approvals.get(baseBillId));
+            bill.setCommitteeAgendas(new ArrayList<>(agendas.get(baseBillId)));
+            bill.setCalendars(new ArrayList<>(calendars.get(baseBillId)));
+        }
+        return bills;
+    }
+
     /** {@inheritDoc} */
     @Override
     public BillInfo getBillInfo(BillId billId) throws DataAccessException {
@@ -114,6 +172,42 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
         return bill.getBillInfo();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<BaseBillId, BillInfo> getBillInfos(Collection<BaseBillId> billIds) throws DataAccessException {
+        Map<BaseBillId, BillInfo> billInfos = new LinkedHashMap<>();
+        if (billIds.isEmpty()) {
+            return billInfos;
+        }
+        logger.trace("Fetching {} BillInfos from database...", billIds.size());
+        final ImmutableParams idParams = getBaseBillIdsParams(billIds);
+        Map<BaseBillId, Bill> bills = getBaseBills(billIds, idParams);
+        if (!bills.isEmpty()) {
+            Map<BaseBillId, BillSponsor> sponsors = getBillsSponsors(idParams);
+            ListMultimap<BaseBillId, BillStatus> milestones = getBillsMilestones(idParams);
+            ListMultimap<BaseBillId, BillAction> actions = getBillsActions(idParams);
+            bills.forEach((baseBillId, bill) -> {
+                bill.setSponsor(sponsors.get(baseBillId));
+                bill.setMilestones(new LinkedList<>(milestones.get(baseBillId)));
+                bill.setActions(new ArrayList<>(actions.get(baseBillId)));
+                billInfos.put(baseBillId, bill.getBillInfo());
+            });
+        }
+        return billInfos;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<BaseBillId, LocalDateTime> getModifiedDateTimes(Collection<BaseBillId> billIds) throws DataAccessException {
+        Map<BaseBillId, LocalDateTime> modifiedDateTimes = new HashMap<>();
+        if (!billIds.isEmpty()) {
+            jdbcNamed.query(SqlBillQuery.SELECT_BILLS_MODIFIED_DATE_TIMES.getSql(schema()), getBaseBillIdsParams(billIds),
+                (RowCallbackHandler) (ResultSet rs) ->
+                    modifiedDateTimes.put(getBaseBillIdFromRs(rs), getLocalDateTimeFromRs(rs, "modified_date_time")));
+        }
+        return modifiedDateTimes;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void applyText(Bill strippedBill) throws DataAccessException {
@@ -129,6 +223,26 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
         });
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void applyText(Collection<Bill> strippedBills) throws DataAccessException {
+        if (strippedBills.isEmpty()) {
+            return;
+        }
+        Map<BaseBillId, Bill> billMap = new HashMap<>();
+        strippedBills.forEach(bill -> billMap.put(bill.getBaseBillId(), bill));
+        ImmutableParams idParams = getBaseBillIdsParams(billMap.keySet());
+        jdbcNamed.query(SqlBillQuery.SELECT_BILLS_TEXT.getSql(schema()), idParams, (RowCallbackHandler) (ResultSet rs) -> {
+            Bill bill = billMap.get(getBaseBillIdFromRs(rs));
+            Version version = Version.of(rs.getString("bill_amend_version"));
+            if (bill != null && bill.hasAmendment(version)) {
+                BillAmendment ba = bill.getAmendment(version);
+                ba.setMemo(rs.getString("sponsor_memo"));
+                ba.setFullText(rs.getString("full_text"));
+            }
+        });
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -138,44 +252,55 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
      * reference is used to keep track of changes to the bill.
      */
     @Override
+    @Transactional
     public void updateBill(Bill bill, SobiFragment sobiFragment) {
         logger.trace("Updating Bill {} in database...", bill);
-        // Update the bill record
-        final ImmutableParams billParams = ImmutableParams.from(getBillParams(bill, sobiFragment));
-        if (jdbcNamed.update(SqlBillQuery.UPDATE_BILL.getSql(schema()), billParams) == 0) {
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL.getSql(schema()), billParams);
+        updateBills(Collections.singletonList(Pair.of(bill, sobiFragment)));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The persisted state of every bill is loaded up front, from only the tables that are diffed, and each
+     * table is diffed against it in memory. The resulting deletes, updates and inserts are grouped by query
+     * and sent as jdbc batches. Rows that have not changed are not written, and existing rows are updated
+     * rather than re-inserted, so the change log only records actual changes. Veto and approval messages
+     * are still saved per bill through their data services.
+     */
+    @Override
+    @Transactional
+    public Map<SqlTable, Integer> updateBills(Collection<Pair<Bill, SobiFragment>> billUpdates) {
+        if (billUpdates.isEmpty()) {
+            return new EnumMap<>(SqlTable.class);
         }
-        // Update the bill amendments
-        for (BillAmendment amendment : bill.getAmendmentList()) {
-            final ImmutableParams amendParams = ImmutableParams.from(getBillAmendmentParams(amendment, sobiFragment));
-            if (jdbcNamed.update(SqlBillQuery.UPDATE_BILL_AMENDMENT.getSql(schema()), amendParams) == 0) {
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_AMENDMENT.getSql(schema()), amendParams);
+        logger.trace("Updating {} Bills in database...", billUpdates.size());
+        List<BaseBillId> billIds = billUpdates.stream().map(update -> update.getLeft().getBaseBillId()).collect(toList());
+        Map<BaseBillId, Bill> existingBills = getPersistedBills(billIds);
+        BillUpdateBatch batch = new BillUpdateBatch();
+        List<Bill> prevVersionUpdates = new ArrayList<>();
+        for (Pair<Bill, SobiFragment> update : billUpdates) {
+            Bill bill = update.getLeft();
+            Bill existingBill = existingBills.get(bill.getBaseBillId());
+            batchBillUpdate(batch, bill, existingBill, update.getRight());
+            Set<BillId> existingPrevVersions =
+                (existingBill != null) ? existingBill.getDirectPreviousVersions() : Collections.emptySet();
+            if (!existingPrevVersions.equals(bill.getDirectPreviousVersions())) {
+                prevVersionUpdates.add(bill);
             }
-            // Update the same as bills
-            updateBillSameAs(amendment, sobiFragment, amendParams);
-            // Update the co-sponsors list
-            updateBillCosponsor(amendment, sobiFragment, amendParams);
-            // Update the multi-sponsors list
-            updateBillMultiSponsor(amendment, sobiFragment, amendParams);
-            // Update votes
-            updateBillVotes(amendment, sobiFragment, amendParams);
-        }
-        // Update the publish statuses of the amendments
-        updateBillAmendPublishStatus(bill, sobiFragment, billParams);
-        // Update the sponsor
-        updateBillSponsor(bill, sobiFragment, billParams);
-        // Update the milestones
-        updateBillMilestones(bill, sobiFragment, billParams);
-        // Determine which actions need to be inserted/deleted. Individual actions are never updated.
-        updateActions(bill, sobiFragment, billParams);
-        // Determine if the previous versions have changed and insert accordingly.
-        updatePreviousBillVersions(bill, sobiFragment, billParams);
-        // Update associated committees
-        updateBillCommittees(bill, sobiFragment, billParams);
-        // Update veto messages
-        updateVetoMessages(bill, sobiFragment);
-        // Update approval message
-        updateApprovalMessage(bill, sobiFragment);
+        }
+        Map<SqlTable, Integer> rowCounts = batch.execute();
+        // Update the bill objects to include any indirect previous versions resulting from new prev versions
+        if (!prevVersionUpdates.isEmpty()) {
+            SetMultimap<BaseBillId, BillId> allPrevVersions = getBillIdSet(SqlBillQuery.SELECT_BILLS_ALL_PREVIOUS_VERSIONS,
+                getBaseBillIdsParams(prevVersionUpdates.stream().map(Bill::getBaseBillId).collect(toList())));
+            prevVersionUpdates.forEach(bill ->
+                bill.setAllPreviousVersions(new TreeSet<>(allPrevVersions.get(bill.getBaseBillId()))));
+        }
+        for (Pair<Bill, SobiFragment> update : billUpdates) {
+            updateVetoMessages(update.getLeft(), update.getRight());
+            updateApprovalMessage(update.getLeft(), update.getRight());
+        }
+        return rowCounts;
     }
 
     /** {@inheritDoc} */
@@ -187,6 +312,17 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
                 new BaseBillId(rs.getString("bill_print_no"), rs.getInt("bill_session_year")));
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public List<BaseBillId> getBillIds(BaseBillId afterId, int limit) throws DataAccessException {
+        ImmutableParams params = ImmutableParams.from(new MapSqlParameterSource()
+            .addValue("printNo", (afterId != null) ? afterId.getBasePrintNo() : "")
+            .addValue("sessionYear", (afterId != null) ? afterId.getSession().getYear() : 0));
+        OrderBy orderBy = new OrderBy("bill_print_no", SortOrder.ASC, "bill_session_year", SortOrder.ASC);
+        return jdbcNamed.query(SqlBillQuery.SELECT_BILL_IDS_AFTER.getSql(schema(), orderBy, new LimitOffset(limit)), params,
+            (rs, row) -> new BaseBillId(rs.getString("bill_print_no"), rs.getInt("bill_session_year")));
+    }
+
     /** {@inheritDoc} */
     @Override
     public int getBillCount() throws DataAccessException {
@@ -304,13 +440,7 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     public LinkedList<BillStatus> getBillMilestones(ImmutableParams baseParams) {
         OrderBy orderBy = new OrderBy("rank", SortOrder.ASC);
         return new LinkedList<>(jdbcNamed.query(SqlBillQuery.GET_BILL_MILESTONES.getSql(schema(), orderBy, LimitOffset.ALL), baseParams,
-            (rs, rowNum) -> {
-                BillStatus status = new BillStatus(BillStatusType.valueOf(rs.getString("status")), getLocalDateFromRs(rs, "date"));
-                status.setActionSequenceNo(rs.getInt("action_sequence_no"));
-                status.setCommitteeId(getCommitteeIdFromRs(rs));
-                status.setCalendarNo((rs.getInt("cal_no") != 0) ? rs.getInt("cal_no") : null);
-                return status;
-            }));
+            new BillMilestoneRowMapper()));
     }
 
     /**
@@ -379,10 +509,7 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     public List<CommitteeAgendaId> getCommitteeAgendas(ImmutableParams baseParams) {
         OrderBy orderBy = new OrderBy("aic.meeting_date_time", SortOrder.ASC);
         return jdbcNamed.query(SqlBillQuery.SELECT_COMM_AGENDA_IDS.getSql(schema(), orderBy, LimitOffset.ALL), baseParams,
-            (rs, rowNum) ->
-                new CommitteeAgendaId(new AgendaId(rs.getInt("agenda_no"), rs.getInt("year")),
-                                      new CommitteeId(Chamber.SENATE, rs.getString("committee_name")))
-            );
+            new CommitteeAgendaIdRowMapper());
     }
 
     /**
@@ -391,252 +518,263 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     public List<CalendarId> getCalendars(ImmutableParams baseParams) {
         OrderBy orderBy = new OrderBy("cs.calendar_year", SortOrder.ASC, "cs.calendar_no", SortOrder.ASC);
         return jdbcNamed.query(SqlBillQuery.SELECT_CALENDAR_IDS.getSql(schema(), orderBy, LimitOffset.ALL), baseParams,
-            (rs, rowNum) -> {
-                return new CalendarId(rs.getInt("calendar_no"), rs.getInt("calendar_year"));
-            });
+            new CalendarIdRowMapper());
+    }
+
+    /**
+     * Update any veto messages through the veto data service
+     */
+    protected void updateVetoMessages(Bill bill, SobiFragment sobiFragment){
+        vetoDataService.deleteBillVetoes(bill.getBaseBillId());
+        for(VetoMessage vetoMessage : bill.getVetoMessages().values()){
+            vetoDataService.updateVetoMessage(vetoMessage, sobiFragment);
+        }
     }
 
+    protected void updateApprovalMessage(Bill bill, SobiFragment sobiFragment){
+        approvalDataService.deleteApprovalMessage(bill.getBaseBillId());
+        if(bill.getApprovalMessage() != null){
+            approvalDataService.updateApprovalMessage(bill.getApprovalMessage(), sobiFragment);
+        }
+    }
+
+    /** --- Batch Update Methods --- */
+
     /**
-     * Updates the bill's same as set.
+     * Queues the changes to the bill's base record, amendments and all of their child tables
+     * by diffing the bill against its persisted state.
+     *
+     * @param existingBill Bill - The persisted state of the bill, or null if the bill is new.
      */
-    protected void updateBillSameAs(BillAmendment amendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
-        Set<BillId> existingSameAs = getSameAsBills(amendParams);
+    protected void batchBillUpdate(BillUpdateBatch batch, Bill bill, Bill existingBill, SobiFragment sobiFragment) {
+        MapSqlParameterSource billParams = getBillParams(bill, sobiFragment);
+        if (existingBill == null) {
+            batch.add(SqlBillQuery.INSERT_BILL, billParams);
+            existingBill = new Bill(bill.getBaseBillId());
+        }
+        else if (isRowChanged(getBillParams(existingBill, sobiFragment), billParams)) {
+            batch.add(SqlBillQuery.UPDATE_BILL, billParams);
+        }
+        for (BillAmendment amendment : bill.getAmendmentList()) {
+            Version version = amendment.getVersion();
+            BillAmendment existingAmendment;
+            MapSqlParameterSource amendParams = getBillAmendmentParams(amendment, sobiFragment);
+            if (existingBill.hasAmendment(version)) {
+                existingAmendment = existingBill.getAmendment(version);
+                if (isRowChanged(getBillAmendmentParams(existingAmendment, sobiFragment), amendParams)) {
+                    batch.add(SqlBillQuery.UPDATE_BILL_AMENDMENT, amendParams);
+                }
+            }
+            else {
+                existingAmendment = new BillAmendment(bill.getBaseBillId(), version);
+                batch.add(SqlBillQuery.INSERT_BILL_AMENDMENT, amendParams);
+            }
+            batchBillSameAs(batch, amendment, existingAmendment, sobiFragment);
+            batchBillCosponsor(batch, amendment, existingAmendment, sobiFragment);
+            batchBillMultiSponsor(batch, amendment, existingAmendment, sobiFragment);
+            batchBillVotes(batch, amendment, existingAmendment, sobiFragment);
+        }
+        batchBillAmendPublishStatus(batch, bill, existingBill, sobiFragment);
+        batchBillSponsor(batch, bill, existingBill, sobiFragment);
+        batchBillMilestones(batch, bill, existingBill, sobiFragment);
+        batchActions(batch, bill, existingBill, sobiFragment);
+        batchPreviousBillVersions(batch, bill, existingBill, sobiFragment);
+        batchBillCommittees(batch, bill, existingBill, sobiFragment);
+    }
+
+    /**
+     * Queues inserts/deletes for the bill's same as set.
+     */
+    protected void batchBillSameAs(BillUpdateBatch batch, BillAmendment amendment, BillAmendment existingAmendment,
+                                   SobiFragment sobiFragment) {
+        Set<BillId> existingSameAs = new HashSet<>(existingAmendment.getSameAs());
         if (!existingSameAs.equals(amendment.getSameAs())) {
             Set<BillId> newSameAs = new HashSet<>(amendment.getSameAs());
             newSameAs.removeAll(existingSameAs);             // New same as bill ids to insert
             existingSameAs.removeAll(amendment.getSameAs()); // Old same as bill ids to delete
-            existingSameAs.forEach(billId -> {
-                ImmutableParams sameAsParams = ImmutableParams.from(getBillSameAsParams(amendment, billId, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.DELETE_SAME_AS.getSql(schema()), sameAsParams);
-            });
-            newSameAs.forEach(billId -> {
-                ImmutableParams sameAsParams = ImmutableParams.from(getBillSameAsParams(amendment, billId, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_SAME_AS.getSql(schema()), sameAsParams);
-            });
+            existingSameAs.forEach(billId ->
+                batch.add(SqlBillQuery.DELETE_SAME_AS, getBillSameAsParams(amendment, billId, sobiFragment)));
+            newSameAs.forEach(billId ->
+                batch.add(SqlBillQuery.INSERT_BILL_SAME_AS, getBillSameAsParams(amendment, billId, sobiFragment)));
         }
     }
 
     /**
-     * Updates the bill's action list into the database.
+     * Queues inserts/deletes for the bill's action list. Individual actions are never updated.
      */
-    protected void updateActions(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
-        List<BillAction> existingBillActions = getBillActions(billParams);
+    protected void batchActions(BillUpdateBatch batch, Bill bill, Bill existingBill, SobiFragment sobiFragment) {
+        List<BillAction> existingBillActions = new ArrayList<>(existingBill.getActions());
         List<BillAction> newBillActions = new ArrayList<>(bill.getActions());
         newBillActions.removeAll(existingBillActions);    // New actions to insert
         existingBillActions.removeAll(bill.getActions()); // Old actions to delete
-        // Delete actions that are not in the updated list
-        for (BillAction action : existingBillActions) {
-            MapSqlParameterSource actionParams = getBillActionParams(action, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_ACTION.getSql(schema()), actionParams);
-        }
-        // Insert all new actions
-        for (BillAction action : newBillActions) {
-            MapSqlParameterSource actionParams = getBillActionParams(action, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL_ACTION.getSql(schema()), actionParams);
-        }
+        existingBillActions.forEach(action ->
+            batch.add(SqlBillQuery.DELETE_BILL_ACTION, getBillActionParams(action, sobiFragment)));
+        newBillActions.forEach(action ->
+            batch.add(SqlBillQuery.INSERT_BILL_ACTION, getBillActionParams(action, sobiFragment)));
     }
 
     /**
-     * Update the bill's previous version set.
+     * Queues inserts/deletes for the bill's direct previous version set.
      */
-    protected void updatePreviousBillVersions(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
-        Set<BillId> existingPrevBills = getDirectPrevVersions(billParams);
+    protected void batchPreviousBillVersions(BillUpdateBatch batch, Bill bill, Bill existingBill,
+                                             SobiFragment sobiFragment) {
+        Set<BillId> existingPrevBills = new HashSet<>(existingBill.getDirectPreviousVersions());
         if (existingPrevBills.equals(bill.getDirectPreviousVersions())) {
             return;
         }
         Set<BillId> newPrevBills = new HashSet<>(bill.getDirectPreviousVersions());
-        newPrevBills.removeAll(existingPrevBills);               // New prev bill ids to insert
+        newPrevBills.removeAll(existingPrevBills);                     // New prev bill ids to insert
         existingPrevBills.removeAll(bill.getDirectPreviousVersions()); // Old prev bill ids to delete
-        existingPrevBills.forEach(billId -> {
-            ImmutableParams prevParams = ImmutableParams.from(getBillPrevVersionParams(bill, billId, sobiFragment));
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_PREVIOUS_VERSIONS.getSql(schema()), prevParams);
-        });
-        newPrevBills.forEach(billId -> {
-            ImmutableParams prevParams = ImmutableParams.from(getBillPrevVersionParams(bill, billId, sobiFragment));
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL_PREVIOUS_VERSION.getSql(schema()), prevParams);
-        });
-        // Update the bill object to include any indirect previous versions resulting from the new prev version
-        bill.setAllPreviousVersions(getAllPreviousVersions(billParams));
+        existingPrevBills.forEach(billId ->
+            batch.add(SqlBillQuery.DELETE_BILL_PREVIOUS_VERSION, getBillPrevVersionParams(bill, billId, sobiFragment)));
+        newPrevBills.forEach(billId ->
+            batch.add(SqlBillQuery.INSERT_BILL_PREVIOUS_VERSION, getBillPrevVersionParams(bill, billId, sobiFragment)));
     }
 
     /**
-     * Update the bill's previous committee set.
+     * Queues inserts/deletes for the bill's committee set.
      */
-    protected void updateBillCommittees(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
-        Set<CommitteeVersionId> existingComms = getBillCommittees(billParams);
+    protected void batchBillCommittees(BillUpdateBatch batch, Bill bill, Bill existingBill, SobiFragment sobiFragment) {
+        Set<CommitteeVersionId> existingComms = new HashSet<>(existingBill.getPastCommittees());
         if (!existingComms.equals(bill.getPastCommittees())) {
             Set<CommitteeVersionId> newComms = new HashSet<>(bill.getPastCommittees());
             newComms.removeAll(existingComms);                 // New committees to insert
             existingComms.removeAll(bill.getPastCommittees()); // Old committees to delete
-            existingComms.forEach(cvid -> {
-                ImmutableParams commParams = ImmutableParams.from(getBillCommitteeParams(bill, cvid, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.DELETE_BILL_COMMITTEE.getSql(schema()), commParams);
-            });
-            newComms.forEach(cvid -> {
-                ImmutableParams commParams = ImmutableParams.from(getBillCommitteeParams(bill, cvid, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_COMMITTEE.getSql(schema()), commParams);
-            });
+            existingComms.forEach(cvid ->
+                batch.add(SqlBillQuery.DELETE_BILL_COMMITTEE, getBillCommitteeParams(bill, cvid, sobiFragment)));
+            newComms.forEach(cvid ->
+                batch.add(SqlBillQuery.INSERT_BILL_COMMITTEE, getBillCommitteeParams(bill, cvid, sobiFragment)));
         }
     }
 
     /**
-     * Update any veto messages through the veto data service
+     * Queues an update, insert or delete for the bill's sponsor if it has changed.
      */
-    protected void updateVetoMessages(Bill bill, SobiFragment sobiFragment){
-        vetoDataService.deleteBillVetoes(bill.getBaseBillId());
-        for(VetoMessage vetoMessage : bill.getVetoMessages().values()){
-            vetoDataService.updateVetoMessage(vetoMessage, sobiFragment);
-        }
-    }
-
-    protected void updateApprovalMessage(Bill bill, SobiFragment sobiFragment){
-        approvalDataService.deleteApprovalMessage(bill.getBaseBillId());
-        if(bill.getApprovalMessage() != null){
-            approvalDataService.updateApprovalMessage(bill.getApprovalMessage(), sobiFragment);
+    protected void batchBillSponsor(BillUpdateBatch batch, Bill bill, Bill existingBill, SobiFragment sobiFragment) {
+        if (Objects.equals(existingBill.getSponsor(), bill.getSponsor())) {
+            return;
         }
-    }
-
-    /**
-     * Update the bill's sponsor information.
-     */
-    protected void updateBillSponsor(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
         if (bill.getSponsor() != null) {
-            MapSqlParameterSource params = getBillSponsorParams(bill, sobiFragment);
-            if (jdbcNamed.update(SqlBillQuery.UPDATE_BILL_SPONSOR.getSql(schema()), params) == 0) {
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_SPONSOR.getSql(schema()), params);
-            }
+            batch.add((existingBill.getSponsor() != null) ? SqlBillQuery.UPDATE_BILL_SPONSOR
+                                                          : SqlBillQuery.INSERT_BILL_SPONSOR,
+                      getBillSponsorParams(bill, sobiFragment));
         }
         else {
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_SPONSOR.getSql(schema()), billParams);
+            batch.add(SqlBillQuery.DELETE_BILL_SPONSOR, getBaseParams(bill.getBaseBillId()));
         }
     }
 
     /**
-     * Update the bill milestones list.
+     * Queues a replacement of the bill milestones list if it has changed.
      */
-    protected void updateBillMilestones(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
-        List<BillStatus> existingMilestones = getBillMilestones(billParams);
+    protected void batchBillMilestones(BillUpdateBatch batch, Bill bill, Bill existingBill, SobiFragment sobiFragment) {
         List<BillStatus> newMilestones = bill.getMilestones();
         // If old list is not the same as the new list, wipe the old and insert the new. We won't
         // need to keep track of updates for this, so no reason to be precise like cosponsors for example.
-        if (!existingMilestones.equals(newMilestones)) {
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_MILESTONES.getSql(schema()), billParams);
+        if (!existingBill.getMilestones().equals(newMilestones)) {
+            batch.add(SqlBillQuery.DELETE_BILL_MILESTONES, getBaseParams(bill.getBaseBillId()));
             int rank = 1;
             for (BillStatus status : newMilestones) {
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_MILESTONE.getSql(schema()),
-                    getMilestoneParams(bill, status, rank++, sobiFragment));
+                batch.add(SqlBillQuery.INSERT_BILL_MILESTONE, getMilestoneParams(bill, status, rank++, sobiFragment));
             }
         }
     }
 
     /**
-     * Update the bill's amendment publish statuses.
+     * Queues updates/inserts for the bill's amendment publish statuses.
      */
-    protected void updateBillAmendPublishStatus(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
-        Map<Version, PublishStatus> existingPubStatus = getBillAmendPublishStatuses(billParams);
-        Map<Version, PublishStatus> newPubStatus = bill.getAmendPublishStatusMap();
-        MapDifference<Version, PublishStatus> diff = Maps.difference(existingPubStatus, newPubStatus);
+    protected void batchBillAmendPublishStatus(BillUpdateBatch batch, Bill bill, Bill existingBill,
+                                               SobiFragment sobiFragment) {
+        MapDifference<Version, PublishStatus> diff =
+            Maps.difference(existingBill.getAmendPublishStatusMap(), bill.getAmendPublishStatusMap());
         // Old entries that do not show up in the new one should be marked as unpublished
         diff.entriesOnlyOnLeft().forEach((version,pubStatus) -> {
             if (!pubStatus.isOverride() && pubStatus.isPublished()) {
                 LocalDateTime dateTime = (sobiFragment != null) ? sobiFragment.getPublishedDateTime()
                                                                 : LocalDateTime.now();
                 PublishStatus unPubStatus = new PublishStatus(false, dateTime, false, "No longer referenced");
-                MapSqlParameterSource params = getBillPublishStatusParams(bill, version, unPubStatus, sobiFragment);
-                jdbcNamed.update(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS.getSql(schema()), params);
+                batch.add(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS,
+                    getBillPublishStatusParams(bill, version, unPubStatus, sobiFragment));
             }
         });
         // Update changed publish statuses if the existing is not an override
         diff.entriesDiffering().forEach((version,pubStatus) -> {
             if (!pubStatus.leftValue().isOverride()) {
-                MapSqlParameterSource params = getBillPublishStatusParams(bill, version, pubStatus.rightValue(), sobiFragment);
-                jdbcNamed.update(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS.getSql(schema()), params);
+                batch.add(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS,
+                    getBillPublishStatusParams(bill, version, pubStatus.rightValue(), sobiFragment));
             }
         });
         // Insert new publish statuses
-        diff.entriesOnlyOnRight().forEach((version,pubStatus) -> {
-            MapSqlParameterSource params = getBillPublishStatusParams(bill, version, pubStatus, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL_AMEND_PUBLISH_STATUS.getSql(schema()), params);
-        });
+        diff.entriesOnlyOnRight().forEach((version,pubStatus) ->
+            batch.add(SqlBillQuery.INSERT_BILL_AMEND_PUBLISH_STATUS,
+                getBillPublishStatusParams(bill, version, pubStatus, sobiFragment)));
     }
 
     /**
-     * Update the bill's co sponsor list by deleting, inserting, and updating as needed.
+     * Queues deletes, updates and inserts for the bill's co sponsor list.
      */
-    protected void updateBillCosponsor(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
-        List<SessionMember> existingCoSponsors = getCoSponsors(amendParams);
-        if (!existingCoSponsors.equals(billAmendment.getCoSponsors())) {
-            MapDifference<SessionMember, Integer> diff = difference(existingCoSponsors, billAmendment.getCoSponsors(), 1);
-            // Delete old cosponsors
-            diff.entriesOnlyOnLeft().forEach((member,ordinal) -> {
-                ImmutableParams cspParams = amendParams.add(new MapSqlParameterSource("sessionMemberId", member.getSessionMemberId()));
-                jdbcNamed.update(SqlBillQuery.DELETE_BILL_COSPONSOR.getSql(schema()), cspParams);
-            });
-            // Update re-ordered cosponsors
-            diff.entriesDiffering().forEach((member,ordinal) -> {
-                ImmutableParams cspParams = ImmutableParams.from(
-                    getCoMultiSponsorParams(billAmendment, member, ordinal.rightValue(),sobiFragment));
-                jdbcNamed.update(SqlBillQuery.UPDATE_BILL_COSPONSOR.getSql(schema()), cspParams);
-            });
-            // Insert new cosponsors
-            diff.entriesOnlyOnRight().forEach((member,ordinal) -> {
-                ImmutableParams cspParams = ImmutableParams.from(
-                    getCoMultiSponsorParams(billAmendment, member, ordinal,sobiFragment));
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_COSPONSOR.getSql(schema()), cspParams);
-            });
-        }
+    protected void batchBillCosponsor(BillUpdateBatch batch, BillAmendment billAmendment,
+                                      BillAmendment existingAmendment, SobiFragment sobiFragment) {
+        batchAmendmentMembers(batch, billAmendment, existingAmendment.getCoSponsors(), billAmendment.getCoSponsors(),
+            SqlBillQuery.DELETE_BILL_COSPONSOR, SqlBillQuery.UPDATE_BILL_COSPONSOR,
+            SqlBillQuery.INSERT_BILL_COSPONSOR, sobiFragment);
     }
 
     /**
-     * Update the bill's multi-sponsor list by deleting, inserting, and updating as needed.
+     * Queues deletes, updates and inserts for the bill's multi-sponsor list.
      */
-    protected void updateBillMultiSponsor(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
-        List<SessionMember> existingMultiSponsors = getMultiSponsors(amendParams);
-        if (!existingMultiSponsors.equals(billAmendment.getMultiSponsors())) {
-            MapDifference<SessionMember, Integer> diff = difference(existingMultiSponsors, billAmendment.getMultiSponsors(), 1);
-            // Delete old multisponsors
-            diff.entriesOnlyOnLeft().forEach((member,ordinal) -> {
-                ImmutableParams mspParams = amendParams.add(new MapSqlParameterSource("sessionMemberId", member.getSessionMemberId()));
-                jdbcNamed.update(SqlBillQuery.DELETE_BILL_MULTISPONSOR.getSql(schema()), mspParams);
-            });
-            // Update re-ordered multisponsors
-            diff.entriesDiffering().forEach((member,ordinal) -> {
-                ImmutableParams mspParams = ImmutableParams.from(
-                    getCoMultiSponsorParams(billAmendment, member, ordinal.rightValue(),sobiFragment));
-                jdbcNamed.update(SqlBillQuery.UPDATE_BILL_MULTISPONSOR.getSql(schema()), mspParams);
-            });
-            // Insert new multisponsors
-            diff.entriesOnlyOnRight().forEach((member,ordinal) -> {
-                ImmutableParams mspParams = ImmutableParams.from(
-                    getCoMultiSponsorParams(billAmendment, member, ordinal,sobiFragment));
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_MULTISPONSOR.getSql(schema()), mspParams);
-            });
+    protected void batchBillMultiSponsor(BillUpdateBatch batch, BillAmendment billAmendment,
+                                         BillAmendment existingAmendment, SobiFragment sobiFragment) {
+        batchAmendmentMembers(batch, billAmendment, existingAmendment.getMultiSponsors(),
+            billAmendment.getMultiSponsors(), SqlBillQuery.DELETE_BILL_MULTISPONSOR,
+            SqlBillQuery.UPDATE_BILL_MULTISPONSOR, SqlBillQuery.INSERT_BILL_MULTISPONSOR, sobiFragment);
+    }
+
+    /**
+     * Queues the changes between two ordered lists of amendment members (co/multi sponsors).
+     */
+    private void batchAmendmentMembers(BillUpdateBatch batch, BillAmendment billAmendment,
+                                       List<SessionMember> existingMembers, List<SessionMember> newMembers,
+                                       SqlBillQuery deleteQuery, SqlBillQuery updateQuery, SqlBillQuery insertQuery,
+                                       SobiFragment sobiFragment) {
+        if (existingMembers.equals(newMembers)) {
+            return;
         }
+        MapDifference<SessionMember, Integer> diff = difference(existingMembers, newMembers, 1);
+        // Delete old members
+        diff.entriesOnlyOnLeft().forEach((member,ordinal) ->
+            batch.add(deleteQuery, getBillIdParams(billAmendment.getBillId())
+                .add(new MapSqlParameterSource("sessionMemberId", member.getSessionMemberId()))));
+        // Update re-ordered members
+        diff.entriesDiffering().forEach((member,ordinal) ->
+            batch.add(updateQuery, getCoMultiSponsorParams(billAmendment, member, ordinal.rightValue(), sobiFragment)));
+        // Insert new members
+        diff.entriesOnlyOnRight().forEach((member,ordinal) ->
+            batch.add(insertQuery, getCoMultiSponsorParams(billAmendment, member, ordinal, sobiFragment)));
     }
 
     /**
-     * Update the bill amendment's list of votes.
+     * Queues deletes for outdated votes and inserts for new/updated votes along with their roll calls.
      */
-    protected void updateBillVotes(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
-        List<BillVote> existingBillVotes = getBillVotes(amendParams);
+    protected void batchBillVotes(BillUpdateBatch batch, BillAmendment billAmendment, BillAmendment existingAmendment,
+                                  SobiFragment sobiFragment) {
+        List<BillVote> existingBillVotes = new ArrayList<>(existingAmendment.getVotesList());
         List<BillVote> newBillVotes = new ArrayList<>(billAmendment.getVotesList());
         newBillVotes.removeAll(existingBillVotes);
         existingBillVotes.removeAll(billAmendment.getVotesList());
         // Delete all outdated votes
-        for (BillVote billVote : existingBillVotes) {
-            MapSqlParameterSource voteInfoParams = getBillVoteInfoParams(billAmendment, billVote, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_VOTES_INFO.getSql(schema()), voteInfoParams);
-        }
+        existingBillVotes.forEach(billVote -> batch.add(SqlBillQuery.DELETE_BILL_VOTES_INFO,
+            getBillVoteInfoParams(billAmendment, billVote, sobiFragment)));
         // Insert the new/updated votes
         for (BillVote billVote : newBillVotes) {
             MapSqlParameterSource voteParams = getBillVoteInfoParams(billAmendment, billVote, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL_VOTES_INFO.getSql(schema()), voteParams);
+            batch.add(SqlBillQuery.INSERT_BILL_VOTES_INFO, voteParams);
             for (BillVoteCode voteCode : billVote.getMemberVotes().keySet()) {
-                voteParams.addValue("voteCode", voteCode.name().toLowerCase());
                 for (SessionMember member : billVote.getMembersByVote(voteCode)) {
-                    voteParams.addValue("sessionMemberId", member.getSessionMemberId());
-                    voteParams.addValue("memberShortName", member.getLbdcShortName());
-                    jdbcNamed.update(SqlBillQuery.INSERT_BILL_VOTES_ROLL.getSql(schema()), voteParams);
+                    batch.add(SqlBillQuery.INSERT_BILL_VOTES_ROLL, new MapSqlParameterSource(voteParams.getValues())
+                        .addValue("voteCode", voteCode.name().toLowerCase())
+                        .addValue("sessionMemberId", member.getSessionMemberId())
+                        .addValue("memberShortName", member.getLbdcShortName()));
                 }
             }
         }
@@ -644,6 +782,79 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
 
     /** --- Helper Classes --- */
 
+    /**
+     * Collects the statements needed to persist a set of bills, grouped by query so that each query
+     * can be sent to the database as a single jdbc batch.
+     */
+    protected class BillUpdateBatch
+    {
+        /** The batched queries in the order they are executed, mapped to the table they modify.
+         *  Parent rows are written before their children and deletes run before the matching inserts. */
+        private final ImmutableMap<SqlBillQuery, SqlTable> queryOrder = ImmutableMap.<SqlBillQuery, SqlTable>builder()
+            .put(SqlBillQuery.UPDATE_BILL, SqlTable.BILL)
+            .put(SqlBillQuery.INSERT_BILL, SqlTable.BILL)
+            .put(SqlBillQuery.UPDATE_BILL_AMENDMENT, SqlTable.BILL_AMENDMENT)
+            .put(SqlBillQuery.INSERT_BILL_AMENDMENT, SqlTable.BILL_AMENDMENT)
+            .put(SqlBillQuery.DELETE_SAME_AS, SqlTable.BILL_AMENDMENT_SAME_AS)
+            .put(SqlBillQuery.INSERT_BILL_SAME_AS, SqlTable.BILL_AMENDMENT_SAME_AS)
+            .put(SqlBillQuery.DELETE_BILL_COSPONSOR, SqlTable.BILL_AMENDMENT_COSPONSOR)
+            .put(SqlBillQuery.UPDATE_BILL_COSPONSOR, SqlTable.BILL_AMENDMENT_COSPONSOR)
+            .put(SqlBillQuery.INSERT_BILL_COSPONSOR, SqlTable.BILL_AMENDMENT_COSPONSOR)
+            .put(SqlBillQuery.DELETE_BILL_MULTISPONSOR, SqlTable.BILL_AMENDMENT_MULTISPONSOR)
+            .put(SqlBillQuery.UPDATE_BILL_MULTISPONSOR, SqlTable.BILL_AMENDMENT_MULTISPONSOR)
+            .put(SqlBillQuery.INSERT_BILL_MULTISPONSOR, SqlTable.BILL_AMENDMENT_MULTISPONSOR)
+            .put(SqlBillQuery.DELETE_BILL_VOTES_INFO, SqlTable.BILL_AMENDMENT_VOTE_INFO)
+            .put(SqlBillQuery.INSERT_BILL_VOTES_INFO, SqlTable.BILL_AMENDMENT_VOTE_INFO)
+            .put(SqlBillQuery.INSERT_BILL_VOTES_ROLL, SqlTable.BILL_AMENDMENT_VOTE_ROLL)
+            .put(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS, SqlTable.BILL_AMENDMENT_PUBLISH_STATUS)
+            .put(SqlBillQuery.INSERT_BILL_AMEND_PUBLISH_STATUS, SqlTable.BILL_AMENDMENT_PUBLISH_STATUS)
+            .put(SqlBillQuery.DELETE_BILL_SPONSOR, SqlTable.BILL_SPONSOR)
+            .put(SqlBillQuery.UPDATE_BILL_SPONSOR, SqlTable.BILL_SPONSOR)
+            .put(SqlBillQuery.INSERT_BILL_SPONSOR, SqlTable.BILL_SPONSOR)
+            .put(SqlBillQuery.DELETE_BILL_MILESTONES, SqlTable.BILL_MILESTONE)
+            .put(SqlBillQuery.INSERT_BILL_MILESTONE, SqlTable.BILL_MILESTONE)
+            .put(SqlBillQuery.DELETE_BILL_ACTION, SqlTable.BILL_AMENDMENT_ACTION)
+            .put(SqlBillQuery.INSERT_BILL_ACTION, SqlTable.BILL_AMENDMENT_ACTION)
+            .put(SqlBillQuery.DELETE_BILL_PREVIOUS_VERSION, SqlTable.BILL_PREVIOUS_VERSION)
+            .put(SqlBillQuery.INSERT_BILL_PREVIOUS_VERSION, SqlTable.BILL_PREVIOUS_VERSION)
+            .put(SqlBillQuery.DELETE_BILL_COMMITTEE, SqlTable.BILL_COMMITTEE)
+            .put(SqlBillQuery.INSERT_BILL_COMMITTEE, SqlTable.BILL_COMMITTEE)
+            .build();
+
+        private final ListMultimap<SqlBillQuery, SqlParameterSource> statements = ArrayListMultimap.create();
+
+        public void add(SqlBillQuery query, SqlParameterSource params) {
+            if (!queryOrder.containsKey(query)) {
+                throw new IllegalArgumentException("Query " + query + " is not supported in a bill update batch");
+            }
+            statements.put(query, params);
+        }
+
+        List<SqlParameterSource> getStatements(SqlBillQuery query) {
+            return statements.get(query);
+        }
+
+        /**
+         * Executes each batch in order.
+         *
+         * @return Map<SqlTable, Integer> - The number of rows written to each table.
+         */
+        public Map<SqlTable, Integer> execute() {
+            Map<SqlTable, Integer> rowCounts = new EnumMap<>(SqlTable.class);
+            queryOrder.forEach((query, table) -> {
+                List<SqlParameterSource> params = statements.get(query);
+                if (!params.isEmpty()) {
+                    int[] counts = jdbcNamed.batchUpdate(query.getSql(schema()),
+                                                         params.toArray(new SqlParameterSource[params.size()]));
+                    // The driver may not report a count for every statement in the batch
+                    int rows = Arrays.stream(counts).map(c -> (c == Statement.SUCCESS_NO_INFO) ? 1 : c).sum();
+                    rowCounts.merge(table, rows, Integer::sum);
+                }
+            });
+            return rowCounts;
+        }
+    }
+
     private static class BillRowMapper implements RowMapper<Bill>
     {
         @Override
@@ -688,15 +899,23 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
         }
     }
 
+    private static class PublishStatusRowMapper implements RowMapper<PublishStatus>
+    {
+        @Override
+        public PublishStatus mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new PublishStatus(
+                rs.getBoolean("published"), getLocalDateTimeFromRs(rs, "effect_date_time"),
+                rs.getBoolean("override"), rs.getString("notes"));
+        }
+    }
+
     private static class BillAmendPublishStatusHandler implements RowCallbackHandler
     {
         TreeMap<Version, PublishStatus> publishStatusMap = new TreeMap<>();
 
         @Override
         public void processRow(ResultSet rs) throws SQLException {
-            PublishStatus pubStatus = new PublishStatus(
-                rs.getBoolean("published"), getLocalDateTimeFromRs(rs, "effect_date_time"),
-                rs.getBoolean("override"), rs.getString("notes"));
+            PublishStatus pubStatus = new PublishStatusRowMapper().mapRow(rs, 0);
             publishStatusMap.put(Version.of(rs.getString("bill_amend_version")), pubStatus);
         }
 
@@ -797,8 +1016,195 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
         }
     }
 
+    private static class BillMilestoneRowMapper implements RowMapper<BillStatus>
+    {
+        @Override
+        public BillStatus mapRow(ResultSet rs, int rowNum) throws SQLException {
+            BillStatus status = new BillStatus(BillStatusType.valueOf(rs.getString("status")), getLocalDateFromRs(rs, "date"));
+            status.setActionSequenceNo(rs.getInt("action_sequence_no"));
+            status.setCommitteeId(getCommitteeIdFromRs(rs));
+            status.setCalendarNo((rs.getInt("cal_no") != 0) ? rs.getInt("cal_no") : null);
+            return status;
+        }
+    }
+
+    private static class CommitteeAgendaIdRowMapper implements RowMapper<CommitteeAgendaId>
+    {
+        @Override
+        public CommitteeAgendaId mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new CommitteeAgendaId(new AgendaId(rs.getInt("agenda_no"), rs.getInt("year")),
+                                         new CommitteeId(Chamber.SENATE, rs.getString("committee_name")));
+        }
+    }
+
+    private static class CalendarIdRowMapper implements RowMapper<CalendarId>
+    {
+        @Override
+        public CalendarId mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new CalendarId(rs.getInt("calendar_no"), rs.getInt("calendar_year"));
+        }
+    }
+
+    /** --- Bulk Retrieval Helpers --- */
+
+    /**
+     * Get the base bill instances for the bill ids in the params, ordered by the given 'billIds'.
+     */
+    private Map<BaseBillId, Bill> getBaseBills(Collection<BaseBillId> billIds, ImmutableParams idParams) {
+        Map<BaseBillId, Bill> baseBills = new HashMap<>();
+        jdbcNamed.query(SqlBillQuery.SELECT_BILLS.getSql(schema()), idParams, new BillRowMapper())
+            .forEach(bill -> baseBills.put(bill.getBaseBillId(), bill));
+        Map<BaseBillId, Bill> orderedBills = new LinkedHashMap<>();
+        billIds.stream().filter(baseBills::containsKey).forEach(id -> orderedBills.put(id, baseBills.get(id)));
+        return orderedBills;
+    }
+
+    /**
+     * Get the persisted state of the given bills for {@link #updateBills(Collection)}. Only the tables that are
+     * diffed when updating a bill are loaded, i.e. the bill, its amendments and their child tables, the publish
+     * statuses, sponsor, milestones, actions, direct previous versions and committees.
+     *
+     * @return Map<BaseBillId, Bill> - The bills that exist, keyed by id
+     */
+    private Map<BaseBillId, Bill> getPersistedBills(Collection<BaseBillId> billIds) {
+        final ImmutableParams idParams = getBaseBillIdsParams(billIds);
+        Map<BaseBillId, Bill> bills = getBaseBills(billIds, idParams);
+        if (bills.isEmpty()) {
+            return bills;
+        }
+        ListMultimap<BaseBillId, BillAmendment> amendments = getBillsAmendments(idParams);
+        Map<BaseBillId, TreeMap<Version, PublishStatus>> publishStatuses = getBillsPublishStatuses(idParams);
+        Map<BaseBillId, BillSponsor> sponsors = getBillsSponsors(idParams);
+        ListMultimap<BaseBillId, BillStatus> milestones = getBillsMilestones(idParams);
+        ListMultimap<BaseBillId, BillAction> actions = getBillsActions(idParams);
+        SetMultimap<BaseBillId, BillId> directPrevVersions = getBillIdSet(SqlBillQuery.SELECT_BILLS_PREVIOUS_VERSIONS, idParams);
+        ListMultimap<BaseBillId, CommitteeVersionId> committees = getBillsCommittees(idParams);
+        for (Bill bill : bills.values()) {
+            BaseBillId baseBillId = bill.getBaseBillId();
+            bill.addAmendments(amendments.get(baseBillId));
+            bill.setPublishStatuses(publishStatuses.getOrDefault(baseBillId, new TreeMap<>()));
+            bill.setSponsor(sponsors.get(baseBillId));
+            bill.setMilestones(new LinkedList<>(milestones.get(baseBillId)));
+            bill.setActions(new ArrayList<>(actions.get(baseBillId)));
+            bill.setDirectPreviousVersions(new TreeSet<>(directPrevVersions.get(baseBillId)));
+            bill.setPastCommittees(new TreeSet<>(committees.get(baseBillId)));
+        }
+        return bills;
+    }
+
+    /**
+     * Get the amendments of each bill in the params, with their same as bills, co/multi sponsors and votes.
+     */
+    private ListMultimap<BaseBillId, BillAmendment> getBillsAmendments(ImmutableParams idParams) {
+        ListMultimap<BaseBillId, BillAmendment> amendments = Multimaps.index(
+            jdbcNamed.query(SqlBillQuery.SELECT_BILLS_AMENDMENTS.getSql(schema()), idParams, new BillAmendmentRowMapper()),
+            BillAmendment::getBaseBillId);
+        SetMultimap<BillId, BillId> sameAs = HashMultimap.create();
+        jdbcNamed.query(SqlBillQuery.SELECT_BILLS_SAME_AS.getSql(schema()), idParams, (RowCallbackHandler) rs ->
+            sameAs.put(getBillIdFromRs(rs), new BillSameAsRowMapper().mapRow(rs, 0)));
+        ListMultimap<BillId, SessionMember> coSponsors = getAmendmentMembers(SqlBillQuery.SELECT_BILLS_COSPONSORS, idParams);
+        ListMultimap<BillId, SessionMember> multiSponsors = getAmendmentMembers(SqlBillQuery.SELECT_BILLS_MULTISPONSORS, idParams);
+        BillVoteRowHandler voteHandler = new BillVoteRowHandler(memberService);
+        jdbcNamed.query(SqlBillQuery.SELECT_BILLS_VOTES.getSql(schema()), idParams, voteHandler);
+        ListMultimap<BillId, BillVote> votes = Multimaps.index(voteHandler.getBillVotes(), BillVote::getBillId);
+        for (BillAmendment amendment : amendments.values()) {
+            BillId amendId = amendment.getBillId();
+            amendment.setSameAs(new HashSet<>(sameAs.get(amendId)));
+            amendment.setCoSponsors(new ArrayList<>(coSponsors.get(amendId)));
+            amendment.setMultiSponsors(new ArrayList<>(multiSponsors.get(amendId)));
+            amendment.setVotesMap(votes.get(amendId));
+        }
+        return amendments;
+    }
+
+    /**
+     * Get the amendment publish statuses of each bill in the params.
+     */
+    private Map<BaseBillId, TreeMap<Version, PublishStatus>> getBillsPublishStatuses(ImmutableParams idParams) {
+        Map<BaseBillId, TreeMap<Version, PublishStatus>> publishStatuses = new HashMap<>();
+        jdbcNamed.query(SqlBillQuery.SELECT_BILLS_AMEND_PUBLISH_STATUSES.getSql(schema()), idParams, (RowCallbackHandler) rs ->
+            publishStatuses.computeIfAbsent(getBaseBillIdFromRs(rs), id -> new TreeMap<>())
+                .put(Version.of(rs.getString("bill_amend_version")), new PublishStatusRowMapper().mapRow(rs, 0)));
+        return publishStatuses;
+    }
+
+    /**
+     * Get the past committees of each bill in the params.
+     */
+    private ListMultimap<BaseBillId, CommitteeVersionId> getBillsCommittees(ImmutableParams idParams) {
+        ListMultimap<BaseBillId, CommitteeVersionId> committees = ArrayListMultimap.create();
+        jdbcNamed.query(SqlBillQuery.SELECT_BILLS_COMMITTEES.getSql(schema()), idParams, (RowCallbackHandler) rs ->
+            committees.put(getBaseBillIdFromRs(rs), new BillCommitteeRowMapper().mapRow(rs, 0)));
+        return committees;
+    }
+
+    /**
+     * Get the sponsor of each bill in the params.
+     */
+    private Map<BaseBillId, BillSponsor> getBillsSponsors(ImmutableParams idParams) {
+        Map<BaseBillId, BillSponsor> sponsors = new HashMap<>();
+        BillSponsorRowMapper sponsorRowMapper = new BillSponsorRowMapper(memberService);
+        jdbcNamed.query(SqlBillQuery.SELECT_BILLS_SPONSORS.getSql(schema()), idParams, (RowCallbackHandler) rs ->
+            sponsors.put(getBaseBillIdFromRs(rs), sponsorRowMapper.mapRow(rs, 0)));
+        return sponsors;
+    }
+
+    /**
+     * Get the milestones of each bill in the params, ordered by rank.
+     */
+    private ListMultimap<BaseBillId, BillStatus> getBillsMilestones(ImmutableParams idParams) {
+        ListMultimap<BaseBillId, BillStatus> milestones = ArrayListMultimap.create();
+        jdbcNamed.query(SqlBillQuery.SELECT_BILLS_MILESTONES.getSql(schema(), new OrderBy("rank", SortOrder.ASC)),
+            idParams, (RowCallbackHandler) rs -> milestones.put(getBaseBillIdFromRs(rs), new BillMilestoneRowMapper().mapRow(rs, 0)));
+        return milestones;
+    }
+
+    /**
+     * Get the actions of each bill in the params, ordered by sequence number.
+     */
+    private ListMultimap<BaseBillId, BillAction> getBillsActions(ImmutableParams idParams) {
+        return Multimaps.index(
+            jdbcNamed.query(SqlBillQuery.SELECT_BILLS_ACTIONS.getSql(schema(), new OrderBy("sequence_no", SortOrder.ASC)),
+                idParams, new BillActionRowMapper()),
+            action -> BaseBillId.of(action.getBillId()));
+    }
+
+    /**
+     * Groups the session members returned by an amendment member query (co/multi sponsors) by amendment id.
+     */
+    private ListMultimap<BillId, SessionMember> getAmendmentMembers(SqlBillQuery query, ImmutableParams idParams) {
+        ListMultimap<BillId, SessionMember> members = ArrayListMultimap.create();
+        BillMemberRowMapper memberRowMapper = new BillMemberRowMapper(memberService);
+        jdbcNamed.query(query.getSql(schema()), idParams, (RowCallbackHandler) rs ->
+            members.put(getBillIdFromRs(rs), memberRowMapper.mapRow(rs, 0)));
+        return members;
+    }
+
+    /**
+     * Groups the previous version bill ids returned by a previous version query by base bill id.
+     */
+    private SetMultimap<BaseBillId, BillId> getBillIdSet(SqlBillQuery query, ImmutableParams idParams) {
+        SetMultimap<BaseBillId, BillId> billIdSet = HashMultimap.create();
+        jdbcNamed.query(query.getSql(schema()), idParams, (RowCallbackHandler) rs ->
+            billIdSet.put(getBaseBillIdFromRs(rs), new BillPreviousVersionRowMapper().mapRow(rs, 0)));
+        return billIdSet;
+    }
+
     /** --- Param Source Methods --- */
 
+    /**
+     * Converts the base bill ids into a list of (print no, session year) tuples for use in 'IN' clauses.
+     */
+    static List<Object[]> toBillIdTuples(Collection<BaseBillId> billIds) {
+        return billIds.stream()
+            .map(billId -> new Object[] {billId.getBasePrintNo(), billId.getSession().getYear()})
+            .collect(toList());
+    }
+
+    public ImmutableParams getBaseBillIdsParams(Collection<BaseBillId> billIds) {
+        return ImmutableParams.from(new MapSqlParameterSource("billIds", toBillIdTuples(billIds)));
+    }
+
     public ImmutableParams getBaseParams(BillId billId) {
         return ImmutableParams.from(new MapSqlParameterSource()
                 .addValue("printNo", billId.getBasePrintNo())
@@ -812,6 +1218,20 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
                 .addValue("version", billId.getVersion().getValue()));
     }
 
+    /**
+     * Compares the column values of a persisted row with those of its update. The last fragment id is ignored
+     * since it changes with every update.
+     *
+     * @return boolean - true if any other column differs
+     */
+    static boolean isRowChanged(MapSqlParameterSource existingParams, MapSqlParameterSource params) {
+        Map<String, Object> existingValues = new HashMap<>(existingParams.getValues());
+        Map<String, Object> values = new HashMap<>(params.getValues());
+        existingValues.remove("lastFragmentId");
+        values.remove("lastFragmentId");
+        return !existingValues.equals(values);
+    }
+
     /**
      * Returns a MapSqlParameterSource with columns mapped to Bill values for use in update/insert queries on
      * the bill table.
@@ -987,6 +1407,21 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
               .addValue("version", billAmendment.getVersion().getValue());
     }
 
+    /**
+     * Get the base bill id identified by the standard bill id columns in the result set.
+     */
+    private static BaseBillId getBaseBillIdFromRs(ResultSet rs) throws SQLException {
+        return new BaseBillId(rs.getString("bill_print_no"), rs.getInt("bill_session_year"));
+    }
+
+    /**
+     * Get the bill amendment id identified by the standard bill id columns in the result set.
+     */
+    private static BillId getBillIdFromRs(ResultSet rs) throws SQLException {
+        return new BillId(rs.getString("bill_print_no"), rs.getInt("bill_session_year"),
+                          rs.getString("bill_amend_version"));
+    }
+
     /**
      * Get a CommitteeId from the result set or null if column doesn't have a value.
      */
@@ -15,6 +15,10 @@ public enum SqlBillQuery implements BasicSqlQuery
         "SELECT bill_print_no, bill_session_year FROM ${schema}." + SqlTable.BILL + "\n" +
         "WHERE bill_session_year = :sessionYear"
     ),
+    SELECT_BILL_IDS_AFTER(
+        "SELECT bill_print_no, bill_session_year FROM ${schema}." + SqlTable.BILL + "\n" +
+        "WHERE (bill_print_no, bill_session_year) > (:printNo, :sessionYear)"
+    ),
     SELECT_COUNT_ALL_BILLS(
         "SELECT count(*) AS total FROM ${schema}." + SqlTable.BILL
     ),
@@ -336,6 +340,102 @@ public enum SqlBillQuery implements BasicSqlQuery
         "FROM ${schema}." + SqlTable.CALENDAR_SUP_ENTRY + " cse\n" +
         "JOIN ${schema}." + SqlTable.CALENDAR_SUPPLEMENTAL + " cs ON cse.calendar_sup_id = cs.id\n" +
         "WHERE bill_print_no = :printNo AND bill_session_year = :sessionYear"
+    ),
+
+    /** --- Bulk Bill Retrieval --- */
+
+    /** The :billIds param in the queries below is a list of (print no, session year) tuples. */
+
+    SELECT_BILLS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_MODIFIED_DATE_TIMES(
+        "SELECT bill_print_no, bill_session_year, modified_date_time FROM ${schema}." + SqlTable.BILL + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_TEXT(
+        "SELECT bill_print_no, bill_session_year, bill_amend_version, sponsor_memo, full_text \n" +
+        "FROM ${schema}.bill_amendment \n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_SPONSORS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_SPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_ADDTL_SPONSORS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_ADDITIONAL_SPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_AMENDMENTS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_AMEND_PUBLISH_STATUSES(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_PUBLISH_STATUS + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_COSPONSORS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_COSPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)\n" +
+        "ORDER BY sequence_no ASC"
+    ),
+    SELECT_BILLS_MULTISPONSORS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_MULTISPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)\n" +
+        "ORDER BY sequence_no ASC"
+    ),
+    SELECT_BILLS_VOTES(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_VOTE_INFO + " info \n" +
+        "JOIN ${schema}." + SqlTable.BILL_AMENDMENT_VOTE_ROLL + " roll ON info.id = roll.vote_id\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_ACTIONS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_ACTION + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_SAME_AS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_SAME_AS + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_COMMITTEES(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_COMMITTEE + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_PREVIOUS_VERSIONS(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_PREVIOUS_VERSION + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_ALL_PREVIOUS_VERSIONS(
+        "WITH RECURSIVE prev_version(root_print_no, root_session_year, bill_id, amend_version, session_year) AS ( \n" +
+        "    SELECT bill_print_no, bill_session_year, prev_bill_print_no, prev_amend_version, prev_bill_session_year \n" +
+        "    FROM ${schema}.bill_previous_version \n" +
+        "    WHERE (bill_print_no, bill_session_year) IN (:billIds) \n" +
+        "" +
+        "    UNION \n" +
+        "    SELECT root_print_no, root_session_year, prev_bill_print_no, prev_amend_version, prev_bill_session_year \n" +
+        "    FROM prev_version, ${schema}.bill_previous_version \n" +
+        "    WHERE bill_print_no = bill_id AND bill_session_year = session_year) \n" +
+        "SELECT root_print_no AS bill_print_no, root_session_year AS bill_session_year, \n" +
+        "       bill_id AS prev_bill_print_no, amend_version AS prev_amend_version, " +
+        "       session_year AS prev_bill_session_year \n" +
+        "FROM prev_version"
+    ),
+    SELECT_BILLS_MILESTONES(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_MILESTONE + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_COMM_AGENDA_IDS(
+        "SELECT aici.bill_print_no, aici.bill_session_year, aic.agenda_no, aic.year, aic.committee_name \n" +
+        "FROM ${schema}." + SqlTable.AGENDA_INFO_COMMITTEE_ITEM + " aici\n" +
+        "JOIN ${schema}." + SqlTable.AGENDA_INFO_COMMITTEE + " aic ON aici.info_committee_id = aic.id\n" +
+        "WHERE (aici.bill_print_no, aici.bill_session_year) IN (:billIds)"
+    ),
+    SELECT_BILLS_CALENDAR_IDS(
+        "SELECT cse.bill_print_no, cse.bill_session_year, cs.calendar_no, cs.calendar_year \n" +
+        "FROM ${schema}." + SqlTable.CALENDAR_SUP_ENTRY + " cse\n" +
+        "JOIN ${schema}." + SqlTable.CALENDAR_SUPPLEMENTAL + " cs ON cse.calendar_sup_id = cs.id\n" +
+        "WHERE (cse.bill_print_no, cse.bill_session_year) IN (:billIds)"
     );
 
     private String sql;
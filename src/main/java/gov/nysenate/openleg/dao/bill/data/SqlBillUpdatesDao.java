@@ -5,6 +5,7 @@ import gov.nysenate.openleg.dao.base.*;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.BillUpdateField;
 import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
@@ -20,9 +21,7 @@ import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
-import static gov.nysenate.openleg.dao.bill.data.SqlBillUpdatesQuery.SELECT_BILL_UPDATE_DIGESTS;
-import static gov.nysenate.openleg.dao.bill.data.SqlBillUpdatesQuery.SELECT_BILL_UPDATE_TOKENS;
-import static gov.nysenate.openleg.dao.bill.data.SqlBillUpdatesQuery.SELECT_UPDATE_DIGESTS_FOR_SPECIFIC_BILL;
+import static gov.nysenate.openleg.dao.bill.data.SqlBillUpdatesQuery.*;
 import static gov.nysenate.openleg.model.bill.BillUpdateField.*;
 
 @Repository
@@ -110,6 +109,32 @@ public class SqlBillUpdatesDao extends SqlBaseDao implements BillUpdatesDao
         return handler.getList();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public List<UpdateDigest<BaseBillId>> getDetailedUpdates(Range<LocalDateTime> dateTimeRange, UpdateType type,
+                                                             BillUpdateField filter, SortOrder dateOrder,
+                                                             UpdateCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        addDateTimeRangeParams(params, dateTimeRange);
+        addUpdateCursorParams(params, after);
+        String sqlQuery = getCursorSqlQuery(SELECT_BILL_UPDATE_DIGESTS_AFTER_CURSOR, type, filter, dateOrder, limit);
+        return jdbcNamed.query(sqlQuery, params, new BillUpdateDigestMapper(filter));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<UpdateDigest<BaseBillId>> getDetailedUpdatesForBill(
+            BaseBillId billId, Range<LocalDateTime> dateTimeRange, UpdateType type, BillUpdateField filter,
+            SortOrder dateOrder, UpdateCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("printNo", billId.getBasePrintNo())
+                                                       .addValue("session", billId.getSession().getYear());
+        addDateTimeRangeParams(params, dateTimeRange);
+        addUpdateCursorParams(params, after);
+        String sqlQuery = getCursorSqlQuery(SELECT_UPDATE_DIGESTS_FOR_SPECIFIC_BILL_AFTER_CURSOR, type, filter,
+                                            dateOrder, limit);
+        return jdbcNamed.query(sqlQuery, params, new BillUpdateDigestMapper(filter));
+    }
+
     /** --- Internal --- */
 
     /**
@@ -132,6 +157,19 @@ public class SqlBillUpdatesDao extends SqlBaseDao implements BillUpdatesDao
         return sqlQuery;
     }
 
+    /**
+     * Generates the sql query for seeking past an update cursor, ordered by the update date time and change id.
+     */
+    private String getCursorSqlQuery(SqlBillUpdatesQuery query, UpdateType updateType, BillUpdateField fieldFilter,
+                                     SortOrder sortOrder, int limit) {
+        OrderBy orderBy = getCursorOrderByForUpdateType(updateType, sortOrder);
+        String sqlQuery = query.getSql(schema(), orderBy, new LimitOffset(limit));
+        sqlQuery = queryReplace(sqlQuery, "dateColumn", getDateColumnForUpdateType(updateType));
+        sqlQuery = queryReplace(sqlQuery, "seekOperator", getSeekOperator(sortOrder));
+        sqlQuery = queryReplace(sqlQuery, "updateFieldFilter", getUpdateFieldFilter(fieldFilter));
+        return sqlQuery;
+    }
+
     /**
      * Generates a sql fragment to be used in the 'where clause' based on the BillUpdateField.
      * E.g. given BillUpdateField.STATUS, it will return something like "table_name = 'bill' AND defined(data, 'status')"
@@ -183,6 +221,7 @@ public class SqlBillUpdatesDao extends SqlBaseDao implements BillUpdatesDao
                         data.keySet().stream().filter(col -> columnSet.contains(col)).collect(Collectors.toSet()));
                 }
             }
+            digest.setChangeId(rs.getInt("change_id"));
             digest.setAction(rs.getString("action"));
             digest.setTable(rs.getString("table_name"));
             digest.setFields(data);
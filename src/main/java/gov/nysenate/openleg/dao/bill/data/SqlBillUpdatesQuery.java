@@ -15,11 +15,16 @@ public enum SqlBillUpdatesQuery implements BasicSqlQuery
         "%s"),  // GROUP BY clause if necessary
 
     SELECT_COLUMNS_FOR_DIGEST_FRAGMENT(
-        "sobi_fragment_id AS last_fragment_id, action_date_time AS last_processed_date_time, \n" +
-        "published_date_time AS last_published_date_time, COUNT(*) OVER () AS total_updated,\n" +
+        "id AS change_id, sobi_fragment_id AS last_fragment_id, action_date_time AS last_processed_date_time, \n" +
+        "published_date_time AS last_published_date_time,\n" +
         "table_name, action, hstore_to_array(data) AS data\n"
     ),
 
+    /** Seeks past the change log row identified by the cursor params, see UpdateCursor. */
+    SEEK_CURSOR_FRAGMENT(
+        "AND (${dateColumn}, id) ${seekOperator} (:cursorDateTime, :cursorChangeId)\n"
+    ),
+
     SELECT_BILL_UPDATE_TOKENS(
         String.format(SELECT_BILL_UPDATES_FRAGMENT.sql,
             // Select columns
@@ -34,21 +39,37 @@ public enum SqlBillUpdatesQuery implements BasicSqlQuery
     SELECT_BILL_UPDATE_DIGESTS(
         String.format(SELECT_BILL_UPDATES_FRAGMENT.sql,
             // Select columns
-            SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql,
+            "COUNT(*) OVER () AS total_updated, " + SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql,
             // No extra where clause
             "",
             // No group by needed for digests due to pagination/performance issues
             "")
     ),
 
+    SELECT_BILL_UPDATE_DIGESTS_AFTER_CURSOR(
+        String.format(SELECT_BILL_UPDATES_FRAGMENT.sql,
+            // Select columns, the window is not counted when seeking
+            SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql,
+            // Seek past the cursor
+            SEEK_CURSOR_FRAGMENT.sql,
+            "")
+    ),
+
     SELECT_UPDATE_DIGESTS_FOR_SPECIFIC_BILL(
         String.format(SELECT_BILL_UPDATES_FRAGMENT.sql,
             // Select columns
-            SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql,
+            "COUNT(*) OVER () AS total_updated, " + SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql,
             // No extra where clause
             "AND bill_print_no = :printNo AND bill_session_year = :session\n",
             // No group by needed for digests due to pagination/performance issues
             "")
+    ),
+
+    SELECT_UPDATE_DIGESTS_FOR_SPECIFIC_BILL_AFTER_CURSOR(
+        String.format(SELECT_BILL_UPDATES_FRAGMENT.sql,
+            SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql,
+            "AND bill_print_no = :printNo AND bill_session_year = :session\n" + SEEK_CURSOR_FRAGMENT.sql,
+            "")
     );
 
     private String sql;
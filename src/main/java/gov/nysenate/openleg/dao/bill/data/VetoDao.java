@@ -6,6 +6,7 @@ import gov.nysenate.openleg.model.bill.VetoMessage;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
 import org.springframework.dao.DataAccessException;
 
+import java.util.Collection;
 import java.util.Map;
 
 public interface VetoDao
@@ -28,6 +29,16 @@ public interface VetoDao
      */
     public Map<VetoId,VetoMessage> getBillVetoes(BaseBillId baseBillId) throws DataAccessException;
 
+    /**
+     * Retrieves the vetoes for each of the given bills in a single query. Bills that have no vetoes
+     * will not have an entry in the returned map.
+     *
+     * @param baseBillIds Collection<BaseBillId>
+     * @return Map<BaseBillId, Map<VetoId,VetoMessage>>
+     * @throws DataAccessException
+     */
+    public Map<BaseBillId, Map<VetoId,VetoMessage>> getBillVetoes(Collection<BaseBillId> baseBillIds) throws DataAccessException;
+
     /**
      * Updates or inserts the given vetoMessage
      *
@@ -4,6 +4,7 @@ import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.search.SearchResults;
+import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.search.rescore.RescoreBuilder;
 import org.elasticsearch.search.sort.SortBuilder;
@@ -29,6 +30,21 @@ public interface BillSearchDao
     public SearchResults<BaseBillId> searchBills(QueryBuilder query, QueryBuilder filter, RescoreBuilder.Rescorer rescorer,
                                                  List<SortBuilder> sort, LimitOffset limOff);
 
+    /**
+     * Performs the same search as {@link #searchBills} but reads the bill info for each hit directly
+     * from the indexed document source instead of returning just the bill ids.
+     *
+     * @param query String - Query Builder
+     * @param filter FilterBuilder - Filter result set
+     * @param rescorer RescoreBuilder.Rescorer - Fine tune the ranking
+     * @param sort String - Sort String
+     * @param limOff LimitOffset - Limit the result set
+     * @return SearchResults<IndexedBillInfo>
+     */
+    public SearchResults<IndexedBillInfo> searchBillInfos(QueryBuilder query, QueryBuilder filter,
+                                                          RescoreBuilder.Rescorer rescorer,
+                                                          List<SortBuilder> sort, LimitOffset limOff);
+
     /**
      * Update the bill index with the content of the supplied bill.
      *
@@ -49,4 +65,37 @@ public interface BillSearchDao
      * @param baseBillId BaseBillId
      */
     public void deleteBillFromIndex(BaseBillId baseBillId);
+
+    /** --- Index Rebuilding --- */
+
+    /**
+     * Creates a new, empty bill index that is not searchable until it is activated.
+     *
+     * @return String - The name of the new index.
+     */
+    public String createBillIndexVersion();
+
+    /**
+     * Immediately writes the supplied bills into the given index, bypassing the index queue.
+     * Safe to call concurrently.
+     *
+     * @param indexName String - An index created via {@link #createBillIndexVersion()}
+     * @param bills Collection<Bill>
+     * @throws ElasticsearchException - if any of the bills could not be indexed.
+     */
+    public void indexBills(String indexName, Collection<Bill> bills);
+
+    /**
+     * Atomically switches bill searches and updates over to the given index and deletes the previous index.
+     *
+     * @param indexName String - An index created via {@link #createBillIndexVersion()}
+     */
+    public void activateBillIndexVersion(String indexName);
+
+    /**
+     * Deletes an index created via {@link #createBillIndexVersion()} that will not be activated.
+     *
+     * @param indexName String
+     */
+    public void deleteBillIndexVersion(String indexName);
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package gov.nysenate.openleg.dao.bill.search;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.Lists;
+import gov.nysenate.openleg.client.view.bill.BillInfoView;
 import gov.nysenate.openleg.client.view.bill.BillView;
 import gov.nysenate.openleg.dao.base.ElasticBaseDao;
 import gov.nysenate.openleg.dao.base.LimitOffset;
@@ -9,7 +12,9 @@ import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.util.OutputUtils;
+import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.index.query.QueryBuilder;
@@ -19,13 +24,16 @@ import org.elasticsearch.search.rescore.RescoreBuilder;
 import org.elasticsearch.search.sort.SortBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Repository
 public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDao
@@ -39,6 +47,21 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
                       new HighlightBuilder.Field("printNo").numOfFragments(0),
                       new HighlightBuilder.Field("title").numOfFragments(0));
 
+    /** Name of the source field holding the bill's modified date time as of indexing. */
+    protected static final String modifiedDateTimeField = "modifiedDateTime";
+
+    /** Source fields needed to read a {@link BillInfoView} (plus the modified date time) from a bill document. */
+    protected static final String[] billInfoSourceFields = {
+        "basePrintNo", "session", "basePrintNoStr", "printNo", "billType", "title", "activeVersion", "year",
+        "publishedDateTime", "substitutedBy", "sponsor", "summary", "signed", "adopted", "vetoed", "status",
+        "milestones", "actions", "publishStatusMap", "programInfo", modifiedDateTimeField
+    };
+
+    /** Suffix format for the versioned indices that sit behind the bill index alias. */
+    protected static final DateTimeFormatter indexVersionFormat = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    @Autowired protected ObjectMapper objectMapper;
+
     /** {@inheritDoc} */
     @Override
     public SearchResults<BaseBillId> searchBills(QueryBuilder query, QueryBuilder postFilter, RescoreBuilder.Rescorer rescorer,
@@ -50,6 +73,19 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
         return getSearchResults(response, limOff, this::getBaseBillIdFromHit);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public SearchResults<IndexedBillInfo> searchBillInfos(QueryBuilder query, QueryBuilder postFilter,
+                                                          RescoreBuilder.Rescorer rescorer,
+                                                          List<SortBuilder> sort, LimitOffset limOff) {
+        SearchRequestBuilder searchBuilder =
+            getSearchRequest(billIndexName, query, postFilter, highlightedFields, rescorer, sort, limOff, true)
+                .setFetchSource(billInfoSourceFields, null);
+        SearchResponse response = searchBuilder.execute().actionGet();
+        logger.debug("Bill info search result with query {} took {} ms", query, response.getTookInMillis());
+        return getSearchResults(response, limOff, this::getIndexedBillInfoFromHit);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void updateBillIndex(Bill bill) {
@@ -60,14 +96,7 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
     @Override
     public void updateBillIndex(Collection<Bill> bills) {
         if (!bills.isEmpty()) {
-            BulkRequestBuilder bulkRequest = searchClient.prepareBulk();
-            List<BillView> billViewList = bills.stream().map(BillView::new).collect(Collectors.toList());
-            billViewList.forEach(b ->
-                bulkRequest.add(
-                    searchClient.prepareIndex(billIndexName, Integer.toString(b.getSession()), b.getBasePrintNo())
-                                .setSource(OutputUtils.toJson(b)))
-            );
-            safeBulkRequestExecute(bulkRequest);
+            queueBulkRequest(getBillBulkRequest(billIndexName, bills));
         }
     }
 
@@ -75,10 +104,42 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
     @Override
     public void deleteBillFromIndex(BaseBillId baseBillId) {
         if (baseBillId != null) {
-            deleteEntry(billIndexName, Integer.toString(baseBillId.getSession().getYear()), baseBillId.getBasePrintNo());
+            queueDeleteEntry(billIndexName, Integer.toString(baseBillId.getSession().getYear()), baseBillId.getBasePrintNo());
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String createBillIndexVersion() {
+        String indexName = billIndexName + "_" + LocalDateTime.now().format(indexVersionFormat);
+        createIndex(indexName);
+        return indexName;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void indexBills(String indexName, Collection<Bill> bills) {
+        if (!bills.isEmpty()) {
+            BulkResponse response = safeBulkRequestExecute(getBillBulkRequest(indexName, bills));
+            if (response != null && response.hasFailures()) {
+                throw new ElasticsearchException("Failed to index bills into " + indexName + ": " +
+                                                 response.buildFailureMessage());
+            }
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void activateBillIndexVersion(String indexName) {
+        swapAlias(billIndexName, indexName);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void deleteBillIndexVersion(String indexName) {
+        deleteIndex(indexName);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -90,4 +151,37 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
     protected BaseBillId getBaseBillIdFromHit(SearchHit hit) {
         return new BaseBillId(hit.getId(), Integer.parseInt(hit.getType()));
     }
+
+    protected IndexedBillInfo getIndexedBillInfoFromHit(SearchHit hit) {
+        return getIndexedBillInfo(hit.getSource());
+    }
+
+    protected IndexedBillInfo getIndexedBillInfo(Map<String, Object> source) {
+        Object modifiedDateTime = source.remove(modifiedDateTimeField);
+        return new IndexedBillInfo(objectMapper.convertValue(source, BillInfoView.class),
+                                   modifiedDateTime != null ? LocalDateTime.parse(modifiedDateTime.toString()) : null);
+    }
+
+    /**
+     * Serializes the bill view to json, adding the bill's modified date time so that documents read
+     * back from the index can be checked for freshness.
+     */
+    protected BulkRequestBuilder getBillBulkRequest(String indexName, Collection<Bill> bills) {
+        BulkRequestBuilder bulkRequest = searchClient.prepareBulk();
+        bills.forEach(bill -> {
+            BillView b = new BillView(bill);
+            bulkRequest.add(
+                searchClient.prepareIndex(indexName, Integer.toString(b.getSession()), b.getBasePrintNo())
+                            .setSource(getBillSource(b, bill.getModifiedDateTime())));
+        });
+        return bulkRequest;
+    }
+
+    protected String getBillSource(BillView billView, LocalDateTime modifiedDateTime) {
+        ObjectNode source = OutputUtils.getJsonMapper().valueToTree(billView);
+        if (modifiedDateTime != null) {
+            source.put(modifiedDateTimeField, modifiedDateTime.toString());
+        }
+        return OutputUtils.toJson(source);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package gov.nysenate.openleg.dao.bill.search;
+
+import gov.nysenate.openleg.client.view.bill.BillInfoView;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+
+import java.time.LocalDateTime;
+
+/**
+ * A bill info view read directly from the bill search index along with the modified date time
+ * of the bill at the time it was indexed.
+ */
+public class IndexedBillInfo
+{
+    /** The bill info as it was stored in the index. */
+    private BillInfoView billInfoView;
+
+    /** The modified date time of the bill when it was indexed, null if the document predates this field. */
+    private LocalDateTime modifiedDateTime;
+
+    /** --- Constructors --- */
+
+    public IndexedBillInfo(BillInfoView billInfoView, LocalDateTime modifiedDateTime) {
+        this.billInfoView = billInfoView;
+        this.modifiedDateTime = modifiedDateTime;
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * @param lastModified LocalDateTime - The current modified date time of the bill, null if the bill is not
+     *                                     in the backing store (or has no recorded modification)
+     * @return boolean - true if the indexed document reflects all changes up to the given date time
+     */
+    public boolean isFresh(LocalDateTime lastModified) {
+        return modifiedDateTime != null && lastModified != null && !modifiedDateTime.isBefore(lastModified);
+    }
+
+    public BaseBillId getBaseBillId() {
+        return billInfoView.toBaseBillId();
+    }
+
+    /** --- Basic Getters --- */
+
+    public BillInfoView getBillInfoView() {
+        return billInfoView;
+    }
+
+    public LocalDateTime getModifiedDateTime() {
+        return modifiedDateTime;
+    }
+}
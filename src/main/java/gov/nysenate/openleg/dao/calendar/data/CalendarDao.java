@@ -7,7 +7,9 @@ import gov.nysenate.openleg.model.calendar.*;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
 import org.springframework.dao.DataAccessException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -24,6 +26,17 @@ public interface CalendarDao
      */
     public Calendar getCalendar(CalendarId calendarId) throws DataAccessException;
 
+    /**
+     * Retrieves the Calendars for a collection of calendar ids. Each table is queried once for the entire
+     * set of ids and the calendars are assembled in memory. Calendar ids that do not have a matching calendar
+     * are omitted from the result.
+     *
+     * @param calendarIds Collection<CalendarId>
+     * @return Map<CalendarId, Calendar> - Ordered by the iteration order of 'calendarIds'.
+     * @throws DataAccessException
+     */
+    public Map<CalendarId, Calendar> getCalendars(Collection<CalendarId> calendarIds) throws DataAccessException;
+
     /**
      * Gets an active list calendar corresponding to the given active list id
      *
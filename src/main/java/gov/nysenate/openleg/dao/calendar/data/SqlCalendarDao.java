@@ -45,6 +45,41 @@ public class SqlCalendarDao extends SqlBaseDao implements CalendarDao
         return calendar;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<CalendarId, Calendar> getCalendars(Collection<CalendarId> calendarIds) throws DataAccessException {
+        Map<CalendarId, Calendar> calendars = new LinkedHashMap<>();
+        if (calendarIds.isEmpty()) {
+            return calendars;
+        }
+        logger.trace("Fetching {} Calendars from database...", calendarIds.size());
+        ImmutableParams idParams = ImmutableParams.from(new MapSqlParameterSource("calendarIds", calendarIds.stream()
+            .map(calendarId -> new Object[] {calendarId.getCalNo(), calendarId.getYear()})
+            .collect(Collectors.toList())));
+        // Get the base calendars, maintaining the order of the requested ids
+        Map<CalendarId, Calendar> baseCalendars = jdbcNamed.query(SqlCalendarQuery.SELECT_CALENDARS.getSql(schema()),
+                idParams, new CalendarRowMapper()).stream()
+            .collect(Collectors.toMap(Calendar::getId, Function.identity()));
+        calendarIds.stream()
+            .filter(baseCalendars::containsKey)
+            .forEach(calendarId -> calendars.put(calendarId, baseCalendars.get(calendarId)));
+        if (calendars.isEmpty()) {
+            return calendars;
+        }
+        // Get the supplementals
+        CalendarSupRowHandler calendarSupRowHandler = new CalendarSupRowHandler();
+        jdbcNamed.query(SqlCalendarQuery.SELECT_CALENDARS_SUPS.getSql(schema()), idParams, calendarSupRowHandler);
+        calendarSupRowHandler.getCalendarSupplementals()
+            .forEach(sup -> calendars.get(sup.getCalendarId()).putSupplemental(sup));
+        // Get the active lists
+        ActiveListRowHandler activeListRowHandler = new ActiveListRowHandler();
+        jdbcNamed.query(SqlCalendarQuery.SELECT_CALENDARS_ACTIVE_LISTS.getSql(schema()), idParams, activeListRowHandler);
+        activeListRowHandler.getActiveLists()
+            .forEach(activeList -> calendars.get(activeList.getCalendarId()).putActiveList(activeList));
+        // Calendars are fully constructed
+        return calendars;
+    }
+
     /** {@inheritDoc} */
     @Override
     public CalendarActiveList getActiveList(CalendarActiveListId calendarActiveListId) throws DataAccessException {
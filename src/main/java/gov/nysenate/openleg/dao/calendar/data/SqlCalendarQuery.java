@@ -14,6 +14,10 @@ public enum SqlCalendarQuery implements BasicSqlQuery
         "SELECT * FROM ${schema}." + SqlTable.CALENDAR + "\n" +
         "WHERE calendar_no = :calendarNo AND calendar_year = :year"
     ),
+    SELECT_CALENDARS(
+        "SELECT * FROM ${schema}." + SqlTable.CALENDAR + "\n" +
+        "WHERE (calendar_no, calendar_year) IN (:calendarIds)"
+    ),
     SELECT_CALENDAR_IDS(
         "SELECT calendar_no, calendar_year FROM ${schema}." + SqlTable.CALENDAR + "\n" +
         "WHERE calendar_year = :year"
@@ -62,6 +66,9 @@ public enum SqlCalendarQuery implements BasicSqlQuery
     SELECT_CALENDAR_SUPS(
         SELECT_CALENDAR_SUPS_BY_YEAR.sql + " AND calendar_no = :calendarNo"
     ),
+    SELECT_CALENDARS_SUPS(
+        SELECT_CALENDAR_SUPS_BY_YEAR.sql.replace("calendar_year = :year", "(calendar_no, calendar_year) IN (:calendarIds)")
+    ),
     SELECT_CALENDAR_SUP(
         SELECT_CALENDAR_SUPS.sql + " AND sup_version = :supVersion"
     ),
@@ -127,6 +134,10 @@ public enum SqlCalendarQuery implements BasicSqlQuery
     SELECT_CALENDAR_ACTIVE_LISTS(
         SELECT_CALENDAR_ACTIVE_LISTS_BY_YEAR.sql + " AND calendar_no = :calendarNo"
     ),
+    SELECT_CALENDARS_ACTIVE_LISTS(
+        SELECT_CALENDAR_ACTIVE_LISTS_BY_YEAR.sql.replace("calendar_year = :year",
+                                                         "(calendar_no, calendar_year) IN (:calendarIds)")
+    ),
     SELECT_CALENDAR_ACTIVE_LIST(
         SELECT_CALENDAR_ACTIVE_LISTS.sql + " AND sequence_no = :sequenceNo"
     ),
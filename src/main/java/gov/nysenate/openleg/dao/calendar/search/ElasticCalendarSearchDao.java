@@ -55,7 +55,7 @@ public class ElasticCalendarSearchDao extends ElasticBaseDao implements Calendar
         if (calendar != null) {
             BulkRequestBuilder bulkRequest = searchClient.prepareBulk();
             addCalToBulkRequest(calendar, bulkRequest);
-            bulkRequest.execute().actionGet();
+            queueBulkRequest(bulkRequest);
         }
     }
 
@@ -64,7 +64,7 @@ public class ElasticCalendarSearchDao extends ElasticBaseDao implements Calendar
     public void updateCalendarIndexBulk(Collection<Calendar> calendars) {
         BulkRequestBuilder bulkRequest = searchClient.prepareBulk();
         calendars.forEach(cal -> addCalToBulkRequest(cal, bulkRequest));
-        bulkRequest.execute().actionGet();
+        queueBulkRequest(bulkRequest);
     }
 
     /**{@inheritDoc}*/
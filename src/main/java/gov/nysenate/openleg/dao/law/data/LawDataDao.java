@@ -7,8 +7,10 @@ import gov.nysenate.openleg.model.law.LawTree;
 import org.springframework.dao.DataAccessException;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Data interface to retrieve and persist laws documents and their associated document trees.
@@ -76,6 +78,18 @@ public interface LawDataDao
      */
     public Map<String, LawDocument> getLawDocuments(String lawId, LocalDate endPublishDate) throws DataAccessException;
 
+    /**
+     * Same as {@link #getLawDocuments(String, LocalDate)} except each law document is handed to the consumer
+     * as it is read instead of being collected, so the full law never has to be held in memory at once.
+     *
+     * @param lawId String - The three letter law id.
+     * @param endPublishDate LocalDate
+     * @param consumer Consumer<LawDocument>
+     * @throws DataAccessException
+     */
+    public void streamLawDocuments(String lawId, LocalDate endPublishDate, Consumer<LawDocument> consumer)
+        throws DataAccessException;
+
     /**
      * Updates or inserts a LawDocument into the database, using the document id and published date as the
      * unique identifiers.
@@ -85,6 +99,15 @@ public interface LawDataDao
      */
     public void updateLawDocument(LawFile lawFile, LawDocument lawDocument);
 
+    /**
+     * Same as {@link #updateLawDocument(LawFile, LawDocument)} except the documents are written using batched
+     * statements, which is much faster when persisting all the documents of a law.
+     *
+     * @param lawFile LawFile - The law file source that triggered the update.
+     * @param lawDocuments Collection<LawDocument> - The law documents to persist.
+     */
+    public void updateLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments);
+
     /**
      * Updates or inserts the tree structure for the laws via the given LawTree. The law id and the published date
      * in the LawTree will be used as the unique identifiers for the tree.
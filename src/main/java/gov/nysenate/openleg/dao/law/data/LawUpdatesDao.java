@@ -6,11 +6,13 @@ import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.model.law.LawDocId;
 import gov.nysenate.openleg.model.law.LawVersionId;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public interface LawUpdatesDao
 {
@@ -55,4 +57,32 @@ public interface LawUpdatesDao
     public PaginatedList<UpdateDigest<LawDocId>> getDetailedUpdatesForDocument(
         String documentId, Range<LocalDateTime> dateTimeRange, UpdateType type, SortOrder dateOrder, LimitOffset limitOffset);
 
+    /**
+     * Returns the law doc id digests updated during the given date range that follow the given cursor, without
+     * counting the total number of digests in the range. This allows clients to page through a large date range
+     * at a constant cost per page.
+     *
+     * @param after UpdateCursor - Only digests positioned after this cursor in the given order are returned
+     * @param limit int - The maximum number of digests to return
+     * @see #getUpdates for other param details.
+     * @return List<UpdateDigest<LawDocId>>
+     */
+    public List<UpdateDigest<LawDocId>> getDetailedUpdates(
+        Range<LocalDateTime> dateTimeRange, UpdateType type, SortOrder dateOrder, UpdateCursor after, int limit);
+
+    /**
+     * Returns the digests for law documents of a given law that follow the given cursor.
+     * @see #getDetailedUpdatesForLaw and {@link #getDetailedUpdates(Range, UpdateType, SortOrder, UpdateCursor, int)}
+     */
+    public List<UpdateDigest<LawDocId>> getDetailedUpdatesForLaw(
+        String lawId, Range<LocalDateTime> dateTimeRange, UpdateType type, SortOrder dateOrder,
+        UpdateCursor after, int limit);
+
+    /**
+     * Returns the digests for a given law document that follow the given cursor.
+     * @see #getDetailedUpdatesForDocument and {@link #getDetailedUpdates(Range, UpdateType, SortOrder, UpdateCursor, int)}
+     */
+    public List<UpdateDigest<LawDocId>> getDetailedUpdatesForDocument(
+        String documentId, Range<LocalDateTime> dateTimeRange, UpdateType type, SortOrder dateOrder,
+        UpdateCursor after, int limit);
 }
\ No newline at end of file
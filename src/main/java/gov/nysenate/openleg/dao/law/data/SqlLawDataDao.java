@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.dao.law.data;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import gov.nysenate.openleg.dao.base.*;
 import gov.nysenate.openleg.model.law.*;
@@ -17,11 +18,14 @@ import org.springframework.stereotype.Repository;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static gov.nysenate.openleg.dao.law.data.SqlLawDataQuery.*;
 import static gov.nysenate.openleg.util.DateUtils.toDate;
@@ -31,6 +35,9 @@ public class SqlLawDataDao extends SqlBaseDao implements LawDataDao
 {
     private static final Logger logger = LoggerFactory.getLogger(SqlLawDataDao.class);
 
+    /** The maximum number of law documents written in a single batch. */
+    private static final int DOCUMENT_BATCH_SIZE = 500;
+
     /** {@inheritDoc} */
     @Override
     public LawInfo getLawInfo(String lawId) throws DataAccessException {
@@ -92,6 +99,17 @@ public class SqlLawDataDao extends SqlBaseDao implements LawDataDao
         return Maps.uniqueIndex(docs, LawDocument::getDocumentId);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void streamLawDocuments(String lawId, LocalDate endPublishDate, Consumer<LawDocument> consumer)
+            throws DataAccessException {
+        ImmutableParams lawDocParams = ImmutableParams.from(new MapSqlParameterSource()
+            .addValue("lawId", lawId)
+            .addValue("endPublishedDate", toDate(endPublishDate)));
+        jdbcNamed.query(SqlLawDataQuery.SELECT_ALL_LAW_DOCUMENTS.getSql(schema()), lawDocParams,
+            (RowCallbackHandler) rs -> consumer.accept(lawDocRowMapper.mapRow(rs, rs.getRow())));
+    }
+
     /** {@inheritDoc} */
     @Override
     public void updateLawDocument(LawFile lawFile, LawDocument lawDocument) {
@@ -101,6 +119,27 @@ public class SqlLawDataDao extends SqlBaseDao implements LawDataDao
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void updateLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments) {
+        String updateSql = SqlLawDataQuery.UPDATE_LAW_DOCUMENT.getSql(schema());
+        String insertSql = SqlLawDataQuery.INSERT_LAW_DOCUMENT.getSql(schema());
+        for (List<LawDocument> batch : Iterables.partition(lawDocuments, DOCUMENT_BATCH_SIZE)) {
+            MapSqlParameterSource[] lawDocParams = batch.stream()
+                .map(lawDocument -> getLawDocumentParams(lawFile, lawDocument))
+                .toArray(MapSqlParameterSource[]::new);
+            int[] counts = jdbcNamed.batchUpdate(updateSql, lawDocParams);
+            // Insert the documents that did not exist yet
+            MapSqlParameterSource[] insertParams = IntStream.range(0, counts.length)
+                .filter(i -> counts[i] == 0)
+                .mapToObj(i -> lawDocParams[i])
+                .toArray(MapSqlParameterSource[]::new);
+            if (insertParams.length > 0) {
+                jdbcNamed.batchUpdate(insertSql, insertParams);
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void updateLawTree(LawFile lawFile, LawTree lawTree) {
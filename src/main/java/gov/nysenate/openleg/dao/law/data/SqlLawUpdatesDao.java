@@ -5,6 +5,7 @@ import gov.nysenate.openleg.dao.base.*;
 import gov.nysenate.openleg.model.law.LawDocId;
 import gov.nysenate.openleg.model.law.LawVersionId;
 import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
@@ -16,6 +17,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static gov.nysenate.openleg.dao.law.data.SqlLawUpdatesQuery.*;
@@ -79,6 +81,43 @@ public class SqlLawUpdatesDao extends SqlBaseDao implements LawUpdatesDao
         return handler.getList();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public List<UpdateDigest<LawDocId>> getDetailedUpdates(
+        Range<LocalDateTime> dateTimeRange, UpdateType type, SortOrder dateOrder, UpdateCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        addDateTimeRangeParams(params, dateTimeRange);
+        addUpdateCursorParams(params, after);
+        String sql = getCursorQuery(SELECT_LAW_UPDATE_DIGESTS_AFTER_CURSOR, type, dateOrder, limit);
+        return jdbcNamed.query(sql, params, lawDocIdUpdateDigestMapper);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<UpdateDigest<LawDocId>> getDetailedUpdatesForLaw(
+        String lawId, Range<LocalDateTime> dateTimeRange, UpdateType type, SortOrder dateOrder,
+        UpdateCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        params.addValue("lawId", lawId);
+        addDateTimeRangeParams(params, dateTimeRange);
+        addUpdateCursorParams(params, after);
+        String sql = getCursorQuery(SELECT_LAW_UPDATE_DIGESTS_FOR_LAW_AFTER_CURSOR, type, dateOrder, limit);
+        return jdbcNamed.query(sql, params, lawDocIdUpdateDigestMapper);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<UpdateDigest<LawDocId>> getDetailedUpdatesForDocument(
+        String documentId, Range<LocalDateTime> dateTimeRange, UpdateType type, SortOrder dateOrder,
+        UpdateCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        params.addValue("documentId", documentId);
+        addDateTimeRangeParams(params, dateTimeRange);
+        addUpdateCursorParams(params, after);
+        String sql = getCursorQuery(SELECT_LAW_UPDATE_DIGESTS_FOR_DOCUMENT_AFTER_CURSOR, type, dateOrder, limit);
+        return jdbcNamed.query(sql, params, lawDocIdUpdateDigestMapper);
+    }
+
     /** --- Internal --- */
 
     private String getQuery(SqlLawUpdatesQuery query, UpdateType type, SortOrder dateOrder, LimitOffset limitOffset) {
@@ -88,6 +127,13 @@ public class SqlLawUpdatesDao extends SqlBaseDao implements LawUpdatesDao
         return queryReplace(sql, "dateColumn", dateColumn);
     }
 
+    private String getCursorQuery(SqlLawUpdatesQuery query, UpdateType type, SortOrder dateOrder, int limit) {
+        OrderBy orderBy = getCursorOrderByForUpdateType(type, dateOrder);
+        String sql = query.getSql(schema(), orderBy, new LimitOffset(limit));
+        sql = queryReplace(sql, "dateColumn", getDateColumnForUpdateType(type));
+        return queryReplace(sql, "seekOperator", getSeekOperator(dateOrder));
+    }
+
     private static final RowMapper<UpdateToken<LawVersionId>> lawIdUpdateTokenMapper = (rs, rowNum) -> {
         LocalDateTime lastPubDateTime = getLocalDateTimeFromRs(rs, "last_published_date_time");
         return new UpdateToken<>(new LawVersionId(rs.getString("law_id"), lastPubDateTime.toLocalDate()), UpdateContentType.LAW,
@@ -104,6 +150,7 @@ public class SqlLawUpdatesDao extends SqlBaseDao implements LawUpdatesDao
     private static final RowMapper<UpdateDigest<LawDocId>> lawDocIdUpdateDigestMapper = (rs, rowNum) -> {
         UpdateToken<LawDocId> updateToken = lawDocIdUpdateTokenMapper.mapRow(rs, rowNum);
         UpdateDigest<LawDocId> digest = new UpdateDigest<>(updateToken);
+        digest.setChangeId(rs.getInt("change_id"));
         digest.setTable(rs.getString("table_name"));
         digest.setAction(rs.getString("action"));
         return digest;
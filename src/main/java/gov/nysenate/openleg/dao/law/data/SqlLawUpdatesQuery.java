@@ -20,11 +20,16 @@ public enum SqlLawUpdatesQuery implements BasicSqlQuery
     ),
 
     SELECT_COLUMNS_FOR_DIGEST_FRAGMENT(
-        "law_file_name AS last_source_file, action_date_time AS last_processed_date_time, \n" +
-        "published_date_time AS last_published_date_time, COUNT(*) OVER () AS total_updated,\n" +
+        "id AS change_id, law_file_name AS last_source_file, action_date_time AS last_processed_date_time, \n" +
+        "published_date_time AS last_published_date_time,\n" +
         "table_name, action\n"
     ),
 
+    /** Seeks past the change log row identified by the cursor params, see UpdateCursor. */
+    SEEK_CURSOR_FRAGMENT(
+        "AND (${dateColumn}, id) ${seekOperator} (:cursorDateTime, :cursorChangeId)\n"
+    ),
+
     SELECT_LAW_UPDATE_TOKENS(
         String.format(SELECT_LAW_UPDATES_FRAGMENT.sql,
             "law_id, " + SELECT_COLUMNS_FOR_TOKEN_FRAGMENT.sql,
@@ -34,23 +39,44 @@ public enum SqlLawUpdatesQuery implements BasicSqlQuery
 
     SELECT_LAW_UPDATE_DIGESTS(
         String.format(SELECT_LAW_UPDATES_FRAGMENT.sql,
-            "law_id, document_id, " + SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql,
+            "law_id, document_id, COUNT(*) OVER () AS total_updated, " + SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql,
             "",
             "")
     ),
 
-    SELECT_LAW_UPDATE_DIGESTS_FOR_LAW(
+    SELECT_LAW_UPDATE_DIGESTS_AFTER_CURSOR(
         String.format(SELECT_LAW_UPDATES_FRAGMENT.sql,
             "law_id, document_id, " + SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql,
+            SEEK_CURSOR_FRAGMENT.sql,
+            "")
+    ),
+
+    SELECT_LAW_UPDATE_DIGESTS_FOR_LAW(
+        String.format(SELECT_LAW_UPDATES_FRAGMENT.sql,
+            "law_id, document_id, COUNT(*) OVER () AS total_updated, " + SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql,
             "AND law_id = :lawId",
             "")
     ),
 
-    SELECT_LAW_UPDATE_DIGESTS_FOR_DOCUMENT(
+    SELECT_LAW_UPDATE_DIGESTS_FOR_LAW_AFTER_CURSOR(
         String.format(SELECT_LAW_UPDATES_FRAGMENT.sql,
             "law_id, document_id, " + SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql,
+            "AND law_id = :lawId\n" + SEEK_CURSOR_FRAGMENT.sql,
+            "")
+    ),
+
+    SELECT_LAW_UPDATE_DIGESTS_FOR_DOCUMENT(
+        String.format(SELECT_LAW_UPDATES_FRAGMENT.sql,
+            "law_id, document_id, COUNT(*) OVER () AS total_updated, " + SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql,
             "AND document_id = :documentId",
             "")
+    ),
+
+    SELECT_LAW_UPDATE_DIGESTS_FOR_DOCUMENT_AFTER_CURSOR(
+        String.format(SELECT_LAW_UPDATES_FRAGMENT.sql,
+            "law_id, document_id, " + SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql,
+            "AND document_id = :documentId\n" + SEEK_CURSOR_FRAGMENT.sql,
+            "")
     );
 
     private String sql;
@@ -65,7 +65,7 @@ public class ElasticLawSearchDao extends ElasticBaseDao implements LawSearchDao
                     searchClient.prepareIndex(lawIndexName, docView.getLawId(), createSearchId(docView))
                                 .setSource(OutputUtils.toJson(docView)));
             });
-            safeBulkRequestExecute(bulkRequest);
+            queueBulkRequest(bulkRequest);
         }
     }
 
@@ -73,7 +73,7 @@ public class ElasticLawSearchDao extends ElasticBaseDao implements LawSearchDao
     @Override
     public void deleteLawDocFromIndex(LawDocId lawDocId) {
         if (lawDocId != null) {
-            deleteEntry(lawIndexName, lawDocId.getLawId(), createSearchId(lawDocId));
+            queueDeleteEntry(lawIndexName, lawDocId.getLawId(), createSearchId(lawDocId));
         }
     }
 
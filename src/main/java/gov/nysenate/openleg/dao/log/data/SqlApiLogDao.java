@@ -10,6 +10,7 @@ import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
 
 import java.net.InetAddress;
@@ -104,4 +105,26 @@ public class SqlApiLogDao extends SqlBaseDao implements ApiLogDao
                     getApiResponseParams(response));
         }
      }
+
+    /** {@inheritDoc} */
+    @Override
+    public void saveApiResponses(List<ApiResponse> responses) throws DataAccessException {
+        if (responses.isEmpty()) {
+            return;
+        }
+        // Reserve the request ids up front so the requests and responses can be inserted as two batches
+        List<Integer> requestIds = jdbcNamed.query(ApiRequestResponseQuery.SELECT_NEXT_REQUEST_IDS.getSql(schema()),
+                new MapSqlParameterSource("count", responses.size()), new SingleColumnRowMapper<>(Integer.class));
+        SqlParameterSource[] requestParams = new SqlParameterSource[responses.size()];
+        SqlParameterSource[] responseParams = new SqlParameterSource[responses.size()];
+        for (int i = 0; i < responses.size(); i++) {
+            ApiResponse response = responses.get(i);
+            response.getBaseRequest().setRequestId(requestIds.get(i));
+            requestParams[i] = getApiRequestParams(response.getBaseRequest())
+                .add(new MapSqlParameterSource("reqId", requestIds.get(i)));
+            responseParams[i] = getApiResponseParams(response);
+        }
+        jdbcNamed.batchUpdate(ApiRequestResponseQuery.INSERT_REQUEST_WITH_ID.getSql(schema()), requestParams);
+        jdbcNamed.batchUpdate(ApiRequestResponseQuery.INSERT_RESPONSE.getSql(schema()), responseParams);
+    }
 }
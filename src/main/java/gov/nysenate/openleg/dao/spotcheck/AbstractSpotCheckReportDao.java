@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.dao.spotcheck;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import gov.nysenate.openleg.dao.base.*;
 import gov.nysenate.openleg.model.base.SessionYear;
@@ -37,6 +38,9 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
         implements SpotCheckReportDao<ContentKey> {
     private static final Logger logger = LoggerFactory.getLogger(AbstractSpotCheckReportDao.class);
 
+    /** The number of mismatches written per batch when saving a report. */
+    private static final int INSERT_BATCH_SIZE = 1000;
+
     /** --- Abstract Methods --- */
 
     /**
@@ -80,14 +84,7 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
      */
     @Override
     public PaginatedList<DeNormSpotCheckMismatch> getMismatches(MismatchQuery query, LimitOffset limitOffset) {
-        MapSqlParameterSource params = new MapSqlParameterSource()
-                .addValue("datasource", query.getDataSource().name())
-                .addValue("contentTypes", query.getContentTypes().stream().map(Enum::name).collect(Collectors.toSet()))
-                .addValue("state", query.getState().name())
-                .addValue("toDate", query.getEndDateTime())
-                .addValue("fromDate", query.getStartDateTime())
-                .addValue("ignoreStatuses", query.getIgnoredStatuses().stream().map(Enum::name).collect(Collectors.toSet()))
-                .addValue("mismatchTypes", extractEnumSetParams(query.getMismatchTypes()));
+        MapSqlParameterSource params = getMismatchQueryParams(query);
         String sql = SqlSpotCheckReportQuery.GET_MISMATCHES.getSql(schema(), query.getOrderBy(), limitOffset);
         PaginatedRowHandler<DeNormSpotCheckMismatch> handler = new PaginatedRowHandler<>(limitOffset, "total_rows", new MismatchMapper());
         jdbcNamed.query(sql, params, handler);
@@ -162,7 +159,7 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
         Set<SpotCheckMismatchType> checkedTypes = report.getReferenceType().checkedMismatchTypes();
 
         List<DeNormSpotCheckMismatch> reportMismatches = reportToDeNormMismatches(report, reportId);
-        List<DeNormSpotCheckMismatch> currentMismatches = getCurrentMismatches(report);
+        List<DeNormSpotCheckMismatch> currentMismatches = getCurrentMismatches(report, checkedKeys);
 
         reportMismatches.addAll(MismatchUtils.deriveClosedMismatches(reportMismatches, currentMismatches, checkedKeys,
                 checkedTypes, report.getReportDateTime(), report.getReferenceDateTime()));
@@ -172,13 +169,27 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
         insertMismatches(reportMismatches);
     }
 
-    private List<DeNormSpotCheckMismatch> getCurrentMismatches(SpotCheckReport<ContentKey> report) {
+    /**
+     * Gets the open mismatches for the content checked by the report. The open mismatches of the data source are
+     * streamed from the database and only those with a key that was checked are kept, since the others are
+     * neither closed nor updated by the report.
+     */
+    private List<DeNormSpotCheckMismatch> getCurrentMismatches(SpotCheckReport<ContentKey> report, Set<Object> checkedKeys) {
         MismatchQuery query = new MismatchQuery(report.getReportDateTime().toLocalDate(),
                                                 report.getReferenceType().getDataSource(),
                                                 MismatchStatus.OPEN,
                                                 Sets.newHashSet(report.getReferenceType().getContentType()))
                 .withIgnoredStatuses(EnumSet.allOf(SpotCheckMismatchIgnore.class));
-        return getMismatches(query, LimitOffset.ALL).getResults();
+        MismatchMapper mapper = new MismatchMapper();
+        List<DeNormSpotCheckMismatch> mismatches = new ArrayList<>();
+        jdbcNamed.query(SqlSpotCheckReportQuery.GET_MISMATCHES.getSql(schema(), query.getOrderBy(), LimitOffset.ALL),
+                getMismatchQueryParams(query), (RowCallbackHandler) rs -> {
+                    DeNormSpotCheckMismatch mismatch = mapper.mapRow(rs, 0);
+                    if (checkedKeys.contains(mismatch.getKey())) {
+                        mismatches.add(mismatch);
+                    }
+                });
+        return mismatches;
     }
 
     private int insertReport(SpotCheckReport<ContentKey> report) {
@@ -188,17 +199,32 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
         return reportIdHolder.getKey().intValue();
     }
 
+    /**
+     * Inserts the mismatches in batches, so that only the parameters for a single batch are built at a time.
+     */
     private void insertMismatches(List<DeNormSpotCheckMismatch> mismatches) {
-        List<MapSqlParameterSource> params = mismatches.stream()
-                .map(this::mismatchParams)
-                .collect(Collectors.toList());
         String sql = INSERT_MISMATCH.getSql(schema());
-        jdbcNamed.batchUpdate(sql, params.stream().toArray(MapSqlParameterSource[]::new));
+        for (List<DeNormSpotCheckMismatch> batch : Lists.partition(mismatches, INSERT_BATCH_SIZE)) {
+            jdbcNamed.batchUpdate(sql, batch.stream()
+                    .map(this::mismatchParams)
+                    .toArray(MapSqlParameterSource[]::new));
+        }
     }
 
     /**
      * Parameters used in the {@link SqlSpotCheckReportQuery} ACTIVE_MISMATCHES query.
      */
+    private MapSqlParameterSource getMismatchQueryParams(MismatchQuery query) {
+        return new MapSqlParameterSource()
+                .addValue("datasource", query.getDataSource().name())
+                .addValue("contentTypes", query.getContentTypes().stream().map(Enum::name).collect(Collectors.toSet()))
+                .addValue("state", query.getState().name())
+                .addValue("toDate", query.getEndDateTime())
+                .addValue("fromDate", query.getStartDateTime())
+                .addValue("ignoreStatuses", query.getIgnoredStatuses().stream().map(Enum::name).collect(Collectors.toSet()))
+                .addValue("mismatchTypes", extractEnumSetParams(query.getMismatchTypes()));
+    }
+
     private MapSqlParameterSource activeMismatchParams(LocalDateTime toDateTime, Set<SpotCheckMismatchIgnore> ignoreStatuses) {
         return new MapSqlParameterSource()
                 .addValue("sessionStartDateTime", SessionYear.of(toDateTime.getYear()).getStartDateTime())
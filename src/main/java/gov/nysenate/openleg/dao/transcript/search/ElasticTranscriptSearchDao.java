@@ -64,7 +64,7 @@ public class ElasticTranscriptSearchDao extends ElasticBaseDao implements Transc
                                     searchClient.prepareIndex(transcriptIndexName, "transcripts", t.getFilename())
                                             .setSource(OutputUtils.toJson(t)))
             );
-            safeBulkRequestExecute(bulkRequest);
+            queueBulkRequest(bulkRequest);
         }
     }
 
@@ -72,7 +72,7 @@ public class ElasticTranscriptSearchDao extends ElasticBaseDao implements Transc
     @Override
     public void deleteTranscriptFromIndex(TranscriptId transcriptId) {
         if (transcriptId != null) {
-            deleteEntry(transcriptIndexName, "transcripts", transcriptId.getFilename());
+            queueDeleteEntry(transcriptIndexName, "transcripts", transcriptId.getFilename());
         }
     }
 
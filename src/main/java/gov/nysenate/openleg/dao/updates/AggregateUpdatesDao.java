@@ -5,11 +5,13 @@ import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -49,6 +51,21 @@ public interface AggregateUpdatesDao {
                                                                              SortOrder order, LimitOffset limitOffset,
                                                                              boolean detail);
 
+    /**
+     * Gets the update digests of the requested types that follow the given cursor, without counting the total
+     * number of digests in the date range. This allows clients to page through a large date range at a constant
+     * cost per page.
+     *
+     * @param after UpdateCursor - Only digests positioned after this cursor in the given order are returned
+     * @param limit int - The maximum number of digests to return
+     * @see #getUpdateDigests for the other params
+     * @return List<UpdateDigest<Map<String, String>>>
+     */
+    public List<UpdateDigest<Map<String, String>>> getUpdateDigests(Range<LocalDateTime> dateTimeRange,
+                                                                    Set<UpdateContentType> types, UpdateType updateType,
+                                                                    SortOrder order, UpdateCursor after, int limit,
+                                                                    boolean detail);
+
     /**
      * An override of getUpdateDigests that does not return detailed digests
      * @see #getUpdateDigests
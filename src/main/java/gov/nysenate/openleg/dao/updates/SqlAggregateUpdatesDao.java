@@ -5,10 +5,12 @@ import com.google.common.collect.Range;
 import gov.nysenate.openleg.dao.base.*;
 import gov.nysenate.openleg.model.updates.*;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.stereotype.Repository;
 
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -42,6 +44,19 @@ public class SqlAggregateUpdatesDao extends SqlBaseDao implements AggregateUpdat
         return rowHandler.getList();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public List<UpdateDigest<Map<String, String>>> getUpdateDigests(Range<LocalDateTime> dateTimeRange,
+                                                                    Set<UpdateContentType> types, UpdateType updateType,
+                                                                    SortOrder order, UpdateCursor after, int limit,
+                                                                    boolean detail) {
+        String query = buildCursorQuery(schema(), limit, order, types,
+                detail ? UpdateReturnType.DETAIL_DIGEST : UpdateReturnType.DIGEST, updateType);
+        MapSqlParameterSource params = getDateTimeRangeParams(dateTimeRange);
+        addUpdateCursorParams(params, after);
+        return jdbcNamed.query(query, params, aggregateUpdateDigestRowMapper);
+    }
+
     protected static final RowMapper<UpdateToken<Map<String, String>>> aggregateUpdateTokenRowMapper = (rs, num) ->
             new UpdateToken<>(getHstoreMap(rs, "id"),
                     UpdateContentType.getValue(rs.getString("content_type")),
@@ -52,6 +67,7 @@ public class SqlAggregateUpdatesDao extends SqlBaseDao implements AggregateUpdat
 
     protected static final RowMapper<UpdateDigest<Map<String, String>>> aggregateUpdateDigestRowMapper = (rs, num) -> {
         UpdateDigest<Map<String, String>> digest = new UpdateDigest<>(aggregateUpdateTokenRowMapper.mapRow(rs, num));
+        digest.setChangeId(rs.getInt("change_id"));
         digest.setAction(rs.getString("action"));
         digest.setTable(rs.getString("table_name"));
         try {
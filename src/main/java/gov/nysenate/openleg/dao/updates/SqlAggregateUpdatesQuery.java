@@ -19,6 +19,16 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
         ") AS aggregate_query\n"
     ),
 
+    /** Digests that follow an UpdateCursor, the window is not counted when seeking. */
+    SELECT_AGGREGATE_UPDATES_AFTER_CURSOR(
+        "SELECT *\n" +
+        "FROM (\n" +
+            "%s\n" +
+        ") AS aggregate_query\n" +
+        "WHERE (${cursorDateColumn}, content_type, change_id) ${seekOperator} " +
+        "(:cursorDateTime, :cursorContentType, :cursorChangeId)\n"
+    ),
+
     /** --- Standard Table Templates --- */
 
     STANDARD_UPDATE_SUBQUERY(
@@ -28,7 +38,7 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
         "\tWHERE ${dateColumn} BETWEEN :startDateTime AND :endDateTime"
     ),
     STANDARD_DIGEST_COLUMNS(
-        "%s AS last_source_id, action_date_time AS last_processed_date_time, \n" +
+        "id AS change_id, %s AS last_source_id, action_date_time AS last_processed_date_time, \n" +
         "\t\tpublished_date_time AS last_published_date_time,\n" +
         "\t\ttable_name, action"
     ),
@@ -127,7 +137,7 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
      */
     public static String buildQuery(String schema, LimitOffset limOff, SortOrder order,
                                     Set<UpdateContentType> contentTypes, UpdateReturnType returnType, UpdateType updateType) {
-        OrderBy orderBy = new OrderBy(updateType == UpdateType.PROCESSED_DATE ? "last_processed_date_time" : "last_published_date_time", order);
+        OrderBy orderBy = new OrderBy(getAggregateDateColumn(updateType), order);
         String aggregateQuery = String.format(
                 SELECT_AGGREGATE_UPDATES.getSql(schema, orderBy, limOff),
                 generateSubquery(contentTypes, returnType, schema));
@@ -139,6 +149,39 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
         return aggregateQuery;
     }
 
+    /**
+     * Generates a query string for the digests that follow an UpdateCursor, ordered by the update date time,
+     * content type and change id.
+     *
+     * @param returnType UpdateReturnType - Either DIGEST or DETAIL_DIGEST, tokens cannot be seeked through
+     * @param limit int - The maximum number of digests to return
+     * @see #buildQuery for the other params
+     * @return String - An aggregate updates query string
+     */
+    public static String buildCursorQuery(String schema, int limit, SortOrder order, Set<UpdateContentType> contentTypes,
+                                          UpdateReturnType returnType, UpdateType updateType) {
+        if (returnType == UpdateReturnType.TOKEN) {
+            throw new IllegalArgumentException("Update tokens are grouped by content and cannot be seeked through");
+        }
+        String dateColumn = getAggregateDateColumn(updateType);
+        SortOrder seekOrder = (order == SortOrder.DESC) ? SortOrder.DESC : SortOrder.ASC;
+        OrderBy orderBy = new OrderBy(dateColumn, seekOrder, "content_type", seekOrder, "change_id", seekOrder);
+        String aggregateQuery = String.format(
+                SELECT_AGGREGATE_UPDATES_AFTER_CURSOR.getSql(schema, orderBy, new LimitOffset(limit)),
+                generateSubquery(contentTypes, returnType, schema));
+        Map<String, String> replaceMap = ImmutableMap.<String, String>builder()
+                .putAll(getColumnReplaceMap(returnType))
+                .put("dateColumn", updateType == UpdateType.PROCESSED_DATE ? "action_date_time" : "published_date_time")
+                .put("cursorDateColumn", dateColumn)
+                .put("seekOperator", seekOrder == SortOrder.DESC ? "<" : ">")
+                .build();
+        return StrSubstitutor.replace(aggregateQuery, replaceMap);
+    }
+
+    private static String getAggregateDateColumn(UpdateType updateType) {
+        return updateType == UpdateType.PROCESSED_DATE ? "last_processed_date_time" : "last_published_date_time";
+    }
+
     /**
      * Generates a subquery containing the union of updates queries for each represented content type
      */
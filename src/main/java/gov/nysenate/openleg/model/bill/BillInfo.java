@@ -117,6 +117,10 @@ public class BillInfo
         return actions;
     }
 
+    public void setActions(List<BillAction> actions) {
+        this.actions = actions;
+    }
+
     public ProgramInfo getProgramInfo() {
         return programInfo;
     }
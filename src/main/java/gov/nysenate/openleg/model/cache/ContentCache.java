@@ -14,9 +14,11 @@ public enum ContentCache
     AGENDA,
     CALENDAR,
     LAW,
+    LAW_DOCUMENT,
     COMMITTEE,
     MEMBER,
     APIUSER,
+    BILL_DIFF,
     SHIRO,
     NOTIFICATION_SUBSCRIPTION;
 
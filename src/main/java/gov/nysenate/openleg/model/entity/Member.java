@@ -2,10 +2,14 @@ package gov.nysenate.openleg.model.entity;
 
 import com.google.common.base.Objects;
 
+import java.io.Serializable;
+
 /**
  * Represents a person holding a specific office
  */
-public class Member extends Person {
+public class Member extends Person implements Serializable
+{
+    private static final long serialVersionUID = 4186623372963718291L;
 
     /** Unique member id generated by the persistence layer. */
     protected int memberId;
@@ -2,11 +2,14 @@ package gov.nysenate.openleg.model.entity;
 
 import com.google.common.collect.ComparisonChain;
 
+import java.io.Serializable;
 import java.util.Objects;
 import java.util.Optional;
 
-public class Person implements Comparable<Person>
+public class Person implements Comparable<Person>, Serializable
 {
+    private static final long serialVersionUID = -2381727375384729837L;
+
     /** The unique id used to globally identify the person.
      *  This value should only be set after retrieval from the persistence layer. */
     private Integer personId;
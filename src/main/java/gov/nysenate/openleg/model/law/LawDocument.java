@@ -23,7 +23,7 @@ public class LawDocument extends LawDocInfo
      */
     public LawDocument(LawBlock lawBlock) {
         super(lawBlock);
-        this.setText(lawBlock.getText().toString());
+        this.setText(lawBlock.getText());
     }
 
     /** --- Overrides --- */
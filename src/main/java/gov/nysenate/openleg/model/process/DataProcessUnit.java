@@ -49,15 +49,15 @@ public class DataProcessUnit
 
     /** --- Methods --- */
 
-    public void addMessage(String message) {
+    public synchronized void addMessage(String message) {
         this.messages.append(message).append("\\n");
     }
 
-    public void addException(String exception) {
+    public synchronized void addException(String exception) {
         errors.add(exception);
     }
 
-    public void addException(String prefixMessage, Exception ex) {
+    public synchronized void addException(String prefixMessage, Exception ex) {
         String message = "";
         if (prefixMessage != null) {
             message = prefixMessage;
@@ -68,7 +68,7 @@ public class DataProcessUnit
         errors.add(message);
     }
 
-    public void addException(String errorMessage, Logger logger) {
+    public synchronized void addException(String errorMessage, Logger logger) {
         if (!errorMessage.endsWith("\n")) {
             errorMessage = errorMessage + "\n";
         }
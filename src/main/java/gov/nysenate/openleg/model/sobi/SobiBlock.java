@@ -42,6 +42,9 @@ public class SobiBlock
     /** The number of characters in the data segment of the block */
     public static final int blockDataLength = 98;
 
+    /** The number of characters in the line header, i.e. the bill designator followed by the line type. */
+    public static final int headerLength = 12;
+
     /** The file name of the fragment that generated this block. */
     private String fragmentFileName;
 
@@ -67,7 +70,7 @@ public class SobiBlock
     private SobiLineType type;
 
     /** An internal buffer used to accumulate block data over several lines. */
-    private StringBuffer dataBuffer = new StringBuffer();
+    private StringBuilder dataBuffer = new StringBuilder();
 
     /** True if the block should be extended by multiple lines. This is generally determined by block type
      *  but blocks whose data is DELETE should be treated as single line blocks regardless of type. */
@@ -80,12 +83,7 @@ public class SobiBlock
      * assumed to be valid sobi file and is NOT checked for performance reasons.
      */
     public SobiBlock(String line) {
-        this.setBillHeader(line.substring(0, 11));
-        this.setBillId(line.substring(4,10), line.substring(10,11), Integer.parseInt(line.substring(0,4)));
-        this.setType(SobiLineType.valueOfCode(line.charAt(11)));
-        this.setHeader(line.substring(0,12));
-        this.setData(line.substring(12));
-        this.multiline = !oneLineBlocks.contains(this.getType()) && !this.getData().trim().equals("DELETE");
+        this(line, 0, line.length());
     }
 
     /**
@@ -94,12 +92,35 @@ public class SobiBlock
      * valid SOBI file and is NOT checked for performance reasons.
      */
     public SobiBlock(String fragmentFileName, SobiFragmentType type, int startLineNo, String line) {
-        this(line);
+        this(fragmentFileName, type, startLineNo, line, 0, line.length());
+    }
+
+    /**
+     * Construct a new block with location information from the valid SOBI line found between the start
+     * (inclusive) and end (exclusive) offsets of the given text. NULL bytes in the line are read as spaces.
+     *
+     * @see SobiBlockIterator
+     */
+    public SobiBlock(String fragmentFileName, SobiFragmentType type, int startLineNo,
+                     CharSequence text, int start, int end) {
+        this(text, start, end);
         this.fragmentFileName = fragmentFileName;
         this.fragmentType = type;
         this.setStartLineNo(startLineNo);
     }
 
+    private SobiBlock(CharSequence text, int start, int end) {
+        StringBuilder headerBuilder = new StringBuilder(headerLength);
+        appendLine(headerBuilder, text, start, start + headerLength);
+        this.setHeader(headerBuilder.toString());
+        this.setBillHeader(header.substring(0, 11));
+        this.setBillId(header.substring(4, 10), header.substring(10, 11), Integer.parseInt(header.substring(0, 4)));
+        this.setType(SobiLineType.valueOfCode(header.charAt(11)));
+        appendLine(dataBuffer, text, start + headerLength, end);
+        ensureDataLength();
+        this.multiline = !oneLineBlocks.contains(this.getType()) && !isDeleteData();
+    }
+
     /** --- Methods --- */
 
     /**
@@ -110,9 +131,20 @@ public class SobiBlock
      * to check before extending.
      */
     public void extend(String line) {
+        extend(line, 0, line.length());
+    }
+
+    /**
+     * Extends the block data with the data from the line found between the start (inclusive) and end (exclusive)
+     * offsets of the given text, without copying the line first. NULL bytes in the line are read as spaces.
+     *
+     * @see #extend(String)
+     */
+    public void extend(CharSequence text, int start, int end) {
         if (!this.isMultiline())
             throw new RuntimeException("Only multi-line blocks may be extended");
-        this.dataBuffer.append("\n"+line.substring(12));
+        this.dataBuffer.append('\n');
+        appendLine(dataBuffer, text, start + headerLength, end);
     }
 
     /**
@@ -150,7 +182,7 @@ public class SobiBlock
      * Replaces the block data with the input string.
      */
     public void setData(String data) {
-        this.dataBuffer = new StringBuffer(data);
+        this.dataBuffer = new StringBuilder(data);
     }
 
     /**
@@ -174,6 +206,31 @@ public class SobiBlock
 
     /** --- Internal Methods --- */
 
+    /**
+     * Appends the given range of the text to the buffer, replacing NULL bytes with spaces.
+     */
+    private static void appendLine(StringBuilder buffer, CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            buffer.append(c == '\0' ? ' ' : c);
+        }
+    }
+
+    /**
+     * Returns true if the block data is "DELETE" when surrounding whitespace is ignored.
+     */
+    private boolean isDeleteData() {
+        int start = 0;
+        int end = dataBuffer.length();
+        while (start < end && dataBuffer.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && dataBuffer.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end - start == 6 && dataBuffer.indexOf("DELETE", start) == start;
+    }
+
     /**
      * Ensures that the data segment of the block extends to the full 98 characters by appending spaces as needed
      * This is only applied to bill info blocks
@@ -0,0 +1,183 @@
+package gov.nysenate.openleg.model.sobi;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily reads the SobiBlocks of a fragment in the SOBI block format. Lines are located by offset within the
+ * fragment text and their fixed width headers are checked character by character, so lines are never split
+ * out into separate strings or matched with regular expressions. Only the blocks themselves are allocated.
+ *
+ * Lines that are not in the SOBI line format end the current block and are otherwise ignored. NULL bytes are
+ * read as spaces to bring lines into the proper fixed width format.
+ *
+ * @see SobiBlock
+ * @see SobiFragment#getSobiBlocks()
+ */
+public class SobiBlockIterator implements Iterator<SobiBlock>
+{
+    /** The id of the fragment that is read, used as the file name of each block. */
+    private final String fragmentId;
+
+    /** The type of the fragment that is read. */
+    private final SobiFragmentType fragmentType;
+
+    /** The fragment text. */
+    private final CharSequence text;
+
+    /** The offset of the next line to read. */
+    private int position = 0;
+
+    /** The line number of the next line to read. */
+    private int lineNo = 0;
+
+    /** True once the end of the text has been reached. */
+    private boolean finished = false;
+
+    /** The block that is currently being extended, null if the last line read was not part of a block. */
+    private SobiBlock block;
+
+    /** Completed blocks that have yet to be returned. A single line can complete at most two blocks. */
+    private final Deque<SobiBlock> completed = new ArrayDeque<>(2);
+
+    /** --- Constructors --- */
+
+    public SobiBlockIterator(String fragmentId, SobiFragmentType fragmentType, CharSequence text) {
+        this.fragmentId = fragmentId;
+        this.fragmentType = fragmentType;
+        this.text = text;
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Indicates if the given line of the text starts with a valid SOBI line header,
+     * i.e. matches {@link SobiBlock#blockPattern} once NULL bytes are read as spaces.
+     *
+     * @param text CharSequence
+     * @param start int - The offset of the line
+     * @param end int - The offset of the end of the line (exclusive)
+     * @return boolean
+     */
+    public static boolean isBlockLine(CharSequence text, int start, int end) {
+        if (end - start < SobiBlock.headerLength) {
+            return false;
+        }
+        for (int i = 0; i < 4; i++) {
+            if (!isDigit(text.charAt(start + i))) {
+                return false;
+            }
+        }
+        if (!isUpper(text.charAt(start + 4))) {
+            return false;
+        }
+        for (int i = 5; i < 10; i++) {
+            if (!isDigit(text.charAt(start + i))) {
+                return false;
+            }
+        }
+        char version = text.charAt(start + 10);
+        char lineType = text.charAt(start + 11);
+        return (version == ' ' || version == '\0' || isUpper(version))
+            && ((lineType >= '1' && lineType <= '9') || isUpper(lineType));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() {
+        while (completed.isEmpty() && !finished) {
+            readLine();
+        }
+        return !completed.isEmpty();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SobiBlock next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return completed.poll();
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Reads the next line of the text, adding any blocks that it completes to the completed queue.
+     * The end of the text is treated as a line that is not in the SOBI format so that it ends the last block.
+     */
+    private void readLine() {
+        if (position >= text.length()) {
+            endBlock();
+            finished = true;
+            return;
+        }
+        int start = position;
+        int end = start;
+        while (end < text.length() && text.charAt(end) != '\n') {
+            end++;
+        }
+        position = end + 1;
+        if (end > start && text.charAt(end - 1) == '\r') {
+            end--;
+        }
+        if (isBlockLine(text, start, end)) {
+            if (block == null) {
+                // No active block with a new matching line: create new block
+                block = new SobiBlock(fragmentId, fragmentType, lineNo, text, start, end);
+            }
+            else if (block.isMultiline() && regionMatches(block.getHeader(), start)) {
+                // Active multi-line block with a new matching line: extend block
+                block.extend(text, start, end);
+            }
+            else {
+                // Active block does not match new line or can't be extended: create new block
+                SobiBlock previous = block;
+                endBlock();
+                block = new SobiBlock(fragmentId, fragmentType, lineNo, text, start, end);
+                // The law code line can be omitted when blank but it always precedes the 'C' line
+                if (block.getType() == SobiLineType.SUMMARY && previous.getType() != SobiLineType.LAW
+                        && block.getBillHeader().equals(previous.getBillHeader())) {
+                    completed.add(new SobiBlock(fragmentId, fragmentType, lineNo,
+                                                previous.getBillHeader() + SobiLineType.LAW.getTypeCode()));
+                }
+            }
+        }
+        else {
+            // Any non-matching line ends the current block
+            endBlock();
+        }
+        lineNo++;
+    }
+
+    private void endBlock() {
+        if (block != null) {
+            block.setEndLineNo(lineNo - 1);
+            completed.add(block);
+            block = null;
+        }
+    }
+
+    /**
+     * Compares the header against the start of the line at the given offset, reading NULL bytes as spaces.
+     */
+    private boolean regionMatches(String header, int start) {
+        for (int i = 0; i < header.length(); i++) {
+            char c = text.charAt(start + i);
+            if (header.charAt(i) != (c == '\0' ? ' ' : c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+}
@@ -4,9 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.base.MoreObjects;
 import org.apache.commons.io.FileUtils;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.IOException;
+import java.io.*;
 import java.text.ParseException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -87,6 +85,16 @@ public class SobiFile
         }
     }
 
+    /**
+     * Opens a buffered reader over the file's contents using the file's encoding. This allows
+     * the file to be processed line by line without holding the whole text in memory.
+     * The caller is responsible for closing the reader.
+     */
+    @JsonIgnore
+    public Reader getReader() throws IOException {
+        return new BufferedReader(new InputStreamReader(new FileInputStream(file), encoding));
+    }
+
     /**
      * The published datetime is determined via the file name. If an error is encountered when
      * parsing the date, the last modified datetime of the file will be used instead.
@@ -0,0 +1,147 @@
+package gov.nysenate.openleg.model.updates;
+
+import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.util.DateUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A position within a change log, used to page through update digests by seeking past the last digest that was
+ * returned rather than by offset. The position is the update date time of the digest followed by its content type
+ * and change log id, which together give every digest a unique and stable place in the ordering.
+ *
+ * Cursors are handed to clients as opaque url safe continuation tokens via {@link #encode()}.
+ */
+public class UpdateCursor
+{
+    private static final String SEPARATOR = "|";
+
+    /** The date time of the digest, either the processed or published date time depending on the update type. */
+    private final LocalDateTime dateTime;
+
+    /** The content type of the digest, empty only for the starting cursor. */
+    private final String contentType;
+
+    /** The id of the change log row of the digest. */
+    private final int changeId;
+
+    /** --- Constructors --- */
+
+    public UpdateCursor(LocalDateTime dateTime, String contentType, int changeId) {
+        this.dateTime = Objects.requireNonNull(dateTime);
+        this.contentType = Objects.requireNonNull(contentType);
+        this.changeId = changeId;
+    }
+
+    /**
+     * Returns a cursor that precedes every digest for the given sort order. The update date time range of a
+     * query bounds the results on its own, so the starting cursor simply lies outside of any range.
+     *
+     * @param order SortOrder - The order the digests are paged in
+     * @return UpdateCursor
+     */
+    public static UpdateCursor start(SortOrder order) {
+        LocalDateTime dateTime = (order == SortOrder.DESC) ? DateUtils.THE_FUTURE.atStartOfDay()
+                                                           : DateUtils.LONG_AGO.atStartOfDay();
+        return new UpdateCursor(dateTime, "", 0);
+    }
+
+    /**
+     * Returns the cursor positioned at the given digest.
+     *
+     * @param digest UpdateDigest - A digest that was retrieved along with its change id
+     * @param updateType UpdateType - Determines which date time of the digest the updates are ordered by
+     * @return UpdateCursor
+     */
+    public static UpdateCursor of(UpdateDigest<?> digest, UpdateType updateType) {
+        LocalDateTime dateTime = (updateType == UpdateType.PUBLISHED_DATE) ? digest.getSourceDateTime()
+                                                                           : digest.getProcessedDateTime();
+        return new UpdateCursor(dateTime, digest.getContentType().name(), digest.getChangeId());
+    }
+
+    /**
+     * Returns the cursor to continue from after a page of digests, which is positioned at the last digest of
+     * the page. If the page is empty the given cursor is returned, so that it can be used to check for updates
+     * that come in later.
+     *
+     * @param page List<UpdateDigest> - Digests retrieved by seeking past the given cursor
+     * @param cursor UpdateCursor - The cursor the page was retrieved with
+     * @param updateType UpdateType - Determines which date time of the digests the updates are ordered by
+     * @return UpdateCursor
+     */
+    public static UpdateCursor next(List<? extends UpdateDigest<?>> page, UpdateCursor cursor, UpdateType updateType) {
+        return page.isEmpty() ? cursor : of(page.get(page.size() - 1), updateType);
+    }
+
+    /**
+     * Parses a continuation token created by {@link #encode()}.
+     *
+     * @param token String
+     * @return UpdateCursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static UpdateCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = value.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed update cursor: " + token);
+            }
+            return new UpdateCursor(LocalDateTime.parse(parts[0]), parts[1], Integer.parseInt(parts[2]));
+        }
+        catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Malformed update cursor: " + token, ex);
+        }
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * @return String - An opaque, url safe representation of this cursor
+     */
+    public String encode() {
+        String value = dateTime + SEPARATOR + contentType + SEPARATOR + changeId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** --- Overrides --- */
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UpdateCursor that = (UpdateCursor) o;
+        return changeId == that.changeId &&
+               Objects.equals(dateTime, that.dateTime) &&
+               Objects.equals(contentType, that.contentType);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dateTime, contentType, changeId);
+    }
+
+    @Override
+    public String toString() {
+        return dateTime + " " + contentType + " " + changeId;
+    }
+
+    /** --- Basic Getters --- */
+
+    public LocalDateTime getDateTime() {
+        return dateTime;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public int getChangeId() {
+        return changeId;
+    }
+}
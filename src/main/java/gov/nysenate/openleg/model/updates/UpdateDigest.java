@@ -9,6 +9,9 @@ public class UpdateDigest<ContentId> extends UpdateToken<ContentId> {
     private String table;
     private Map<String, String> fields;
 
+    /** The id of the change log row this digest was read from. */
+    private int changeId;
+
     /** --- Constructors --- */
 
     public UpdateDigest(UpdateToken<ContentId> token) {
@@ -44,4 +47,12 @@ public class UpdateDigest<ContentId> extends UpdateToken<ContentId> {
     public void setFields(Map<String, String> fields) {
         this.fields = fields;
     }
+
+    public int getChangeId() {
+        return changeId;
+    }
+
+    public void setChangeId(int changeId) {
+        this.changeId = changeId;
+    }
 }
@@ -11,19 +11,16 @@ import gov.nysenate.openleg.model.sobi.SobiFragmentType;
 import gov.nysenate.openleg.processor.base.AbstractDataProcessor;
 import gov.nysenate.openleg.processor.sobi.SobiProcessor;
 import gov.nysenate.openleg.util.DateUtils;
-import gov.nysenate.openleg.util.XmlHelper;
+import gov.nysenate.openleg.util.StaxXmlParser;
+import gov.nysenate.openleg.util.XmlElement;
+import gov.nysenate.openleg.util.XmlPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
 import javax.annotation.PostConstruct;
-import javax.xml.xpath.XPathExpressionException;
-import java.io.IOException;
+import javax.xml.stream.XMLStreamException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -32,7 +29,26 @@ public class AgendaProcessor extends AbstractDataProcessor implements SobiProces
 {
     private static final Logger logger = LoggerFactory.getLogger(AgendaProcessor.class);
 
-    @Autowired private XmlHelper xml;
+    private static final XmlPath AGENDA = XmlPath.compile("SENATEDATA/senagenda");
+    private static final XmlPath NO = XmlPath.compile("@no");
+    private static final XmlPath YEAR = XmlPath.compile("@year");
+    private static final XmlPath ACTION = XmlPath.compile("@action");
+    private static final XmlPath ID = XmlPath.compile("@id");
+    private static final XmlPath ADDENDUM = XmlPath.compile("addendum");
+    private static final XmlPath WEEK_OF = XmlPath.compile("weekof/text()");
+    private static final XmlPath PUB_DATE = XmlPath.compile("pubdate/text()");
+    private static final XmlPath PUB_TIME = XmlPath.compile("pubtime/text()");
+    private static final XmlPath COMMITTEE = XmlPath.compile("committees/committee");
+    private static final XmlPath NAME = XmlPath.compile("name/text()");
+    private static final XmlPath CHAIR = XmlPath.compile("chair/text()");
+    private static final XmlPath LOCATION = XmlPath.compile("location/text()");
+    private static final XmlPath NOTES = XmlPath.compile("notes/text()");
+    private static final XmlPath MEET_DATE = XmlPath.compile("meetdate/text()");
+    private static final XmlPath MEET_TIME = XmlPath.compile("meettime/text()");
+    private static final XmlPath BILL = XmlPath.compile("bills/bill");
+    private static final XmlPath MESSAGE = XmlPath.compile("message/text()");
+
+    @Autowired private StaxXmlParser xml;
 
     @PostConstruct
     public void init() {
@@ -52,12 +68,12 @@ public class AgendaProcessor extends AbstractDataProcessor implements SobiProces
         LocalDateTime modifiedDate = sobiFragment.getPublishedDateTime();
         DataProcessUnit unit = createProcessUnit(sobiFragment);
         try {
-            Document doc = xml.parse(sobiFragment.getText());
-            Node xmlAgenda = xml.getNode("SENATEDATA/senagenda", doc);
-            Integer agendaNo = xml.getInteger("@no", xmlAgenda);
-            Integer year = xml.getInteger("@year", xmlAgenda);
+            XmlElement doc = xml.parse(sobiFragment.getText());
+            XmlElement xmlAgenda = doc.getRequiredElement(AGENDA);
+            Integer agendaNo = xmlAgenda.getInteger(NO);
+            Integer year = xmlAgenda.getInteger(YEAR);
             AgendaId agendaId = new AgendaId(agendaNo, year);
-            String action = xml.getString("@action", xmlAgenda);
+            String action = xmlAgenda.getString(ACTION);
             // Remove the Agenda if the action = 'remove'
             if (action.equalsIgnoreCase("remove")) {
                 logger.info("Removing {}", agendaId);
@@ -67,46 +83,40 @@ public class AgendaProcessor extends AbstractDataProcessor implements SobiProces
             else if (action.equalsIgnoreCase("replace")) {
                 Agenda agenda = getOrCreateAgenda(agendaId, sobiFragment);
                 agenda.setModifiedDateTime(modifiedDate);
-                NodeList xmlAddendums = xml.getNodeList("addendum", xmlAgenda);
 
                 // The initial state as well as updates to an Agenda are sent via addenda which
                 // have an id associated with them.
-                for (int i = 0; i < xmlAddendums.getLength(); i++) {
-                    Node xmlAddendum = xmlAddendums.item(i);
-                    String addendumId = xml.getString("@id", xmlAddendum);
+                for (XmlElement xmlAddendum : xmlAgenda.getElements(ADDENDUM)) {
+                    String addendumId = xmlAddendum.getString(ID);
                     logger.info("Updating Addendum {} for {}", addendumId, agenda);
-                    LocalDate weekOf = DateUtils.getLrsLocalDate(xml.getString("weekof/text()", xmlAddendum));
-                    LocalDateTime pubDateTime = DateUtils.getLrsDateTime(xml.getString("pubdate/text()", xmlAddendum) +
-                            xml.getString("pubtime/text()", xmlAddendum));
+                    LocalDate weekOf = DateUtils.getLrsLocalDate(xmlAddendum.getString(WEEK_OF));
+                    LocalDateTime pubDateTime = DateUtils.getLrsDateTime(xmlAddendum.getString(PUB_DATE) +
+                            xmlAddendum.getString(PUB_TIME));
                     AgendaInfoAddendum addendum = new AgendaInfoAddendum(agendaId, addendumId, weekOf, pubDateTime);
                     // Each addendum will contain a section for each committee that has an update.
-                    NodeList xmlCommittees = xml.getNodeList("committees/committee", xmlAddendum);
-                    for (int j = 0; j < xmlCommittees.getLength(); j++) {
-                        Node xmlCommittee = xmlCommittees.item(j);
-                        String name = xml.getString("name/text()", xmlCommittee);
+                    for (XmlElement xmlCommittee : xmlAddendum.getElements(COMMITTEE)) {
+                        String name = xmlCommittee.getString(NAME);
                         // We only get agendas for senate committees. This may or may not change in the future.
                         CommitteeId committeeId = new CommitteeId(Chamber.SENATE, name);
-                        String chair = xml.getString("chair/text()", xmlCommittee);
-                        String location = xml.getString("location/text()", xmlCommittee);
+                        String chair = xmlCommittee.getString(CHAIR);
+                        String location = xmlCommittee.getString(LOCATION);
 
                         // The notes are very important because they will contain any vital information such
                         // as if the meeting is off the floor (ad-hoc) or if there was a change to the meeting time.
-                        String notes = xml.getString("notes/text()", xmlCommittee);
+                        String notes = xmlCommittee.getString(NOTES);
 
                         // The meeting date/time may not be entirely accurate because often the data is expressed
                         // through the notes field, especially for multiple ad-hoc meetings during the end of session.
                         LocalDateTime meetDateTime = DateUtils.getLrsDateTime(
-                                xml.getString("meetdate/text()", xmlCommittee) + xml.getString("meettime/text()", xmlCommittee));
+                                xmlCommittee.getString(MEET_DATE) + xmlCommittee.getString(MEET_TIME));
 
                         // Construct the committee info model using the parsed data.
                         AgendaInfoCommittee infoCommittee =
                             new AgendaInfoCommittee(committeeId, agendaId, Version.of(addendumId), chair, location, notes, meetDateTime);
                         // A committee will have a collection of bills that are up for consideration.
-                        NodeList xmlBills = xml.getNodeList("bills/bill", xmlCommittee);
-                        for (int k = 0; k < xmlBills.getLength(); k++) {
-                            Node xmlBill = xmlBills.item(k);
-                            String printNo = xml.getString("@no", xmlBill);
-                            String message = xml.getString("message/text()", xmlBill);
+                        for (XmlElement xmlBill : xmlCommittee.getElements(BILL)) {
+                            String printNo = xmlBill.getString(NO);
+                            String message = xmlBill.getString(MESSAGE);
                             BillId billId = new BillId(printNo, DateUtils.resolveSession(year));
                             AgendaInfoCommitteeItem item = new AgendaInfoCommitteeItem(billId, message);
                             infoCommittee.addCommitteeItem(item);
@@ -117,7 +127,7 @@ public class AgendaProcessor extends AbstractDataProcessor implements SobiProces
                 }
             }
         }
-        catch (IOException | SAXException | XPathExpressionException ex) {
+        catch (XMLStreamException ex) {
             logger.error("Failed to parse agenda fragment {}", sobiFragment.getFragmentId(), ex);
             unit.addException("Failed to parse Agenda: " + ex.getMessage());
         }
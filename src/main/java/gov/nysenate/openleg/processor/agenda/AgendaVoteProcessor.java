@@ -13,19 +13,16 @@ import gov.nysenate.openleg.processor.base.AbstractDataProcessor;
 import gov.nysenate.openleg.processor.base.ParseError;
 import gov.nysenate.openleg.processor.sobi.SobiProcessor;
 import gov.nysenate.openleg.util.DateUtils;
-import gov.nysenate.openleg.util.XmlHelper;
+import gov.nysenate.openleg.util.StaxXmlParser;
+import gov.nysenate.openleg.util.XmlElement;
+import gov.nysenate.openleg.util.XmlPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
 import javax.annotation.PostConstruct;
-import javax.xml.xpath.XPathExpressionException;
-import java.io.IOException;
+import javax.xml.stream.XMLStreamException;
 import java.time.LocalDateTime;
 
 @Service
@@ -33,7 +30,30 @@ public class AgendaVoteProcessor extends AbstractDataProcessor implements SobiPr
 {
     private static final Logger logger = LoggerFactory.getLogger(AgendaVoteProcessor.class);
 
-    @Autowired private XmlHelper xml;
+    private static final XmlPath AGENDA_VOTE = XmlPath.compile("SENATEDATA/senagendavote");
+    private static final XmlPath NO = XmlPath.compile("@no");
+    private static final XmlPath SESSION_YEAR = XmlPath.compile("@sessyr");
+    private static final XmlPath YEAR = XmlPath.compile("@year");
+    private static final XmlPath ID = XmlPath.compile("@id");
+    private static final XmlPath ACTION = XmlPath.compile("@action");
+    private static final XmlPath ADDENDUM = XmlPath.compile("addendum");
+    private static final XmlPath COMMITTEE = XmlPath.compile("committees/committee");
+    private static final XmlPath NAME = XmlPath.compile("name/text()");
+    private static final XmlPath CHAIR = XmlPath.compile("chair/text()");
+    private static final XmlPath MEET_DATE = XmlPath.compile("meetdate/text()");
+    private static final XmlPath MEET_TIME = XmlPath.compile("meettime/text()");
+    private static final XmlPath ATTENDANCE_MEMBER = XmlPath.compile("attendancelist/member");
+    private static final XmlPath RANK = XmlPath.compile("rank/text()");
+    private static final XmlPath PARTY = XmlPath.compile("party/text()");
+    private static final XmlPath ATTENDANCE = XmlPath.compile("attendance");
+    private static final XmlPath BILL = XmlPath.compile("bills/bill");
+    private static final XmlPath VOTE_ACTION = XmlPath.compile("action/text()");
+    private static final XmlPath REFER_COMMITTEE = XmlPath.compile("refercomm/text()");
+    private static final XmlPath WITH_AMD = XmlPath.compile("withamd/text()");
+    private static final XmlPath VOTE_MEMBER = XmlPath.compile("votes/member");
+    private static final XmlPath VOTE = XmlPath.compile("vote/text()");
+
+    @Autowired private StaxXmlParser xml;
 
     @PostConstruct
     public void init() {
@@ -50,21 +70,19 @@ public class AgendaVoteProcessor extends AbstractDataProcessor implements SobiPr
         LocalDateTime modifiedDate = sobiFragment.getPublishedDateTime();
         DataProcessUnit unit = createProcessUnit(sobiFragment);
         try {
-            Document doc = xml.parse(sobiFragment.getText());
-            Node xmlAgendaVote = xml.getNode("SENATEDATA/senagendavote", doc);
-            Integer agendaNo = xml.getInteger("@no", xmlAgendaVote);
-            SessionYear session = new SessionYear(xml.getInteger("@sessyr", xmlAgendaVote));
-            Integer year = xml.getInteger("@year", xmlAgendaVote);
+            XmlElement doc = xml.parse(sobiFragment.getText());
+            XmlElement xmlAgendaVote = doc.getRequiredElement(AGENDA_VOTE);
+            Integer agendaNo = xmlAgendaVote.getInteger(NO);
+            SessionYear session = new SessionYear(xmlAgendaVote.getInteger(SESSION_YEAR));
+            Integer year = xmlAgendaVote.getInteger(YEAR);
             AgendaId agendaId = new AgendaId(agendaNo, year);
             Agenda agenda = getOrCreateAgenda(agendaId, sobiFragment);
             agenda.setModifiedDateTime(modifiedDate);
 
             logger.info("Processing Votes for {} - {}", agendaId, sobiFragment);
 
-            NodeList xmlAddenda = xml.getNodeList("addendum", xmlAgendaVote);
-            for (int i = 0; i < xmlAddenda.getLength(); i++) {
-                Node xmlAddendum = xmlAddenda.item(i);
-                String addendumId = xml.getString("@id", xmlAddendum);
+            for (XmlElement xmlAddendum : xmlAgendaVote.getElements(ADDENDUM)) {
+                String addendumId = xmlAddendum.getString(ID);
 
                 logger.info("\tProcessing Vote Addendum {}", (addendumId.isEmpty()) ? "''" : addendumId);
 
@@ -76,11 +94,9 @@ public class AgendaVoteProcessor extends AbstractDataProcessor implements SobiPr
                 }
                 addendum.setModifiedDateTime(modifiedDate);
 
-                NodeList xmlCommittees = xml.getNodeList("committees/committee", xmlAddendum);
-                for (int j = 0; j < xmlCommittees.getLength(); j++) {
-                    Node xmlCommittee = xmlCommittees.item(j);
-                    String action = xml.getString("@action", xmlCommittee);
-                    String name = xml.getString("name/text()", xmlCommittee);
+                for (XmlElement xmlCommittee : xmlAddendum.getElements(COMMITTEE)) {
+                    String action = xmlCommittee.getString(ACTION);
+                    String name = xmlCommittee.getString(NAME);
                     // We only get agendas for senate committees. This may or may not change in the future.
                     CommitteeId committeeId = new CommitteeId(Chamber.SENATE, name);
                     // If the action is remove, then discard the committee and move on
@@ -89,36 +105,32 @@ public class AgendaVoteProcessor extends AbstractDataProcessor implements SobiPr
                         continue;
                     }
                     // Otherwise, the committee is completely replaced
-                    String chair = xml.getString("chair/text()", xmlCommittee);
+                    String chair = xmlCommittee.getString(CHAIR);
                     LocalDateTime meetDateTime = DateUtils.getLrsDateTime(
-                            xml.getString("meetdate/text()", xmlCommittee) + xml.getString("meettime/text()", xmlCommittee));
+                            xmlCommittee.getString(MEET_DATE) + xmlCommittee.getString(MEET_TIME));
                     AgendaVoteCommittee voteCommittee = new AgendaVoteCommittee(committeeId, chair, meetDateTime);
 
-                    NodeList xmlMembers = xml.getNodeList("attendancelist/member", xmlCommittee);
-                    for (int k = 0; k < xmlMembers.getLength(); k++) {
-                        Node xmlMember = xmlMembers.item(k);
-                        String memberName = xml.getString("name/text()", xmlMember);
+                    for (XmlElement xmlMember : xmlCommittee.getElements(ATTENDANCE_MEMBER)) {
+                        String memberName = xmlMember.getString(NAME);
                         SessionMember member = getMemberFromShortName(memberName, session, Chamber.SENATE);
-                        Integer rank = xml.getInteger("rank/text()", xmlMember);
-                        String party = xml.getString("party/text()", xmlMember);
-                        String attendance = xml.getString("attendance", xmlMember);
+                        Integer rank = xmlMember.getInteger(RANK);
+                        String party = xmlMember.getString(PARTY);
+                        String attendance = xmlMember.getString(ATTENDANCE);
                         AgendaVoteAttendance memberAttendance = new AgendaVoteAttendance(member, rank, party, attendance);
                         voteCommittee.addAttendance(memberAttendance);
                     }
 
-                    NodeList xmlBills = xml.getNodeList("bills/bill", xmlCommittee);
-                    for (int k = 0; k < xmlBills.getLength(); k++) {
-                        Node xmlBill = xmlBills.item(k);
-                        String printNo = xml.getString("@no", xmlBill);
+                    for (XmlElement xmlBill : xmlCommittee.getElements(BILL)) {
+                        String printNo = xmlBill.getString(NO);
                         BillId billId = new BillId(printNo, session);
-                        String voteActionCode = xml.getString("action/text()", xmlBill);
+                        String voteActionCode = xmlBill.getString(VOTE_ACTION);
                         AgendaVoteAction voteAction = AgendaVoteAction.valueOfCode(voteActionCode);
-                        String referCommittee = xml.getString("refercomm/text()", xmlBill);
+                        String referCommittee = xmlBill.getString(REFER_COMMITTEE);
                         CommitteeId referCommitteeId = null;
                         if (!referCommittee.isEmpty()) {
                             referCommitteeId = new CommitteeId(Chamber.SENATE, referCommittee);
                         }
-                        String withAmd = xml.getString("withamd/text()", xmlBill);
+                        String withAmd = xmlBill.getString(WITH_AMD);
                         boolean withAmdBoolean = (withAmd != null && withAmd.equalsIgnoreCase("Y"));
 
                         // The AgendaVoteBill will contain the vote as well as additional vote metadata specific
@@ -131,12 +143,10 @@ public class AgendaVoteProcessor extends AbstractDataProcessor implements SobiPr
                         vote.setPublishedDateTime(modifiedDate);
 
                         // Add the members and their vote to the BillVote.
-                        NodeList xmlVotes = xml.getNodeList("votes/member", xmlBill);
-                        for (int v = 0; v < xmlVotes.getLength(); v++) {
-                            Node xmlVote = xmlVotes.item(v);
-                            String voterName = xml.getString("name/text()", xmlVote);
+                        for (XmlElement xmlVote : xmlBill.getElements(VOTE_MEMBER)) {
+                            String voterName = xmlVote.getString(NAME);
                             SessionMember voterMember = getMemberFromShortName(voterName, session, Chamber.SENATE);
-                            String voteCodeStr = xml.getString("vote/text()", xmlVote).replace(" ", "").replace("/", "");
+                            String voteCodeStr = xmlVote.getString(VOTE).replace(" ", "").replace("/", "");
                             BillVoteCode voteCode = BillVoteCode.getValue(voteCodeStr);
                             vote.addMemberVote(voteCode, voterMember);
                         }
@@ -151,7 +161,7 @@ public class AgendaVoteProcessor extends AbstractDataProcessor implements SobiPr
                 }
             }
         }
-        catch (SAXException | XPathExpressionException | IOException | ParseError ex) {
+        catch (XMLStreamException | ParseError ex) {
             logger.error("Failed to parse Agenda Vote.", ex);
             unit.addException("Failed to parse Agenda Vote: " + ex.getMessage());
         }
@@ -166,8 +166,7 @@ public abstract class AbstractDataProcessor
     protected void flushBillUpdates() {
         if (billIngestCache.getSize() > 0) {
             logger.info("Flushing {} bills", billIngestCache.getSize());
-            billIngestCache.getCurrentCache().forEach(entry ->
-                billDataService.saveBill(entry.getLeft(), entry.getRight(), false));
+            billDataService.saveBills(billIngestCache.getCurrentCache(), false);
             logger.debug("Broadcasting bill updates...");
             List<Bill> bills =
                 billIngestCache.getCurrentCache().stream().map(entry -> entry.getLeft()).collect(Collectors.toList());
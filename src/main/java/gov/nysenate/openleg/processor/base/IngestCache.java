@@ -14,6 +14,10 @@ import java.util.Map;
  * Key - The type for the key used to lookup values
  * Value - The type of values being stored
  * Source - The type that is used to encapsulate the source data
+ *
+ * Individual operations are thread safe so that processors may apply updates to different keys concurrently.
+ * The collection returned by {@link #getCurrentCache()} is a live view and should only be iterated once
+ * all concurrent updates have completed.
  */
 public class IngestCache<Key, Value, Source>
 {
@@ -35,7 +39,7 @@ public class IngestCache<Key, Value, Source>
      * @param key String - Unique Id
      * @return V
      */
-    public Pair<Value, Source> get(Key key) {
+    public synchronized Pair<Value, Source> get(Key key) {
         return cache.get(key);
     }
 
@@ -45,7 +49,7 @@ public class IngestCache<Key, Value, Source>
      * @param key String - Unique Id
      * @return boolean - true if key is found, false otherwise.
      */
-    public boolean has(Key key) {
+    public synchronized boolean has(Key key) {
         return cache.containsKey(key);
     }
 
@@ -54,7 +58,7 @@ public class IngestCache<Key, Value, Source>
      *
      * @return int
      */
-    public int getSize() {
+    public synchronized int getSize() {
         return this.cache.size();
     }
 
@@ -74,7 +78,7 @@ public class IngestCache<Key, Value, Source>
      *
      * @return boolean
      */
-    public boolean exceedsCapacity() {
+    public synchronized boolean exceedsCapacity() {
         return (getSize() > getMaxCapacity());
     }
 
@@ -85,7 +89,7 @@ public class IngestCache<Key, Value, Source>
      * @param obj Value
      * @param ref Source
      */
-    public void set(Key key, Value obj, Source ref) {
+    public synchronized void set(Key key, Value obj, Source ref) {
         cache.put(key, Pair.of(obj, ref));
         if (firstSource == null && ref != null) {
             firstSource = ref;
@@ -104,7 +108,7 @@ public class IngestCache<Key, Value, Source>
     /**
      * Clears out all the entries in the cache.
      */
-    public void clearCache() {
+    public synchronized void clearCache() {
         cache.clear();
         firstSource = null;
     }
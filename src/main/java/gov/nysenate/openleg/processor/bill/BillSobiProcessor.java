@@ -18,19 +18,27 @@ import gov.nysenate.openleg.processor.base.AbstractDataProcessor;
 import gov.nysenate.openleg.processor.base.ParseError;
 import gov.nysenate.openleg.processor.sobi.SobiProcessor;
 import gov.nysenate.openleg.service.bill.event.BillFieldUpdateEvent;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
+import org.apache.commons.lang3.CharUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * The BillProcessor parses bill sobi fragments, applies bill updates, and persists into the backing
@@ -61,6 +69,13 @@ public class BillSobiProcessor extends AbstractDataProcessor implements SobiProc
     public static final Pattern billInfoPattern =
         Pattern.compile("(.{20})([0-9]{5}[ A-Z])(.{33})([ A-Z][0-9]{5}[ `\\-A-Z0-9])(.{8})(.*)");
 
+    /** The offsets of the sponsor, previous print no, and previous session year fields of Bill Info [1] block data. */
+    private static final int billInfoSponsorEnd = 20, billInfoPrevPrintNoStart = 59, billInfoPrevPrintNoEnd = 66,
+                             billInfoPrevSessionStart = 74;
+
+    /** Vote memo [V] header lines begin with this text, which is checked before matching the voteHeaderPattern. */
+    private static final String voteHeaderPrefix = "Senate Vote    Bill: ";
+
     /** RULES Sponsors are formatted as RULES COM followed by the name of the sponsor that requested passage. */
     protected static final Pattern rulesSponsorPattern =
         Pattern.compile("RULES (?:COM )?\\(?([a-zA-Z-']+)( [A-Z])?\\)?(.*)");
@@ -72,6 +87,9 @@ public class BillSobiProcessor extends AbstractDataProcessor implements SobiProc
     protected static final String vetoApprovalSplitter =
         "(?<=00000.SO DOC (?:VETO\\d{4}|APPR\\d{3}\\s)\\s{8}(?:\\*END\\*.{3}|\\*DELETE\\*).{42})\\n";
 
+    /** Applies bill updates concurrently, created on first use when parallel sobi processing is enabled. */
+    private ExecutorService processorThreadPool;
+
     /** --- Constructors --- */
 
     public BillSobiProcessor() {}
@@ -81,6 +99,13 @@ public class BillSobiProcessor extends AbstractDataProcessor implements SobiProc
         initBase();
     }
 
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (processorThreadPool != null) {
+            processorThreadPool.shutdownNow();
+        }
+    }
+
     /** --- Implementation methods --- */
 
     @Override
@@ -95,54 +120,26 @@ public class BillSobiProcessor extends AbstractDataProcessor implements SobiProc
      */
     @Override
     public void process(SobiFragment sobiFragment) {
-        LocalDateTime date = sobiFragment.getPublishedDateTime();
-        List<SobiBlock> blocks = sobiFragment.getSobiBlocks();
-        logger.info("Processing " + sobiFragment.getFragmentId() + " with (" + blocks.size() + ") blocks.");
         DataProcessUnit unit = createProcessUnit(sobiFragment);
-        for (SobiBlock block : blocks) {
-            String data = block.getData();
-            BillId billId = block.getBillId();
-            Bill baseBill = getOrCreateBaseBill(sobiFragment.getPublishedDateTime(), billId, sobiFragment);
-            Version specifiedVersion = billId.getVersion();
-            BillAmendment specifiedAmendment = baseBill.getAmendment(specifiedVersion);
-            BillAmendment activeAmendment = baseBill.getActiveAmendment();
-            logger.debug("Updating {} - {} | Line {}-{}", billId, block.getType(),
-                                                          block.getStartLineNo(), block.getEndLineNo());
-            try {
-                switch (block.getType()) {
-                    case BILL_INFO: applyBillInfo(data, baseBill, specifiedAmendment, date, unit); break;
-                    case LAW_SECTION: applyLawSection(data, baseBill, specifiedAmendment, date); break;
-                    case TITLE: applyTitle(data, baseBill, date); break;
-                    case BILL_EVENT: applyBillActions(data, baseBill, specifiedAmendment); break;
-                    case SAME_AS: applySameAs(data, specifiedAmendment, sobiFragment, unit); break;
-                    case SPONSOR: applySponsor(data, baseBill, specifiedAmendment, date); break;
-                    case CO_SPONSOR: applyCosponsors(data, baseBill); break;
-                    case MULTI_SPONSOR: applyMultisponsors(data, baseBill); break;
-                    case PROGRAM_INFO: applyProgramInfo(data, baseBill, date); break;
-                    case ACT_CLAUSE: applyActClause(data, specifiedAmendment); break;
-                    case LAW: applyLaw(data, baseBill, specifiedAmendment, date); break;
-                    case SUMMARY: applySummary(data, baseBill, date); break;
-                    case SPONSOR_MEMO:
-                    case RESOLUTION_TEXT:
-                    case TEXT: applyText(data, specifiedAmendment, date, block.getType(), sobiFragment); break;
-                    case VETO_APPROVE_MEMO: applyVetoApprovalMessage(data, baseBill, date); break;
-                    case VOTE_MEMO: applyVoteMemo(data, specifiedAmendment, date); break;
-                    default: {
-                        throw new ParseError("Invalid Line Code " + block.getType());
-                    }
+        int blockCount = 0;
+        if (env.isSobiParallelEnabled()) {
+            List<SobiBlock> blocks = sobiFragment.getSobiBlocks();
+            blockCount = blocks.size();
+            applyBlocksInParallel(blocks, sobiFragment, unit);
+        }
+        else {
+            // Blocks are read as they are applied so the fragment is never held as a list of blocks
+            Iterator<SobiBlock> blocks = sobiFragment.getSobiBlockIterator();
+            while (blocks.hasNext()) {
+                applyBlock(blocks.next(), sobiFragment, unit);
+                blockCount++;
+                if (billIngestCache.exceedsCapacity()) {
+                    logger.info("Flushing bill ingest cache with {} bills!", billIngestCache.getSize());
+                    flushBillUpdates();
                 }
             }
-            catch (ParseError ex) {
-                logger.error("Bill Processing Parse Error!", ex);
-                unit.addException("Bill Processing Parse Error",  ex);
-            }
-            billIngestCache.set(baseBill.getBaseBillId(), baseBill, sobiFragment);
-
-            if (billIngestCache.exceedsCapacity()) {
-                logger.info("Flushing bill ingest cache with {} bills!", billIngestCache.getSize());
-                flushBillUpdates();
-            }
         }
+        logger.info("Processed {} with ({}) blocks.", sobiFragment.getFragmentId(), blockCount);
         // Notify the data processor that a bill fragment has finished processing
         postDataUnitEvent(unit);
 
@@ -160,6 +157,203 @@ public class BillSobiProcessor extends AbstractDataProcessor implements SobiProc
         flushBillUpdates();
     }
 
+    /** --- Internal Methods --- */
+
+    /**
+     * Applies a single sobi block to the bill it references and places the bill in the ingest cache.
+     */
+    private void applyBlock(SobiBlock block, SobiFragment sobiFragment, DataProcessUnit unit) {
+        LocalDateTime date = sobiFragment.getPublishedDateTime();
+        String data = block.getData();
+        BillId billId = block.getBillId();
+        Bill baseBill = getOrCreateBaseBill(sobiFragment.getPublishedDateTime(), billId, sobiFragment);
+        Version specifiedVersion = billId.getVersion();
+        BillAmendment specifiedAmendment = baseBill.getAmendment(specifiedVersion);
+        logger.debug("Updating {} - {} | Line {}-{}", billId, block.getType(),
+                                                      block.getStartLineNo(), block.getEndLineNo());
+        try {
+            switch (block.getType()) {
+                case BILL_INFO: applyBillInfo(data, baseBill, specifiedAmendment, date, unit); break;
+                case LAW_SECTION: applyLawSection(data, baseBill, specifiedAmendment, date); break;
+                case TITLE: applyTitle(data, baseBill, date); break;
+                case BILL_EVENT: applyBillActions(data, baseBill, specifiedAmendment); break;
+                case SAME_AS: applySameAs(data, specifiedAmendment, sobiFragment, unit); break;
+                case SPONSOR: applySponsor(data, baseBill, specifiedAmendment, date); break;
+                case CO_SPONSOR: applyCosponsors(data, baseBill); break;
+                case MULTI_SPONSOR: applyMultisponsors(data, baseBill); break;
+                case PROGRAM_INFO: applyProgramInfo(data, baseBill, date); break;
+                case ACT_CLAUSE: applyActClause(data, specifiedAmendment); break;
+                case LAW: applyLaw(data, baseBill, specifiedAmendment, date); break;
+                case SUMMARY: applySummary(data, baseBill, date); break;
+                case SPONSOR_MEMO:
+                case RESOLUTION_TEXT:
+                case TEXT: applyText(data, specifiedAmendment, date, block.getType(), sobiFragment); break;
+                case VETO_APPROVE_MEMO: applyVetoApprovalMessage(data, baseBill, date); break;
+                case VOTE_MEMO: applyVoteMemo(data, specifiedAmendment, date); break;
+                default: {
+                    throw new ParseError("Invalid Line Code " + block.getType());
+                }
+            }
+        }
+        catch (ParseError ex) {
+            logger.error("Bill Processing Parse Error!", ex);
+            unit.addException("Bill Processing Parse Error",  ex);
+        }
+        billIngestCache.set(baseBill.getBaseBillId(), baseBill, sobiFragment);
+    }
+
+    /**
+     * Applies the blocks of a fragment using the bill processing thread pool. The blocks are partitioned so that
+     * all blocks for a bill (and any uni-bill it shares text with) are applied in their original order by a single
+     * task, while unrelated bills are updated concurrently. The ingest cache is only flushed once all tasks finish.
+     */
+    private void applyBlocksInParallel(List<SobiBlock> blocks, SobiFragment sobiFragment, DataProcessUnit unit) {
+        Collection<List<SobiBlock>> partitions = partitionBlocks(blocks, sobiFragment);
+        logger.debug("Applying {} blocks across {} partitions", blocks.size(), partitions.size());
+        ExecutorService threadPool = getProcessorThreadPool();
+        List<Future<?>> tasks = new ArrayList<>();
+        for (List<SobiBlock> partition : partitions) {
+            tasks.add(threadPool.submit(() -> partition.forEach(block -> applyBlock(block, sobiFragment, unit))));
+        }
+        try {
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while processing " + sobiFragment.getFragmentId(), ex);
+        }
+        catch (ExecutionException ex) {
+            tasks.forEach(task -> task.cancel(true));
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException("Failed to process " + sobiFragment.getFragmentId(), ex.getCause());
+        }
+        if (billIngestCache.exceedsCapacity()) {
+            logger.info("Flushing bill ingest cache with {} bills!", billIngestCache.getSize());
+            flushBillUpdates();
+        }
+    }
+
+    private synchronized ExecutorService getProcessorThreadPool() {
+        if (processorThreadPool == null) {
+            processorThreadPool = Executors.newFixedThreadPool(env.getSobiParallelThreads(),
+                                                               new OpenlegThreadFactory("bill-sobi"));
+        }
+        return processorThreadPool;
+    }
+
+    /**
+     * Groups the blocks by the bill they update, preserving block order within each group. Bills that are linked as
+     * uni-bills, either by an existing amendment or by a same as block in this fragment, end up in the same group since
+     * updating one may modify the other. The affected bills are loaded in bulk into the ingest cache beforehand.
+     */
+    private Collection<List<SobiBlock>> partitionBlocks(List<SobiBlock> blocks, SobiFragment sobiFragment) {
+        Map<BaseBillId, BaseBillId> links = new HashMap<>();
+        Set<BaseBillId> billIds = new LinkedHashSet<>();
+        for (SobiBlock block : blocks) {
+            BaseBillId baseBillId = BillId.getBaseId(block.getBillId());
+            billIds.add(baseBillId);
+            if (block.getType() == SobiLineType.SAME_AS) {
+                Matcher sameAsMatcher = sameAsPattern.matcher(block.getData());
+                if (sameAsMatcher.find() && sameAsMatcher.group(1) != null) {
+                    for (String sameAs : sameAsMatcher.group(2).split(", ")) {
+                        BillId sameAsId = new BillId(sameAs.replace("-", "").replace(" ", ""), baseBillId.getSession());
+                        linkBills(links, baseBillId, BillId.getBaseId(sameAsId));
+                    }
+                }
+            }
+        }
+        preloadBills(billIds, sobiFragment).forEach(bill ->
+            bill.getAmendmentList().stream()
+                .filter(BillAmendment::isUniBill)
+                .flatMap(amendment -> amendment.getSameAs().stream())
+                .forEach(uniBillId -> linkBills(links, bill.getBaseBillId(), BillId.getBaseId(uniBillId))));
+        Map<BaseBillId, List<SobiBlock>> partitions = new LinkedHashMap<>();
+        for (SobiBlock block : blocks) {
+            BaseBillId root = findLinkRoot(links, BillId.getBaseId(block.getBillId()));
+            partitions.computeIfAbsent(root, k -> new ArrayList<>()).add(block);
+        }
+        return partitions.values();
+    }
+
+    /**
+     * Loads the given bills that are not already in the ingest cache using a bulk request and adds them to the
+     * ingest cache. Returns all of the bills that are now in the ingest cache.
+     */
+    private List<Bill> preloadBills(Collection<BaseBillId> billIds, SobiFragment sobiFragment) {
+        List<BaseBillId> uncachedIds = billIds.stream()
+            .filter(billId -> !billIngestCache.has(billId))
+            .collect(Collectors.toList());
+        billDataService.getBills(uncachedIds).forEach(bill ->
+            billIngestCache.set(bill.getBaseBillId(), bill, sobiFragment));
+        return billIds.stream()
+            .filter(billIngestCache::has)
+            .map(billId -> billIngestCache.get(billId).getLeft())
+            .collect(Collectors.toList());
+    }
+
+    private static void linkBills(Map<BaseBillId, BaseBillId> links, BaseBillId a, BaseBillId b) {
+        BaseBillId rootA = findLinkRoot(links, a);
+        BaseBillId rootB = findLinkRoot(links, b);
+        if (!rootA.equals(rootB)) {
+            links.put(rootB, rootA);
+        }
+    }
+
+    private static BaseBillId findLinkRoot(Map<BaseBillId, BaseBillId> links, BaseBillId billId) {
+        BaseBillId root = billId;
+        while (links.containsKey(root)) {
+            root = links.get(root);
+        }
+        return root;
+    }
+
+    /**
+     * Extracts the sponsor, previous print no, and previous session year from Bill Info block data. The fields are
+     * read at their fixed offsets when the data is in the expected fixed width layout, otherwise the billInfoPattern
+     * is used to locate them.
+     *
+     * @return String[] - The three fields, or null if the data is not in the Bill Info format
+     */
+    private static String[] parseBillInfo(String data) {
+        if (isFixedWidthBillInfo(data)) {
+            return new String[]{data.substring(0, billInfoSponsorEnd),
+                                data.substring(billInfoPrevPrintNoStart, billInfoPrevPrintNoEnd),
+                                data.substring(billInfoPrevSessionStart)};
+        }
+        Matcher billData = billInfoPattern.matcher(data);
+        if (billData.find()) {
+            return new String[]{billData.group(1), billData.group(4), billData.group(6)};
+        }
+        return null;
+    }
+
+    /**
+     * Checks the print no fields of Bill Info block data at their fixed offsets, i.e. whether billInfoPattern
+     * matches the data from its first character.
+     */
+    private static boolean isFixedWidthBillInfo(String data) {
+        if (data.length() < billInfoPrevSessionStart || data.indexOf('\n') >= 0) {
+            return false;
+        }
+        for (int i = 0; i < 5; i++) {
+            if (!CharUtils.isAsciiNumeric(data.charAt(billInfoSponsorEnd + i))
+                    || !CharUtils.isAsciiNumeric(data.charAt(billInfoPrevPrintNoStart + 1 + i))) {
+                return false;
+            }
+        }
+        char amendment = data.charAt(billInfoSponsorEnd + 5);
+        char prevChamber = data.charAt(billInfoPrevPrintNoStart);
+        char prevAmendment = data.charAt(billInfoPrevPrintNoEnd - 1);
+        return (amendment == ' ' || CharUtils.isAsciiAlphaUpper(amendment))
+            && (prevChamber == ' ' || CharUtils.isAsciiAlphaUpper(prevChamber))
+            && (" `-".indexOf(prevAmendment) >= 0 || CharUtils.isAsciiNumeric(prevAmendment)
+                || CharUtils.isAsciiAlphaUpper(prevAmendment));
+    }
+
     /** --- Processing Methods --- */
 
     /**
@@ -198,16 +392,16 @@ public class BillSobiProcessor extends AbstractDataProcessor implements SobiProc
                 }
             }
         }
-        Matcher billData = billInfoPattern.matcher(data);
-        if (billData.find()) {
-            String sponsor = billData.group(1).trim();
+        String[] billInfo = parseBillInfo(data);
+        if (billInfo != null) {
+            String sponsor = billInfo[0].trim();
             if (!StringUtils.isEmpty(sponsor) && baseBill.getSponsor() == null) {
                 // Apply the sponsor from bill info when the sponsor has not yet been set.
                 setBillSponsorFromSponsorLine(baseBill, sponsor, baseBill.getSession());
                 baseBill.setModifiedDateTime(date);
             }
-            String prevPrintNo = billData.group(4).trim();
-            String prevSessionYearStr = billData.group(6).trim();
+            String prevPrintNo = billInfo[1].trim();
+            String prevSessionYearStr = billInfo[2].trim();
             if (!prevSessionYearStr.equals("0000") && !prevPrintNo.equals("00000")) {
                 try {
                     Integer prevSessionYear = Integer.parseInt(prevSessionYearStr);
@@ -661,9 +855,9 @@ public class BillSobiProcessor extends AbstractDataProcessor implements SobiProc
         BillVote vote = null;
         BillId billId = specifiedAmendment.getBillId();
         for (String line : data.split("\n")) {
-            Matcher voteHeader = voteHeaderPattern.matcher(line);
+            Matcher voteHeader = line.contains(voteHeaderPrefix) ? voteHeaderPattern.matcher(line) : null;
             // Start over if we hit a header, sometimes we get back to back entries.
-            if (voteHeader.find()) {
+            if (voteHeader != null && voteHeader.find()) {
                 LocalDate voteDate;
                 try {
                     voteDate = LocalDate.from(voteDateFormat.parse(voteHeader.group(2)));
@@ -8,13 +8,15 @@ import gov.nysenate.openleg.model.sobi.SobiFragment;
 import gov.nysenate.openleg.model.sobi.SobiFragmentType;
 import gov.nysenate.openleg.processor.base.AbstractDataProcessor;
 import gov.nysenate.openleg.processor.sobi.SobiProcessor;
-import gov.nysenate.openleg.util.XmlHelper;
+import gov.nysenate.openleg.util.StaxXmlParser;
+import gov.nysenate.openleg.util.XmlElement;
+import gov.nysenate.openleg.util.XmlPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
+
+import java.util.List;
 
 /**
  * Created by Chenguang He(gaoyike@gmail.com) on 2016/12/1.
@@ -22,8 +24,22 @@ import org.w3c.dom.Node;
 @Service
 public class BillXMLBillDigestProcessor extends AbstractDataProcessor implements SobiProcessor {
     private static final Logger logger = LoggerFactory.getLogger(BillXMLBillDigestProcessor.class);
+
+    private static final XmlPath DIGEST_SUMMARY = XmlPath.compile("digestsummary");
+    private static final XmlPath SESSION_YEAR = XmlPath.compile("@sessyr");
+    private static final XmlPath BILL_HOUSE = XmlPath.compile("@billhse");
+    private static final XmlPath BILL_NO = XmlPath.compile("@billno");
+    private static final XmlPath ACTION = XmlPath.compile("@action");
+    private static final XmlPath SUMMARY = XmlPath.compile("summary");
+    private static final XmlPath OLD_BILL = XmlPath.compile("oldbill");
+    private static final XmlPath OLD_YEAR = XmlPath.compile("oldyear");
+    private static final XmlPath OLD_HOUSE = XmlPath.compile("oldhse");
+    private static final XmlPath OLD_NO = XmlPath.compile("oldno");
+    private static final XmlPath OLD_AMD = XmlPath.compile("oldamd");
+    private static final XmlPath TEXT = XmlPath.compile("text()");
+
     @Autowired
-    private XmlHelper xmlHelper;
+    private StaxXmlParser xmlParser;
 
     public BillXMLBillDigestProcessor() {
     }
@@ -37,13 +53,13 @@ public class BillXMLBillDigestProcessor extends AbstractDataProcessor implements
     public void process(SobiFragment sobiFragment) {
         try {
             logger.info("XML Processing " + sobiFragment.getFragmentId());
-            final Document doc = xmlHelper.parse(sobiFragment.getText());
-            final Node billTextNode = xmlHelper.getNode("digestsummary",doc);
-            final int sessionYear = xmlHelper.getInteger("@sessyr",billTextNode);
-            final String billhse = xmlHelper.getString("@billhse",billTextNode);
-            final String billno = xmlHelper.getString("@billno",billTextNode);
-            final String action = xmlHelper.getString("@action",billTextNode); //todo wait for LDBC  explaination of action
-            final String summary = xmlHelper.getNode("digestsummary/summary",doc).getTextContent();
+            final XmlElement doc = xmlParser.parse(sobiFragment.getText());
+            final XmlElement billTextNode = doc.getRequiredElement(DIGEST_SUMMARY);
+            final int sessionYear = billTextNode.getInteger(SESSION_YEAR);
+            final String billhse = billTextNode.getString(BILL_HOUSE);
+            final String billno = billTextNode.getString(BILL_NO);
+            final String action = billTextNode.getString(ACTION); //todo wait for LDBC  explaination of action
+            final String summary = billTextNode.getRequiredElement(SUMMARY).getTextContent();
             final String amd = "";//todo wait for LDBC explaination
             final Version version = Version.of(amd);
             final Bill baseBill = getOrCreateBaseBill(sobiFragment.getPublishedDateTime(), new BillId(billhse+billno, new SessionYear(sessionYear),version) ,sobiFragment);
@@ -51,13 +67,19 @@ public class BillXMLBillDigestProcessor extends AbstractDataProcessor implements
             /**
              * add previous bills
              */
-            int totalNumsOfPreBills = xmlHelper.getNodeList("digestsummary/oldbill/oldyear",doc).getLength();
-            for (int i = 1; i <= totalNumsOfPreBills; i++) {
-                int  sess = xmlHelper.getInteger("digestsummary/oldbill/oldyear["+i+"]",doc);
-                String oldhse = xmlHelper.getString("digestsummary/oldbill/oldhse["+i+"]",doc).replaceAll("\n","");
-                String oldno = xmlHelper.getString("digestsummary/oldbill/oldno["+i+"]",doc).replaceAll("\n","");;
-                String oldamd = xmlHelper.getString("digestsummary/oldbill/oldamd["+i+"]",doc).replaceAll("\n","");;
-                baseBill.addDirectPreviousVersion(new BillId(oldhse+oldno, SessionYear.of(sess),Version.of(oldamd)));
+            for (XmlElement oldBill : billTextNode.getElements(OLD_BILL)) {
+                // The nth previous bill is made up of the nth element of each kind within the oldbill element
+                List<XmlElement> oldYears = oldBill.getElements(OLD_YEAR);
+                List<XmlElement> oldHouses = oldBill.getElements(OLD_HOUSE);
+                List<XmlElement> oldNos = oldBill.getElements(OLD_NO);
+                List<XmlElement> oldAmds = oldBill.getElements(OLD_AMD);
+                for (int i = 0; i < oldYears.size(); i++) {
+                    int  sess = oldYears.get(i).getInteger(TEXT);
+                    String oldhse = getText(oldHouses, i).replaceAll("\n","");
+                    String oldno = getText(oldNos, i).replaceAll("\n","");
+                    String oldamd = getText(oldAmds, i).replaceAll("\n","");
+                    baseBill.addDirectPreviousVersion(new BillId(oldhse+oldno, SessionYear.of(sess),Version.of(oldamd)));
+                }
             }
             billIngestCache.set(baseBill.getBaseBillId(), baseBill, sobiFragment);
             System.out.println("abc");
@@ -75,4 +97,10 @@ public class BillXMLBillDigestProcessor extends AbstractDataProcessor implements
     public void init() {
         initBase();
     }
+
+    /** --- Internal Methods --- */
+
+    private static String getText(List<XmlElement> elements, int index) {
+        return index < elements.size() ? elements.get(index).getTextContent() : "";
+    }
 }
@@ -8,17 +8,13 @@ import gov.nysenate.openleg.model.sobi.SobiFragment;
 import gov.nysenate.openleg.model.sobi.SobiFragmentType;
 import gov.nysenate.openleg.processor.base.AbstractDataProcessor;
 import gov.nysenate.openleg.processor.sobi.SobiProcessor;
-import gov.nysenate.openleg.util.XmlHelper;
+import gov.nysenate.openleg.util.StaxXmlParser;
+import gov.nysenate.openleg.util.XmlElement;
+import gov.nysenate.openleg.util.XmlPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.xml.sax.SAXException;
-
-import java.io.IOException;
-import java.time.LocalDateTime;
 
 /**
  * Created by Chenguang He(gaoyike@gmail.com) on 2016/12/1.
@@ -27,8 +23,19 @@ import java.time.LocalDateTime;
 @Service
 public class BillXMLBillTextProcessor extends AbstractDataProcessor implements SobiProcessor {
     private static final Logger logger = LoggerFactory.getLogger(BillXMLBillTextProcessor.class);
+
+    private static final XmlPath BILL_TEXT = XmlPath.compile("billtext_html");
+    private static final XmlPath SESSION_YEAR = XmlPath.compile("@sessyr");
+    private static final XmlPath SENATE_HOUSE = XmlPath.compile("@senhse");
+    private static final XmlPath SENATE_NO = XmlPath.compile("@senno");
+    private static final XmlPath SENATE_AMD = XmlPath.compile("@senamd");
+    private static final XmlPath ASSEMBLY_HOUSE = XmlPath.compile("@asmhse");
+    private static final XmlPath ASSEMBLY_NO = XmlPath.compile("@asmno");
+    private static final XmlPath ASSEMBLY_AMD = XmlPath.compile("@asmamd");
+    private static final XmlPath ACTION = XmlPath.compile("@action");
+
     @Autowired
-    private XmlHelper xmlHelper;
+    private StaxXmlParser xmlParser;
 
     public BillXMLBillTextProcessor() {
     }
@@ -47,16 +54,16 @@ public class BillXMLBillTextProcessor extends AbstractDataProcessor implements S
     public void process(SobiFragment sobiFragment) {
         try {
             logger.info("XML Processing " + sobiFragment.getFragmentId());
-            final Document doc = xmlHelper.parse(sobiFragment.getText());
-            final Node billTextNode = xmlHelper.getNode("billtext_html",doc);
-            final int sessionYear = xmlHelper.getInteger("@sessyr",billTextNode);
-            final String senhse = xmlHelper.getString("@senhse",billTextNode).replaceAll("\n","");;
-            final String senno = xmlHelper.getString("@senno",billTextNode).replaceAll("\n","");;
-            final String senamd = xmlHelper.getString("@senamd",billTextNode).replaceAll("\n","");;
-            final String asmhse = xmlHelper.getString("@asmhse",billTextNode).replaceAll("\n","");;
-            final String asmno = xmlHelper.getString("@asmno",billTextNode).replaceAll("\n","");;
-            final String asmamd = xmlHelper.getString("@asmamd",billTextNode).replaceAll("\n","");;
-            final String action = xmlHelper.getString("@action",billTextNode).replaceAll("\n","");; //todo wait for LDBC for explaination of action
+            final XmlElement doc = xmlParser.parse(sobiFragment.getText());
+            final XmlElement billTextNode = doc.getRequiredElement(BILL_TEXT);
+            final int sessionYear = billTextNode.getInteger(SESSION_YEAR);
+            final String senhse = billTextNode.getString(SENATE_HOUSE).replaceAll("\n","");;
+            final String senno = billTextNode.getString(SENATE_NO).replaceAll("\n","");;
+            final String senamd = billTextNode.getString(SENATE_AMD).replaceAll("\n","");;
+            final String asmhse = billTextNode.getString(ASSEMBLY_HOUSE).replaceAll("\n","");;
+            final String asmno = billTextNode.getString(ASSEMBLY_NO).replaceAll("\n","");;
+            final String asmamd = billTextNode.getString(ASSEMBLY_AMD).replaceAll("\n","");;
+            final String action = billTextNode.getString(ACTION).replaceAll("\n","");; //todo wait for LDBC for explaination of action
             final String billText = billTextNode.getTextContent().replaceAll("\n","");;
             final Version version = Version.of(senamd.isEmpty() ? asmamd:senamd);
             final Bill baseBill = getOrCreateBaseBill(sobiFragment.getPublishedDateTime(), new BillId(senhse.isEmpty() ? asmhse+asmno : senhse+senno, new SessionYear(sessionYear),version) ,sobiFragment);
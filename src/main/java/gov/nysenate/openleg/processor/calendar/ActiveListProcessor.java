@@ -12,19 +12,16 @@ import gov.nysenate.openleg.model.sobi.SobiFragmentType;
 import gov.nysenate.openleg.processor.base.AbstractDataProcessor;
 import gov.nysenate.openleg.processor.sobi.SobiProcessor;
 import gov.nysenate.openleg.util.DateUtils;
-import gov.nysenate.openleg.util.XmlHelper;
+import gov.nysenate.openleg.util.StaxXmlParser;
+import gov.nysenate.openleg.util.XmlElement;
+import gov.nysenate.openleg.util.XmlPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
 import javax.annotation.PostConstruct;
-import javax.xml.xpath.XPathExpressionException;
-import java.io.IOException;
+import javax.xml.stream.XMLStreamException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -33,7 +30,20 @@ public class ActiveListProcessor extends AbstractDataProcessor implements SobiPr
 {
     private static final Logger logger = LoggerFactory.getLogger(ActiveListProcessor.class);
 
-    @Autowired protected XmlHelper xml;
+    private static final XmlPath CALENDAR_ACTIVE = XmlPath.compile("SENATEDATA/sencalendaractive");
+    private static final XmlPath NO = XmlPath.compile("@no");
+    private static final XmlPath SESSION_YEAR = XmlPath.compile("@sessyr");
+    private static final XmlPath YEAR = XmlPath.compile("@year");
+    private static final XmlPath ACTION = XmlPath.compile("@action");
+    private static final XmlPath SEQUENCE = XmlPath.compile("supplemental/sequence");
+    private static final XmlPath CAL_DATE = XmlPath.compile("actcaldate/text()");
+    private static final XmlPath RELEASE_DATE = XmlPath.compile("releasedate/text()");
+    private static final XmlPath RELEASE_TIME = XmlPath.compile("releasetime/text()");
+    private static final XmlPath NOTES = XmlPath.compile("notes/text()");
+    private static final XmlPath CAL_NO = XmlPath.compile("calnos/calno");
+    private static final XmlPath BILL_NO = XmlPath.compile("bill/@no");
+
+    @Autowired protected StaxXmlParser xml;
 
     @PostConstruct
     public void init() {
@@ -51,39 +61,35 @@ public class ActiveListProcessor extends AbstractDataProcessor implements SobiPr
         LocalDateTime modifiedDate = sobiFragment.getPublishedDateTime();
         DataProcessUnit unit = createProcessUnit(sobiFragment);
         try {
-            Document doc = xml.parse(sobiFragment.getText());
-            Node xmlCalendarActive = xml.getNode("SENATEDATA/sencalendaractive", doc);
-            Integer calendarNo = xml.getInteger("@no", xmlCalendarActive);
-            Integer sessionYear = xml.getInteger("@sessyr", xmlCalendarActive);
-            Integer year = xml.getInteger("@year", xmlCalendarActive);
+            XmlElement doc = xml.parse(sobiFragment.getText());
+            XmlElement xmlCalendarActive = doc.getRequiredElement(CALENDAR_ACTIVE);
+            Integer calendarNo = xmlCalendarActive.getInteger(NO);
+            Integer sessionYear = xmlCalendarActive.getInteger(SESSION_YEAR);
+            Integer year = xmlCalendarActive.getInteger(YEAR);
             CalendarId calendarId = new CalendarId(calendarNo, year);
             final Calendar calendar = getOrCreateCalendar(calendarId, sobiFragment);
             calendar.setModifiedDateTime(modifiedDate);
 
-            String action = xml.getString("@action", xmlCalendarActive);
+            String action = xmlCalendarActive.getString(ACTION);
             // So far the only case we've seen is a single supplemental per active list.
-            NodeList xmlSequences = xml.getNodeList("supplemental/sequence", xmlCalendarActive);
-            for (int j = 0; j < xmlSequences.getLength(); j++) {
-                Node xmlSequence = xmlSequences.item(j);
-                Integer id = xml.getInteger("@no", xmlSequence);
+            for (XmlElement xmlSequence : xmlCalendarActive.getElements(SEQUENCE)) {
+                Integer id = xmlSequence.getInteger(NO);
                 if (action.equalsIgnoreCase("remove")) {
                     // Remove this sequence
                     calendar.removeActiveList(id);
                 }
                 else {
-                    LocalDate calDate = DateUtils.getLrsLocalDate(xml.getString("actcaldate/text()", xmlSequence));
+                    LocalDate calDate = DateUtils.getLrsLocalDate(xmlSequence.getString(CAL_DATE));
                     LocalDateTime releaseDateTime = DateUtils.getLrsDateTime(
-                            xml.getString("releasedate/text()", xmlSequence) + xml.getString("releasetime/text()", xmlSequence));
-                    String notes = xml.getString("notes/text()", xmlSequence);
+                            xmlSequence.getString(RELEASE_DATE) + xmlSequence.getString(RELEASE_TIME));
+                    String notes = xmlSequence.getString(NOTES);
                     CalendarActiveList activeList = new CalendarActiveList(calendarId, id, notes, calDate, releaseDateTime);
                     activeList.setModifiedDateTime(modifiedDate);
                     activeList.setPublishedDateTime(modifiedDate);
 
-                    NodeList xmlCalNos = xml.getNodeList("calnos/calno", xmlSequence);
-                    for (int k = 0; k < xmlCalNos.getLength(); k++) {
-                        Node xmlCalNo = xmlCalNos.item(k);
-                        Integer calNo = xml.getInteger("@no", xmlCalNo);
-                        String billPrintNo = xml.getString("bill/@no", xmlCalNo);
+                    for (XmlElement xmlCalNo : xmlSequence.getElements(CAL_NO)) {
+                        Integer calNo = xmlCalNo.getInteger(NO);
+                        String billPrintNo = xmlCalNo.getString(BILL_NO);
                         if (!Strings.isNullOrEmpty(billPrintNo)) {
                             BillId billId = new BillId(billPrintNo, sessionYear);
                             CalendarEntry entry = new CalendarEntry(calNo, billId);
@@ -94,7 +100,7 @@ public class ActiveListProcessor extends AbstractDataProcessor implements SobiPr
                 }
             }
         }
-        catch (IOException | SAXException | XPathExpressionException ex) {
+        catch (XMLStreamException ex) {
             logger.error("Failed to parse active list sobi", ex);
             unit.addException("Failed to parse active list: " + ex.getMessage());
         }
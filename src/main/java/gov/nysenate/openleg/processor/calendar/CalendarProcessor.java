@@ -10,19 +10,16 @@ import gov.nysenate.openleg.model.sobi.SobiFragmentType;
 import gov.nysenate.openleg.processor.base.AbstractDataProcessor;
 import gov.nysenate.openleg.processor.sobi.SobiProcessor;
 import gov.nysenate.openleg.util.DateUtils;
-import gov.nysenate.openleg.util.XmlHelper;
+import gov.nysenate.openleg.util.StaxXmlParser;
+import gov.nysenate.openleg.util.XmlElement;
+import gov.nysenate.openleg.util.XmlPath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
 import javax.annotation.PostConstruct;
-import javax.xml.xpath.XPathExpressionException;
-import java.io.IOException;
+import javax.xml.stream.XMLStreamException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -31,7 +28,24 @@ public class CalendarProcessor extends AbstractDataProcessor implements SobiProc
 {
     private static final Logger logger = LoggerFactory.getLogger(CalendarProcessor.class);
 
-    @Autowired protected XmlHelper xml;
+    private static final XmlPath CALENDAR = XmlPath.compile("SENATEDATA/sencalendar");
+    private static final XmlPath NO = XmlPath.compile("@no");
+    private static final XmlPath SESSION_YEAR = XmlPath.compile("@sessyr");
+    private static final XmlPath YEAR = XmlPath.compile("@year");
+    private static final XmlPath ACTION = XmlPath.compile("@action");
+    private static final XmlPath ID = XmlPath.compile("@id");
+    private static final XmlPath SUPPLEMENTAL = XmlPath.compile("supplemental");
+    private static final XmlPath CAL_DATE = XmlPath.compile("caldate/text()");
+    private static final XmlPath RELEASE_DATE = XmlPath.compile("releasedate/text()");
+    private static final XmlPath RELEASE_TIME = XmlPath.compile("releasetime/text()");
+    private static final XmlPath SECTION = XmlPath.compile("sections/section");
+    private static final XmlPath SECTION_CODE = XmlPath.compile("@cd");
+    private static final XmlPath CAL_NO = XmlPath.compile("calnos/calno");
+    private static final XmlPath BILL_NO = XmlPath.compile("bill/@no");
+    private static final XmlPath BILL_HIGH = XmlPath.compile("bill/@high");
+    private static final XmlPath SUB_BILL_NO = XmlPath.compile("subbill/@no");
+
+    @Autowired protected StaxXmlParser xml;
 
     @PostConstruct
     public void init() {
@@ -49,49 +63,43 @@ public class CalendarProcessor extends AbstractDataProcessor implements SobiProc
         LocalDateTime modifiedDate = sobiFragment.getPublishedDateTime();
         DataProcessUnit unit = createProcessUnit(sobiFragment);
         try {
-            Document doc = xml.parse(sobiFragment.getText());
-            Node xmlCalendar = xml.getNode("SENATEDATA/sencalendar", doc);
-            Integer calendarNo = xml.getInteger("@no", xmlCalendar);
-            Integer sessionYear = xml.getInteger("@sessyr", xmlCalendar);
-            Integer year = xml.getInteger("@year", xmlCalendar);
+            XmlElement doc = xml.parse(sobiFragment.getText());
+            XmlElement xmlCalendar = doc.getRequiredElement(CALENDAR);
+            Integer calendarNo = xmlCalendar.getInteger(NO);
+            Integer sessionYear = xmlCalendar.getInteger(SESSION_YEAR);
+            Integer year = xmlCalendar.getInteger(YEAR);
             CalendarId calendarId = new CalendarId(calendarNo, year);
             Calendar calendar = getOrCreateCalendar(calendarId, sobiFragment);
             calendar.setModifiedDateTime(modifiedDate);
 
             // Actions apply to supplemental and not the whole calendar
-            String action = xml.getString("@action", xmlCalendar);
+            String action = xmlCalendar.getString(ACTION);
 
-            NodeList xmlSupplementals = xml.getNodeList("supplemental", xmlCalendar);
-            for (int i = 0; i < xmlSupplementals.getLength(); i++) {
-                Node xmlSupplemental = xmlSupplementals.item(i);
-                Version supVersion = Version.of(xml.getString("@id", xmlSupplemental));
+            for (XmlElement xmlSupplemental : xmlCalendar.getElements(SUPPLEMENTAL)) {
+                Version supVersion = Version.of(xmlSupplemental.getString(ID));
                 if (action.equalsIgnoreCase("remove")) {
                     calendar.removeSupplemental(supVersion);
                 }
                 else {
                     // Replace this supplemental
-                    LocalDate calDate = DateUtils.getLrsLocalDate(xml.getString("caldate/text()", xmlSupplemental));
-                    LocalDateTime releaseDateTime = DateUtils.getLrsDateTime(xml.getString("releasedate/text()", xmlSupplemental)
-                            + xml.getString("releasetime/text()", xmlSupplemental));
+                    LocalDate calDate = DateUtils.getLrsLocalDate(xmlSupplemental.getString(CAL_DATE));
+                    LocalDateTime releaseDateTime = DateUtils.getLrsDateTime(xmlSupplemental.getString(RELEASE_DATE)
+                            + xmlSupplemental.getString(RELEASE_TIME));
 
                     CalendarSupplemental supplemental = new CalendarSupplemental(calendarId, supVersion, calDate, releaseDateTime);
                     supplemental.setModifiedDateTime(modifiedDate);
                     supplemental.setPublishedDateTime(modifiedDate);
 
-                    NodeList xmlSections = xml.getNodeList("sections/section", xmlSupplemental);
-                    for (int j = 0; j < xmlSections.getLength(); j++) {
-                        Node xmlSection = xmlSections.item(j);
-                        Integer cd = xml.getInteger("@cd", xmlSection);
+                    for (XmlElement xmlSection : xmlSupplemental.getElements(SECTION)) {
+                        Integer cd = xmlSection.getInteger(SECTION_CODE);
                         CalendarSectionType sectionType = CalendarSectionType.valueOfCode(cd);
 
-                        NodeList xmlCalNos = xml.getNodeList("calnos/calno", xmlSection);
-                        for (int k = 0; k < xmlCalNos.getLength(); k++) {
-                            Node xmlCalNo = xmlCalNos.item(k);
-                            Integer no = xml.getInteger("@no", xmlCalNo);
-                            String billPrintNo = xml.getString("bill/@no", xmlCalNo);
+                        for (XmlElement xmlCalNo : xmlSection.getElements(CAL_NO)) {
+                            Integer no = xmlCalNo.getInteger(NO);
+                            String billPrintNo = xmlCalNo.getString(BILL_NO);
                             BillId billId = new BillId(billPrintNo, sessionYear);
-                            boolean billHigh = xml.getString("bill/@high", xmlCalNo).equals("true");
-                            String subBillPrintNo = xml.getString("subbill/@no", xmlCalNo);
+                            boolean billHigh = xmlCalNo.getString(BILL_HIGH).equals("true");
+                            String subBillPrintNo = xmlCalNo.getString(SUB_BILL_NO);
                             BillId subBillId = (!Strings.isNullOrEmpty(subBillPrintNo))
                                                 ? new BillId(subBillPrintNo, sessionYear) : null;
                             CalendarSupplementalEntry entry =
@@ -103,7 +111,7 @@ public class CalendarProcessor extends AbstractDataProcessor implements SobiProc
                 }
             }
         }
-        catch (IOException | SAXException | XPathExpressionException ex) {
+        catch (XMLStreamException ex) {
             logger.error("Failed to parse calendar sobi {}", sobiFragment.getFragmentId(), ex);
             unit.addException("Failed to parse calendar: " + ex.getMessage());
         }
@@ -8,17 +8,16 @@ import gov.nysenate.openleg.processor.base.AbstractDataProcessor;
 import gov.nysenate.openleg.processor.sobi.SobiProcessor;
 import gov.nysenate.openleg.model.entity.MemberNotFoundEx;
 import gov.nysenate.openleg.service.entity.member.data.MemberService;
-import gov.nysenate.openleg.util.XmlHelper;
+import gov.nysenate.openleg.util.StaxXmlParser;
+import gov.nysenate.openleg.util.XmlElement;
+import gov.nysenate.openleg.util.XmlPath;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 import javax.annotation.PostConstruct;
-import javax.xml.xpath.XPathExpressionException;
+import javax.xml.stream.XMLStreamException;
 import java.text.ParseException;
 import java.time.DayOfWeek;
 import java.time.LocalTime;
@@ -33,11 +32,28 @@ public class CommitteeProcessor extends AbstractDataProcessor implements SobiPro
 
     private static final DateTimeFormatter meetTimeSDF = DateTimeFormatter.ofPattern("hh:mm a");
 
+    private static final XmlPath DATA_ROOT = XmlPath.compile("SENATEDATA");
+    private static final XmlPath COMMITTEE_ROOT = XmlPath.compile("sencommmem");
+    private static final XmlPath SESSION_YEAR = XmlPath.compile("@sessyr");
+    private static final XmlPath YEAR = XmlPath.compile("@year");
+    private static final XmlPath COMMITTEE = XmlPath.compile("committees/committee");
+    private static final XmlPath NAME = XmlPath.compile("name/text()");
+    private static final XmlPath LOCATION = XmlPath.compile("location/text()");
+    private static final XmlPath MEET_DAY = XmlPath.compile("meetday/text()");
+    private static final XmlPath MEET_TIME = XmlPath.compile("meettime/text()");
+    private static final XmlPath MEET_ALT_WEEK = XmlPath.compile("meetaltweek/text()");
+    private static final XmlPath MEET_ALT_WEEK_TEXT = XmlPath.compile("meetaltweektext/text()");
+    private static final XmlPath MEMBERSHIP = XmlPath.compile("membership");
+    private static final XmlPath MEMBER = XmlPath.compile("member");
+    private static final XmlPath SEQUENCE_NO = XmlPath.compile("@seqno");
+    private static final XmlPath MEMBER_LIST = XmlPath.compile("memberlist/text()");
+    private static final XmlPath TITLE = XmlPath.compile("title/text()");
+
     @Autowired
     protected MemberService memberService;
 
     @Autowired
-    protected XmlHelper xml;
+    protected StaxXmlParser xml;
 
     @PostConstruct
     public void init() {
@@ -56,30 +72,25 @@ public class CommitteeProcessor extends AbstractDataProcessor implements SobiPro
         logger.info("Called committee processor");
         String xmlString = sobiFragment.getText();
         try {
-            Document doc = xml.parse(xmlString);
-            Node dataRoot = xml.getNode("SENATEDATA",doc);
-            Node committeeRoot = xml.getNode("sencommmem", dataRoot);
-            SessionYear sessionYear = new SessionYear(Integer.parseInt(xml.getString("@sessyr", committeeRoot)));
-            int year = Integer.parseInt(xml.getString("@year", committeeRoot));
+            XmlElement doc = xml.parse(xmlString);
+            XmlElement dataRoot = doc.getRequiredElement(DATA_ROOT);
+            XmlElement committeeRoot = dataRoot.getRequiredElement(COMMITTEE_ROOT);
+            SessionYear sessionYear = new SessionYear(Integer.parseInt(committeeRoot.getString(SESSION_YEAR)));
+            int year = Integer.parseInt(committeeRoot.getString(YEAR));
             Chamber chamber = Chamber.SENATE;
             logger.info("Processing " + chamber + "committees for s" + sessionYear + " y" + year + "\t" +
                         sobiFragment.getPublishedDateTime());
-            committeeRoot = xml.getNode("committees", committeeRoot);
-            NodeList committeeNodes = committeeRoot.getChildNodes();
-            for(int i = 0; i < committeeNodes.getLength() ; i++){
-                Node committeeNode = committeeNodes.item(i);
-                if (committeeNode.getNodeName().equals("committee")) {
-                    try {
-                        Committee committee = new Committee();
-                        committee.setSession(sessionYear);
-                        committee.setPublishedDateTime(sobiFragment.getPublishedDateTime());
-                        committee.setChamber(chamber);
-                        processCommittee(committeeNode, committee);
-                        committeeDataService.saveCommittee(committee, sobiFragment);
-                    }
-                    catch (Exception e){
-                        logger.error(e);
-                    }
+            for (XmlElement committeeNode : committeeRoot.getElements(COMMITTEE)) {
+                try {
+                    Committee committee = new Committee();
+                    committee.setSession(sessionYear);
+                    committee.setPublishedDateTime(sobiFragment.getPublishedDateTime());
+                    committee.setChamber(chamber);
+                    processCommittee(committeeNode, committee);
+                    committeeDataService.saveCommittee(committee, sobiFragment);
+                }
+                catch (Exception e){
+                    logger.error(e);
                 }
             }
         }
@@ -93,56 +104,50 @@ public class CommitteeProcessor extends AbstractDataProcessor implements SobiPro
 
     /** --- Internal Methods --- */
 
-    private Committee processCommittee(Node committeeNode, Committee committee) throws XPathExpressionException,
-                                                                                       ParseException {
-        committee.setName(xml.getString("name/text()", committeeNode));
-        committee.setLocation(xml.getString("location/text()", committeeNode));
-        String meetDay = xml.getString("meetday/text()", committeeNode);
+    private Committee processCommittee(XmlElement committeeNode, Committee committee) throws XMLStreamException,
+                                                                                             ParseException {
+        committee.setName(committeeNode.getString(NAME));
+        committee.setLocation(committeeNode.getString(LOCATION));
+        String meetDay = committeeNode.getString(MEET_DAY);
         committee.setMeetDay(StringUtils.isNotEmpty(meetDay) ? DayOfWeek.valueOf(meetDay.toUpperCase()) : null);
-        String meetTimeStr = xml.getString("meettime/text()", committeeNode);
+        String meetTimeStr = committeeNode.getString(MEET_TIME);
         committee.setMeetTime(StringUtils.isNotEmpty(meetTimeStr) ? LocalTime.parse(meetTimeStr, meetTimeSDF) : null);
-        committee.setMeetAltWeek(xml.getString("meetaltweek/text()", committeeNode).trim().equalsIgnoreCase("Yes"));
-        committee.setMeetAltWeekText(xml.getString("meetaltweektext/text()", committeeNode));
-        Node committeeMembership = xml.getNode("membership", committeeNode);
+        committee.setMeetAltWeek(committeeNode.getString(MEET_ALT_WEEK).trim().equalsIgnoreCase("Yes"));
+        committee.setMeetAltWeekText(committeeNode.getString(MEET_ALT_WEEK_TEXT));
+        XmlElement committeeMembership = committeeNode.getRequiredElement(MEMBERSHIP);
         committee.setMembers(processCommitteeMembers(committeeMembership, committee));
         return committee;
     }
 
-    private List<CommitteeMember> processCommitteeMembers(Node committeeMembership, Committee committee)
-                                                          throws XPathExpressionException {
+    private List<CommitteeMember> processCommitteeMembers(XmlElement committeeMembership, Committee committee) {
         List<CommitteeMember> committeeMembers = new ArrayList<CommitteeMember>();
-        NodeList committeeMembersNodes = committeeMembership.getChildNodes();
-        for(int i = 0; i < committeeMembersNodes.getLength(); i++){
-            Node memberNode = committeeMembersNodes.item(i);
-            if (memberNode.getNodeName().equals("member")) {
-                String shortName = xml.getString("name/text()", memberNode);
-                SessionMember sessionMember;
-                try {
-                    sessionMember = memberService.getMemberByShortName(shortName, committee.getSession(),
-                                                                       committee.getChamber());
-                }
-                catch (MemberNotFoundEx memberNotFoundEx) {
-                    logger.error("Could not identify committee member " + shortName + " " + committee.getSession() +
-                                 " " + committee.getChamber());
-                    continue;
-                }
-                CommitteeMember committeeMember = new CommitteeMember();
-                committeeMember.setSequenceNo(Integer.parseInt(xml.getString("@seqno", memberNode)));
-                committeeMember.setMember(sessionMember);
-                committeeMember.setMajority(
-                    xml.getString("memberlist/text()", memberNode).trim().equalsIgnoreCase("Majority"));
-                String title = xml.getString("title/text()", memberNode).trim();
-                if (title.equalsIgnoreCase("Chairperson")) {
-                    committeeMember.setTitle(CommitteeMemberTitle.CHAIR_PERSON);
-                }
-                else if (title.equalsIgnoreCase("Vice-Chair")) {
-                    committeeMember.setTitle(CommitteeMemberTitle.VICE_CHAIR);
-                }
-                else {
-                    committeeMember.setTitle(CommitteeMemberTitle.MEMBER);
-                }
-                committeeMembers.add(committeeMember);
+        for (XmlElement memberNode : committeeMembership.getElements(MEMBER)) {
+            String shortName = memberNode.getString(NAME);
+            SessionMember sessionMember;
+            try {
+                sessionMember = memberService.getMemberByShortName(shortName, committee.getSession(),
+                                                                   committee.getChamber());
+            }
+            catch (MemberNotFoundEx memberNotFoundEx) {
+                logger.error("Could not identify committee member " + shortName + " " + committee.getSession() +
+                             " " + committee.getChamber());
+                continue;
+            }
+            CommitteeMember committeeMember = new CommitteeMember();
+            committeeMember.setSequenceNo(Integer.parseInt(memberNode.getString(SEQUENCE_NO)));
+            committeeMember.setMember(sessionMember);
+            committeeMember.setMajority(memberNode.getString(MEMBER_LIST).trim().equalsIgnoreCase("Majority"));
+            String title = memberNode.getString(TITLE).trim();
+            if (title.equalsIgnoreCase("Chairperson")) {
+                committeeMember.setTitle(CommitteeMemberTitle.CHAIR_PERSON);
+            }
+            else if (title.equalsIgnoreCase("Vice-Chair")) {
+                committeeMember.setTitle(CommitteeMemberTitle.VICE_CHAIR);
+            }
+            else {
+                committeeMember.setTitle(CommitteeMemberTitle.MEMBER);
             }
+            committeeMembers.add(committeeMember);
         }
         return committeeMembers;
     }
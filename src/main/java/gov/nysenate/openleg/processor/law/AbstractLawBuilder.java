@@ -153,7 +153,7 @@ public abstract class AbstractLawBuilder implements LawBuilder
     public void addUpdateBlock(LawBlock block) {
         // Rebuild the law tree
         if (block.getMethod().equals("*MASTER*")) {
-            rebuildTree(block.getText().toString());
+            rebuildTree(block.getText());
         }
         // Repeal the document
         else if (block.getMethod().equals("*REPEAL*")) {
@@ -178,9 +178,9 @@ public abstract class AbstractLawBuilder implements LawBuilder
                 Optional<LawDocInfo> existingDocInfo = rootNode.find(block.getDocumentId());
                 if (existingDocInfo.isPresent()) {
                     existingDocInfo.get().setPublishedDate(block.getPublishedDate());
-                    LawDocument lawDoc = new LawDocument(existingDocInfo.get(), block.getText().toString());
+                    LawDocument lawDoc = new LawDocument(existingDocInfo.get(), block.getText());
                     // Re-parse the titles
-                    lawDoc.setTitle(LawTitleParser.extractTitle(lawDoc, block.getText().toString()));
+                    lawDoc.setTitle(LawTitleParser.extractTitle(lawDoc, lawDoc.getText()));
                     lawDocMap.put(lawDoc.getDocumentId(), lawDoc);
                     logger.info("Updated {}", lawDoc.getDocumentId());
                 }
@@ -1,6 +1,7 @@
 package gov.nysenate.openleg.processor.law;
 
 import java.time.LocalDate;
+import java.util.function.Supplier;
 
 /**
  * This class is to be used internally by the law parsers to aid in building up LawDocument instances.
@@ -31,6 +32,18 @@ public class LawBlock
     /** String builder used to construct the text body of the block. */
     private StringBuilder text = new StringBuilder();
 
+    /** Decodes the text body on demand for blocks that are read from a mapped law file. Used instead of 'text'. */
+    private Supplier<String> textSource;
+
+    /** --- Methods --- */
+
+    /**
+     * Appends a line of the law file to the text body, using a literal '\n' as the line terminator.
+     */
+    public void appendLine(String line) {
+        text.append(line).append("\\n");
+    }
+
     /** --- Basic Getters/Setters --- */
 
     public String getHeader() {
@@ -41,8 +54,18 @@ public class LawBlock
         this.header = header;
     }
 
-    public StringBuilder getText() {
-        return text;
+    /**
+     * Returns the text body of the block. For blocks with a text source the text is decoded on every call,
+     * so callers should hold on to the result rather than call this repeatedly.
+     *
+     * @return String
+     */
+    public String getText() {
+        return (textSource != null) ? textSource.get() : text.toString();
+    }
+
+    public void setTextSource(Supplier<String> textSource) {
+        this.textSource = textSource;
     }
 
     public String getMethod() {
@@ -10,18 +10,25 @@ import gov.nysenate.openleg.processor.base.AbstractDataProcessor;
 import gov.nysenate.openleg.service.law.data.LawDataService;
 import gov.nysenate.openleg.service.law.data.LawTreeNotFoundEx;
 import gov.nysenate.openleg.service.law.event.BulkLawUpdateEvent;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PreDestroy;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static gov.nysenate.openleg.model.law.LawDocumentType.*;
 
@@ -55,11 +62,21 @@ public class LawProcessor extends AbstractDataProcessor
 
     @Autowired private LawDataService lawDataService;
 
+    /** Builds and persists laws concurrently, created on first use when parallel law processing is enabled. */
+    private ExecutorService processorThreadPool;
+
     @Override
     public void init() {
         initBase();
     }
 
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (processorThreadPool != null) {
+            processorThreadPool.shutdownNow();
+        }
+    }
+
     /**
      * Performs all the steps required to process and persist the supplied LawFile.
      *
@@ -70,12 +87,14 @@ public class LawProcessor extends AbstractDataProcessor
         DataProcessUnit unit = createDataProcessUnit(lawFile);
         try {
             logger.info("Processing law file {}", lawFile);
-            List<LawBlock> lawBlocks = getLawBlocks(lawFile);
-            if (isInitial) {
-                processInitialLaws(lawFile, lawBlocks, unit);
+            if (env.isLawParallelEnabled()) {
+                processLawsInParallel(lawFile, unit);
+            }
+            else if (isInitial) {
+                processInitialLaws(lawFile, getLawBlocks(lawFile), unit);
             }
             else {
-                processLawUpdates(lawFile, lawBlocks, unit);
+                processLawUpdates(lawFile, getLawBlocks(lawFile), unit);
             }
         }
         catch (IOException ex) {
@@ -106,30 +125,33 @@ public class LawProcessor extends AbstractDataProcessor
         this.onlyLaws = Sets.newHashSet(lawIds);
     }
 
+    public void setLawDataService(LawDataService lawDataService) {
+        this.lawDataService = lawDataService;
+    }
+
     /** --- Internal Methods --- */
 
     /**
      * The initial laws are parsed such that the order of the documents indicates the structure of the laws
-     * (i.e. there are no master documents).
+     * (i.e. there are no master documents). Each law is built and persisted in turn, so when the text of the
+     * blocks is read lazily only the documents of a single law are held in memory at a time.
      *
      * @param lawFile LawFile
      * @param lawBlocks List<LawBlock>
      */
     protected void processInitialLaws(LawFile lawFile, List<LawBlock> lawBlocks, DataProcessUnit unit) {
-        Map<String, LawBuilder> lawBuilders = new HashMap<>();
-        for (LawBlock block : lawBlocks) {
-            if (!shouldProcessLaw(block)) continue;
-            // Create the law builder for the law id if it doesn't already exist.
-            if (!lawBuilders.containsKey(block.getLawId())) {
-                LawBuilder lawBuilder = createLawBuilder(new LawVersionId(block.getLawId(), block.getPublishedDate()), null);
-                lawBuilders.put(block.getLawId(), lawBuilder);
-                unit.addMessage("Processing initial docs for " + block.getLawId());
-            }
-            // Process the initial block
-            lawBuilders.get(block.getLawId()).addInitialBlock(block, true);
-        }
-        // Persist the results
-        persist(lawFile, lawBuilders);
+        // Group the blocks by law so each law can be persisted and released before the next one is built
+        Map<String, List<LawBlock>> blocksByLaw = lawBlocks.stream()
+            .filter(this::shouldProcessLaw)
+            .collect(Collectors.groupingBy(LawBlock::getLawId, LinkedHashMap::new, Collectors.toList()));
+        blocksByLaw.forEach((lawId, blocks) -> {
+            LawBuilder lawBuilder = createLawBuilder(new LawVersionId(lawId, blocks.get(0).getPublishedDate()), null);
+            unit.addMessage("Processing initial docs for " + lawId);
+            // Process the initial blocks
+            blocks.forEach(block -> lawBuilder.addInitialBlock(block, true));
+            // Persist the results
+            persistLaw(lawFile, lawId, lawBuilder);
+        });
     }
 
     /**
@@ -176,14 +198,151 @@ public class LawProcessor extends AbstractDataProcessor
      * @param lawBuilders Map<String, LawBuilder>
      */
     private void persist(LawFile lawFile, Map<String, LawBuilder> lawBuilders) {
-        // Persist the results
-        lawBuilders.forEach((lawId, lawBuilder) ->{
-            logger.info("Persisting law documents for {}", lawId);
-            eventBus.post(new BulkLawUpdateEvent(lawBuilder.getProcessedLawDocuments()));
-            lawBuilder.getProcessedLawDocuments().forEach(d -> lawDataService.saveLawDocument(lawFile, d));
-            logger.info("Persisting law tree for {}", lawId);
-            lawDataService.saveLawTree(lawFile, lawBuilder.getProcessedLawTree());
+        lawBuilders.forEach((lawId, lawBuilder) -> persistLaw(lawFile, lawId, lawBuilder));
+    }
+
+    /**
+     * Persists the processed documents and tree of a single law.
+     *
+     * @param lawFile LawFile - Used to keep track of the source
+     * @param lawId String
+     * @param lawBuilder LawBuilder
+     */
+    private void persistLaw(LawFile lawFile, String lawId, LawBuilder lawBuilder) {
+        logger.info("Persisting law documents for {}", lawId);
+        eventBus.post(new BulkLawUpdateEvent(lawBuilder.getProcessedLawDocuments()));
+        lawDataService.saveLawDocuments(lawFile, lawBuilder.getProcessedLawDocuments());
+        logger.info("Persisting law tree for {}", lawId);
+        lawDataService.saveLawTree(lawFile, lawBuilder.getProcessedLawTree());
+    }
+
+    /**
+     * Processes the law file using the law processing thread pool. The blocks are streamed from the file and handed
+     * off in runs of consecutive blocks for the same law, so the dump is never held in memory as a whole. Every law
+     * gets its own LawBuilder, to which its runs are applied in file order, while different laws are built
+     * concurrently. The headers are scanned up front so that each law is persisted, and its builder released, as
+     * soon as its last block has been read. The timings of each law are added to the unit.
+     *
+     * Runs and persists that are queued but not yet done share a limit of four per thread, so the documents held
+     * in memory are bounded by that many laws plus the law being read. The exception is a law that is split across
+     * the file, which is held until the reader passes its last block, as it is by the sequential mode.
+     *
+     * Once a step or the reader fails, the reader stops and the queued steps are skipped. This method only returns
+     * or throws after all of the submitted steps are done, so no step can change the unit after it is posted.
+     *
+     * @param lawFile LawFile
+     * @param unit DataProcessUnit
+     * @throws IOException
+     */
+    protected void processLawsInParallel(LawFile lawFile, DataProcessUnit unit) throws IOException {
+        Map<String, Integer> lastBlockIndexes = getLastBlockIndexes(lawFile);
+        ExecutorService threadPool = getProcessorThreadPool();
+        Map<String, LawProcessTask> lawTasks = new HashMap<>();
+        // Limits the number of runs and laws that have been read but not yet applied or persisted
+        Semaphore pendingSteps = new Semaphore(env.getLawParallelThreads() * 4);
+        // The first failure of a step or of the reader, after which the remaining steps are skipped
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        List<LawBlock> run = new ArrayList<>();
+        Consumer<List<LawBlock>> submitRun = blocks -> {
+            pendingSteps.acquireUninterruptibly();
+            lawTasks.computeIfAbsent(blocks.get(0).getLawId(),
+                                     lawId -> new LawProcessTask(lawFile, lawId, unit, threadPool, failure))
+                .addBlocks(blocks, pendingSteps);
+        };
+        int[] blockIndex = {0};
+        try {
+            readLawBlocks(lawFile, block -> {
+                if (failure.get() != null) {
+                    // A step has failed, so stop reading
+                    throw toRuntimeException(failure.get(), lawFile);
+                }
+                if (!shouldProcessLaw(block)) return;
+                if (!run.isEmpty() && !run.get(0).getLawId().equals(block.getLawId())) {
+                    submitRun.accept(new ArrayList<>(run));
+                    run.clear();
+                }
+                run.add(block);
+                if (blockIndex[0]++ == lastBlockIndexes.get(block.getLawId())) {
+                    // The reader is past the last block of the law, so it can be persisted
+                    submitRun.accept(new ArrayList<>(run));
+                    run.clear();
+                    pendingSteps.acquireUninterruptibly();
+                    tasks.add(lawTasks.remove(block.getLawId()).persist(pendingSteps));
+                }
+            });
+        }
+        catch (IOException | RuntimeException ex) {
+            failure.compareAndSet(null, ex);
+            throw ex;
+        }
+        finally {
+            // Laws that were not persisted because the reader failed still have steps that may be running
+            lawTasks.values().forEach(lawTask -> tasks.add(lawTask.lastStep));
+            awaitSteps(lawFile, tasks, failure);
+        }
+        if (failure.get() != null) {
+            throw toRuntimeException(failure.get(), lawFile);
+        }
+    }
+
+    /**
+     * Waits for each of the given steps to be done, whether they completed, failed or were skipped. A failed step
+     * has already recorded its failure, so it is not rethrown here.
+     *
+     * @param lawFile LawFile
+     * @param steps List<CompletableFuture<Void>>
+     * @param failure AtomicReference<Throwable> - Set when interrupted, so that the remaining steps are skipped
+     */
+    private static void awaitSteps(LawFile lawFile, List<CompletableFuture<Void>> steps,
+                                   AtomicReference<Throwable> failure) {
+        for (CompletableFuture<Void> step : steps) {
+            try {
+                step.get();
+            }
+            catch (InterruptedException ex) {
+                failure.compareAndSet(null, ex);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while processing " + lawFile.getFileName(), ex);
+            }
+            catch (ExecutionException ex) {
+                // Recorded as the failure by the step itself
+            }
+        }
+    }
+
+    private static RuntimeException toRuntimeException(Throwable failure, LawFile lawFile) {
+        if (failure instanceof RuntimeException) {
+            return (RuntimeException) failure;
+        }
+        return new IllegalStateException("Failed to process " + lawFile.getFileName(), failure);
+    }
+
+    /**
+     * Scans the headers of the law file for the index of the last block of each law that will be processed.
+     * The indexes count only the blocks of processed laws.
+     *
+     * @param lawFile LawFile
+     * @return Map<String, Integer> - Law id -> index of its last block
+     * @throws IOException
+     */
+    private Map<String, Integer> getLastBlockIndexes(LawFile lawFile) throws IOException {
+        Map<String, Integer> lastBlockIndexes = new HashMap<>();
+        int[] blockIndex = {0};
+        readLawBlocks(lawFile, block -> {
+            if (shouldProcessLaw(block)) {
+                lastBlockIndexes.put(block.getLawId(), blockIndex[0]++);
+            }
         });
+        return lastBlockIndexes;
+    }
+
+    private synchronized ExecutorService getProcessorThreadPool() {
+        if (processorThreadPool == null) {
+            processorThreadPool = Executors.newFixedThreadPool(env.getLawParallelThreads(),
+                                                               new OpenlegThreadFactory("law-processor"));
+        }
+        return processorThreadPool;
     }
 
     /**
@@ -197,37 +356,84 @@ public class LawProcessor extends AbstractDataProcessor
      */
     protected List<LawBlock> getLawBlocks(LawFile lawFile) throws IOException {
         List<LawBlock> rawDocList = new ArrayList<>();
+        readLawBlocks(lawFile, rawDocList::add);
+        return rawDocList;
+    }
+
+    /**
+     * Reads the LawBlocks from the given LawFile and hands each one to the consumer in file order as soon as
+     * it is complete. See {@link #getLawBlocks(LawFile)}. The file is memory mapped where possible, in which case
+     * the text of each block is only decoded from the file once it is requested.
+     *
+     * @param lawFile LawFile - The LawFile to extract the blocks from.
+     * @param consumer Consumer<LawBlock>
+     * @throws IOException
+     */
+    protected void readLawBlocks(LawFile lawFile, Consumer<LawBlock> consumer) throws IOException {
         logger.debug("Extracting law blocks...");
+        if (MappedLawFileReader.canMap(lawFile, LAWFILE_CHARSET)) {
+            MappedLawFileReader.readLawBlocks(lawFile, LAWFILE_CHARSET, consumer);
+        }
+        else {
+            readLawBlocksByLine(lawFile, consumer);
+        }
+    }
+
+    /**
+     * Same as {@link #readLawBlocks(LawFile, Consumer)} except the file is read line by line, with the text of
+     * each block copied into the block as it is read.
+     *
+     * @param lawFile LawFile - The LawFile to extract the blocks from.
+     * @param consumer Consumer<LawBlock>
+     * @throws IOException
+     */
+    protected void readLawBlocksByLine(LawFile lawFile, Consumer<LawBlock> consumer) throws IOException {
         File file = lawFile.getFile();
-        Iterator<String> fileItr = Files.lines(file.toPath(), LAWFILE_CHARSET).iterator();
-        LawBlock block = null;
-        Matcher headerMatcher;
-        while (fileItr.hasNext()) {
-            String line = fileItr.next();
-            headerMatcher = lawHeader.matcher(line);
-            if (headerMatcher.matches()) {
-                if (block != null && !LawDocIdFixer.ignoreDocument(block.getDocumentId(), block.getPublishedDate())) {
-                    rawDocList.add(block);
+        try (Stream<String> lines = Files.lines(file.toPath(), LAWFILE_CHARSET)) {
+            Iterator<String> fileItr = lines.iterator();
+            LawBlock block = null;
+            while (fileItr.hasNext()) {
+                String line = fileItr.next();
+                LawBlock headerBlock = parseHeader(line, lawFile);
+                if (headerBlock != null) {
+                    if (block != null && !LawDocIdFixer.ignoreDocument(block.getDocumentId(), block.getPublishedDate())) {
+                        consumer.accept(block);
+                    }
+                    block = headerBlock;
+                }
+                else {
+                    if (block == null) throw new LawParseException("No doc header received prior to line: " + line);
+                    block.appendLine(line);
                 }
-                block = new LawBlock();
-                block.setHeader(line);
-                block.setLawId(headerMatcher.group(2).trim());
-                block.setPublishedDate(lawFile.getPublishedDate());
-                block.setDocumentId(
-                    LawDocIdFixer.applyReplacement(headerMatcher.group(1).trim(), lawFile.getPublishedDate()));
-                block.setLocationId(block.getDocumentId().substring(3));
-                block.setMethod(headerMatcher.group(4).trim());
-                block.setConsolidated(headerMatcher.group(6).equals("CONSOLIDATED"));
             }
-            else {
-                if (block == null) throw new LawParseException("No doc header received prior to line: " + line);
-                block.getText().append(line).append("\\n");
+            if (block != null && !LawDocIdFixer.ignoreDocument(block.getDocumentId(), block.getPublishedDate())) {
+                consumer.accept(block);
             }
         }
-        if (block != null && !LawDocIdFixer.ignoreDocument(block.getDocumentId(), block.getPublishedDate())) {
-            rawDocList.add(block);
+    }
+
+    /**
+     * Creates a LawBlock with the meta data from the given line if it is a doc header (..SO DOC) line.
+     *
+     * @param line String - A line from the law file.
+     * @param lawFile LawFile - The LawFile the line was read from.
+     * @return LawBlock - A block without any text, or null if the line is not a doc header.
+     */
+    protected static LawBlock parseHeader(String line, LawFile lawFile) {
+        Matcher headerMatcher = lawHeader.matcher(line);
+        if (!headerMatcher.matches()) {
+            return null;
         }
-        return rawDocList;
+        LawBlock block = new LawBlock();
+        block.setHeader(line);
+        block.setLawId(headerMatcher.group(2).trim());
+        block.setPublishedDate(lawFile.getPublishedDate());
+        block.setDocumentId(
+            LawDocIdFixer.applyReplacement(headerMatcher.group(1).trim(), lawFile.getPublishedDate()));
+        block.setLocationId(block.getDocumentId().substring(3));
+        block.setMethod(headerMatcher.group(4).trim());
+        block.setConsolidated(headerMatcher.group(6).equals("CONSOLIDATED"));
+        return block;
     }
 
     protected boolean shouldProcessLaw(LawBlock block) {
@@ -243,4 +449,116 @@ public class LawProcessor extends AbstractDataProcessor
             return new IdBasedLawBuilder(lawVersionId, previousTree);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Builds and persists a single law on the law processing thread pool. Each step is chained onto the previous
+     * one, so the runs of blocks for the law are applied in the order they were read by one thread at a time.
+     */
+    private class LawProcessTask
+    {
+        private final LawFile lawFile;
+        private final String lawId;
+        private final DataProcessUnit unit;
+        private final ExecutorService threadPool;
+
+        /** Shared by all laws of the file, the steps are skipped once it is set. */
+        private final AtomicReference<Throwable> failure;
+
+        /** Created by the first step, since an update needs the existing law tree. */
+        private LawBuilder lawBuilder;
+
+        /** The last step chained for this law. */
+        private CompletableFuture<Void> lastStep = CompletableFuture.completedFuture(null);
+
+        private int blockCount = 0;
+        private long buildNanos = 0;
+
+        LawProcessTask(LawFile lawFile, String lawId, DataProcessUnit unit, ExecutorService threadPool,
+                       AtomicReference<Throwable> failure) {
+            this.lawFile = lawFile;
+            this.lawId = lawId;
+            this.unit = unit;
+            this.threadPool = threadPool;
+            this.failure = failure;
+        }
+
+        /**
+         * Queues a run of blocks for this law, releasing a permit once the run has been applied or skipped.
+         */
+        void addBlocks(List<LawBlock> blocks, Semaphore pendingSteps) {
+            chainStep(() -> applyBlocks(blocks), pendingSteps);
+        }
+
+        /**
+         * Queues the persistence of this law once all of its blocks have been applied, releasing a permit and
+         * the law builder once it has been persisted.
+         *
+         * @return CompletableFuture<Void> - Completes when the law has been persisted
+         */
+        CompletableFuture<Void> persist(Semaphore pendingSteps) {
+            return chainStep(() -> {
+                long startTime = System.nanoTime();
+                persistLaw(lawFile, lawId, lawBuilder);
+                long persistNanos = System.nanoTime() - startTime;
+                unit.addMessage(String.format("Processed %s: %d blocks, %d documents, built in %d ms, persisted in %d ms",
+                    lawId, blockCount, lawBuilder.getProcessedLawDocuments().size(),
+                    TimeUnit.NANOSECONDS.toMillis(buildNanos), TimeUnit.NANOSECONDS.toMillis(persistNanos)));
+                lawBuilder = null;
+            }, pendingSteps);
+        }
+
+        /**
+         * Chains a step that is skipped if any step has failed. A step that fails records its failure, and
+         * every step releases its permit once it is done.
+         */
+        private CompletableFuture<Void> chainStep(Runnable step, Semaphore pendingSteps) {
+            lastStep = lastStep
+                .thenRunAsync(() -> {
+                    if (failure.get() == null) {
+                        step.run();
+                    }
+                }, threadPool)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        failure.compareAndSet(null, (ex instanceof CompletionException) ? ex.getCause() : ex);
+                    }
+                    pendingSteps.release();
+                });
+            return lastStep;
+        }
+
+        private void applyBlocks(List<LawBlock> blocks) {
+            long startTime = System.nanoTime();
+            if (lawBuilder == null) {
+                lawBuilder = newLawBuilder(blocks.get(0));
+            }
+            for (LawBlock block : blocks) {
+                if (lawFile.isInitialDump()) {
+                    lawBuilder.addInitialBlock(block, true);
+                }
+                else {
+                    lawBuilder.addUpdateBlock(block);
+                }
+            }
+            blockCount += blocks.size();
+            buildNanos += System.nanoTime() - startTime;
+        }
+
+        private LawBuilder newLawBuilder(LawBlock block) {
+            LawVersionId lawVersionId = new LawVersionId(lawId, block.getPublishedDate());
+            LawTree previousTree = null;
+            if (lawFile.isInitialDump()) {
+                unit.addMessage("Processing initial docs for " + lawId);
+            }
+            else {
+                try {
+                    previousTree = lawDataService.getLawTree(lawId, block.getPublishedDate());
+                }
+                catch (LawTreeNotFoundEx ex) {
+                    unit.addException("Update received for a law " + lawId + " without an existing tree!", logger);
+                }
+            }
+            return createLawBuilder(lawVersionId, previousTree);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package gov.nysenate.openleg.processor.law;
+
+import gov.nysenate.openleg.model.law.LawFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Reads the LawBlocks of a law file by memory mapping it. The file is scanned once to find the doc header lines,
+ * and the text body of each block is left in the mapped file as a byte range that is only decoded when the text
+ * of the block is requested. This keeps the bulk of a law dump out of the heap until the law documents are created.
+ *
+ * The law files use a single byte charset, so lines can be found by byte and every byte decodes to one char.
+ */
+public class MappedLawFileReader
+{
+    /** The bytes that every doc header line starts with. */
+    private static final byte[] headerPrefix = "..SO DOC ".getBytes(StandardCharsets.US_ASCII);
+
+    private MappedLawFileReader() {}
+
+    /**
+     * The file is mapped as a single buffer, so files over 2GB have to be read line by line instead. The same
+     * goes for charsets that are not single byte charsets.
+     *
+     * @param lawFile LawFile
+     * @param charset Charset - The charset of the law file.
+     * @return boolean - true if the law file can be read by this reader.
+     */
+    public static boolean canMap(LawFile lawFile, Charset charset) {
+        return lawFile.getFile().length() <= Integer.MAX_VALUE && getCharTable(charset) != null;
+    }
+
+    /**
+     * Reads the LawBlocks from the given law file and hands each one to the consumer in file order. The blocks
+     * are equivalent to the ones read line by line, except that their text is decoded from the mapped file
+     * every time it is requested.
+     *
+     * @param lawFile LawFile - The LawFile to extract the blocks from.
+     * @param charset Charset - The single byte charset of the law file.
+     * @param consumer Consumer<LawBlock>
+     * @throws IOException - If the file could not be mapped.
+     * @throws IllegalArgumentException - If the charset is not a single byte charset.
+     * @throws LawParseException - If the file does not begin with a doc header.
+     */
+    public static void readLawBlocks(LawFile lawFile, Charset charset, Consumer<LawBlock> consumer) throws IOException {
+        char[] charTable = getCharTable(charset);
+        if (charTable == null) {
+            throw new IllegalArgumentException("Law files can only be mapped using a single byte charset, not " + charset);
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(lawFile.getFile().toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        int size = buffer.limit();
+        LawBlock block = null;
+        int textStart = 0;
+        int lineStart = 0;
+        while (lineStart < size) {
+            int lineEnd = lineStart;
+            while (lineEnd < size && !isLineBreak(buffer.get(lineEnd))) {
+                lineEnd++;
+            }
+            int nextLineStart = nextLineStart(buffer, lineEnd);
+            LawBlock headerBlock = null;
+            if (startsWith(buffer, lineStart, lineEnd, headerPrefix)) {
+                headerBlock = LawProcessor.parseHeader(decode(buffer, lineStart, lineEnd, charset), lawFile);
+            }
+            if (headerBlock != null) {
+                if (block != null) {
+                    acceptBlock(block, buffer, textStart, lineStart, charTable, consumer);
+                }
+                block = headerBlock;
+                textStart = nextLineStart;
+            }
+            else if (block == null) {
+                throw new LawParseException("No doc header received prior to line: " +
+                                            decode(buffer, lineStart, lineEnd, charset));
+            }
+            lineStart = nextLineStart;
+        }
+        if (block != null) {
+            acceptBlock(block, buffer, textStart, size, charTable, consumer);
+        }
+    }
+
+    /** --- Internal Methods --- */
+
+    private static void acceptBlock(LawBlock block, ByteBuffer buffer, int textStart, int textEnd, char[] charTable,
+                                    Consumer<LawBlock> consumer) {
+        if (!LawDocIdFixer.ignoreDocument(block.getDocumentId(), block.getPublishedDate())) {
+            block.setTextSource(() -> decodeText(buffer, textStart, textEnd, charTable));
+            consumer.accept(block);
+        }
+    }
+
+    /**
+     * Decodes the lines within the given range into the LawBlock text format, where every line (including the
+     * last one) is terminated by a literal '\n'.
+     */
+    private static String decodeText(ByteBuffer buffer, int start, int end, char[] charTable) {
+        byte[] bytes = new byte[end - start];
+        // Read through a duplicate so that blocks can be decoded concurrently
+        ByteBuffer range = buffer.duplicate();
+        range.position(start);
+        range.get(bytes);
+        // Every line break becomes the two chars of the literal line terminator
+        char[] chars = new char[bytes.length * 2 + 2];
+        int length = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            byte b = bytes[i];
+            if (isLineBreak(b)) {
+                chars[length++] = '\\';
+                chars[length++] = 'n';
+                if (b == '\r' && i + 1 < bytes.length && bytes[i + 1] == '\n') {
+                    i++;
+                }
+            }
+            else {
+                chars[length++] = charTable[b & 0xFF];
+            }
+        }
+        if (bytes.length > 0 && !isLineBreak(bytes[bytes.length - 1])) {
+            chars[length++] = '\\';
+            chars[length++] = 'n';
+        }
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Maps every byte value to the char it decodes to in the given single byte charset. A charset qualifies if
+     * it encodes every char to one byte and every byte value decodes to a char that encodes back to that byte.
+     *
+     * @return char[] - The char for each byte value, or null if the charset is not a single byte charset.
+     */
+    private static char[] getCharTable(Charset charset) {
+        if (!charset.canEncode() || charset.newEncoder().maxBytesPerChar() != 1) {
+            return null;
+        }
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        char[] charTable = new String(bytes, charset).toCharArray();
+        if (!Arrays.equals(bytes, new String(charTable).getBytes(charset))) {
+            return null;
+        }
+        return charTable;
+    }
+
+    private static String decode(ByteBuffer buffer, int start, int end, Charset charset) {
+        byte[] bytes = new byte[end - start];
+        ByteBuffer range = buffer.duplicate();
+        range.position(start);
+        range.get(bytes);
+        return new String(bytes, charset);
+    }
+
+    private static boolean startsWith(ByteBuffer buffer, int start, int end, byte[] prefix) {
+        if (end - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(start + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lines end with '\n', '\r' or '\r\n', the same as when the file is read line by line.
+     */
+    private static int nextLineStart(ByteBuffer buffer, int lineEnd) {
+        if (lineEnd >= buffer.limit()) {
+            return lineEnd;
+        }
+        if (buffer.get(lineEnd) == '\r' && lineEnd + 1 < buffer.limit() && buffer.get(lineEnd + 1) == '\n') {
+            return lineEnd + 2;
+        }
+        return lineEnd + 1;
+    }
+
+    private static boolean isLineBreak(byte b) {
+        return b == '\n' || b == '\r';
+    }
+}
@@ -19,6 +19,7 @@ import gov.nysenate.openleg.processor.bill.BillXMLBillTextProcessor;
 import gov.nysenate.openleg.processor.calendar.ActiveListProcessor;
 import gov.nysenate.openleg.processor.calendar.CalendarProcessor;
 import gov.nysenate.openleg.processor.entity.CommitteeProcessor;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,12 +30,14 @@ import org.springframework.stereotype.Service;
 import javax.annotation.PostConstruct;
 import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Iterator;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 /**
  * This SobiProcessService implementation processes every type of sobi fragment.
@@ -44,8 +47,6 @@ public class ManagedSobiProcessService implements SobiProcessService
 {
     private static final Logger logger = LoggerFactory.getLogger(ManagedSobiProcessService.class);
 
-    private static final Pattern patchTagPattern = Pattern.compile("^\\s*</?PATCH>\\s*$");
-
     @Autowired private SobiDao sobiDao;
     @Autowired private EventBus eventBus;
     @Autowired private Environment env;
@@ -152,27 +153,8 @@ public class ManagedSobiProcessService implements SobiProcessService
     /** {@inheritDoc} */
     @Override
     public int processFragments(List<SobiFragment> fragments, SobiProcessOptions options) {
-        logger.debug((fragments.isEmpty()) ? "No more fragments to process"
-                                          : "Iterating through {} fragments", fragments.size());
-        for (SobiFragment fragment : fragments) {
-            // Hand off processing to specific implementations based on fragment type.
-            if (processorMap.containsKey(fragment.getType())) {
-                processorMap.get(fragment.getType()).process(fragment);
-            }
-            else {
-                logger.error("No processors have been registered to handle: " + fragment);
-            }
-            fragment.setProcessedCount(fragment.getProcessedCount() + 1);
-            fragment.setProcessedDateTime(LocalDateTime.now());
-        }
-        // Perform any necessary post-processing/cleanup
-        processorMap.values().forEach(p -> p.postProcess());
-        // Set the fragments as processed and update
-        fragments.forEach(f -> {
-            f.setPendingProcessing(false);
-            sobiDao.updateSobiFragment(f);
-        });
-
+        applyFragments(fragments);
+        markFragmentsProcessed(fragments);
         return fragments.size();
     }
 
@@ -182,6 +164,9 @@ public class ManagedSobiProcessService implements SobiProcessService
      */
     @Override
     public int processPendingFragments(SobiProcessOptions options) {
+        if (env.isSobiParallelEnabled()) {
+            return processPendingFragmentsPipelined(options);
+        }
         List<SobiFragment> fragments;
         int processCount = 0;
         do {
@@ -211,142 +196,95 @@ public class ManagedSobiProcessService implements SobiProcessService
     /** --- Internal Methods --- */
 
     /**
-     * Extracts a list of SobiFragments from the given SobiFile.
+     * Pipelined version of {@link #processPendingFragments(SobiProcessOptions)}. While a batch of fragments is
+     * being applied, the next batch is read from the backing store on a separate thread. The fragments in a batch
+     * are still applied in order, though the bill processor applies the updates for different bills concurrently
+     * in this mode.
      */
-    private List<SobiFragment> createFragments(SobiFile sobiFile) throws IOException {
-        List<SobiFragment> sobiFragments = new ArrayList<>();
-        StringBuilder billBuffer = new StringBuilder();
-
-        boolean isPatch = false;
-        StringBuilder patchMessage = new StringBuilder();
-
-        // Incrementing sequenceNo maintains the order in which the sobi fragments were
-        // found in the source sobiFile. However the sequence number for the bill fragment
-        // is always set to 0 to ensure that they are always processed first.
-        int sequenceNo = 1;
-
-        // Replace the null characters with spaces and split by newline.
-        List<String> lines = Arrays.asList(sobiFile.getText().replace('\0', ' ').split("\\r?\\n"));
-        Iterator<String> lineIterator = lines.iterator();
-        while (lineIterator.hasNext()) {
-            String line = lineIterator.next();
-            // Check for a patch tag indicating a manual fix
-            if (patchTagPattern.matcher(line).matches()) {
-                isPatch = true;
-                extractPatchMessage(lineIterator, patchMessage);
-            }
-            SobiFragmentType fragmentType = getFragmentTypeFromLine(line);
-            if (fragmentType != null) {
-                // Bill fragments are in the sobi format and appended into a single buffer
-                if (fragmentType.equals(SobiFragmentType.BILL)) {
-                    // Memos need to be converted to latin1 encoding
-                    if (line.charAt(11) == SobiLineType.SPONSOR_MEMO.getTypeCode()) {
-                        line = new String(line.getBytes(sobiFile.getEncoding()), "latin1");
-                    }
-                    line = line.replace((char)193, '°');
-                    billBuffer.append(line).append("\n");
-                }
-                // Other fragment types are in XML format. The iterator moves past the closing xml
-                // tag and the xml text is stored in the fragment.
-                else {
-                    String xmlText = extractXmlText(fragmentType, line, lineIterator);
-                    SobiFragment fragment = new SobiFragment(sobiFile, fragmentType, xmlText, sequenceNo++);
-                    sobiFragments.add(fragment);
+    private int processPendingFragmentsPipelined(SobiProcessOptions options) {
+        ImmutableSet<SobiFragmentType> allowedTypes = options.getAllowedFragmentTypes();
+        int batchSize = (env.isSobiBatchEnabled()) ? env.getSobiBatchSize() : 1;
+        ExecutorService reader = Executors.newSingleThreadExecutor(new OpenlegThreadFactory("sobi-reader"));
+        int processCount = 0;
+        try {
+            List<SobiFragment> fragments =
+                sobiDao.getPendingSobiFragments(allowedTypes, SortOrder.ASC, new LimitOffset(batchSize));
+            while (!fragments.isEmpty()) {
+                // The current batch is still pending while it is applied, so the next batch directly follows it.
+                final int nextOffset = fragments.size() + 1;
+                Future<List<SobiFragment>> nextBatch = reader.submit(() ->
+                    sobiDao.getPendingSobiFragments(allowedTypes, SortOrder.ASC, new LimitOffset(batchSize, nextOffset)));
+                applyFragments(fragments);
+                // Wait for the read to finish before marking the batch as processed so the offset remains valid.
+                List<SobiFragment> nextFragments = getFutureResult(nextBatch);
+                markFragmentsProcessed(fragments);
+                processCount += fragments.size();
+                if (!env.isProcessingEnabled()) {
+                    break;
                 }
+                Set<String> processedIds = fragments.stream().map(SobiFragment::getFragmentId).collect(toSet());
+                fragments = nextFragments.stream()
+                    .filter(f -> !processedIds.contains(f.getFragmentId()))
+                    .collect(toList());
             }
         }
-        // Convert the billBuffer into a single bill fragment (if applicable) with sequence no set to 0.
-        if (billBuffer.length() > 0) {
-            SobiFragment billFragment = new SobiFragment(sobiFile, SobiFragmentType.BILL, billBuffer.toString(), 0);
-            sobiFragments.add(billFragment);
+        finally {
+            reader.shutdownNow();
         }
-        // Set manual fix flag and add notes if this file was a patch
-        if (isPatch) {
-            String notes = patchMessage.toString();
-            sobiFragments.forEach(fragment -> {
-                fragment.setManualFix(true);
-                fragment.setManualFixNotes(notes);
-            });
-        }
-        return sobiFragments;
+        return processCount;
     }
 
-    /**
-     * Check the given SOBI line to determine if it matches the start of a SOBI Fragment type.
-     *
-     * @param line String
-     * @return SobiFragmentType or null if no match
-     */
-    private SobiFragmentType getFragmentTypeFromLine(String line) {
-        for (SobiFragmentType fragmentType : SobiFragmentType.values()) {
-            if (line.matches(fragmentType.getStartPattern())) {
-                return fragmentType;
+    private static <T> T getFutureResult(Future<T> future) {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading pending sobi fragments", ex);
+        }
+        catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
             }
+            throw new IllegalStateException("Failed to read pending sobi fragments", ex.getCause());
         }
-        return null;
     }
 
     /**
-     * Gets a patch sobi message from within a set of patch tags, appending it to the given string builder
-     * @param lineIterator Iterator<String>
-     * @param patchMessage StringBuilder
+     * Hands off each fragment to the processor registered for its type, then runs post-processing.
      */
-    private void extractPatchMessage(Iterator<String> lineIterator, StringBuilder patchMessage) {
-        while(lineIterator.hasNext()) {
-            String line = lineIterator.next();
-            if (patchTagPattern.matcher(line).matches()) {
-                return;
+    private void applyFragments(List<SobiFragment> fragments) {
+        logger.debug((fragments.isEmpty()) ? "No more fragments to process"
+                                          : "Iterating through {} fragments", fragments.size());
+        for (SobiFragment fragment : fragments) {
+            // Hand off processing to specific implementations based on fragment type.
+            if (processorMap.containsKey(fragment.getType())) {
+                processorMap.get(fragment.getType()).process(fragment);
             }
-            if (patchMessage.length() > 0) {
-                patchMessage.append("\n");
+            else {
+                logger.error("No processors have been registered to handle: " + fragment);
             }
-            patchMessage.append(line.trim());
+            fragment.setProcessedCount(fragment.getProcessedCount() + 1);
+            fragment.setProcessedDateTime(LocalDateTime.now());
         }
+        // Perform any necessary post-processing/cleanup
+        processorMap.values().forEach(p -> p.postProcess());
     }
 
     /**
-     * Extracts a well formed XML document from the lines and writes it to the given
-     * file. This depends strongly on escape sequences being on their own line; otherwise
-     * we'll get malformed XML docs.
-     *
-     * @param fragmentType SobiFragmentType
-     * @param line String - The starting line of the document
-     * @param iterator Iterator<String> - Current iterator from the sobi file's text body
-     *
-     * @return String - The resulting XML string.
-     * @throws java.io.IOException
+     * Set the fragments as processed and update.
      */
-    private String extractXmlText(SobiFragmentType fragmentType, String line, Iterator<String> iterator) throws IOException {
-        String endPattern = fragmentType.getEndPattern();
-        StringBuffer xmlBuffer = new StringBuffer(
-            "<?xml version='1.0' encoding='UTF-8'?>&newl;" +
-                "<SENATEDATA>&newl;" + line + "&newl;"
-        );
-        String in = null;
-        while (iterator.hasNext()) {
-            in = iterator.next();
-            xmlBuffer.append(in.replaceAll("\\xb9", "&sect;")).append("&newl;");
-            if (in.matches(endPattern)) {
-                break;
-            }
-        }
-        if (in == null) {
-            // This is bad, but don't throw an exception. If the resulting XML document
-            // is malformed we'll throw the exception during ingest.
-            logger.error("Unterminated XML document: " + line);
-        }
-        String xmlString = xmlBuffer.append("</SENATEDATA>").toString();
-
-        // TODO: Figure out this magic.
-        xmlBuffer = new StringBuffer();
-        Matcher m = Pattern.compile("<\\!\\[CDATA\\[(.*?)\\]\\]>").matcher(xmlString);
-        while(m.find()) {
-            m.appendReplacement(xmlBuffer, Matcher.quoteReplacement(m.group(0).replaceAll("&newl;", "").replaceAll("\\\\n","\n")));
-        }
-        m.appendTail(xmlBuffer);
+    private void markFragmentsProcessed(List<SobiFragment> fragments) {
+        fragments.forEach(f -> {
+            f.setPendingProcessing(false);
+            sobiDao.updateSobiFragment(f);
+        });
+    }
 
-        // TODO: Figure out this magic as well.
-        xmlString = xmlBuffer.toString().replaceAll("&newl;", "\n").replaceAll("(?!\n)\\p{Cntrl}","").replaceAll("(?!\\.{2})[ ]{2,}"," ");
-        return xmlString;
+    /**
+     * Extracts a list of SobiFragments from the given SobiFile.
+     */
+    private List<SobiFragment> createFragments(SobiFile sobiFile) throws IOException {
+        return new SobiFragmentSplitter(sobiFile).split();
     }
 }
@@ -0,0 +1,304 @@
+package gov.nysenate.openleg.processor.sobi;
+
+import gov.nysenate.openleg.model.sobi.SobiFile;
+import gov.nysenate.openleg.model.sobi.SobiFragment;
+import gov.nysenate.openleg.model.sobi.SobiFragmentType;
+import gov.nysenate.openleg.model.sobi.SobiLineType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits a SobiFile into SobiFragments in a single pass over the file. Lines are read incrementally
+ * from the file and classified using their leading characters and precompiled fragment type patterns,
+ * so the full text of the file is never held in memory as a single string.
+ *
+ * A splitter instance is not thread safe and should be used for a single file.
+ */
+public class SobiFragmentSplitter
+{
+    private static final Logger logger = LoggerFactory.getLogger(SobiFragmentSplitter.class);
+
+    private static final Pattern patchTagPattern = Pattern.compile("^\\s*</?PATCH>\\s*$");
+
+    private static final String XML_HEADER = "<?xml version='1.0' encoding='UTF-8'?>";
+    private static final String XML_ROOT_START = "<SENATEDATA>";
+    private static final String XML_ROOT_END = "</SENATEDATA>";
+    private static final String CDATA_START = "<![CDATA[";
+    private static final String CDATA_END = "]]>";
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final SobiFile sobiFile;
+
+    /** Reusable matchers for the start/end patterns of each fragment type. */
+    private final Map<SobiFragmentType, Matcher> startMatchers = new EnumMap<>(SobiFragmentType.class);
+    private final Map<SobiFragmentType, Matcher> endMatchers = new EnumMap<>(SobiFragmentType.class);
+    private final Matcher patchTagMatcher = patchTagPattern.matcher("");
+
+    /** Line reading state. */
+    private Reader reader;
+    private final char[] readBuffer = new char[READ_BUFFER_SIZE];
+    private int readPos = 0;
+    private int readLimit = 0;
+    private final StringBuilder lineBuilder = new StringBuilder(256);
+
+    public SobiFragmentSplitter(SobiFile sobiFile) {
+        this.sobiFile = sobiFile;
+        for (SobiFragmentType fragmentType : SobiFragmentType.values()) {
+            startMatchers.put(fragmentType, fragmentType.getStartRegex().matcher(""));
+            endMatchers.put(fragmentType, fragmentType.getEndRegex().matcher(""));
+        }
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Reads the sobi file and extracts its fragments.
+     *
+     * @return List<SobiFragment>
+     * @throws IOException if the file could not be read
+     */
+    public List<SobiFragment> split() throws IOException {
+        try (Reader fileReader = sobiFile.getReader()) {
+            return split(fileReader);
+        }
+    }
+
+    /**
+     * Extracts the fragments from the text supplied by the given reader. The reader is not closed.
+     * Bill lines are appended into a single bill fragment with sequence no 0 so that it is always
+     * processed first. XML fragments are numbered in the order they were found, starting with 1.
+     */
+    List<SobiFragment> split(Reader reader) throws IOException {
+        this.reader = reader;
+        this.readPos = this.readLimit = 0;
+        List<SobiFragment> sobiFragments = new ArrayList<>();
+        StringBuilder billBuffer = new StringBuilder();
+
+        boolean isPatch = false;
+        StringBuilder patchMessage = new StringBuilder();
+        int sequenceNo = 1;
+
+        String line;
+        while ((line = readLine()) != null) {
+            // Check for a patch tag indicating a manual fix
+            if (patchTagMatcher.reset(line).matches()) {
+                isPatch = true;
+                extractPatchMessage(patchMessage);
+            }
+            SobiFragmentType fragmentType = getFragmentType(line);
+            if (fragmentType == SobiFragmentType.BILL) {
+                // Memos need to be converted to latin1 encoding
+                if (line.charAt(11) == SobiLineType.SPONSOR_MEMO.getTypeCode()) {
+                    line = new String(line.getBytes(sobiFile.getEncoding()), "latin1");
+                }
+                billBuffer.append(line.replace((char) 193, '°')).append('\n');
+            }
+            else if (fragmentType != null) {
+                String xmlText = extractXmlText(fragmentType, line);
+                sobiFragments.add(new SobiFragment(sobiFile, fragmentType, xmlText, sequenceNo++));
+            }
+        }
+        if (billBuffer.length() > 0) {
+            sobiFragments.add(new SobiFragment(sobiFile, SobiFragmentType.BILL, billBuffer.toString(), 0));
+        }
+        if (isPatch) {
+            String notes = patchMessage.toString();
+            sobiFragments.forEach(fragment -> {
+                fragment.setManualFix(true);
+                fragment.setManualFixNotes(notes);
+            });
+        }
+        return sobiFragments;
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Determines the fragment type that the given line starts, or null if it doesn't start one.
+     * The first character is used to narrow the candidates before a pattern is evaluated; bill
+     * lines begin with the session year while all other fragments begin with an xml tag.
+     */
+    SobiFragmentType getFragmentType(String line) {
+        if (line.isEmpty()) {
+            return null;
+        }
+        char first = line.charAt(0);
+        if (first >= '0' && first <= '9') {
+            return startMatchers.get(SobiFragmentType.BILL).reset(line).matches() ? SobiFragmentType.BILL : null;
+        }
+        if (first == '<') {
+            for (Map.Entry<SobiFragmentType, Matcher> entry : startMatchers.entrySet()) {
+                if (entry.getKey().isXml() && entry.getValue().reset(line).matches()) {
+                    return entry.getKey();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets a patch sobi message from within a set of patch tags, appending it to the given string builder.
+     */
+    private void extractPatchMessage(StringBuilder patchMessage) throws IOException {
+        String line;
+        while ((line = readLine()) != null) {
+            if (patchTagMatcher.reset(line).matches()) {
+                return;
+            }
+            if (patchMessage.length() > 0) {
+                patchMessage.append("\n");
+            }
+            patchMessage.append(line.trim());
+        }
+    }
+
+    /**
+     * Reads lines up to and including the closing tag of the given fragment type and wraps them
+     * in a well formed XML document. The text is cleaned up as it is appended: line breaks within
+     * CDATA sections are removed and escaped newlines within them are expanded, control characters
+     * are dropped, repeated spaces are collapsed, and the section symbol is escaped.
+     * This depends on escape sequences being on their own line; otherwise we'll get malformed XML docs.
+     */
+    private String extractXmlText(SobiFragmentType fragmentType, String line) throws IOException {
+        XmlTextBuilder xml = new XmlTextBuilder();
+        xml.appendLine(XML_HEADER);
+        xml.appendLine(XML_ROOT_START);
+        xml.appendLine(line);
+        Matcher endMatcher = endMatchers.get(fragmentType);
+        boolean terminated = false;
+        // Blank lines are held back so that trailing blank lines at the end of the file are dropped
+        int blankLines = 0;
+        String in;
+        while ((in = readLine()) != null) {
+            if (in.isEmpty()) {
+                blankLines++;
+                continue;
+            }
+            for (; blankLines > 0; blankLines--) {
+                xml.appendLine("");
+            }
+            xml.appendLine(in);
+            if (endMatcher.reset(in).matches()) {
+                terminated = true;
+                break;
+            }
+        }
+        if (!terminated) {
+            // This is bad, but don't throw an exception. If the resulting XML document
+            // is malformed we'll throw the exception during ingest.
+            logger.error("Unterminated XML document: " + line);
+        }
+        return xml.append(XML_ROOT_END).toString();
+    }
+
+    /**
+     * Reads the next line, splitting on '\n' and dropping a preceding '\r'. Null characters
+     * are replaced with spaces. Returns null once the end of the input is reached.
+     */
+    private String readLine() throws IOException {
+        lineBuilder.setLength(0);
+        boolean sawData = false;
+        while (true) {
+            if (readPos >= readLimit) {
+                readLimit = reader.read(readBuffer, 0, readBuffer.length);
+                readPos = 0;
+                if (readLimit <= 0) {
+                    readLimit = 0;
+                    return sawData ? finishLine() : null;
+                }
+            }
+            sawData = true;
+            int start = readPos;
+            while (readPos < readLimit && readBuffer[readPos] != '\n') {
+                readPos++;
+            }
+            lineBuilder.append(readBuffer, start, readPos - start);
+            if (readPos < readLimit) {
+                readPos++; // Skip the newline
+                return finishLine();
+            }
+        }
+    }
+
+    private String finishLine() {
+        int length = lineBuilder.length();
+        if (length > 0 && lineBuilder.charAt(length - 1) == '\r') {
+            lineBuilder.setLength(length - 1);
+        }
+        return lineBuilder.toString().replace('\0', ' ');
+    }
+
+    /**
+     * Accumulates the text of an xml fragment, applying the character level cleanup in one pass.
+     */
+    private static class XmlTextBuilder
+    {
+        private final StringBuilder builder = new StringBuilder(4096);
+        private boolean inCdata = false;
+        private boolean lastWasSpace = false;
+
+        /** Appends a line of the source document followed by a line break. */
+        void appendLine(String line) {
+            append(line);
+            if (!inCdata) {
+                emit('\n');
+            }
+        }
+
+        XmlTextBuilder append(String text) {
+            int length = text.length();
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(i);
+                if (!inCdata && c == '<' && text.startsWith(CDATA_START, i)) {
+                    inCdata = true;
+                }
+                else if (inCdata && c == ']' && text.startsWith(CDATA_END, i)) {
+                    inCdata = false;
+                    emit(']'); emit(']'); emit('>');
+                    i += CDATA_END.length() - 1;
+                    continue;
+                }
+                else if (inCdata && c == '\\' && i + 1 < length && text.charAt(i + 1) == 'n') {
+                    emit('\n');
+                    i++;
+                    continue;
+                }
+                else if (c == '\u00b9') {
+                    builder.append("&sect;");
+                    lastWasSpace = false;
+                    continue;
+                }
+                emit(c);
+            }
+            return this;
+        }
+
+        private void emit(char c) {
+            if (c == ' ') {
+                if (!lastWasSpace) {
+                    builder.append(c);
+                    lastWasSpace = true;
+                }
+            }
+            else if (c == '\n' || (c >= '\u0020' && c != '\u007f')) {
+                builder.append(c);
+                lastWasSpace = false;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+}
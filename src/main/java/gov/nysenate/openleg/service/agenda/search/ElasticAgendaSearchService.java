@@ -33,6 +33,10 @@ import java.util.List;
 
 import static java.util.stream.Collectors.toList;
 
+/**
+ * Update events are handled synchronously. The posted agendas are the instances held in the agenda cache, which ingest
+ * keeps changing, so they are indexed on the posting thread rather than on an async dispatcher.
+ */
 @Service
 public class ElasticAgendaSearchService implements AgendaSearchService, IndexedSearchService<Agenda>
 {
@@ -19,6 +19,7 @@ import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.config.CacheConfiguration;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +32,7 @@ import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -51,6 +53,10 @@ public class CachedSqlApiUserService implements ApiUserService, CachingService<S
 //    private static final String apiUserCacheName = ;
     private EhCacheCache apiUserCache;
 
+    /** Api keys that do not belong to any user, remembered so that repeated requests skip the database. */
+    private final Set<String> unknownApiKeys = ConcurrentHashMap.newKeySet();
+    private static final int MAX_UNKNOWN_API_KEYS = 10000;
+
     private static final Logger logger = LoggerFactory.getLogger(CachedSqlApiUserService.class);
 
     @PostConstruct
@@ -101,6 +107,14 @@ public class CachedSqlApiUserService implements ApiUserService, CachingService<S
     @Override
     public void evictContent(String key) {
         apiUserCache.evict(key);
+        unknownApiKeys.remove(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void evictCaches() {
+        CachingService.super.evictCaches();
+        unknownApiKeys.clear();
     }
 
     @Override
@@ -146,6 +160,7 @@ public class CachedSqlApiUserService implements ApiUserService, CachingService<S
         newUser.setActive(true);
 
         apiUserDao.insertUser(newUser);
+        unknownApiKeys.remove(newUser.getApiKey());
         sendRegistrationEmail(newUser);
         return newUser;
     }
@@ -209,11 +224,15 @@ public class CachedSqlApiUserService implements ApiUserService, CachingService<S
     /**
      * Attempt to get an api user as an optional value
      * If the user does not exist in the cache, attempt to retrieve the user from the database
-     * Return an empty optional if it is not in the database
+     * Return an empty optional if it is not in the database. Keys that were not found are remembered
+     * so that subsequent lookups for them are answered from memory.
      * @param apiKey String
      * @return Optional<ApiUser>
      */
     public Optional<ApiUser> getUserByKey(String apiKey) {
+        if (StringUtils.isBlank(apiKey) || unknownApiKeys.contains(apiKey)) {
+            return Optional.empty();
+        }
         Optional<ApiUser> userOpt = getCachedApiUser(apiKey);
         if (userOpt.isPresent()) {
             return userOpt;
@@ -223,6 +242,10 @@ public class CachedSqlApiUserService implements ApiUserService, CachingService<S
             cacheApiUser(user);
             return Optional.of(user);
         } catch (EmptyResultDataAccessException ex) {
+            if (unknownApiKeys.size() >= MAX_UNKNOWN_API_KEYS) {
+                unknownApiKeys.clear();
+            }
+            unknownApiKeys.add(apiKey);
             return Optional.empty();
         }
     }
@@ -235,6 +258,7 @@ public class CachedSqlApiUserService implements ApiUserService, CachingService<S
     private void cacheApiUser(ApiUser apiUser) {
         if (apiUser != null) {
             apiUserCache.put(apiUser.getApiKey(), apiUser);
+            unknownApiKeys.remove(apiUser.getApiKey());
         }
     }
 
@@ -8,9 +8,13 @@ import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.bill.BillInfo;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.dao.DataAccessException;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -30,6 +34,17 @@ public interface BillDataService
      */
     public Bill getBill(BaseBillId billId) throws BillNotFoundEx;
 
+    /**
+     * Retrieve Bill instances for each of the given BillIds. The bills are loaded in bulk
+     * rather than one at a time, making this preferable to {@link #getBill(BaseBillId)} when
+     * many bills are needed at once. Cached bills are served from the cache and the remaining
+     * bills are loaded together. Bill ids that do not match a Bill are omitted from the result.
+     *
+     * @param billIds Collection<BaseBillId>
+     * @return List<Bill> - Ordered by the iteration order of 'billIds'
+     */
+    public List<Bill> getBills(Collection<BaseBillId> billIds);
+
     /**
      * Retrieve a BillInfo instance for the matching BillId. This contains
      * less information that the Bill for purposes of displaying in listings.
@@ -40,6 +55,26 @@ public interface BillDataService
      */
     public BillInfo getBillInfo(BaseBillId billId) throws BillNotFoundEx;
 
+    /**
+     * Retrieve BillInfo instances for each of the given BillIds. Cached infos are served from
+     * the cache and the remaining infos are loaded together, making this preferable to
+     * {@link #getBillInfo(BaseBillId)} for listings. Bill ids that do not match a Bill are omitted
+     * from the result.
+     *
+     * @param billIds Collection<BaseBillId>
+     * @return List<BillInfo> - Ordered by the iteration order of 'billIds'
+     */
+    public List<BillInfo> getBillInfos(Collection<BaseBillId> billIds);
+
+    /**
+     * Retrieve the modified date time for each of the given BillIds, i.e. the date time of the
+     * last processed change to the bill. Bill ids that do not match a Bill are omitted from the result.
+     *
+     * @param billIds Collection<BaseBillId>
+     * @return Map<BaseBillId, LocalDateTime>
+     */
+    public Map<BaseBillId, LocalDateTime> getModifiedDateTimes(Collection<BaseBillId> billIds);
+
     /**
      * Retrieves a BillInfo instance for the matching BillId. This contains
      * less information that the Bill for the purposes of displaying in listings.
@@ -83,6 +118,15 @@ public interface BillDataService
      */
     public void saveBill(Bill bill, SobiFragment fragment, boolean postUpdateEvent);
 
+    /**
+     * Saves a set of Bills in the persistence layer as a single bulk update.
+     *
+     * @param billUpdates Collection<Pair<Bill, SobiFragment>> - Bills paired with the fragment that triggered the update.
+     * @param postUpdateEvent boolean - Set to true if this method should post a BillUpdateEvent for each bill.
+     * @see #saveBill(Bill, SobiFragment, boolean)
+     */
+    public void saveBills(Collection<Pair<Bill, SobiFragment>> billUpdates, boolean postUpdateEvent);
+
     /**
      * Returns a closed Range containing the session years for which bill data exists.
      * If there are no bills in the database, an empty Optional will be returned instead.
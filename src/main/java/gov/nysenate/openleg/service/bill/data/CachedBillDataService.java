@@ -1,10 +1,12 @@
 package gov.nysenate.openleg.service.bill.data;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Range;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.dao.base.SqlTable;
 import gov.nysenate.openleg.dao.bill.data.BillDao;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.base.Version;
@@ -25,6 +27,7 @@ import net.sf.ehcache.Cache;
 import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.config.MemoryUnit;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,10 +39,16 @@ import org.springframework.stereotype.Service;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static java.util.stream.Collectors.toList;
+
 /**
  * Data service layer for retrieving and updating bill data. This implementation makes use of
  * in-memory caches to reduce the number of database queries involved in retrieving bill data.
@@ -53,6 +62,9 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     @Autowired private BillDao billDao;
     @Autowired private EventBus eventBus;
 
+    /** The maximum number of bills that are retrieved from the dao in a single bulk request. */
+    private static final int BULK_LOAD_BATCH_SIZE = 1000;
+
     @Value("${bill.cache.size}") private long billCacheSizeMb;
     @Value("${bill-info.cache.size}") private long billInfoCacheSizeMb;
 
@@ -84,10 +96,11 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     @Override
     public void setupCaches() {
         // Partial bill cache will store Bill instances with the full text fields stripped to save space.
+        // Each bill is held as a single compressed byte array (see CompactBill) so sizing an entry
+        // does not require walking the bill's object graph, only that of its small BillInfo.
         this.billCache = new Cache(new CacheConfiguration().name(ContentCache.BILL.name())
             .eternal(true)
-            .maxBytesLocalHeap(billCacheSizeMb, MemoryUnit.MEGABYTES)
-            .sizeOfPolicy(defaultSizeOfPolicy()));
+            .maxBytesLocalHeap(billCacheSizeMb, MemoryUnit.MEGABYTES));
         cacheManager.addCache(this.billCache);
         // This can only be called after the cache is added to the cache manager.
         this.billCache.setMemoryStoreEvictionPolicy(new BillCacheEvictionPolicy());
@@ -115,11 +128,13 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
             while (sessionYear.compareTo(sessionRange.get().upperEndpoint()) <= 0) {
                 if (sessionYear.equals(SessionYear.current())) {
                     logger.info("Caching Bill instances for current session year: {}", sessionYear);
-                    getBillIds(sessionYear, LimitOffset.ALL).forEach(id -> getBill(id));
+                    Lists.partition(getBillIds(sessionYear, LimitOffset.ALL), BULK_LOAD_BATCH_SIZE)
+                        .forEach(this::getBills);
                 }
                 else {
                     logger.info("Caching Bill Info instances for session year: {}", sessionYear);
-                    getBillIds(sessionYear, LimitOffset.ALL).forEach(id -> getBillInfo(id));
+                    Lists.partition(getBillIds(sessionYear, LimitOffset.ALL), BULK_LOAD_BATCH_SIZE)
+                        .forEach(this::getBillInfos);
                 }
                 sessionYear = sessionYear.next();
             }
@@ -170,9 +185,9 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
             throw new IllegalArgumentException("BillId cannot be null");
         }
         try {
-            Bill bill;
-            if (billCache.get(billId) != null) {
-                bill = constructBillFromCache(billId);
+            Bill bill = getCachedBill(billId);
+            if (bill != null) {
+                billDao.applyText(bill);
                 logger.debug("Cache hit for bill {}", bill);
             }
             else {
@@ -185,9 +200,44 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         catch (EmptyResultDataAccessException ex) {
             throw new BillNotFoundEx(billId, ex);
         }
-        catch (CloneNotSupportedException e) {
-            throw new CacheException("Failed to cache retrieved Bill: " + e.getMessage());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Bill> getBills(Collection<BaseBillId> billIds) {
+        if (billIds == null) {
+            throw new IllegalArgumentException("BillIds cannot be null");
+        }
+        Map<BaseBillId, Bill> bills = new HashMap<>();
+        List<Bill> cachedBills = new ArrayList<>();
+        List<BaseBillId> uncachedIds = new ArrayList<>();
+        for (BaseBillId billId : billIds) {
+            Bill cachedBill = getCachedBill(billId);
+            if (cachedBill != null) {
+                cachedBills.add(cachedBill);
+            }
+            else {
+                uncachedIds.add(billId);
+            }
+        }
+        logger.debug("Bulk bill fetch: {} cache hits, {} misses", cachedBills.size(), uncachedIds.size());
+        // Put the text back into the cached bills
+        for (List<Bill> batch : Lists.partition(cachedBills, BULK_LOAD_BATCH_SIZE)) {
+            billDao.applyText(batch);
+            batch.forEach(bill -> bills.put(bill.getBaseBillId(), bill));
         }
+        // Load the remaining bills from the dao
+        for (List<BaseBillId> batch : Lists.partition(uncachedIds, BULK_LOAD_BATCH_SIZE)) {
+            logger.debug("Fetching {} bills starting from {}..", batch.size(), batch.get(0));
+            billDao.getBills(batch).forEach((billId, bill) -> {
+                putStrippedBillInCache(bill);
+                bills.put(billId, bill);
+            });
+        }
+        return billIds.stream()
+            .filter(bills::containsKey)
+            .map(bills::get)
+            .collect(toList());
     }
 
     /** {@inheritDoc} */
@@ -197,11 +247,9 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         if (billId == null) {
             throw new IllegalArgumentException("BillId cannot be null");
         }
-        if (billCache.get(billId) != null) {
-            return new BillInfo((Bill) billCache.get(billId).getObjectValue());
-        }
-        if (billInfoCache.get(billId) != null) {
-            return (BillInfo) billInfoCache.get(billId).getObjectValue();
+        BillInfo cachedBillInfo = getCachedBillInfo(billId);
+        if (cachedBillInfo != null) {
+            return cachedBillInfo;
         }
         try {
             BillInfo billInfo = billDao.getBillInfo(billId);
@@ -213,6 +261,60 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public List<BillInfo> getBillInfos(Collection<BaseBillId> billIds) {
+        if (billIds == null) {
+            throw new IllegalArgumentException("BillIds cannot be null");
+        }
+        Map<BaseBillId, BillInfo> billInfos = new HashMap<>();
+        List<BaseBillId> uncachedIds = new ArrayList<>();
+        for (BaseBillId billId : billIds) {
+            BillInfo cachedBillInfo = getCachedBillInfo(billId);
+            if (cachedBillInfo != null) {
+                billInfos.put(billId, cachedBillInfo);
+            }
+            else {
+                uncachedIds.add(billId);
+            }
+        }
+        logger.debug("Bulk bill info fetch: {} cache hits, {} misses", billInfos.size(), uncachedIds.size());
+        for (List<BaseBillId> batch : Lists.partition(uncachedIds, BULK_LOAD_BATCH_SIZE)) {
+            billDao.getBillInfos(batch).forEach((billId, billInfo) -> {
+                billInfoCache.put(new Element(billId, billInfo));
+                billInfos.put(billId, billInfo);
+            });
+        }
+        return billIds.stream()
+            .filter(billInfos::containsKey)
+            .map(billInfos::get)
+            .collect(toList());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<BaseBillId, LocalDateTime> getModifiedDateTimes(Collection<BaseBillId> billIds) {
+        if (billIds == null) {
+            throw new IllegalArgumentException("BillIds cannot be null");
+        }
+        // Cached bills are replaced whenever a bill is saved, so their modified date times are current.
+        Map<BaseBillId, LocalDateTime> modifiedDateTimes = new HashMap<>();
+        List<BaseBillId> uncachedIds = new ArrayList<>();
+        for (BaseBillId billId : billIds) {
+            Element billElement = billCache.get(billId);
+            if (billElement != null) {
+                modifiedDateTimes.put(billId, ((CompactBill) billElement.getObjectValue()).getModifiedDateTime());
+            }
+            else {
+                uncachedIds.add(billId);
+            }
+        }
+        for (List<BaseBillId> batch : Lists.partition(uncachedIds, BULK_LOAD_BATCH_SIZE)) {
+            modifiedDateTimes.putAll(billDao.getModifiedDateTimes(batch));
+        }
+        return modifiedDateTimes;
+    }
+
     /** {@inheritDoc} */
     @Override
     public BillInfo getBillInfoSafe(BaseBillId billId) {
@@ -260,6 +362,18 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void saveBills(Collection<Pair<Bill, SobiFragment>> billUpdates, boolean postUpdateEvent) {
+        logger.debug("Persisting {} bills", billUpdates.size());
+        Map<SqlTable, Integer> rowCounts = billDao.updateBills(billUpdates);
+        logger.info("Persisted {} bills, rows written per table: {}", billUpdates.size(), rowCounts);
+        billUpdates.forEach(update -> putStrippedBillInCache(update.getLeft()));
+        if (postUpdateEvent) {
+            billUpdates.forEach(update -> eventBus.post(new BillUpdateEvent(update.getLeft(), LocalDateTime.now())));
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public Optional<Range<SessionYear>> activeSessionRange() {
@@ -285,18 +399,29 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     /** --- Internal Methods --- */
 
     /**
-     * Retrieves the bill from the cache. You must check that the bill exists prior to calling this
-     * method. The fulltext and memo are put back into a copy of the cached bill.
+     * Retrieves a copy of the bill from the cache. The fulltext and memo are not set on the returned bill.
+     *
+     * @param billId BaseBillId
+     * @return Bill - null if the bill is not cached
+     */
+    private Bill getCachedBill(BaseBillId billId) {
+        Element element = billCache.get(billId);
+        return (element != null) ? ((CompactBill) element.getObjectValue()).toBill() : null;
+    }
+
+    /**
+     * Retrieves the bill info from the bill cache, without decoding the bill, or from the bill info cache.
      *
      * @param billId BaseBillId
-     * @return Bill
-     * @throws CloneNotSupportedException
+     * @return BillInfo - null if neither the bill nor its info is cached
      */
-    private Bill constructBillFromCache(BaseBillId billId) throws CloneNotSupportedException {
-        Bill cachedBill = (Bill) billCache.get(billId).getObjectValue();
-        cachedBill = cachedBill.shallowClone();
-        billDao.applyText(cachedBill);
-        return cachedBill;
+    private BillInfo getCachedBillInfo(BaseBillId billId) {
+        Element billElement = billCache.get(billId);
+        if (billElement != null) {
+            return ((CompactBill) billElement.getObjectValue()).getBillInfo();
+        }
+        Element infoElement = billInfoCache.get(billId);
+        return (infoElement != null) ? (BillInfo) infoElement.getObjectValue() : null;
     }
 
     /**
@@ -312,11 +437,11 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
                     ba.setMemo("");
                     ba.setFullText("");
                 });
-                this.billCache.put(new Element(cacheBill.getBaseBillId(), cacheBill));
+                this.billCache.put(new Element(cacheBill.getBaseBillId(), CompactBill.of(cacheBill)));
                 // Remove entry from the bill info cache if it exists
                 this.billInfoCache.remove(cacheBill.getBaseBillId());
             }
-            catch (CloneNotSupportedException e) {
+            catch (CloneNotSupportedException | CacheException e) {
                 logger.error("Failed to cache bill!", e);
             }
         }
@@ -0,0 +1,105 @@
+package gov.nysenate.openleg.service.bill.data;
+
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillInfo;
+import net.sf.ehcache.CacheException;
+
+import java.io.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A bill stored as a single compressed byte array rather than as a large object graph. A compact bill
+ * is cheap to size and retain on the heap, and each call to {@link #toBill()} yields a fresh copy of the
+ * bill, so no cloning is necessary before handing it out. The BillInfo of the bill is kept alongside the
+ * blob so that bill listings can be served without decoding the bill.
+ */
+public class CompactBill implements Serializable
+{
+    private static final long serialVersionUID = -3920125566385024437L;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /** The serialized, deflated bill. */
+    private final byte[] data;
+
+    /** The modified date time of the bill, kept outside the blob for freshness checks. */
+    private final LocalDateTime modifiedDateTime;
+
+    /** The info of the bill, kept outside the blob for listings. Not serialized, see {@link #getBillInfo()}. */
+    private final transient BillInfo billInfo;
+
+    /** --- Constructors --- */
+
+    private CompactBill(byte[] data, LocalDateTime modifiedDateTime, BillInfo billInfo) {
+        this.data = data;
+        this.modifiedDateTime = modifiedDateTime;
+        this.billInfo = billInfo;
+    }
+
+    /**
+     * Serialize and compress the given bill.
+     *
+     * @param bill Bill
+     * @return CompactBill
+     * @throws CacheException if the bill could not be serialized
+     */
+    public static CompactBill of(Bill bill) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(BUFFER_SIZE);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (ObjectOutputStream out = new ObjectOutputStream(new DeflaterOutputStream(bytes, deflater, BUFFER_SIZE))) {
+            out.writeObject(bill);
+        }
+        catch (IOException ex) {
+            throw new CacheException("Failed to serialize bill " + bill.getBaseBillId(), ex);
+        }
+        finally {
+            deflater.end();
+        }
+        // The info must not share the lists that are modified as the bill is ingested
+        BillInfo billInfo = new BillInfo(bill);
+        billInfo.setMilestones(new ArrayList<>(bill.getMilestones()));
+        billInfo.setActions(new ArrayList<>(bill.getActions()));
+        return new CompactBill(bytes.toByteArray(), bill.getModifiedDateTime(), billInfo);
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Decompress and deserialize the bill.
+     *
+     * @return Bill - A new bill instance on every call
+     * @throws CacheException if the bill could not be deserialized
+     */
+    public Bill toBill() {
+        try (ObjectInputStream in = new ObjectInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+            return (Bill) in.readObject();
+        }
+        catch (IOException | ClassNotFoundException ex) {
+            throw new CacheException("Failed to deserialize bill", ex);
+        }
+    }
+
+    /**
+     * Get the info of the bill without decoding the bill. The same instance is returned on every call.
+     *
+     * @return BillInfo
+     */
+    public BillInfo getBillInfo() {
+        // The info is only missing if this compact bill was itself deserialized
+        return (billInfo != null) ? billInfo : new BillInfo(toBill());
+    }
+
+    /** --- Basic Getters --- */
+
+    public int getSize() {
+        return data.length;
+    }
+
+    public LocalDateTime getModifiedDateTime() {
+        return modifiedDateTime;
+    }
+}
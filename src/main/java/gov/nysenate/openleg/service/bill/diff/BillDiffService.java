@@ -0,0 +1,21 @@
+package gov.nysenate.openleg.service.bill.diff;
+
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.service.bill.data.BillAmendNotFoundEx;
+
+public interface BillDiffService
+{
+    /**
+     * Returns an html diff between the full texts of two amendments of the given bill.
+     * Diffs are cached by the texts they were computed from, so repeated requests for the
+     * same published amendments do not recompute the diff.
+     *
+     * @param bill Bill - A bill with its full text populated.
+     * @param version1 Version - The amendment to diff from.
+     * @param version2 Version - The amendment to diff to.
+     * @return String - The diff in html.
+     * @throws BillAmendNotFoundEx - If either amendment does not exist.
+     */
+    String getDiffHtml(Bill bill, Version version1, Version version2) throws BillAmendNotFoundEx;
+}
@@ -0,0 +1,416 @@
+package gov.nysenate.openleg.service.bill.diff;
+
+import com.google.common.base.Strings;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.hash.Hashing;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillAmendment;
+import gov.nysenate.openleg.model.cache.CacheEvictEvent;
+import gov.nysenate.openleg.model.cache.CacheEvictIdEvent;
+import gov.nysenate.openleg.model.cache.CacheWarmEvent;
+import gov.nysenate.openleg.model.cache.ContentCache;
+import gov.nysenate.openleg.service.base.data.CachingService;
+import gov.nysenate.openleg.service.bill.data.BillAmendNotFoundEx;
+import gov.nysenate.openleg.service.bill.data.BillDataService;
+import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.util.BillTextUtils;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
+import gov.nysenate.openleg.util.StringDiffer;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.MemoryUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Computes html diffs between bill amendments and caches them in memory and on local disk.
+ *
+ * Each diff is keyed by the bill, the two versions and a hash of each amendment's text, so a cached diff
+ * is reused for as long as both texts stay the same. Only the latest diff for a pair of amendments is
+ * kept on disk. When a bill update changes the text of an amendment, the diff against the previous
+ * amendment is computed in the background.
+ *
+ * Diffs requested by clients are computed with a time limit (see {@link StringDiffer#Diff_Timeout}). Once
+ * the limit is reached the differ settles for a coarser but still valid diff, so a pathological pair of texts
+ * cannot tie up a request thread. A diff that ran up to the limit is only cached in memory, and the exact
+ * diff is computed in the background without a limit to replace it.
+ */
+@Service
+public class CachedBillDiffService implements BillDiffService, CachingService<BaseBillId>
+{
+    private static final Logger logger = LoggerFactory.getLogger(CachedBillDiffService.class);
+
+    /** Appended to the key of a diff that may be coarse because it was cut off by the time limit. */
+    private static final String COARSE_SUFFIX = "-coarse";
+
+    @Autowired EventBus eventBus;
+    @Autowired CacheManager cacheManager;
+    @Autowired private BillDataService billDataService;
+
+    /** The directory where computed diffs are stored. */
+    @Value("${bill.diff.cache.dir:${env.base}/diff-cache}") String cacheDirPath;
+
+    /** Size of the in memory diff cache in MB. */
+    @Value("${bill-diff.cache.size:20}") private long diffCacheSizeMb;
+
+    /** Time limit for computing a diff on a request thread. A value of 0 or less disables the limit. */
+    @Value("${bill.diff.timeout.ms:2000}") long diffTimeoutMs;
+
+    /** Texts longer than this many characters are split into chunks that are diffed in parallel. */
+    @Value("${bill.diff.parallel.threshold:50000}") int parallelThreshold;
+
+    /** Compute diffs against the previous amendment in the background when new text is received. */
+    @Value("${bill.diff.precompute.enabled:true}") boolean precomputeEnabled;
+
+    /** The maximum number of bills that can be waiting to have their diffs precomputed. */
+    @Value("${bill.diff.precompute.queue.size:1000}") int precomputeQueueSize;
+
+    private File cacheDir;
+    Cache diffCache;
+    private ThreadPoolExecutor precomputeExecutor;
+
+    /** Bills that are currently queued for precomputation, to avoid queueing duplicates. */
+    private final Set<BaseBillId> pendingBills = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() throws IOException {
+        cacheDir = new File(cacheDirPath);
+        Files.createDirectories(cacheDir.toPath());
+        setupCaches();
+        precomputeExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(precomputeQueueSize), new OpenlegThreadFactory("bill-diff"));
+        eventBus.register(this);
+    }
+
+    @PreDestroy
+    public void cleanUp() {
+        precomputeExecutor.shutdownNow();
+        evictCaches();
+        cacheManager.removeCache(ContentCache.BILL_DIFF.name());
+    }
+
+    /** --- BillDiffService implementation --- */
+
+    /** {@inheritDoc} */
+    @Override
+    public String getDiffHtml(Bill bill, Version version1, Version version2) throws BillAmendNotFoundEx {
+        BillAmendment amendment1 = bill.getAmendment(version1);
+        BillAmendment amendment2 = bill.getAmendment(version2);
+        String key = getDiffKey(bill.getBaseBillId(), amendment1, amendment2);
+
+        Element element = diffCache.get(key);
+        if (element != null) {
+            return (String) element.getObjectValue();
+        }
+        File diffFile = getDiffFile(bill.getBaseBillId(), key);
+        String diffHtml = readDiff(diffFile);
+        if (diffHtml != null) {
+            diffCache.put(new Element(key, diffHtml));
+            return diffHtml;
+        }
+        Element coarseElement = diffCache.get(key + COARSE_SUFFIX);
+        if (coarseElement != null) {
+            return (String) coarseElement.getObjectValue();
+        }
+        long startTime = System.currentTimeMillis();
+        diffHtml = computeDiffHtml(getFormattedText(bill, amendment1), getFormattedText(bill, amendment2), diffTimeoutMs);
+        if (diffTimeoutMs > 0 && System.currentTimeMillis() - startTime >= diffTimeoutMs) {
+            logger.debug("Diff of {} reached the time limit, computing the exact diff in the background", key);
+            diffCache.put(new Element(key + COARSE_SUFFIX, diffHtml));
+            if (precomputeEnabled) {
+                queuePrecompute(bill.getBaseBillId());
+            }
+        }
+        else {
+            storeDiff(diffFile, getPairKey(bill.getBaseBillId(), version1, version2), key, diffHtml);
+        }
+        return diffHtml;
+    }
+
+    /** --- CachingService implementation --- */
+
+    /** {@inheritDoc} */
+    @Override
+    public void setupCaches() {
+        this.diffCache = new Cache(new CacheConfiguration().name(ContentCache.BILL_DIFF.name())
+            .eternal(true)
+            .maxBytesLocalHeap(diffCacheSizeMb, MemoryUnit.MEGABYTES)
+            .sizeOfPolicy(defaultSizeOfPolicy()));
+        cacheManager.addCache(this.diffCache);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Ehcache> getCaches() {
+        return Collections.singletonList(diffCache);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void evictContent(BaseBillId baseBillId) {
+        String prefix = getBillPrefix(baseBillId);
+        for (Object key : diffCache.getKeys()) {
+            if (key.toString().startsWith(prefix)) {
+                diffCache.remove(key);
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheEvictEvent(CacheEvictEvent evictEvent) {
+        if (evictEvent.affects(ContentCache.BILL_DIFF)) {
+            evictCaches();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheEvictIdEvent(CacheEvictIdEvent<BaseBillId> evictIdEvent) {
+        if (evictIdEvent.affects(ContentCache.BILL_DIFF)) {
+            evictContent(evictIdEvent.getContentId());
+        }
+    }
+
+    /**
+     * Diffs are loaded from disk or computed as they are requested, so warming just clears the memory cache.
+     */
+    @Override
+    public void warmCaches() {
+        evictCaches();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheWarmEvent(CacheWarmEvent warmEvent) {
+        if (warmEvent.affects(ContentCache.BILL_DIFF)) {
+            warmCaches();
+        }
+    }
+
+    /** --- Event Handlers --- */
+
+    @Subscribe
+    public void handleBillUpdate(BillUpdateEvent event) {
+        if (precomputeEnabled && event.getBill() != null) {
+            queuePrecompute(event.getBill());
+        }
+    }
+
+    @Subscribe
+    public void handleBulkBillUpdate(BulkBillUpdateEvent event) {
+        if (precomputeEnabled && event.getBills() != null) {
+            event.getBills().forEach(this::queuePrecompute);
+        }
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Queues the bill to have the diff between each amendment and the one before it computed, unless
+     * all of those diffs are already stored.
+     */
+    private void queuePrecompute(Bill bill) {
+        if (bill.getAmendmentMap().size() >= 2 && needsPrecompute(bill)) {
+            queuePrecompute(bill.getBaseBillId());
+        }
+    }
+
+    /**
+     * Queues the bill to have its diffs precomputed. The bill is retrieved again when the task runs so that
+     * its full text is available. If the queue is full the diffs are computed on the first request instead.
+     */
+    private void queuePrecompute(BaseBillId baseBillId) {
+        if (!pendingBills.add(baseBillId)) {
+            return;
+        }
+        try {
+            precomputeExecutor.execute(() -> {
+                pendingBills.remove(baseBillId);
+                try {
+                    precomputeDiffs(billDataService.getBill(baseBillId));
+                }
+                catch (Exception ex) {
+                    logger.warn("Failed to precompute amendment diffs for {}", baseBillId, ex);
+                }
+            });
+        }
+        catch (RejectedExecutionException ex) {
+            pendingBills.remove(baseBillId);
+            logger.debug("Bill diff precompute queue is full, skipping {}", baseBillId);
+        }
+    }
+
+    /**
+     * Computes and stores the exact diff, without a time limit, between each amendment and the one before it
+     * that has not been stored yet.
+     */
+    void precomputeDiffs(Bill bill) {
+        for (BillAmendment[] pair : getPrecomputePairs(bill)) {
+            String key = getDiffKey(bill.getBaseBillId(), pair[0], pair[1]);
+            File diffFile = getDiffFile(bill.getBaseBillId(), key);
+            if (!isStored(key, diffFile)) {
+                String diffHtml = computeDiffHtml(getFormattedText(bill, pair[0]), getFormattedText(bill, pair[1]), 0);
+                storeDiff(diffFile, getPairKey(bill.getBaseBillId(), pair[0].getVersion(), pair[1].getVersion()),
+                          key, diffHtml);
+            }
+        }
+    }
+
+    /**
+     * Checks if any of the diffs between an amendment and the one before it have not been stored yet.
+     */
+    boolean needsPrecompute(Bill bill) {
+        return getPrecomputePairs(bill).stream().anyMatch(pair -> {
+            String key = getDiffKey(bill.getBaseBillId(), pair[0], pair[1]);
+            return !isStored(key, getDiffFile(bill.getBaseBillId(), key));
+        });
+    }
+
+    /**
+     * Returns each amendment with text paired with the amendment before it, if that one has text as well.
+     */
+    private static List<BillAmendment[]> getPrecomputePairs(Bill bill) {
+        List<BillAmendment[]> pairs = new ArrayList<>();
+        BillAmendment previous = null;
+        for (BillAmendment amendment : new TreeMap<>(bill.getAmendmentMap()).values()) {
+            if (previous != null && StringUtils.isNotBlank(previous.getFullText())
+                    && StringUtils.isNotBlank(amendment.getFullText())) {
+                pairs.add(new BillAmendment[] {previous, amendment});
+            }
+            previous = amendment;
+        }
+        return pairs;
+    }
+
+    /**
+     * Exact diffs are cached in memory and on disk, while coarse ones are only cached in memory.
+     */
+    private boolean isStored(String key, File diffFile) {
+        return diffCache.isKeyInCache(key) || diffFile.isFile();
+    }
+
+    private void storeDiff(File diffFile, String pairKey, String key, String diffHtml) {
+        writeDiff(diffFile, pairKey, diffHtml);
+        diffCache.put(new Element(key, diffHtml));
+        diffCache.remove(key + COARSE_SUFFIX);
+    }
+
+    /**
+     * Runs the diff and its cleanup passes, and renders the result as html. Long texts, such as those of
+     * the budget bills, are diffed in parallel chunks.
+     *
+     * @param timeoutMs long - Time limit for the diff, 0 or less for no limit.
+     */
+    String computeDiffHtml(String text1, String text2, long timeoutMs) {
+        StringDiffer stringDiffer = new StringDiffer();
+        stringDiffer.Diff_Timeout = Math.max(timeoutMs, 0) / 1000f;
+        LinkedList<StringDiffer.Diff> diffs = Math.max(text1.length(), text2.length()) > parallelThreshold
+            ? stringDiffer.diff_parallel(text1, text2)
+            : stringDiffer.diff_main(text1, text2);
+        stringDiffer.diff_cleanupEfficiency(diffs);
+        stringDiffer.diff_cleanupSemantic(diffs);
+        stringDiffer.diff_cleanupMerge(diffs);
+        return stringDiffer.diff_prettyHtml(diffs).replace("&para;", " ");
+    }
+
+    private String readDiff(File diffFile) {
+        if (diffFile.isFile()) {
+            try {
+                return new String(Files.readAllBytes(diffFile.toPath()), StandardCharsets.UTF_8);
+            }
+            catch (IOException ex) {
+                logger.warn("Failed to read cached bill diff {}", diffFile, ex);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes the diff to a temp file that is then moved into place, and removes the diffs that were
+     * previously stored for the same pair of amendments. Failures are logged since the diff can always
+     * be computed again.
+     */
+    private void writeDiff(File diffFile, String pairKey, String diffHtml) {
+        File dir = diffFile.getParentFile();
+        try {
+            Files.createDirectories(dir.toPath());
+            Path tempFile = Files.createTempFile(dir.toPath(), pairKey, ".tmp");
+            try {
+                Files.write(tempFile, diffHtml.getBytes(StandardCharsets.UTF_8));
+                Files.move(tempFile, diffFile.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                           StandardCopyOption.REPLACE_EXISTING);
+            }
+            finally {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+        catch (IOException ex) {
+            logger.warn("Failed to store bill diff {}", diffFile, ex);
+            return;
+        }
+        File[] staleFiles = dir.listFiles((d, fileName) ->
+            fileName.startsWith(pairKey + "-") && fileName.endsWith(".html") && !fileName.equals(diffFile.getName()));
+        if (staleFiles != null) {
+            for (File staleFile : staleFiles) {
+                if (!staleFile.delete()) {
+                    logger.warn("Failed to delete stale bill diff {}", staleFile);
+                }
+            }
+        }
+    }
+
+    private File getDiffFile(BaseBillId baseBillId, String key) {
+        return new File(new File(cacheDir, Integer.toString(baseBillId.getSession().getYear())), key + ".html");
+    }
+
+    /**
+     * The key of the diff between two amendments. The raw texts are hashed rather than the formatted ones,
+     * so that the key can be checked without formatting the texts.
+     */
+    static String getDiffKey(BaseBillId baseBillId, BillAmendment amendment1, BillAmendment amendment2) {
+        return getPairKey(baseBillId, amendment1.getVersion(), amendment2.getVersion()) + "-" +
+               hash(Strings.nullToEmpty(amendment1.getFullText())) + hash(Strings.nullToEmpty(amendment2.getFullText()));
+    }
+
+    private static String getFormattedText(Bill bill, BillAmendment amendment) {
+        return BillTextUtils.formatBillText(bill.isResolution(), amendment.getFullText());
+    }
+
+    private static String getBillPrefix(BaseBillId baseBillId) {
+        return baseBillId.getBasePrintNo() + "-" + baseBillId.getSession().getYear() + "-";
+    }
+
+    private static String getPairKey(BaseBillId baseBillId, Version version1, Version version2) {
+        return getBillPrefix(baseBillId) + version1.name() + "-" + version2.name();
+    }
+
+    private static String hash(String text) {
+        return Hashing.murmur3_128().hashString(text, StandardCharsets.UTF_8).toString().substring(0, 16);
+    }
+}
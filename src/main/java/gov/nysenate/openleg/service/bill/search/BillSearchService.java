@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.service.bill.search;
 
+import gov.nysenate.openleg.client.view.bill.BillInfoView;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.BaseBillId;
@@ -39,6 +40,35 @@ public interface BillSearchService
     public SearchResults<BaseBillId> searchBills(String query, SessionYear session, String sort, LimitOffset limOff)
         throws SearchException;
 
+    /**
+     * Performs a search across all bill data, reading the bill infos directly from the index.
+     *
+     * @see #searchBillInfos(String, SessionYear, String, gov.nysenate.openleg.dao.base.LimitOffset)
+     */
+    public SearchResults<BillInfoView> searchBillInfos(String query, String sort, LimitOffset limOff) throws SearchException;
+
+    /**
+     * Matches all bills for the given session year, reading the bill infos directly from the index.
+     *
+     * @see #searchBillInfos(String, SessionYear, String, gov.nysenate.openleg.dao.base.LimitOffset)
+     */
+    public SearchResults<BillInfoView> searchBillInfos(SessionYear session, String sort, LimitOffset limOff) throws SearchException;
+
+    /**
+     * Performs search across bills in a given session year. Rather than returning just the ids, the bill
+     * infos are read from the indexed documents. Any document that is older than the bill's last processed
+     * change is replaced with a bill info from the data service.
+     *
+     * @param query String - General search term
+     * @param session SessionYear - Filter by session year
+     * @param sort String - Sort by field(s)
+     * @param limOff LimitOffset - Restrict the result set.
+     * @return SearchResults<BillInfoView>
+     * @throws SearchException
+     */
+    public SearchResults<BillInfoView> searchBillInfos(String query, SessionYear session, String sort, LimitOffset limOff)
+        throws SearchException;
+
     /**
      * Handle a bill update event by indexing the supplied bill in the update.
      *
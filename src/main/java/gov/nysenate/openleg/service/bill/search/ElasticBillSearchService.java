@@ -1,11 +1,13 @@
 package gov.nysenate.openleg.service.bill.search;
 
-import com.google.common.collect.Range;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.client.view.bill.BillInfoView;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SearchIndex;
+import gov.nysenate.openleg.dao.bill.data.BillDao;
 import gov.nysenate.openleg.dao.bill.search.ElasticBillSearchDao;
+import gov.nysenate.openleg.dao.bill.search.IndexedBillInfo;
 import gov.nysenate.openleg.config.Environment;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.BaseBillId;
@@ -15,8 +17,11 @@ import gov.nysenate.openleg.model.search.*;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
+import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
 import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
 import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.service.event.AsyncSubscriber;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.index.query.*;
 import org.elasticsearch.search.SearchParseException;
@@ -24,18 +29,22 @@ import org.elasticsearch.search.rescore.RescoreBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
-import java.time.LocalDate;
-import java.util.Collection;
-import java.util.List;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 @Service
+@AsyncSubscriber
 public class ElasticBillSearchService implements BillSearchService, IndexedSearchService<Bill>
 {
     private static final Logger logger = LoggerFactory.getLogger(ElasticBillSearchService.class);
@@ -44,6 +53,17 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
     @Autowired protected EventBus eventBus;
     @Autowired protected ElasticBillSearchDao billSearchDao;
     @Autowired protected BillDataService billDataService;
+    @Autowired protected BillDao billDao;
+
+    /** Number of bills loaded and written per bulk request when rebuilding the index. */
+    @Value("${elastic.reindex.batch.size:500}") int reindexBatchSize;
+
+    /** Number of concurrent workers that load, serialize and write bills when rebuilding the index. */
+    @Value("${elastic.reindex.threads:4}") int reindexThreads;
+
+    /** Ids of the bills updated while the index is being rebuilt. */
+    private final Set<BaseBillId> rebuildUpdates = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding = false;
 
     @PostConstruct
     protected void init() {
@@ -55,31 +75,38 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
     /** {@inheritDoc} */
     @Override
     public SearchResults<BaseBillId> searchBills(SessionYear session, String sort, LimitOffset limOff) throws SearchException {
-        return searchBills(
-            QueryBuilders.boolQuery()
-                    .must(QueryBuilders.matchAllQuery())
-                    .filter(QueryBuilders.termQuery("session", session.getYear())),
-            null, null, sort, limOff);
+        return searchBills(getSessionQuery(session), null, null, sort, limOff);
     }
 
     /** {@inheritDoc} */
     @Override
     public SearchResults<BaseBillId> searchBills(String query, String sort, LimitOffset limOff) throws SearchException {
-        query = smartSearch(query);
-        QueryBuilder queryBuilder = QueryBuilders.queryStringQuery(query);
-        return searchBills(queryBuilder, null, null, sort, limOff);
+        return searchBills(QueryBuilders.queryStringQuery(smartSearch(query)), null, null, sort, limOff);
     }
 
     /** {@inheritDoc} */
     @Override
     public SearchResults<BaseBillId> searchBills(String query, SessionYear session, String sort, LimitOffset limOff) throws SearchException {
-        query = smartSearch(query);
-        TermQueryBuilder sessionFilter = QueryBuilders.termQuery("session", session.getYear());
-        return searchBills(
-            QueryBuilders.boolQuery()
-                    .must(QueryBuilders.queryStringQuery(query))
-                    .filter(sessionFilter),
-                null, null, sort, limOff);
+        return searchBills(getSessionQuery(query, session), null, null, sort, limOff);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SearchResults<BillInfoView> searchBillInfos(String query, String sort, LimitOffset limOff) throws SearchException {
+        return searchBillInfos(QueryBuilders.queryStringQuery(smartSearch(query)), null, null, sort, limOff);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SearchResults<BillInfoView> searchBillInfos(SessionYear session, String sort, LimitOffset limOff) throws SearchException {
+        return searchBillInfos(getSessionQuery(session), null, null, sort, limOff);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SearchResults<BillInfoView> searchBillInfos(String query, SessionYear session, String sort, LimitOffset limOff)
+            throws SearchException {
+        return searchBillInfos(getSessionQuery(query, session), null, null, sort, limOff);
     }
 
     /**
@@ -101,6 +128,66 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
         }
     }
 
+    /**
+     * Reads the bill infos from the index via the bill search dao. Indexed documents that are older than
+     * the bill's last processed change are replaced with bill infos from the data service. Indexed documents
+     * for bills that are no longer in the backing store are never served, a BillNotFoundEx is thrown instead.
+     */
+    private SearchResults<BillInfoView> searchBillInfos(QueryBuilder query, QueryBuilder postFilter,
+                                                        RescoreBuilder.Rescorer rescorer, String sort, LimitOffset limOff)
+        throws SearchException {
+        if (limOff == null) limOff = LimitOffset.TEN;
+        SearchResults<IndexedBillInfo> results;
+        try {
+            results = billSearchDao.searchBillInfos(query, postFilter, rescorer,
+                    ElasticSearchServiceUtils.extractSortBuilders(sort), limOff);
+        }
+        catch (SearchParseException ex) {
+            throw new SearchException("Invalid query string", ex);
+        }
+        catch (ElasticsearchException ex) {
+            throw new UnexpectedSearchException(ex);
+        }
+        List<BaseBillId> billIds = results.getResults().stream()
+            .map(r -> r.getResult().getBaseBillId())
+            .collect(toList());
+        Map<BaseBillId, LocalDateTime> modifiedDateTimes = billDataService.getModifiedDateTimes(billIds);
+        Set<BaseBillId> staleIds = results.getResults().stream()
+            .map(SearchResult::getResult)
+            .filter(info -> !info.isFresh(modifiedDateTimes.get(info.getBaseBillId())))
+            .map(IndexedBillInfo::getBaseBillId)
+            .collect(toSet());
+        Map<BaseBillId, BillInfoView> freshViews = new HashMap<>();
+        if (!staleIds.isEmpty()) {
+            logger.debug("{} of {} indexed bill infos are stale, fetching them from the data service",
+                         staleIds.size(), billIds.size());
+            billDataService.getBillInfos(staleIds)
+                .forEach(bi -> freshViews.put(BaseBillId.of(bi.getBillId()), new BillInfoView(bi)));
+        }
+        List<SearchResult<BillInfoView>> infoResults = new ArrayList<>();
+        for (SearchResult<IndexedBillInfo> result : results.getResults()) {
+            BaseBillId billId = result.getResult().getBaseBillId();
+            BillInfoView view = staleIds.contains(billId) ? freshViews.get(billId) : result.getResult().getBillInfoView();
+            if (view == null) {
+                throw new BillNotFoundEx(billId, null);
+            }
+            infoResults.add(new SearchResult<>(view, result.getRank(), result.getHighlights()));
+        }
+        return new SearchResults<>(results.getTotalResults(), infoResults, results.getLimitOffset());
+    }
+
+    private QueryBuilder getSessionQuery(SessionYear session) {
+        return QueryBuilders.boolQuery()
+                .must(QueryBuilders.matchAllQuery())
+                .filter(QueryBuilders.termQuery("session", session.getYear()));
+    }
+
+    private QueryBuilder getSessionQuery(String query, SessionYear session) {
+        return QueryBuilders.boolQuery()
+                .must(QueryBuilders.queryStringQuery(smartSearch(query)))
+                .filter(QueryBuilders.termQuery("session", session.getYear()));
+    }
+
     private String smartSearch(String query) {
         if (query != null && !query.contains(":")) {
             Matcher matcher = BillId.billIdPattern.matcher(query.replaceAll("\\s", ""));
@@ -112,21 +199,40 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
         return query;
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     *
+     * Events are delivered on this service's own thread while ingest may still be changing the posted bill,
+     * so the bill is read again by id and the saved copy is indexed.
+     */
     @Override
     @Subscribe
     public void handleBillUpdate(BillUpdateEvent billUpdateEvent) {
         if (billUpdateEvent.getBill() != null) {
-            updateIndex(billUpdateEvent.getBill());
+            BaseBillId baseBillId = billUpdateEvent.getBill().getBaseBillId();
+            try {
+                updateIndex(billDataService.getBill(baseBillId));
+            }
+            catch (BillNotFoundEx ex) {
+                logger.warn("Updated bill {} could not be found, it was not indexed.", baseBillId);
+            }
         }
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     *
+     * As with single updates, the saved copies of the posted bills are indexed.
+     */
     @Override
     @Subscribe
     public void handleBulkBillUpdate(BulkBillUpdateEvent bulkBillUpdateEvent) {
         if (bulkBillUpdateEvent.getBills() != null) {
-            updateIndex(bulkBillUpdateEvent.getBills());
+            List<BaseBillId> baseBillIds = bulkBillUpdateEvent.getBills().stream()
+                .filter(Objects::nonNull)
+                .map(Bill::getBaseBillId)
+                .collect(toList());
+            updateIndex(billDataService.getBills(baseBillIds));
         }
     }
 
@@ -135,6 +241,9 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
     /** {@inheritDoc} */
     @Override
     public void updateIndex(Bill bill) {
+        if (rebuilding && bill != null) {
+            rebuildUpdates.add(bill.getBaseBillId());
+        }
         if (env.isElasticIndexing()) {
             if (isBillIndexable(bill)) {
                 logger.info("Indexing bill {} into elastic search.", bill.getBaseBillId());
@@ -150,6 +259,9 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
     /** {@inheritDoc} */
     @Override
     public void updateIndex(Collection<Bill> bills) {
+        if (rebuilding) {
+            bills.stream().filter(Objects::nonNull).forEach(bill -> rebuildUpdates.add(bill.getBaseBillId()));
+        }
         if (env.isElasticIndexing() && !bills.isEmpty()) {
             List<Bill> indexableBills = bills.stream()
                 .filter(b -> isBillIndexable(b))
@@ -176,28 +288,44 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
         billSearchDao.createIndices();
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     *
+     * The bills are written into a new version of the index while the current one keeps serving searches.
+     * Bill ids are paged using keyset pagination and each page is handed to a pool of workers that load the
+     * bills straight from the dao (bypassing the bill cache), serialize them and write them in a bulk request.
+     * Once every page is written the index alias is switched over to the new index, and any bills that were
+     * updated during the rebuild are indexed again so their changes are not lost with the old index.
+     */
     @Override
-    public void rebuildIndex() {
-        clearIndex();
-        Optional<Range<SessionYear>> sessions = billDataService.activeSessionRange();
-        if (sessions.isPresent()) {
-            SessionYear session = sessions.get().lowerEndpoint();
-            while (session.getSessionStartYear() <= LocalDate.now().getYear()) {
-                LimitOffset limOff = LimitOffset.THOUSAND;
-                List<BaseBillId> billIds = billDataService.getBillIds(session, limOff);
-                while (!billIds.isEmpty()) {
-                    logger.info("Indexing {} bills starting from {}", billIds.size(), billIds.get(0));
-                    updateIndex(billIds.stream().map(id -> billDataService.getBill(id)).collect(toList()));
-                    limOff = limOff.next();
-                    billIds = billDataService.getBillIds(session, limOff);
-                }
-                session = session.next();
+    public synchronized void rebuildIndex() {
+        String indexName = billSearchDao.createBillIndexVersion();
+        logger.info("Rebuilding bill index into {} using {} threads", indexName, reindexThreads);
+        rebuildUpdates.clear();
+        rebuilding = true;
+        ExecutorService reindexExecutor =
+            Executors.newFixedThreadPool(reindexThreads, new OpenlegThreadFactory("bill-reindex"));
+        try {
+            int indexedCount = writeBillIndexVersion(indexName, reindexExecutor);
+            billSearchDao.activateBillIndexVersion(indexName);
+            logger.info("Rebuilt bill index with {} bills", indexedCount);
+        }
+        catch (InterruptedException | RuntimeException ex) {
+            reindexExecutor.shutdownNow();
+            billSearchDao.deleteBillIndexVersion(indexName);
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
             }
+            throw new ElasticsearchException("Bill index rebuild failed, the existing index was kept", ex);
         }
-        else {
-            logger.info("Can't rebuild the bill search index because there are no bills. Clearing it instead!");
-            clearIndex();
+        finally {
+            rebuilding = false;
+        }
+        List<BaseBillId> updatedBillIds = new ArrayList<>(rebuildUpdates);
+        rebuildUpdates.clear();
+        if (!updatedBillIds.isEmpty()) {
+            logger.info("Re-indexing {} bills that were updated during the rebuild", updatedBillIds.size());
+            updateIndex(billDataService.getBills(updatedBillIds));
         }
     }
 
@@ -227,6 +355,47 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
 
     /** --- Internal --- */
 
+    /**
+     * Pages through every bill id and indexes each page into the given index on the executor. Blocks while
+     * too many pages are outstanding so the ids are never read far ahead of the writers.
+     *
+     * @return int - The number of bills indexed.
+     */
+    private int writeBillIndexVersion(String indexName, ExecutorService reindexExecutor) throws InterruptedException {
+        Semaphore pagePermits = new Semaphore(reindexThreads * 2);
+        AtomicInteger indexedCount = new AtomicInteger();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        BaseBillId lastBillId = null;
+        List<BaseBillId> billIds;
+        while (failure.get() == null && !(billIds = billDao.getBillIds(lastBillId, reindexBatchSize)).isEmpty()) {
+            lastBillId = billIds.get(billIds.size() - 1);
+            final List<BaseBillId> pageIds = billIds;
+            pagePermits.acquire();
+            reindexExecutor.execute(() -> {
+                try {
+                    List<Bill> bills = billDao.getBills(pageIds).values().stream()
+                        .filter(this::isBillIndexable)
+                        .collect(toList());
+                    billSearchDao.indexBills(indexName, bills);
+                    int total = indexedCount.addAndGet(bills.size());
+                    logger.debug("Indexed {} bills up to {}", total, pageIds.get(pageIds.size() - 1));
+                }
+                catch (RuntimeException ex) {
+                    failure.compareAndSet(null, ex);
+                }
+                finally {
+                    pagePermits.release();
+                }
+            });
+        }
+        reindexExecutor.shutdown();
+        reindexExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return indexedCount.get();
+    }
+
     /**
      * Returns true if the given bill meets the criteria for being indexed in the search layer.
      *
@@ -28,6 +28,10 @@ import java.util.Collection;
 import java.util.Optional;
 import java.util.regex.Matcher;
 
+/**
+ * Update events are handled synchronously. The posted calendars are the instances held in the calendar cache, which ingest
+ * keeps changing, so they are indexed on the posting thread rather than on an async dispatcher.
+ */
 @Service
 public class ElasticCalendarSearchService implements CalendarSearchService {
 
@@ -12,6 +12,7 @@ import gov.nysenate.openleg.model.search.*;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
 import gov.nysenate.openleg.service.entity.committee.data.CommitteeDataService;
 import gov.nysenate.openleg.service.entity.committee.event.CommitteeUpdateEvent;
+import gov.nysenate.openleg.service.event.AsyncSubscriber;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
@@ -23,6 +24,7 @@ import javax.annotation.PostConstruct;
 import java.util.Collection;
 
 @Service
+@AsyncSubscriber
 public class ElasticCommitteeSearchService implements CommitteeSearchService
 {
     @Autowired
@@ -47,6 +47,9 @@ public class CachedMemberService implements MemberService, CachingService<Intege
 
     private Cache memberCache;
 
+    /** Resolves the member short names used in the source data without a database query. */
+    private final MemberShortNameIndex shortNameIndex = new MemberShortNameIndex();
+
     @Autowired
     private CacheManager cacheManager;
 
@@ -103,14 +106,24 @@ public class CachedMemberService implements MemberService, CachingService<Intege
     @Override
     public void evictContent(Integer sessionMemberId) {
         memberCache.remove(sessionMemberId);
+        shortNameIndex.remove(sessionMemberId);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void evictCaches() {
+        CachingService.super.evictCaches();
+        shortNameIndex.clear();
     }
 
     /** {@inheritDoc} */
     @Override
     public void warmCaches() {
-        evictCaches();
+        CachingService.super.evictCaches();
         logger.info("Warming up member cache");
-        memberDao.getAllMembers(SortOrder.ASC, LimitOffset.ALL).stream().forEach(this::putMemberInCache);
+        List<SessionMember> members = memberDao.getAllMembers(SortOrder.ASC, LimitOffset.ALL);
+        members.forEach(this::putMemberInCache);
+        shortNameIndex.rebuild(members);
         logger.info("Done warming up member cache");
     }
 
@@ -174,8 +187,14 @@ public class CachedMemberService implements MemberService, CachingService<Intege
         if (lbdcShortName == null || chamber == null) {
             throw new IllegalArgumentException("Shortname and/or chamber cannot be null.");
         }
+        Optional<SessionMember> indexedMember = shortNameIndex.get(lbdcShortName, sessionYear, chamber);
+        if (indexedMember.isPresent()) {
+            return indexedMember.get();
+        }
         try {
-            return memberDao.getMemberByShortName(lbdcShortName, sessionYear, chamber);
+            SessionMember member = memberDao.getMemberByShortName(lbdcShortName, sessionYear, chamber);
+            shortNameIndex.put(member);
+            return member;
         }
         catch (EmptyResultDataAccessException ex) {
             throw new MemberNotFoundEx(lbdcShortName, sessionYear, chamber);
@@ -189,12 +208,7 @@ public class CachedMemberService implements MemberService, CachingService<Intege
             return getMemberByShortName(lbdcShortName, sessionYear, chamber);
         }
         catch (MemberNotFoundEx ex) {
-            SessionMember member = SessionMember.newMakeshiftMember(lbdcShortName, sessionYear, chamber);
-            memberDao.updatePerson(member);
-            memberDao.updateMember(member);
-            memberDao.updateSessionMember(member);
-            eventBus.post(new UnverifiedMemberEvent(member, LocalDateTime.now()));
-            return member;
+            return createMakeshiftMember(lbdcShortName, sessionYear, chamber);
         }
     }
 
@@ -238,9 +252,35 @@ public class CachedMemberService implements MemberService, CachingService<Intege
 
     }
 
+    /**
+     * @return MemberShortNameIndex - the short name index, for reporting its size and hit/miss counts.
+     */
+    public MemberShortNameIndex getShortNameIndex() {
+        return shortNameIndex;
+    }
+
     /** --- Internal Methods --- */
 
     private void putMemberInCache(SessionMember member) {
         memberCache.put(new Element(new SimpleKey(member.getSessionMemberId()), member, true));
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates a new unverified session member for the given short name. Synchronized with a re-check so that
+     * concurrent processors that encounter the same unknown short name do not create duplicate members.
+     */
+    private synchronized SessionMember createMakeshiftMember(String lbdcShortName, SessionYear sessionYear, Chamber chamber) {
+        try {
+            return getMemberByShortName(lbdcShortName, sessionYear, chamber);
+        }
+        catch (MemberNotFoundEx ex) {
+            SessionMember member = SessionMember.newMakeshiftMember(lbdcShortName, sessionYear, chamber);
+            memberDao.updatePerson(member);
+            memberDao.updateMember(member);
+            memberDao.updateSessionMember(member);
+            shortNameIndex.put(member);
+            eventBus.post(new UnverifiedMemberEvent(member, LocalDateTime.now()));
+            return member;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package gov.nysenate.openleg.service.entity.member.data;
+
+import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.entity.Chamber;
+import gov.nysenate.openleg.model.entity.SessionMember;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An in-memory index of session members keyed by (short name, session year, chamber), used to resolve the
+ * member short names found in the source data without querying the database.
+ *
+ * Short names are matched the same way as the member dao matches them, i.e. on the case insensitive first
+ * 15 characters. When both a primary and an alternate session member share a short name the primary is kept.
+ */
+public class MemberShortNameIndex
+{
+    /** The number of leading short name characters that are compared. */
+    private static final int SHORT_NAME_MATCH_LENGTH = 15;
+
+    private volatile ConcurrentHashMap<Key, SessionMember> index = new ConcurrentHashMap<>();
+
+    /** --- Metrics --- */
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /** --- Methods --- */
+
+    /**
+     * Looks up the session member with the given short name.
+     *
+     * @return Optional<SessionMember> - empty if the short name is not indexed.
+     */
+    public Optional<SessionMember> get(String shortName, SessionYear sessionYear, Chamber chamber) {
+        SessionMember member = index.get(new Key(shortName, sessionYear, chamber));
+        (member != null ? hitCount : missCount).incrementAndGet();
+        return Optional.ofNullable(member);
+    }
+
+    /**
+     * Adds the given session member to the index unless it is an alternate and a primary member
+     * is already indexed under the same short name.
+     */
+    public void put(SessionMember member) {
+        put(index, member);
+    }
+
+    /**
+     * Replaces the contents of the index with the given session members. Lookups made while the
+     * index is rebuilt are served from the previous contents.
+     */
+    public void rebuild(Collection<SessionMember> members) {
+        ConcurrentHashMap<Key, SessionMember> newIndex = new ConcurrentHashMap<>(members.size() * 2);
+        members.forEach(member -> put(newIndex, member));
+        this.index = newIndex;
+    }
+
+    /**
+     * Removes any entries for the session member with the given session member id.
+     */
+    public void remove(int sessionMemberId) {
+        index.values().removeIf(member -> member.getSessionMemberId() == sessionMemberId);
+    }
+
+    public void clear() {
+        index.clear();
+    }
+
+    /** --- Internal Methods --- */
+
+    private static void put(ConcurrentHashMap<Key, SessionMember> index, SessionMember member) {
+        if (member == null || member.getLbdcShortName() == null) {
+            return;
+        }
+        index.merge(new Key(member.getLbdcShortName(), member.getSessionYear(), member.getChamber()), member,
+                (existing, added) -> existing.isAlternate() || !added.isAlternate() ? added : existing);
+    }
+
+    private static final class Key
+    {
+        private final String shortName;
+        private final SessionYear sessionYear;
+        private final Chamber chamber;
+
+        Key(String shortName, SessionYear sessionYear, Chamber chamber) {
+            String normalized = shortName.trim().toUpperCase(Locale.US);
+            this.shortName = normalized.length() > SHORT_NAME_MATCH_LENGTH
+                    ? normalized.substring(0, SHORT_NAME_MATCH_LENGTH) : normalized;
+            this.sessionYear = sessionYear;
+            this.chamber = chamber;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return shortName.equals(other.shortName) && Objects.equals(sessionYear, other.sessionYear)
+                    && chamber == other.chamber;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(shortName, sessionYear, chamber);
+        }
+    }
+
+    /** --- Basic Getters --- */
+
+    public int size() {
+        return index.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+}
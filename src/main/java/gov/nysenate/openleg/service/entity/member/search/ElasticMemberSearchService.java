@@ -16,6 +16,7 @@ import gov.nysenate.openleg.service.base.search.IndexedSearchService;
 import gov.nysenate.openleg.service.entity.member.data.MemberService;
 import gov.nysenate.openleg.service.entity.member.event.BulkMemberUpdateEvent;
 import gov.nysenate.openleg.service.entity.member.event.MemberUpdateEvent;
+import gov.nysenate.openleg.service.event.AsyncSubscriber;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
@@ -31,6 +32,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@AsyncSubscriber
 public class ElasticMemberSearchService implements MemberSearchService, IndexedSearchService<SessionMember>
 {
     private static final Logger logger = LoggerFactory.getLogger(ElasticMemberSearchService.class);
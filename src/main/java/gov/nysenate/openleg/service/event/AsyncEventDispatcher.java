@@ -0,0 +1,147 @@
+package gov.nysenate.openleg.service.event;
+
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers events to an {@link AsyncSubscriber} on a dedicated thread, using a bounded queue of pending deliveries.
+ */
+public class AsyncEventDispatcher
+{
+    private static final Logger logger = LoggerFactory.getLogger(AsyncEventDispatcher.class);
+
+    /** How often a poster that is blocked by a full queue checks whether the dispatcher was shut down. */
+    private static final long BLOCK_POLL_MILLIS = 100;
+
+    /** Identifies the subscriber, i.e. its class name or class and method name. */
+    private final String name;
+
+    private final int capacity;
+
+    private final EventOverflowPolicy overflowPolicy;
+
+    private final ThreadPoolExecutor executor;
+
+    /** The thread that delivers events, used to detect subscribers that post events back to themselves. */
+    private volatile Thread worker;
+
+    /** The number of events that were posted while the queue was full. */
+    private final LongAdder overflowCount = new LongAdder();
+
+    /** The number of events that were dropped due to the DISCARD policy or a shutdown. */
+    private final LongAdder discardedCount = new LongAdder();
+
+    /** --- Constructors --- */
+
+    public AsyncEventDispatcher(String name, int capacity, EventOverflowPolicy overflowPolicy) {
+        this.name = name;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        OpenlegThreadFactory threadFactory = new OpenlegThreadFactory("event-" + name);
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(capacity),
+            runnable -> worker = threadFactory.newThread(runnable), this::handleOverflow);
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Queues the given delivery, applying the overflow policy if the queue is full.
+     */
+    public void dispatch(Runnable delivery) {
+        executor.execute(delivery);
+    }
+
+    /**
+     * Stops accepting events. Events that are already queued are still delivered.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /** --- Internal Methods --- */
+
+    private void handleOverflow(Runnable delivery, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            logger.warn("Discarding event for {}, the dispatcher has been shut down", name);
+            discardedCount.increment();
+            return;
+        }
+        overflowCount.increment();
+        // A subscriber posting to itself from a full queue would otherwise wait on itself forever
+        if (overflowPolicy == EventOverflowPolicy.CALLER_RUNS || Thread.currentThread() == worker) {
+            delivery.run();
+        }
+        else if (overflowPolicy == EventOverflowPolicy.BLOCK) {
+            try {
+                block(delivery, executor);
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                delivery.run();
+            }
+        }
+        else {
+            discardedCount.increment();
+        }
+    }
+
+    /**
+     * Waits for room in the queue, checking for a shutdown while waiting. The worker exits once a shut down
+     * executor's queue is empty, so a delivery that is queued after the shutdown would never be run.
+     */
+    private void block(Runnable delivery, ThreadPoolExecutor executor) throws InterruptedException {
+        BlockingQueue<Runnable> queue = executor.getQueue();
+        boolean queued = false;
+        while (!queued && !executor.isShutdown()) {
+            queued = queue.offer(delivery, BLOCK_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        if (executor.isShutdown() && (!queued || queue.remove(delivery))) {
+            logger.warn("Discarding event for {}, the dispatcher was shut down while waiting for room", name);
+            discardedCount.increment();
+        }
+    }
+
+    /** --- Functional Getters --- */
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public boolean isDelivering() {
+        return executor.getActiveCount() > 0;
+    }
+
+    public long getDeliveredCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    public long getOverflowCount() {
+        return overflowCount.sum();
+    }
+
+    public long getDiscardedCount() {
+        return discardedCount.sum();
+    }
+
+    /** --- Basic Getters --- */
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public EventOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+}
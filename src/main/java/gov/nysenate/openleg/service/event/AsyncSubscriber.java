@@ -0,0 +1,26 @@
+package gov.nysenate.openleg.service.event;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks event subscribers whose events should be delivered asynchronously by the {@link OpenlegEventBus}.
+ *
+ * When placed on a class, all of the class's subscriber methods share a single delivery queue. When placed on a
+ * subscriber method, that method gets a queue of its own. Each queue is bounded and is drained by a single thread,
+ * so a subscriber still receives its events in the order they were posted.
+ *
+ * Subscribers without this annotation are invoked synchronously by the thread that posts the event.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface AsyncSubscriber
+{
+    /** The maximum number of pending events. Values < 1 use the 'eventbus.async.queue.size' setting. */
+    int queueSize() default 0;
+
+    /** Determines what happens to events that are posted while the queue is full. */
+    EventOverflowPolicy overflow() default EventOverflowPolicy.BLOCK;
+}
@@ -0,0 +1,16 @@
+package gov.nysenate.openleg.service.event;
+
+/**
+ * Determines how an asynchronous subscriber handles events that are posted while its queue is full.
+ */
+public enum EventOverflowPolicy
+{
+    /** The posting thread waits until there is room in the queue. Preserves event order. */
+    BLOCK,
+
+    /** The posting thread delivers the event itself. Events may be handled out of order. */
+    CALLER_RUNS,
+
+    /** The event is dropped and counted. */
+    DISCARD
+}
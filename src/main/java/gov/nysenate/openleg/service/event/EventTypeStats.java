@@ -0,0 +1,70 @@
+package gov.nysenate.openleg.service.event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dispatch statistics for a single event type. The latency of a delivery is the time between the event being
+ * posted and the subscriber finishing with it, so it includes any time the event spent in an async queue.
+ */
+public class EventTypeStats
+{
+    private final Class<?> eventType;
+
+    private final LongAdder postCount = new LongAdder();
+    private final LongAdder deliveryCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    /** --- Constructors --- */
+
+    public EventTypeStats(Class<?> eventType) {
+        this.eventType = eventType;
+    }
+
+    /** --- Methods --- */
+
+    void recordPost() {
+        postCount.increment();
+    }
+
+    void recordDelivery(long latencyNanos, boolean failed) {
+        deliveryCount.increment();
+        if (failed) {
+            failureCount.increment();
+        }
+        totalLatencyNanos.add(latencyNanos);
+        maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    /** --- Functional Getters --- */
+
+    public double getAvgLatencyMillis() {
+        long deliveries = deliveryCount.sum();
+        return (deliveries > 0) ? (double) totalLatencyNanos.sum() / deliveries / TimeUnit.MILLISECONDS.toNanos(1) : 0;
+    }
+
+    public double getMaxLatencyMillis() {
+        return (double) maxLatencyNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /** --- Basic Getters --- */
+
+    public Class<?> getEventType() {
+        return eventType;
+    }
+
+    public long getPostCount() {
+        return postCount.sum();
+    }
+
+    public long getDeliveryCount() {
+        return deliveryCount.sum();
+    }
+
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+}
@@ -0,0 +1,319 @@
+package gov.nysenate.openleg.service.event;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.eventbus.DeadEvent;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.reflect.TypeToken;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * An EventBus that lets each subscriber choose between synchronous and asynchronous delivery and that keeps
+ * dispatch statistics for every event type.
+ *
+ * Subscribers are registered in the same way as with a Guava EventBus, i.e. using {@link Subscribe} methods that
+ * are optionally marked with {@link AllowConcurrentEvents}. Synchronous subscribers are invoked by the posting
+ * thread with the same ordering guarantees as the Guava EventBus. Subscribers annotated with {@link AsyncSubscriber}
+ * are handed their events through a bounded queue that is drained by a thread of their own, so a slow subscriber
+ * (e.g. search indexing or mail) no longer holds up the thread that posted the event.
+ */
+public class OpenlegEventBus extends EventBus
+{
+    private static final Logger logger = LoggerFactory.getLogger(OpenlegEventBus.class);
+
+    /** The queue size used by async subscribers that don't specify one. */
+    private final int defaultQueueSize;
+
+    /** Registered subscribers by the event type that they subscribe to. */
+    private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByType = new ConcurrentHashMap<>();
+
+    /** The async dispatchers of all registered subscribers. */
+    private final List<AsyncEventDispatcher> asyncDispatchers = new CopyOnWriteArrayList<>();
+
+    /** Dispatch statistics by event type. */
+    private final ConcurrentMap<Class<?>, EventTypeStats> eventTypeStats = new ConcurrentHashMap<>();
+
+    /** Caches the types that an event of a given class is dispatched as, i.e. the class and all of its supertypes. */
+    private final ConcurrentMap<Class<?>, Set<Class<?>>> dispatchTypes = new ConcurrentHashMap<>();
+
+    /** Events waiting to be dispatched by the current thread, along with the time that they were posted. */
+    private final ThreadLocal<Queue<QueuedEvent>> queuedEvents = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /** True while the current thread is dispatching events. */
+    private final ThreadLocal<Boolean> dispatching = ThreadLocal.withInitial(() -> false);
+
+    /** --- Constructors --- */
+
+    public OpenlegEventBus(int defaultQueueSize) {
+        this.defaultQueueSize = defaultQueueSize;
+    }
+
+    /** --- EventBus Overrides --- */
+
+    /**
+     * Registers all subscriber methods on the given object. Methods of a class annotated with {@link AsyncSubscriber}
+     * share one async dispatcher, while annotated methods each get their own.
+     */
+    @Override
+    public void register(Object object) {
+        AsyncSubscriber classAsync = object.getClass().getAnnotation(AsyncSubscriber.class);
+        AsyncEventDispatcher classDispatcher = null;
+        for (Method method : getSubscriberMethods(object.getClass())) {
+            AsyncSubscriber methodAsync = method.getAnnotation(AsyncSubscriber.class);
+            AsyncEventDispatcher dispatcher = null;
+            if (methodAsync != null) {
+                dispatcher = createDispatcher(object.getClass().getSimpleName() + "." + method.getName(), methodAsync);
+            }
+            else if (classAsync != null) {
+                if (classDispatcher == null) {
+                    classDispatcher = createDispatcher(object.getClass().getSimpleName(), classAsync);
+                }
+                dispatcher = classDispatcher;
+            }
+            EventSubscriber subscriber = new EventSubscriber(object, method, dispatcher);
+            Set<EventSubscriber> subscribers =
+                subscribersByType.computeIfAbsent(method.getParameterTypes()[0], type -> new CopyOnWriteArraySet<>());
+            if (!subscribers.add(subscriber) && dispatcher != null) {
+                // The object was already registered, keep using its existing dispatcher
+                asyncDispatchers.remove(dispatcher);
+                dispatcher.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Unregisters all subscriber methods on the given object and shuts down their async dispatchers once any
+     * pending events have been delivered.
+     *
+     * @throws IllegalArgumentException if the object was not registered
+     */
+    @Override
+    public void unregister(Object object) {
+        for (Method method : getSubscriberMethods(object.getClass())) {
+            Set<EventSubscriber> subscribers = subscribersByType.get(method.getParameterTypes()[0]);
+            EventSubscriber registered = (subscribers == null) ? null : subscribers.stream()
+                .filter(subscriber -> subscriber.equals(new EventSubscriber(object, method, null)))
+                .findFirst().orElse(null);
+            if (registered == null) {
+                throw new IllegalArgumentException(
+                    "missing event subscriber for an annotated method. Is " + object + " registered?");
+            }
+            subscribers.remove(registered);
+            if (registered.dispatcher != null && asyncDispatchers.remove(registered.dispatcher)) {
+                registered.dispatcher.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Posts an event to all subscribers of the event's type or any of its supertypes. Synchronous subscribers
+     * have been invoked by the time this method returns, asynchronous subscribers have had the event queued.
+     * Events with no subscribers are wrapped in a {@link DeadEvent} and posted again.
+     */
+    @Override
+    public void post(Object event) {
+        long postTime = System.nanoTime();
+        EventTypeStats stats = getStats(event.getClass());
+        stats.recordPost();
+        boolean dispatched = false;
+        for (Class<?> type : getDispatchTypes(event.getClass())) {
+            Set<EventSubscriber> subscribers = subscribersByType.get(type);
+            if (subscribers != null && !subscribers.isEmpty()) {
+                dispatched = true;
+                for (EventSubscriber subscriber : subscribers) {
+                    queuedEvents.get().offer(new QueuedEvent(event, subscriber, stats, postTime));
+                }
+            }
+        }
+        if (!dispatched && !(event instanceof DeadEvent)) {
+            post(new DeadEvent(this, event));
+        }
+        dispatchQueuedEvents();
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Stops all async dispatchers. Events that are already queued are still delivered.
+     */
+    public void shutdown() {
+        asyncDispatchers.forEach(AsyncEventDispatcher::shutdown);
+    }
+
+    /**
+     * @return List<EventTypeStats> - Dispatch statistics for each event type that has been posted
+     */
+    public List<EventTypeStats> getEventTypeStats() {
+        return ImmutableList.copyOf(eventTypeStats.values());
+    }
+
+    /**
+     * @return List<AsyncEventDispatcher> - The async dispatchers of all registered subscribers
+     */
+    public List<AsyncEventDispatcher> getAsyncDispatchers() {
+        return ImmutableList.copyOf(asyncDispatchers);
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Delivers the events queued by the current thread. Events posted by a synchronous subscriber are queued
+     * behind the event being delivered, rather than being delivered immediately, so all subscribers see events
+     * in the same order.
+     */
+    private void dispatchQueuedEvents() {
+        if (dispatching.get()) {
+            return;
+        }
+        dispatching.set(true);
+        try {
+            Queue<QueuedEvent> events = queuedEvents.get();
+            QueuedEvent queuedEvent;
+            while ((queuedEvent = events.poll()) != null) {
+                AsyncEventDispatcher dispatcher = queuedEvent.subscriber.dispatcher;
+                if (dispatcher != null) {
+                    dispatcher.dispatch(queuedEvent::deliver);
+                }
+                else {
+                    queuedEvent.deliver();
+                }
+            }
+        }
+        finally {
+            dispatching.remove();
+            queuedEvents.remove();
+        }
+    }
+
+    private AsyncEventDispatcher createDispatcher(String name, AsyncSubscriber asyncSubscriber) {
+        int queueSize = (asyncSubscriber.queueSize() > 0) ? asyncSubscriber.queueSize() : defaultQueueSize;
+        AsyncEventDispatcher dispatcher = new AsyncEventDispatcher(name, queueSize, asyncSubscriber.overflow());
+        asyncDispatchers.add(dispatcher);
+        return dispatcher;
+    }
+
+    private EventTypeStats getStats(Class<?> eventType) {
+        return eventTypeStats.computeIfAbsent(eventType, EventTypeStats::new);
+    }
+
+    private Set<Class<?>> getDispatchTypes(Class<?> eventClass) {
+        return dispatchTypes.computeIfAbsent(eventClass, cls -> ImmutableSet.copyOf(TypeToken.of(cls).getTypes().rawTypes()));
+    }
+
+    /**
+     * Finds the public methods annotated with {@link Subscribe} declared by the class or any of its supertypes,
+     * in the same way as the Guava EventBus.
+     */
+    private static Collection<Method> getSubscriberMethods(Class<?> cls) {
+        Map<List<Object>, Method> methods = new LinkedHashMap<>();
+        for (Class<?> type : TypeToken.of(cls).getTypes().rawTypes()) {
+            for (Method method : type.getMethods()) {
+                if (method.isAnnotationPresent(Subscribe.class) && !method.isSynthetic()) {
+                    if (method.getParameterTypes().length != 1) {
+                        throw new IllegalArgumentException("Method " + method + " has @Subscribe annotation, but requires "
+                            + method.getParameterTypes().length + " arguments. Event subscriber methods must require a "
+                            + "single argument.");
+                    }
+                    methods.putIfAbsent(Arrays.asList(method.getName(), method.getParameterTypes()[0]), method);
+                }
+            }
+        }
+        return methods.values();
+    }
+
+    /**
+     * A subscriber method on a registered object. Subscribers are equal if they invoke the same method on the
+     * same object.
+     */
+    private static class EventSubscriber
+    {
+        private final Object target;
+        private final Method method;
+        private final boolean concurrent;
+        private final AsyncEventDispatcher dispatcher;
+
+        EventSubscriber(Object target, Method method, AsyncEventDispatcher dispatcher) {
+            this.target = target;
+            this.method = method;
+            this.concurrent = method.isAnnotationPresent(AllowConcurrentEvents.class);
+            this.dispatcher = dispatcher;
+            method.setAccessible(true);
+        }
+
+        void invoke(Object event) throws InvocationTargetException, IllegalAccessException {
+            if (concurrent) {
+                method.invoke(target, event);
+            }
+            else {
+                synchronized (this) {
+                    method.invoke(target, event);
+                }
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof EventSubscriber && target == ((EventSubscriber) o).target
+                && method.equals(((EventSubscriber) o).method);
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 + method.hashCode()) * 31 + System.identityHashCode(target);
+        }
+
+        @Override
+        public String toString() {
+            return method.toString();
+        }
+    }
+
+    /**
+     * An event that is waiting to be delivered to a subscriber.
+     */
+    private static class QueuedEvent
+    {
+        private final Object event;
+        private final EventSubscriber subscriber;
+        private final EventTypeStats stats;
+        private final long postTime;
+
+        QueuedEvent(Object event, EventSubscriber subscriber, EventTypeStats stats, long postTime) {
+            this.event = event;
+            this.subscriber = subscriber;
+            this.stats = stats;
+            this.postTime = postTime;
+        }
+
+        /**
+         * Invokes the subscriber, logging any exception that it throws.
+         */
+        void deliver() {
+            boolean failed = false;
+            try {
+                subscriber.invoke(event);
+            }
+            catch (InvocationTargetException | IllegalAccessException | RuntimeException ex) {
+                failed = true;
+                Throwable cause = (ex instanceof InvocationTargetException) ? ex.getCause() : ex;
+                logger.error("Event Bus Exception thrown during event handling within {}: {}, {}", subscriber.method,
+                             cause, ExceptionUtils.getStackTrace(cause));
+            }
+            finally {
+                stats.recordDelivery(System.nanoTime() - postTime, failed);
+            }
+        }
+    }
+}
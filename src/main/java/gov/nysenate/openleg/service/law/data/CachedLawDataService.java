@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.service.law.data;
 
+import com.google.common.collect.Maps;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import gov.nysenate.openleg.dao.law.data.LawDataDao;
@@ -9,9 +10,12 @@ import gov.nysenate.openleg.model.law.*;
 import gov.nysenate.openleg.model.cache.CacheEvictEvent;
 import gov.nysenate.openleg.model.cache.ContentCache;
 import gov.nysenate.openleg.service.base.data.CachingService;
+import gov.nysenate.openleg.service.law.event.BulkLawUpdateEvent;
+import gov.nysenate.openleg.service.law.event.LawUpdateEvent;
 import net.sf.ehcache.Cache;
 import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
 import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.config.MemoryUnit;
 import org.slf4j.Logger;
@@ -27,11 +31,15 @@ import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.stream.Collectors.toList;
 
 /**
  * Service interface for retrieving and saving NYS Law data.
+ *
+ * Law trees are cached as is. Law documents are cached separately with their text compressed, keyed by document
+ * id and published date, so that a document is shared by every version of a tree that references it.
  */
 @Service
 public class CachedLawDataService implements LawDataService, CachingService<LawVersionId>
@@ -44,22 +52,27 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
 
     @Value("${law.cache.size}") private long lawTreeCacheHeapSize;
 
+    @Value("${law-doc.cache.size:50}") private long lawDocCacheHeapSize;
+
     private EhCacheCache lawTreeCache;
 
-    private Map<String, LocalDate> maxPubDates = new HashMap<>();
+    private Cache lawDocCache;
+
+    /** The most recent published date of each law tree, keyed by law id. */
+    private volatile Map<String, LocalDate> maxPubDates = new ConcurrentHashMap<>();
 
     @PostConstruct
     private void init() {
         eventBus.register(this);
         setupCaches();
-        maxPubDates = lawDataDao.getLastPublishedMap();
+        refreshMaxPubDates();
     }
 
     @PreDestroy
     private void cleanUp() {
         evictCaches();
         cacheManager.removeCache(ContentCache.LAW.name());
-        maxPubDates.clear();
+        cacheManager.removeCache(ContentCache.LAW_DOCUMENT.name());
     }
 
     /** --- CachingService implementation --- */
@@ -67,7 +80,7 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
     /** {@inheritDoc} */
     @Override
     public List<Ehcache> getCaches() {
-        return Arrays.asList(lawTreeCache.getNativeCache());
+        return Arrays.asList(lawTreeCache.getNativeCache(), lawDocCache);
     }
 
     /** {@inheritDoc} */
@@ -79,15 +92,20 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
                 .sizeOfPolicy(defaultSizeOfPolicy()));
         cacheManager.addCache(cache);
         this.lawTreeCache = new EhCacheCache(cache);
+        this.lawDocCache = new Cache(new CacheConfiguration().name(ContentCache.LAW_DOCUMENT.name())
+                .eternal(true)
+                .maxBytesLocalHeap(lawDocCacheHeapSize, MemoryUnit.MEGABYTES)
+                .sizeOfPolicy(defaultSizeOfPolicy()));
+        cacheManager.addCache(this.lawDocCache);
     }
 
     /** {@inheritDoc} */
     @Override
     @Subscribe
     public void handleCacheEvictEvent(CacheEvictEvent evictEvent) {
-        if (evictEvent.affects(ContentCache.LAW)) {
+        if (evictEvent.affects(ContentCache.LAW) || evictEvent.affects(ContentCache.LAW_DOCUMENT)) {
             evictCaches();
-            maxPubDates.clear();
+            refreshMaxPubDates();
         }
     }
 
@@ -95,7 +113,7 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
     @Subscribe
     @Override
     public void handleCacheEvictIdEvent(CacheEvictIdEvent<LawVersionId> evictIdEvent) {
-        if (evictIdEvent.affects(ContentCache.LAW)) {
+        if (evictIdEvent.affects(ContentCache.LAW) || evictIdEvent.affects(ContentCache.LAW_DOCUMENT)) {
             evictContent(evictIdEvent.getContentId());
         }
     }
@@ -104,7 +122,12 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
     @Override
     public void evictContent(LawVersionId lawVersionId) {
         lawTreeCache.evict(lawVersionId);
-        maxPubDates.clear();
+        for (Object key : lawDocCache.getKeys()) {
+            if (key.toString().startsWith(lawVersionId.getLawId())) {
+                lawDocCache.remove(key);
+            }
+        }
+        refreshMaxPubDates();
     }
 
     /** {@inheritDoc} */
@@ -112,7 +135,7 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
     public void warmCaches() {
         try {
             logger.info("Warming up law cache..");
-            getLawInfos().forEach(lawInfo -> getLawTree(lawInfo.getLawId(), LocalDate.now()));
+            getLawInfos().forEach(lawInfo -> getLawDocuments(lawInfo.getLawId(), null));
             logger.info("Finished warming up law cache..");
         }
         catch (LawTreeNotFoundEx ex) {
@@ -124,7 +147,7 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
     @Override
     @Subscribe
     public void handleCacheWarmEvent(CacheWarmEvent warmEvent) {
-        if (warmEvent.affects(ContentCache.LAW)) {
+        if (warmEvent.affects(ContentCache.LAW) || warmEvent.affects(ContentCache.LAW_DOCUMENT)) {
             warmCaches();
         }
     }
@@ -142,11 +165,10 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
     public LawTree getLawTree(String lawId, LocalDate endPublishedDate) throws LawTreeNotFoundEx {
         if (lawId == null) throw new IllegalArgumentException("Supplied lawId cannot be null");
         try {
-            if (endPublishedDate == null) {
-                if (maxPubDates.isEmpty()) {
-                    maxPubDates = lawDataDao.getLastPublishedMap();
-                }
-                endPublishedDate = maxPubDates.get(lawId);
+            // The latest tree is cached under its own published date, so use that for any date past it.
+            LocalDate maxPubDate = maxPubDates.get(lawId.toUpperCase());
+            if (endPublishedDate == null || (maxPubDate != null && endPublishedDate.isAfter(maxPubDate))) {
+                endPublishedDate = maxPubDate;
             }
             LawVersionId lawVersionId = new LawVersionId(lawId.toUpperCase(), endPublishedDate);
             LawTree lawTree;
@@ -185,20 +207,61 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
     public LawDocument getLawDocument(String documentId, LocalDate endPublishedDate) throws LawDocumentNotFoundEx {
         if (documentId == null) throw new IllegalArgumentException("Supplied documentId cannot be null");
         if (endPublishedDate == null) endPublishedDate = LocalDate.now();
+        documentId = documentId.toUpperCase();
+        // The tree that was current on the end published date references the matching document version.
+        Optional<LocalDate> docPubDate = getDocPublishedDate(documentId, endPublishedDate);
+        if (docPubDate.isPresent()) {
+            Element element = lawDocCache.get(getDocCacheKey(documentId, docPubDate.get()));
+            if (element != null) {
+                return ((CompactLawDocument) element.getObjectValue()).toLawDocument();
+            }
+        }
         try {
-            return lawDataDao.getLawDocument(documentId.toUpperCase(), endPublishedDate);
+            LawDocument lawDocument = lawDataDao.getLawDocument(documentId, endPublishedDate);
+            cacheLawDocument(CompactLawDocument.of(lawDocument));
+            return lawDocument;
         }
         catch (EmptyResultDataAccessException ex) {
             throw new LawDocumentNotFoundEx(documentId, endPublishedDate, "");
         }
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     *
+     * The returned map holds each document compressed and expands it every time it is retrieved.
+     */
     @Override
     public Map<String, LawDocument> getLawDocuments(String lawId, LocalDate endPublishedDate) {
         if (lawId == null) throw new IllegalArgumentException("Supplied lawId cannot be null");
         if (endPublishedDate == null) endPublishedDate = LocalDate.now();
-        return lawDataDao.getLawDocuments(lawId.toUpperCase(), endPublishedDate);
+        lawId = lawId.toUpperCase();
+        Map<String, CompactLawDocument> docMap = new HashMap<>();
+        boolean complete = true;
+        try {
+            // Gather the documents referenced by the tree from the cache.
+            for (LawTreeNode node : getLawTree(lawId, endPublishedDate).getRootNode().getAllNodes()) {
+                Element element = lawDocCache.get(getDocCacheKey(node.getDocumentId(), node.getPublishDate()));
+                if (element != null) {
+                    docMap.put(node.getDocumentId(), (CompactLawDocument) element.getObjectValue());
+                }
+                else {
+                    complete = false;
+                }
+            }
+        }
+        catch (LawTreeNotFoundEx ex) {
+            complete = false;
+        }
+        if (!complete) {
+            // Otherwise load and cache the whole law in one pass.
+            lawDataDao.streamLawDocuments(lawId, endPublishedDate, lawDocument -> {
+                CompactLawDocument compactDoc = CompactLawDocument.of(lawDocument);
+                cacheLawDocument(compactDoc);
+                docMap.put(lawDocument.getDocumentId(), compactDoc);
+            });
+        }
+        return Collections.unmodifiableMap(Maps.transformValues(docMap, CompactLawDocument::toLawDocument));
     }
 
     /** {@inheritDoc} */
@@ -207,7 +270,7 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
         if (lawTree == null) throw new IllegalArgumentException("Supplied lawTree cannot be null");
         lawDataDao.updateLawTree(lawFile, lawTree);
         lawTreeCache.put(lawTree.getLawVersionId(), lawTree);
-        maxPubDates.clear();
+        maxPubDates.merge(lawTree.getLawId(), lawTree.getPublishedDate(), (d1, d2) -> d1.isAfter(d2) ? d1 : d2);
     }
 
     /** {@inheritDoc} */
@@ -216,5 +279,65 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
         if (lawDocument == null) throw new IllegalArgumentException("Supplied lawDocument cannot be null");
         if (lawFile == null) throw new IllegalArgumentException("Supplied lawFile cannot be null");
         lawDataDao.updateLawDocument(lawFile, lawDocument);
+        evictLawDocument(lawDocument);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void saveLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments) {
+        if (lawDocuments == null) throw new IllegalArgumentException("Supplied lawDocuments cannot be null");
+        if (lawFile == null) throw new IllegalArgumentException("Supplied lawFile cannot be null");
+        lawDataDao.updateLawDocuments(lawFile, lawDocuments);
+        lawDocuments.forEach(this::evictLawDocument);
+    }
+
+    /** --- Event Handlers --- */
+
+    @Subscribe
+    public void handleLawUpdate(LawUpdateEvent lawUpdateEvent) {
+        if (lawUpdateEvent.getLawDoc() != null) {
+            evictLawDocument(lawUpdateEvent.getLawDoc());
+        }
+    }
+
+    @Subscribe
+    public void handleBulkLawUpdate(BulkLawUpdateEvent bulkLawUpdateEvent) {
+        bulkLawUpdateEvent.getLawDocuments().forEach(this::evictLawDocument);
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Finds the published date of the document version referenced by the law tree that was current
+     * on the given date.
+     */
+    private Optional<LocalDate> getDocPublishedDate(String documentId, LocalDate endPublishedDate) {
+        if (documentId.length() < 4) {
+            return Optional.empty();
+        }
+        try {
+            return getLawTree(documentId.substring(0, 3), endPublishedDate).find(documentId)
+                .map(LawTreeNode::getPublishDate);
+        }
+        catch (LawTreeNotFoundEx ex) {
+            return Optional.empty();
+        }
+    }
+
+    private void cacheLawDocument(CompactLawDocument compactDoc) {
+        LawDocInfo info = compactDoc.getLawDocInfo();
+        lawDocCache.put(new Element(getDocCacheKey(info.getDocumentId(), info.getPublishedDate()), compactDoc));
+    }
+
+    private void evictLawDocument(LawDocId lawDocId) {
+        lawDocCache.remove(getDocCacheKey(lawDocId.getDocumentId(), lawDocId.getPublishedDate()));
+    }
+
+    private void refreshMaxPubDates() {
+        maxPubDates = new ConcurrentHashMap<>(lawDataDao.getLastPublishedMap());
+    }
+
+    private static String getDocCacheKey(String documentId, LocalDate publishedDate) {
+        return documentId + "-" + publishedDate;
     }
 }
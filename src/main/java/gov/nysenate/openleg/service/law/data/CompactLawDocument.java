@@ -0,0 +1,106 @@
+package gov.nysenate.openleg.service.law.data;
+
+import gov.nysenate.openleg.model.law.LawDocInfo;
+import gov.nysenate.openleg.model.law.LawDocument;
+import net.sf.ehcache.CacheException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A law document whose text is stored as a compressed byte array. The document info is kept as is since it
+ * is small and needed to match documents against the nodes of a law tree. Each call to {@link #toLawDocument()}
+ * yields a fresh copy of the document.
+ */
+public class CompactLawDocument
+{
+    private static final int BUFFER_SIZE = 8192;
+
+    private final LawDocInfo lawDocInfo;
+
+    /** The deflated UTF-8 text of the document, or null if the document has no text. */
+    private final byte[] text;
+
+    /** --- Constructors --- */
+
+    private CompactLawDocument(LawDocInfo lawDocInfo, byte[] text) {
+        this.lawDocInfo = lawDocInfo;
+        this.text = text;
+    }
+
+    /**
+     * Compress the text of the given law document.
+     *
+     * @param lawDocument LawDocument
+     * @return CompactLawDocument
+     * @throws CacheException if the text could not be compressed
+     */
+    public static CompactLawDocument of(LawDocument lawDocument) {
+        LawDocInfo info = new LawDocInfo(lawDocument.getDocumentId(), lawDocument.getLawId(),
+            lawDocument.getLocationId(), lawDocument.getTitle(), lawDocument.getDocType(),
+            lawDocument.getDocTypeId(), lawDocument.getPublishedDate());
+        if (lawDocument.getText() == null) {
+            return new CompactLawDocument(info, null);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(BUFFER_SIZE);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (Writer out = new OutputStreamWriter(
+                new DeflaterOutputStream(bytes, deflater, BUFFER_SIZE), StandardCharsets.UTF_8)) {
+            out.write(lawDocument.getText());
+        }
+        catch (IOException ex) {
+            throw new CacheException("Failed to compress law document " + lawDocument.getDocumentId(), ex);
+        }
+        finally {
+            deflater.end();
+        }
+        return new CompactLawDocument(info, bytes.toByteArray());
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Decompress the text of the document.
+     *
+     * @return String - The document text, or null if the document has no text
+     * @throws CacheException if the text could not be decompressed
+     */
+    public String getText() {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(text.length * 4);
+        char[] buffer = new char[BUFFER_SIZE];
+        try (Reader in = new InputStreamReader(
+                new InflaterInputStream(new ByteArrayInputStream(text)), StandardCharsets.UTF_8)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                sb.append(buffer, 0, read);
+            }
+        }
+        catch (IOException ex) {
+            throw new CacheException("Failed to decompress law document " + lawDocInfo.getDocumentId(), ex);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return LawDocument - A new law document instance on every call
+     */
+    public LawDocument toLawDocument() {
+        return new LawDocument(lawDocInfo, getText());
+    }
+
+    /** --- Basic Getters --- */
+
+    public LawDocInfo getLawDocInfo() {
+        return lawDocInfo;
+    }
+
+    public int getSize() {
+        return (text != null) ? text.length : 0;
+    }
+}
@@ -12,6 +12,7 @@ import gov.nysenate.openleg.model.law.LawDocument;
 import gov.nysenate.openleg.model.search.*;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.service.event.AsyncSubscriber;
 import gov.nysenate.openleg.service.law.event.BulkLawUpdateEvent;
 import gov.nysenate.openleg.service.law.event.LawUpdateEvent;
 import org.elasticsearch.ElasticsearchException;
@@ -30,6 +31,7 @@ import java.util.Collection;
 import java.util.stream.Collectors;
 
 @Service
+@AsyncSubscriber
 public class ElasticLawSearchService implements LawSearchService, IndexedSearchService<LawDocument>
 {
     private static final Logger logger = LoggerFactory.getLogger(ElasticLawSearchService.class);
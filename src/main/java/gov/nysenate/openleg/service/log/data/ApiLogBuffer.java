@@ -0,0 +1,103 @@
+package gov.nysenate.openleg.service.log.data;
+
+import gov.nysenate.openleg.model.auth.ApiResponse;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed size ring buffer that holds api responses until they are written out in batches.
+ *
+ * Offering a response never blocks. Once the buffer is more than three quarters full only one in every
+ * 'sampleRate' responses is accepted, and once it is full every response is dropped. Both cases are counted
+ * so that the amount of lost log data is visible.
+ */
+public class ApiLogBuffer
+{
+    private final ArrayBlockingQueue<ApiResponse> buffer;
+    private final int capacity;
+    private final int sampleThreshold;
+    private final int sampleRate;
+
+    /** --- Metrics --- */
+
+    private final AtomicLong acceptedCount = new AtomicLong();
+    private final AtomicLong sampledOutCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong overloadOfferCount = new AtomicLong();
+
+    /** --- Constructors --- */
+
+    /**
+     * @param capacity int - The maximum number of buffered responses.
+     * @param sampleRate int - One in this many responses is kept while the buffer is overloaded.
+     *                         A rate of 1 or less disables sampling.
+     */
+    public ApiLogBuffer(int capacity, int sampleRate) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Api log buffer capacity must be positive: " + capacity);
+        }
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.sampleThreshold = capacity - capacity / 4;
+        this.sampleRate = Math.max(sampleRate, 1);
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Adds the response to the buffer unless it is sampled out or the buffer is full.
+     *
+     * @param apiResponse ApiResponse
+     * @return boolean - true if the response was buffered.
+     */
+    public boolean offer(ApiResponse apiResponse) {
+        if (sampleRate > 1 && buffer.size() >= sampleThreshold
+                && overloadOfferCount.getAndIncrement() % sampleRate != 0) {
+            sampledOutCount.incrementAndGet();
+            return false;
+        }
+        if (!buffer.offer(apiResponse)) {
+            droppedCount.incrementAndGet();
+            return false;
+        }
+        acceptedCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Moves up to maxElements of the oldest buffered responses into the given collection.
+     *
+     * @return int - The number of responses that were moved.
+     */
+    public int drainTo(Collection<ApiResponse> target, int maxElements) {
+        return buffer.drainTo(target, maxElements);
+    }
+
+    /** --- Basic Getters --- */
+
+    public int size() {
+        return buffer.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public long getAcceptedCount() {
+        return acceptedCount.get();
+    }
+
+    public long getSampledOutCount() {
+        return sampledOutCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+}
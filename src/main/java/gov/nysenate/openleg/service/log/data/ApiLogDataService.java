@@ -1,7 +1,6 @@
 package gov.nysenate.openleg.service.log.data;
 
 import com.google.common.collect.Range;
-import gov.nysenate.openleg.service.log.event.ApiLogEvent;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.model.auth.ApiResponse;
@@ -22,10 +21,10 @@ public interface ApiLogDataService
     List<ApiResponse> getResponses(Range<LocalDateTime> dateTimeRange, LimitOffset limOff, SortOrder order);
 
     /**
-     * Persist ApiLogEvent into the data store asynchronously.
+     * Persist a batch of api responses into the data store.
      *
-     * @param apiLogEvent ApiLogEvent
+     * @param apiResponses List<ApiResponse>
      * @param emitSearchEvent boolean - set to true if a ApiLogIndexEvent should fire upon persisting.
      */
-    void saveApiResponseAsync(ApiLogEvent apiLogEvent, boolean emitSearchEvent);
+    void saveApiResponses(List<ApiResponse> apiResponses, boolean emitSearchEvent);
 }
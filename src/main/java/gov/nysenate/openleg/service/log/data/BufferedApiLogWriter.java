@@ -0,0 +1,169 @@
+package gov.nysenate.openleg.service.log.data;
+
+import gov.nysenate.openleg.model.auth.ApiResponse;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects api responses in an {@link ApiLogBuffer} and writes them out in batches on a background thread,
+ * so that logging never holds up the request that is being logged.
+ *
+ * A flush is started whenever the buffer holds a full batch, and on a fixed interval otherwise. Each batch is
+ * persisted with batched inserts and indexed with a single bulk request.
+ */
+@Service
+public class BufferedApiLogWriter
+{
+    private static final Logger logger = LoggerFactory.getLogger(BufferedApiLogWriter.class);
+
+    @Autowired private ApiLogDataService apiLogDataService;
+
+    /** Maximum number of responses held in memory waiting to be written. */
+    @Value("${api.log.buffer.capacity:10000}") private int bufferCapacity;
+
+    /** Number of responses written in a single batch. */
+    @Value("${api.log.flush.size:500}") private int flushSize;
+
+    /** Maximum time a response waits in the buffer before it is written. */
+    @Value("${api.log.flush.interval.ms:1000}") private long flushIntervalMs;
+
+    /** While the buffer is overloaded, only one in this many responses is logged. */
+    @Value("${api.log.overload.sample.rate:10}") private int overloadSampleRate;
+
+    private ApiLogBuffer buffer;
+    private ScheduledExecutorService flushExecutor;
+
+    /** Set while a size triggered flush is waiting to run, so only one is scheduled at a time. */
+    private final AtomicBoolean flushPending = new AtomicBoolean(false);
+
+    /** --- Metrics --- */
+
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        buffer = new ApiLogBuffer(bufferCapacity, overloadSampleRate);
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(new OpenlegThreadFactory("api-log"));
+        flushExecutor.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flushExecutor.shutdown();
+        if (!flushExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            flushExecutor.shutdownNow();
+        }
+        // Write out whatever arrived after the last scheduled flush
+        flush();
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Buffers the response to be written out in the background. This never blocks; if the buffer is
+     * overloaded the response may be sampled out or dropped.
+     *
+     * @param apiResponse ApiResponse
+     * @return boolean - true if the response was buffered.
+     */
+    public boolean offer(ApiResponse apiResponse) {
+        if (apiResponse == null || !buffer.offer(apiResponse)) {
+            return false;
+        }
+        if (buffer.size() >= flushSize && flushPending.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(() -> {
+                    flushPending.set(false);
+                    flush();
+                });
+            }
+            catch (RejectedExecutionException ex) {
+                flushPending.set(false);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes out the buffered responses in batches of up to the flush size until the buffer is empty.
+     */
+    synchronized void flush() {
+        List<ApiResponse> batch = new ArrayList<>(flushSize);
+        while (buffer.drainTo(batch, flushSize) > 0) {
+            try {
+                apiLogDataService.saveApiResponses(batch, true);
+                writtenCount.addAndGet(batch.size());
+            }
+            // Any exception escaping this method would cancel the scheduled flushes
+            catch (RuntimeException ex) {
+                failedCount.addAndGet(batch.size());
+                logger.error("Error while saving a batch of {} api req/res logs.", batch.size(), ex);
+            }
+            batchCount.incrementAndGet();
+            batch.clear();
+        }
+    }
+
+    /** --- Basic Getters --- */
+
+    public int getBufferSize() {
+        return buffer.size();
+    }
+
+    public int getBufferCapacity() {
+        return buffer.getCapacity();
+    }
+
+    public int getFlushSize() {
+        return flushSize;
+    }
+
+    public long getFlushIntervalMs() {
+        return flushIntervalMs;
+    }
+
+    public int getOverloadSampleRate() {
+        return buffer.getSampleRate();
+    }
+
+    public long getAcceptedCount() {
+        return buffer.getAcceptedCount();
+    }
+
+    public long getSampledOutCount() {
+        return buffer.getSampledOutCount();
+    }
+
+    public long getDroppedCount() {
+        return buffer.getDroppedCount();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+}
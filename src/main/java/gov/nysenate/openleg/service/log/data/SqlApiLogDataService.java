@@ -2,7 +2,6 @@ package gov.nysenate.openleg.service.log.data;
 
 import com.google.common.collect.Range;
 import com.google.common.eventbus.EventBus;
-import gov.nysenate.openleg.service.log.event.ApiLogEvent;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.dao.log.data.ApiLogDao;
@@ -11,8 +10,6 @@ import gov.nysenate.openleg.service.log.event.ApiLogIndexEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.DataAccessException;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
@@ -34,19 +31,13 @@ public class SqlApiLogDataService implements ApiLogDataService
 
     /** {@inheritDoc} */
     @Override
-    @Async
-    public void saveApiResponseAsync(ApiLogEvent apiLogEvent, boolean emitSearchEvent) {
-        try {
-            if (apiLogEvent != null) {
-                ApiResponse apiResponse = apiLogEvent.getApiResponse();
-                apiLogDao.saveApiResponse(apiResponse);
-                if (emitSearchEvent) {
-                    // This event should be picked up by the log indexer
-                    eventBus.post(new ApiLogIndexEvent(apiResponse));
-                }
+    public void saveApiResponses(List<ApiResponse> apiResponses, boolean emitSearchEvent) {
+        if (!apiResponses.isEmpty()) {
+            apiLogDao.saveApiResponses(apiResponses);
+            if (emitSearchEvent) {
+                // This event should be picked up by the log indexer
+                eventBus.post(new ApiLogIndexEvent(apiResponses));
             }
-        } catch (DataAccessException ex) {
-            logger.error("Error while saving api req/res log.", ex);
         }
     }
 
@@ -1,26 +1,36 @@
 package gov.nysenate.openleg.service.log.event;
 
+import com.google.common.collect.ImmutableList;
 import gov.nysenate.openleg.model.auth.ApiResponse;
 
+import java.util.Collection;
+import java.util.Collections;
+
 /**
  * A simple event that is intercepted by the log search indexing service.
  */
 public class ApiLogIndexEvent
 {
-    protected ApiResponse apiResponse;
+    protected ImmutableList<ApiResponse> apiResponses;
 
     /** --- Constructors --- */
 
     public ApiLogIndexEvent(ApiResponse apiResponse) {
-        if (apiResponse == null || apiResponse.getBaseRequest() == null || apiResponse.getBaseRequest().getRequestId() == null) {
-            throw new IllegalArgumentException("The api response passed in the constructor is not valid.");
+        this(Collections.singletonList(apiResponse));
+    }
+
+    public ApiLogIndexEvent(Collection<ApiResponse> apiResponses) {
+        for (ApiResponse apiResponse : apiResponses) {
+            if (apiResponse == null || apiResponse.getBaseRequest() == null || apiResponse.getBaseRequest().getRequestId() == null) {
+                throw new IllegalArgumentException("The api response passed in the constructor is not valid.");
+            }
         }
-        this.apiResponse = apiResponse;
+        this.apiResponses = ImmutableList.copyOf(apiResponses);
     }
 
     /** --- Basic Getters --- */
 
-    public ApiResponse getApiResponse() {
-        return apiResponse;
+    public ImmutableList<ApiResponse> getApiResponses() {
+        return apiResponses;
     }
 }
@@ -14,6 +14,8 @@ import gov.nysenate.openleg.model.search.RebuildIndexEvent;
 import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
+import gov.nysenate.openleg.service.event.AsyncSubscriber;
+import gov.nysenate.openleg.service.event.EventOverflowPolicy;
 import gov.nysenate.openleg.service.log.event.ApiLogIndexEvent;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.index.query.QueryBuilders;
@@ -28,6 +30,7 @@ import java.util.Collection;
 import java.util.List;
 
 @Service
+@AsyncSubscriber(overflow = EventOverflowPolicy.CALLER_RUNS)
 public class ElasticApiLogSearchService implements ApiLogSearchService
 {
     private static final Logger logger = LoggerFactory.getLogger(ElasticApiLogSearchService.class);
@@ -68,7 +71,7 @@ public class ElasticApiLogSearchService implements ApiLogSearchService
     @Subscribe
     public void handleUpdateIndexEvent(ApiLogIndexEvent apiLogIndexEvent) {
         if (apiLogIndexEvent != null) {
-            apiLogSearchDao.updateLogIndex(apiLogIndexEvent.getApiResponse());
+            apiLogSearchDao.updateLogIndex(apiLogIndexEvent.getApiResponses());
         }
     }
 
@@ -0,0 +1,48 @@
+package gov.nysenate.openleg.service.pdf;
+
+import com.google.common.base.MoreObjects;
+
+import java.io.File;
+
+/**
+ * A handle to a rendered pdf that has been stored in the pdf cache.
+ */
+public class CachedPdf
+{
+    /** The file containing the rendered pdf. */
+    private final File file;
+
+    /** Entity tag identifying the content and version that was rendered. */
+    private final String eTag;
+
+    /** --- Constructors --- */
+
+    public CachedPdf(File file, String eTag) {
+        this.file = file;
+        this.eTag = eTag;
+    }
+
+    /** --- Overrides --- */
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("file", file)
+            .add("eTag", eTag)
+            .toString();
+    }
+
+    /** --- Basic Getters --- */
+
+    public File getFile() {
+        return file;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public long getLength() {
+        return file.length();
+    }
+}
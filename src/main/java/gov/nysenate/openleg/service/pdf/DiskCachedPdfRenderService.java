@@ -0,0 +1,352 @@
+package gov.nysenate.openleg.service.pdf;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.client.view.bill.BillPdfView;
+import gov.nysenate.openleg.client.view.hearing.PublicHearingPdfView;
+import gov.nysenate.openleg.client.view.transcript.TranscriptPdfView;
+import gov.nysenate.openleg.model.base.BaseLegislativeContent;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillAmendment;
+import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.hearing.PublicHearing;
+import gov.nysenate.openleg.model.hearing.PublicHearingId;
+import gov.nysenate.openleg.model.transcript.Transcript;
+import gov.nysenate.openleg.model.transcript.TranscriptId;
+import gov.nysenate.openleg.service.bill.data.BillAmendNotFoundEx;
+import gov.nysenate.openleg.service.bill.data.BillDataService;
+import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.service.hearing.data.PublicHearingDataService;
+import gov.nysenate.openleg.service.hearing.event.BulkPublicHearingUpdateEvent;
+import gov.nysenate.openleg.service.hearing.event.PublicHearingUpdateEvent;
+import gov.nysenate.openleg.service.transcript.data.TranscriptDataService;
+import gov.nysenate.openleg.service.transcript.event.BulkTranscriptUpdateEvent;
+import gov.nysenate.openleg.service.transcript.event.TranscriptUpdateEvent;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
+import org.apache.pdfbox.exceptions.COSVisitorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Renders pdfs into a directory on local disk. Each pdf is stored in a file named after the content id
+ * and the modified date time of the content, so a request for a version that was already rendered
+ * is served straight from disk. Files for older versions of the same content are removed once a newer
+ * version is rendered, unless they were served recently and may still be streaming.
+ *
+ * New bill amendments, transcripts and public hearings are rendered in the background as their
+ * update events are received. The keys that have been rendered are kept in memory so that event
+ * handlers never have to touch the disk.
+ */
+@Service
+public class DiskCachedPdfRenderService implements PdfRenderService
+{
+    private static final Logger logger = LoggerFactory.getLogger(DiskCachedPdfRenderService.class);
+
+    /** Formats the modified date time portion of a cached file name. */
+    private static final DateTimeFormatter versionFormat = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+
+    /** Used in place of the modified date time for content that has not recorded one. */
+    private static final String UNKNOWN_VERSION = "00000000000000000";
+
+    /** Characters that are not safe to use in a file name are replaced with underscores. */
+    private static final Pattern unsafeFileChars = Pattern.compile("[^A-Za-z0-9._-]");
+
+    /** Matches the name of a cached pdf, capturing the key and version. */
+    private static final Pattern cachedFileName = Pattern.compile("(.+)-(\\d{17})\\.pdf");
+
+    @Autowired private EventBus eventBus;
+    @Autowired private BillDataService billDataService;
+    @Autowired private TranscriptDataService transcriptDataService;
+    @Autowired private PublicHearingDataService publicHearingDataService;
+
+    /** The directory where rendered pdfs are stored. */
+    @Value("${pdf.cache.dir:${env.base}/pdf-cache}") private String cacheDirPath;
+
+    /** Render pdfs in the background when new content is received. */
+    @Value("${pdf.prerender.enabled:true}") private boolean prerenderEnabled;
+
+    /** The maximum number of pdfs that can be waiting to be pre-rendered. */
+    @Value("${pdf.prerender.queue.size:1000}") private int prerenderQueueSize;
+
+    /** Minutes after a pdf was last served before an older version of it can be deleted. */
+    @Value("${pdf.cache.stale.grace.minutes:10}") int staleGraceMinutes;
+
+    private File cacheDir;
+
+    private ThreadPoolExecutor prerenderExecutor;
+
+    /** Keys of the pdfs that are currently queued for pre-rendering, to avoid queueing duplicates. */
+    private final Set<String> pendingRenders = ConcurrentHashMap.newKeySet();
+
+    /** Paths (directory and key) of the pdfs that have at least one version stored in the cache. */
+    private final Set<String> cachedKeys = ConcurrentHashMap.newKeySet();
+
+    /** The last time each cached file was handed out to be served, in epoch millis. */
+    private final Map<String, Long> lastServedTimes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() throws IOException {
+        cacheDir = new File(cacheDirPath);
+        Files.createDirectories(cacheDir.toPath());
+        prerenderExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(prerenderQueueSize), new OpenlegThreadFactory("pdf-render"));
+        // Runs before any pre-render task since the executor has a single thread
+        prerenderExecutor.execute(this::loadCachedKeys);
+        eventBus.register(this);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        prerenderExecutor.shutdownNow();
+    }
+
+    /** --- PdfRenderService implementation --- */
+
+    /** {@inheritDoc} */
+    @Override
+    public CachedPdf getBillPdf(Bill bill, Version version) throws IOException, COSVisitorException {
+        if (!bill.hasAmendment(version)) {
+            throw new BillAmendNotFoundEx(bill.getBaseBillId().withVersion(version));
+        }
+        BillId billId = bill.getBaseBillId().withVersion(version);
+        return getPdf(getBillDir(billId), getBillKey(billId), bill,
+                      out -> BillPdfView.writeBillPdf(bill, version, out));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CachedPdf getTranscriptPdf(Transcript transcript) throws IOException, COSVisitorException {
+        return getPdf(new File(cacheDir, "transcripts"), getFileKey(transcript.getTranscriptId().getFilename()),
+                      transcript, out -> TranscriptPdfView.writeTranscriptPdf(transcript, out));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public CachedPdf getPublicHearingPdf(PublicHearing publicHearing) throws IOException, COSVisitorException {
+        return getPdf(new File(cacheDir, "hearings"), getFileKey(publicHearing.getId().getFileName()),
+                      publicHearing, out -> PublicHearingPdfView.writePublicHearingPdf(publicHearing, out));
+    }
+
+    /** --- Event Handlers --- */
+
+    /**
+     * Queues pdfs for amendments of the updated bill that have not yet been rendered.
+     */
+    @Subscribe
+    public void handleBillUpdate(BillUpdateEvent event) {
+        if (prerenderEnabled && event.getBill() != null) {
+            queueNewAmendments(event.getBill());
+        }
+    }
+
+    @Subscribe
+    public void handleBulkBillUpdate(BulkBillUpdateEvent event) {
+        if (prerenderEnabled && event.getBills() != null) {
+            event.getBills().forEach(this::queueNewAmendments);
+        }
+    }
+
+    @Subscribe
+    public void handleTranscriptUpdate(TranscriptUpdateEvent event) {
+        if (prerenderEnabled && event.getTranscript() != null) {
+            queueTranscript(event.getTranscript().getTranscriptId());
+        }
+    }
+
+    @Subscribe
+    public void handleBulkTranscriptUpdate(BulkTranscriptUpdateEvent event) {
+        if (prerenderEnabled && event.getTranscripts() != null) {
+            event.getTranscripts().forEach(transcript -> queueTranscript(transcript.getTranscriptId()));
+        }
+    }
+
+    @Subscribe
+    public void handlePublicHearingUpdate(PublicHearingUpdateEvent event) {
+        if (prerenderEnabled && event.getPublicHearing() != null) {
+            queuePublicHearing(event.getPublicHearing().getId());
+        }
+    }
+
+    @Subscribe
+    public void handleBulkPublicHearingUpdate(BulkPublicHearingUpdateEvent event) {
+        if (prerenderEnabled && event.getPublicHearings() != null) {
+            event.getPublicHearings().forEach(hearing -> queuePublicHearing(hearing.getId()));
+        }
+    }
+
+    /** --- Internal Methods --- */
+
+    @FunctionalInterface
+    interface PdfWriter {
+        void write(OutputStream outputStream) throws IOException, COSVisitorException;
+    }
+
+    /**
+     * Returns the cached pdf for the given key and content version, rendering it with the given writer
+     * if it has not been cached yet. Pdfs are written to a temp file and moved into place so that
+     * a partially written pdf is never served.
+     */
+    CachedPdf getPdf(File dir, String key, BaseLegislativeContent content, PdfWriter writer)
+            throws IOException, COSVisitorException {
+        String version = getVersion(content);
+        String name = key + "-" + version;
+        File pdfFile = new File(dir, name + ".pdf");
+        // Recorded before the file is checked so that a concurrent cleanup will not delete it
+        lastServedTimes.put(pdfFile.getPath(), System.currentTimeMillis());
+        if (!pdfFile.isFile()) {
+            Files.createDirectories(dir.toPath());
+            Path tempFile = Files.createTempFile(dir.toPath(), name, ".tmp");
+            try {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+                    writer.write(out);
+                }
+                Files.move(tempFile, pdfFile.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                           StandardCopyOption.REPLACE_EXISTING);
+            }
+            finally {
+                Files.deleteIfExists(tempFile);
+            }
+            logger.debug("Rendered pdf {}", pdfFile);
+            removeStaleVersions(dir, key, version);
+        }
+        cachedKeys.add(new File(dir, key).getPath());
+        return new CachedPdf(pdfFile, "\"" + name + "\"");
+    }
+
+    /**
+     * Deletes the files cached for the given key that are older than the given version. Files that were
+     * served within the grace period may still be streaming, so they are left for a later cleanup.
+     */
+    void removeStaleVersions(File dir, String key, String version) {
+        long servedCutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(staleGraceMinutes);
+        File[] staleFiles = dir.listFiles((d, fileName) -> {
+            Matcher fileNameMatcher = cachedFileName.matcher(fileName);
+            return fileNameMatcher.matches() && fileNameMatcher.group(1).equals(key) &&
+                   fileNameMatcher.group(2).compareTo(version) < 0;
+        });
+        if (staleFiles != null) {
+            for (File staleFile : staleFiles) {
+                Long lastServed = lastServedTimes.get(staleFile.getPath());
+                if (lastServed != null && lastServed > servedCutoff) {
+                    logger.debug("Keeping stale pdf {} since it was served recently", staleFile);
+                }
+                else if (staleFile.delete()) {
+                    lastServedTimes.remove(staleFile.getPath());
+                }
+                else {
+                    logger.warn("Failed to delete stale pdf {}", staleFile);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records the keys of all the pdfs stored in the cache directory.
+     */
+    private void loadCachedKeys() {
+        try (Stream<Path> paths = Files.walk(cacheDir.toPath())) {
+            paths.forEach(path -> {
+                Matcher fileNameMatcher = cachedFileName.matcher(path.getFileName().toString());
+                if (fileNameMatcher.matches()) {
+                    cachedKeys.add(new File(path.getParent().toFile(), fileNameMatcher.group(1)).getPath());
+                }
+            });
+            logger.info("Found {} cached pdfs in {}", cachedKeys.size(), cacheDir);
+        }
+        catch (IOException | UncheckedIOException ex) {
+            logger.warn("Failed to read the pdf cache directory {}", cacheDir, ex);
+        }
+    }
+
+    /**
+     * Queues the amendments of the given bill that have never been rendered. The key index is checked again
+     * on the render thread, since it may still have been loading when the event was received.
+     */
+    private void queueNewAmendments(Bill bill) {
+        BaseBillId baseBillId = bill.getBaseBillId();
+        for (BillAmendment amendment : bill.getAmendmentList()) {
+            BillId billId = amendment.getBillId();
+            String cachedKey = new File(getBillDir(billId), getBillKey(billId)).getPath();
+            if (!cachedKeys.contains(cachedKey)) {
+                queueRender("bill:" + billId, () -> cachedKeys.contains(cachedKey) ? null
+                    : getBillPdf(billDataService.getBill(baseBillId), billId.getVersion()));
+            }
+        }
+    }
+
+    private void queueTranscript(TranscriptId transcriptId) {
+        queueRender("transcript:" + transcriptId.getFilename(),
+                    () -> getTranscriptPdf(transcriptDataService.getTranscript(transcriptId)));
+    }
+
+    private void queuePublicHearing(PublicHearingId hearingId) {
+        queueRender("hearing:" + hearingId.getFileName(),
+                    () -> getPublicHearingPdf(publicHearingDataService.getPublicHearing(hearingId)));
+    }
+
+    /**
+     * Submits a render task to the background executor unless one is already pending for the key.
+     * The content is retrieved again when the task runs so that the pdf is keyed by the stored version.
+     * If the queue is full the render is skipped and will happen on the first request instead.
+     */
+    private void queueRender(String renderKey, Callable<?> renderTask) {
+        if (pendingRenders.add(renderKey)) {
+            try {
+                prerenderExecutor.execute(() -> {
+                    pendingRenders.remove(renderKey);
+                    try {
+                        renderTask.call();
+                    }
+                    catch (Exception ex) {
+                        logger.warn("Failed to pre-render pdf {}", renderKey, ex);
+                    }
+                });
+            }
+            catch (RejectedExecutionException ex) {
+                pendingRenders.remove(renderKey);
+                logger.debug("Pdf pre-render queue is full, skipping {}", renderKey);
+            }
+        }
+    }
+
+    private File getBillDir(BillId billId) {
+        return new File(new File(cacheDir, "bills"), Integer.toString(billId.getSession().getYear()));
+    }
+
+    private static String getBillKey(BillId billId) {
+        return billId.getBasePrintNo() + billId.getVersion().getValue();
+    }
+
+    private static String getFileKey(String fileName) {
+        return unsafeFileChars.matcher(fileName).replaceAll("_");
+    }
+
+    private static String getVersion(BaseLegislativeContent content) {
+        LocalDateTime modified = content.getModifiedDateTime() != null
+            ? content.getModifiedDateTime() : content.getPublishedDateTime();
+        return modified != null ? modified.format(versionFormat) : UNKNOWN_VERSION;
+    }
+}
@@ -0,0 +1,43 @@
+package gov.nysenate.openleg.service.pdf;
+
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.hearing.PublicHearing;
+import gov.nysenate.openleg.model.transcript.Transcript;
+import gov.nysenate.openleg.service.bill.data.BillAmendNotFoundEx;
+import org.apache.pdfbox.exceptions.COSVisitorException;
+
+import java.io.IOException;
+
+/**
+ * Renders pdf representations of legislative content. Rendered pdfs are stored on disk keyed by
+ * the content's id and last modified date time, so a pdf is only rendered once per version of the content.
+ */
+public interface PdfRenderService
+{
+    /**
+     * Retrieve the pdf for the full text of the given bill amendment, rendering it if necessary.
+     *
+     * @param bill Bill - The bill containing the amendment.
+     * @param version Version - The amendment version.
+     * @return CachedPdf
+     * @throws BillAmendNotFoundEx if the bill does not have the given amendment.
+     */
+    CachedPdf getBillPdf(Bill bill, Version version) throws IOException, COSVisitorException;
+
+    /**
+     * Retrieve the pdf for the given transcript, rendering it if necessary.
+     *
+     * @param transcript Transcript
+     * @return CachedPdf
+     */
+    CachedPdf getTranscriptPdf(Transcript transcript) throws IOException, COSVisitorException;
+
+    /**
+     * Retrieve the pdf for the given public hearing, rendering it if necessary.
+     *
+     * @param publicHearing PublicHearing
+     * @return CachedPdf
+     */
+    CachedPdf getPublicHearingPdf(PublicHearing publicHearing) throws IOException, COSVisitorException;
+}
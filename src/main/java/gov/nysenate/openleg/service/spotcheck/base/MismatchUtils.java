@@ -4,8 +4,7 @@ import gov.nysenate.openleg.model.spotcheck.*;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -13,9 +12,13 @@ public class MismatchUtils {
 
 
     public static List<DeNormSpotCheckMismatch> copyIgnoreStatuses(List<DeNormSpotCheckMismatch> from, List<DeNormSpotCheckMismatch> to) {
+        // Index the mismatches being copied from, keeping the first of any equal mismatches like List.indexOf would
+        Map<DeNormSpotCheckMismatch, DeNormSpotCheckMismatch> fromIndex = new HashMap<>();
+        from.forEach(mismatch -> fromIndex.putIfAbsent(mismatch, mismatch));
         for (DeNormSpotCheckMismatch mismatch : to) {
-            if (from.contains(mismatch)) {
-                mismatch.setIgnoreStatus(from.get(from.indexOf(mismatch)).getIgnoreStatus());
+            DeNormSpotCheckMismatch fromMismatch = fromIndex.get(mismatch);
+            if (fromMismatch != null) {
+                mismatch.setIgnoreStatus(fromMismatch.getIgnoreStatus());
             }
         }
         return to;
@@ -74,11 +77,12 @@ public class MismatchUtils {
                                                                        Set<SpotCheckMismatchType> checkedTypes,
                                                                        LocalDateTime reportDateTime,
                                                                        LocalDateTime referenceDateTime) {
+        Set<DeNormSpotCheckMismatch> reportMismatchSet = new HashSet<>(reportMismatches);
         return currentMismatches.stream()
                 .filter(m -> m.getState() != MismatchState.CLOSED)
                 .filter(m -> checkedKeys.contains(m.getKey()))
                 .filter(m -> checkedTypes.contains(m.getType()))
-                .filter(m -> !reportMismatches.contains(m))
+                .filter(m -> !reportMismatchSet.contains(m))
                 // Update mismatch, setting to closed and updating dates.
                 .peek(m -> m.setState(MismatchState.CLOSED))
                 .peek(m -> m.setReportDateTime(reportDateTime))
@@ -0,0 +1,120 @@
+package gov.nysenate.openleg.service.spotcheck.base;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Iterators;
+import gov.nysenate.openleg.model.spotcheck.SpotCheckObservation;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the checks of a spotcheck report against a stream of references.
+ *
+ * References are consumed in batches. The content for each batch is bulk loaded on the calling thread while
+ * the checks for the previous batch run on a bounded worker pool, so only a couple of batches worth of
+ * references and content are held in memory at once. Observations are handed back on the calling thread in
+ * reference order, which means they can be added to a report without any further synchronization.
+ */
+@Service
+public class SpotCheckExecutor
+{
+    private static final Logger logger = LoggerFactory.getLogger(SpotCheckExecutor.class);
+
+    /** The number of threads that run spotchecks. */
+    @Value("${spotcheck.threads:4}") int threads;
+
+    /** The number of references that are loaded and checked together. */
+    @Value("${spotcheck.batch.size:200}") int batchSize;
+
+    private ThreadPoolExecutor checkExecutor;
+
+    @PostConstruct
+    public void init() {
+        // Checks that don't fit in the queue are run by the calling thread, which throttles the reading of references
+        checkExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(batchSize), new OpenlegThreadFactory("spotcheck"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkExecutor.shutdownNow();
+    }
+
+    /**
+     * @return int - The number of references that are loaded and checked together.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Checks each reference against its content, passing the resulting observations to the given sink.
+     *
+     * @param references Iterator<Ref> - The references to check, read lazily one batch at a time
+     * @param contentIdFn Function<Ref, ContentId> - Gets the id of the content that a reference is checked against
+     * @param contentLoader Function - Loads the content for a batch of content ids. Content that could not be
+     *                      found should be left out of the returned map, the checker then receives null for it.
+     * @param checker BiFunction<Content, Ref, SpotCheckObservation> - Checks a single reference, run concurrently.
+     *                May return null if the reference is not to be checked, the sink then receives nothing for it.
+     * @param observationSink Consumer<SpotCheckObservation> - Receives the observations on the calling thread
+     * @return int - The number of references that were checked
+     */
+    public <ContentKey, ContentId, Content, Ref> int check(
+            Iterator<Ref> references,
+            Function<Ref, ContentId> contentIdFn,
+            Function<Collection<ContentId>, Map<ContentId, Content>> contentLoader,
+            BiFunction<Content, Ref, SpotCheckObservation<ContentKey>> checker,
+            Consumer<SpotCheckObservation<ContentKey>> observationSink) {
+        int checked = 0;
+        List<Future<SpotCheckObservation<ContentKey>>> pending = Collections.emptyList();
+        Iterator<List<Ref>> batches = Iterators.partition(references, batchSize);
+        while (batches.hasNext()) {
+            List<Ref> batch = batches.next();
+            Set<ContentId> contentIds = batch.stream().map(contentIdFn).collect(Collectors.toCollection(LinkedHashSet::new));
+            Map<ContentId, Content> content = contentLoader.apply(contentIds);
+            checked += drain(pending, observationSink);
+            pending = batch.stream()
+                .map(ref -> checkExecutor.submit(() -> checker.apply(content.get(contentIdFn.apply(ref)), ref)))
+                .collect(Collectors.toList());
+        }
+        checked += drain(pending, observationSink);
+        logger.debug("Checked {} references", checked);
+        return checked;
+    }
+
+    /** --- Internal Methods --- */
+
+    private <ContentKey> int drain(List<Future<SpotCheckObservation<ContentKey>>> pending,
+                                   Consumer<SpotCheckObservation<ContentKey>> observationSink) {
+        try {
+            for (Future<SpotCheckObservation<ContentKey>> future : pending) {
+                SpotCheckObservation<ContentKey> observation = future.get();
+                if (observation != null) {
+                    observationSink.accept(observation);
+                }
+            }
+            return pending.size();
+        }
+        catch (InterruptedException ex) {
+            pending.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for spotchecks to complete", ex);
+        }
+        catch (ExecutionException ex) {
+            pending.forEach(future -> future.cancel(true));
+            throw Throwables.propagate(ex.getCause());
+        }
+    }
+}
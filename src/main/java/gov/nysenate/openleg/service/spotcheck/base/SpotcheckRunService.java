@@ -8,6 +8,7 @@ import gov.nysenate.openleg.model.spotcheck.ReferenceDataNotFoundEx;
 import gov.nysenate.openleg.model.spotcheck.SpotCheckRefType;
 import gov.nysenate.openleg.model.spotcheck.SpotCheckReferenceEvent;
 import gov.nysenate.openleg.model.spotcheck.SpotCheckReport;
+import gov.nysenate.openleg.service.event.AsyncSubscriber;
 import gov.nysenate.openleg.service.spotcheck.agenda.AgendaReportService;
 import gov.nysenate.openleg.service.spotcheck.billtext.BillTextReportService;
 import gov.nysenate.openleg.service.spotcheck.calendar.CalendarReportService;
@@ -81,6 +82,7 @@ public class SpotcheckRunService {
      * @param referenceEvent SpotCheckReferenceEvent
      */
     @Subscribe
+    @AsyncSubscriber
     public synchronized void handleSpotcheckReferenceEvent(SpotCheckReferenceEvent referenceEvent) {
         runReports(referenceEvent.getRefType());
     }
@@ -9,6 +9,7 @@ import gov.nysenate.openleg.model.bill.BillUpdateField;
 import gov.nysenate.openleg.model.spotcheck.SpotCheckMismatchType;
 import gov.nysenate.openleg.model.spotcheck.billtext.ScrapeQueuePriority;
 import gov.nysenate.openleg.service.bill.event.BillFieldUpdateEvent;
+import gov.nysenate.openleg.service.event.AsyncSubscriber;
 import gov.nysenate.openleg.service.spotcheck.base.SpotcheckMismatchEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +20,7 @@ import javax.annotation.PostConstruct;
 
 /** Adds bills to the bill text scrape queue based on certain events */
 @Service
+@AsyncSubscriber
 public class BillTextScrapeQueueService {
     private static final Logger logger = LoggerFactory.getLogger(BillTextScrapeQueueService.class);
 
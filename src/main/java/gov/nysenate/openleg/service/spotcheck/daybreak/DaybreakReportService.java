@@ -1,8 +1,10 @@
 package gov.nysenate.openleg.service.spotcheck.daybreak;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Range;
 import com.google.common.collect.Sets;
 import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.dao.bill.data.BillDao;
 import gov.nysenate.openleg.dao.bill.reference.daybreak.DaybreakDao;
 import gov.nysenate.openleg.dao.spotcheck.SpotCheckReportDao;
 import gov.nysenate.openleg.model.base.PublishStatus;
@@ -15,6 +17,7 @@ import gov.nysenate.openleg.model.spotcheck.daybreak.DaybreakBill;
 import gov.nysenate.openleg.model.spotcheck.*;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.service.spotcheck.base.BaseSpotCheckReportService;
+import gov.nysenate.openleg.service.spotcheck.base.SpotCheckExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,6 +41,9 @@ public class DaybreakReportService extends BaseSpotCheckReportService<BillId>
 {
     private static final Logger logger = LoggerFactory.getLogger(DaybreakReportService.class);
 
+    /** The number of bills loaded at once when looking for bills that are missing from the daybreak. */
+    private static final int BILL_BATCH_SIZE = 200;
+
     @Autowired
     private DaybreakCheckService daybreakCheckService;
 
@@ -50,6 +56,12 @@ public class DaybreakReportService extends BaseSpotCheckReportService<BillId>
     @Autowired
     private BillDataService billDataService;
 
+    @Autowired
+    private BillDao billDao;
+
+    @Autowired
+    private SpotCheckExecutor spotCheckExecutor;
+
     /** --- Implemented Methods --- */
 
     @Override
@@ -94,35 +106,27 @@ public class DaybreakReportService extends BaseSpotCheckReportService<BillId>
                 .collect(toSet());
 
         // Check for differences between the set of daybreak and openleg base bill ids.
-        Sets.symmetricDifference(daybreakBillIds, openlegBillIds).stream()
-                .forEach(id -> {
-                    // id exists in daybreak or openleg sets, never both.
-                    SpotCheckObservation<BillId> sourceMissingObs = new SpotCheckObservation<>(refId, id);
-                    SpotCheckMismatch mismatch = null;
-                    if (openlegBillIds.contains(id)) {
-                        // openleg has the bill but daybreak does not, add reference missing mismatch if bill is published.
-                        Bill bill = billDataService.getBill(id);
-                        if (billIsPublished(bill)) {
-                            logger.info("Missing Daybreak bill {}", id);
-                            mismatch = new SpotCheckMismatch(REFERENCE_DATA_MISSING, id, "");
-                            recordMismatch(report, sourceMissingObs, mismatch);
-                        }
-                    }
-                    else {
-                        // daybreak has the bill but openleg does not, add observe missing mismatch.
-                        logger.info("Missing OpenLeg bill {}", id);
-                        mismatch = new SpotCheckMismatch(OBSERVE_DATA_MISSING, "", "");
-                        recordMismatch(report, sourceMissingObs, mismatch);
-                    }
-                });
+        Sets.difference(daybreakBillIds, openlegBillIds).forEach(id -> {
+            // daybreak has the bill but openleg does not, add observe missing mismatch.
+            logger.info("Missing OpenLeg bill {}", id);
+            recordMismatch(report, new SpotCheckObservation<>(refId, id), new SpotCheckMismatch(OBSERVE_DATA_MISSING, "", ""));
+        });
+        // openleg has the bill but daybreak does not, add reference missing mismatch if bill is published.
+        Iterables.partition(Sets.difference(openlegBillIds, daybreakBillIds).immutableCopy(), BILL_BATCH_SIZE)
+            .forEach(billIds -> billDao.getBills(billIds).values().stream()
+                .filter(this::billIsPublished)
+                .forEach(bill -> {
+                    logger.info("Missing Daybreak bill {}", bill.getBaseBillId());
+                    recordMismatch(report, new SpotCheckObservation<>(refId, bill.getBaseBillId()),
+                                   new SpotCheckMismatch(REFERENCE_DATA_MISSING, bill.getBaseBillId(), ""));
+                }));
 
         // Perform actual spot checks for the bills common to both sets
-        daybreakBills.stream()
+        Iterator<DaybreakBill> commonBills = daybreakBills.stream()
             .filter(daybreakBill -> openlegBillIds.contains(daybreakBill.getBaseBillId()))
-            .forEach(daybreakBill -> {
-                Bill bill = billDataService.getBill(daybreakBill.getBaseBillId());
-                report.addObservation(daybreakCheckService.check(bill, daybreakBill));
-            });
+            .iterator();
+        spotCheckExecutor.check(commonBills, DaybreakBill::getBaseBillId, billDao::getBills,
+                                daybreakCheckService::check, report::addObservation);
         // Set the report as being checked
         daybreakDao.updateDaybreakReportSetChecked(report.getReferenceDateTime().toLocalDate(), true);
         // Done with this report!
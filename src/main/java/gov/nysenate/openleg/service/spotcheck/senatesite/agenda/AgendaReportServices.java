@@ -1,6 +1,7 @@
 package gov.nysenate.openleg.service.spotcheck.senatesite.agenda;
 
 import com.google.common.collect.*;
+import gov.nysenate.openleg.dao.agenda.data.AgendaDao;
 import gov.nysenate.openleg.dao.agenda.data.AgendaUpdatesDao;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
@@ -10,7 +11,6 @@ import gov.nysenate.openleg.dao.spotcheck.CommitteeAgendaAddendumIdSpotCheckRepo
 import gov.nysenate.openleg.dao.spotcheck.SpotCheckReportDao;
 import gov.nysenate.openleg.model.agenda.Agenda;
 import gov.nysenate.openleg.model.agenda.AgendaId;
-import gov.nysenate.openleg.model.agenda.AgendaNotFoundEx;
 import gov.nysenate.openleg.model.agenda.CommitteeAgendaAddendumId;
 import gov.nysenate.openleg.model.base.Version;
 import gov.nysenate.openleg.model.spotcheck.*;
@@ -23,16 +23,18 @@ import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
 import gov.nysenate.openleg.service.agenda.data.AgendaDataService;
 import gov.nysenate.openleg.service.spotcheck.base.BaseSpotCheckReportService;
+import gov.nysenate.openleg.service.spotcheck.base.SpotCheckExecutor;
 import gov.nysenate.openleg.util.DateUtils;
-import org.elasticsearch.common.collect.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -53,6 +55,10 @@ public class AgendaReportServices extends BaseSpotCheckReportService<CommitteeAg
     @Autowired
     private AgendaDataService agendaDataService;
     @Autowired
+    private AgendaDao agendaDao;
+    @Autowired
+    private SpotCheckExecutor spotCheckExecutor;
+    @Autowired
     private CommitteeAgendaAddendumIdSpotCheckReportDao committeeAgendaAddendumIdSpotCheckReportDao;
 
     @Override
@@ -79,42 +85,50 @@ public class AgendaReportServices extends BaseSpotCheckReportService<CommitteeAg
             // Get reference agendas using the agenda dump update interval
             Set<AgendaId> updatedAgendaIds = getAgendaUpdatesDuring(agendaDump);
             logger.info("got {} updated agenda ids", updatedAgendaIds.size());
-            Map<AgendaId, Agenda> updatedAgendas = new LinkedHashMap<>();
-            logger.info("retrieving agendas");
-            for (AgendaId agendaId : updatedAgendaIds) {
-                try {
-                    updatedAgendas.put(agendaId, agendaDataService.getAgenda(agendaId));
-                } catch (AgendaNotFoundEx ex) {
-                    SpotCheckObservation<CommitteeAgendaAddendumId> observation = new SpotCheckObservation<>(reportId.getReferenceId(),
-                            new CommitteeAgendaAddendumId(agendaId, null, Version.DEFAULT));
-                    observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.OBSERVE_DATA_MISSING, "", agendaId));
-                    report.addObservation(observation);
-                }
-            }
-            logger.info("got {} agendas", updatedAgendas.size());
             logger.info("retrieving agenda dump");
             // Extract senate site agendas from the dump
             Multimap<CommitteeAgendaAddendumId, SenateSiteAgenda> dumpedAgendas = ArrayListMultimap.create();
             agendaJsonParser.parseAgendas(agendaDump).forEach(b -> dumpedAgendas.put(b.getcommitteeAgendaAddendumId(), b));
             logger.info("parsed {} dumped agendas", dumpedAgendas.size());
 
-            prunePostDumpAgendas(agendaDump, report, dumpedAgendas, updatedAgendas);
-
-            logger.info("comparing agendas present");
-            // Add observations for any missing calendars that should have been in the dump
-            Tuple<List<SpotCheckObservation<CommitteeAgendaAddendumId>>,List<CommitteeAgendaAddendumId>> obs =
-                    getRefDataMissingObs(dumpedAgendas.values(), updatedAgendas.values(),
-                    reportId.getReferenceId());
-            report.addObservations(obs.v1());
+            prunePostDumpAgendas(agendaDump, report, dumpedAgendas, updatedAgendaIds);
+
+            // Agendas are loaded in batches as they are checked, keeping only the ids of their committee addenda
+            Set<AgendaId> loadedAgendaIds = new HashSet<>();
+            Set<CommitteeAgendaAddendumId> openlegAddendumIds = new HashSet<>();
+            Function<Collection<AgendaId>, Map<AgendaId, Agenda>> agendaLoader = agendaIds -> {
+                Map<AgendaId, Agenda> agendas = getAgendas(agendaIds);
+                agendaIds.stream().filter(loadedAgendaIds::add).forEach(agendaId -> {
+                    if (agendas.containsKey(agendaId)) {
+                        openlegAddendumIds.addAll(agendas.get(agendaId).getCommitteeAgendaAddendumIds());
+                    }
+                    else {
+                        report.addObservation(getAgendaMissingObs(agendaId, reportId.getReferenceId()));
+                    }
+                });
+                return agendas;
+            };
 
             logger.info("checking agendas");
-            // Check each dumped senate site calendar
-            dumpedAgendas.values().stream()
-                    .filter(senateSiteAgenda -> updatedAgendas.containsKey(senateSiteAgenda.getAgendaId())
-                            && !obs.v2().contains(senateSiteAgenda.getcommitteeAgendaAddendumId()))
-                    .map(senateSiteAgenda-> agendaCheckServices.check(updatedAgendas.get(senateSiteAgenda.getAgendaId()),
-                            senateSiteAgenda))
-                    .forEach(report::addObservation);
+            // Check each dumped senate site agenda whose committee addendum is present in openleg
+            Iterator<SenateSiteAgenda> senSiteAgendas = dumpedAgendas.values().stream()
+                    .filter(senateSiteAgenda -> updatedAgendaIds.contains(senateSiteAgenda.getAgendaId()))
+                    .sorted(Comparator.comparing(SenateSiteAgenda::getAgendaId))
+                    .iterator();
+            spotCheckExecutor.check(senSiteAgendas, SenateSiteAgenda::getAgendaId, agendaLoader,
+                    (agenda, senateSiteAgenda) -> agenda != null &&
+                            agenda.getCommitteeAgendaAddendumIds().contains(senateSiteAgenda.getcommitteeAgendaAddendumId())
+                            ? agendaCheckServices.check(agenda, senateSiteAgenda) : null,
+                    report::addObservation);
+            // The remaining updated agendas have nothing in the dump, but their addenda are still expected there
+            Iterables.partition(ImmutableList.copyOf(Sets.difference(updatedAgendaIds, loadedAgendaIds)),
+                    spotCheckExecutor.getBatchSize()).forEach(agendaLoader::apply);
+            logger.info("got {} agendas", loadedAgendaIds.size());
+
+            logger.info("comparing agendas present");
+            // Add observations for any missing agendas that should have been in the dump
+            report.addObservations(getRefDataMissingObs(dumpedAgendas.keySet(), openlegAddendumIds,
+                    reportId.getReferenceId()));
 
             logger.info("done: {} mismatches", report.getOpenMismatchCount(false));
         } finally {
@@ -153,7 +167,7 @@ public class AgendaReportServices extends BaseSpotCheckReportService<CommitteeAg
     }
 
     private void prunePostDumpAgendas(SenateSiteDump agendaDump, SpotCheckReport report,
-                                        Multimap<CommitteeAgendaAddendumId, SenateSiteAgenda> senSiteAgendas, Map<AgendaId, Agenda> openlegAgendas) {
+                                        Multimap<CommitteeAgendaAddendumId, SenateSiteAgenda> senSiteAgendas, Set<AgendaId> openlegAgendaIds) {
         Range<LocalDateTime> agendaDumpRange = agendaDump.getDumpId().getRange();
         Range<LocalDateTime> postDumpRange =  Range.downTo(DateUtils.endOfDateTimeRange(agendaDumpRange),
                 agendaDumpRange.upperBoundType() == BoundType.OPEN ? BoundType.CLOSED : BoundType.OPEN);
@@ -168,25 +182,39 @@ public class AgendaReportServices extends BaseSpotCheckReportService<CommitteeAg
             //  collecting them in a list to add to the report notes
             String notes = postDumpUpdatedAgendas.stream()
                     .peek(senSiteAgendas::removeAll)
-                    .peek(openlegAgendas::remove)
+                    .peek(openlegAgendaIds::remove)
                     .reduce("Ignored Agendas:", (str, agendaId) -> str + " " + agendaId, (a, b) -> a + " " + b);
             report.setNotes(notes);
         }
     }
 
-    private Tuple<List<SpotCheckObservation<CommitteeAgendaAddendumId>>, List<CommitteeAgendaAddendumId>> getRefDataMissingObs(Collection<SenateSiteAgenda> senSiteAgendas,
-                                                                                                                   Collection<Agenda> openlegAgendas,
-                                                                                                                   SpotCheckReferenceId refId) {
-        Set<CommitteeAgendaAddendumId> senSiteAgendaIds = senSiteAgendas.stream()
-                .map(SenateSiteAgenda::getcommitteeAgendaAddendumId)
-                .collect(Collectors.toSet());
+    /**
+     * Loads the agendas with the given ids, leaving out any agendas that could not be found.
+     * The agenda dao has no bulk query, so each agenda of the batch is loaded on its own.
+     */
+    private Map<AgendaId, Agenda> getAgendas(Collection<AgendaId> agendaIds) {
+        Map<AgendaId, Agenda> agendas = new LinkedHashMap<>();
+        for (AgendaId agendaId : agendaIds) {
+            try {
+                agendas.put(agendaId, agendaDao.getAgenda(agendaId));
+            } catch (EmptyResultDataAccessException ex) {
+                logger.debug("Agenda {} was not found", agendaId);
+            }
+        }
+        return agendas;
+    }
 
-        Set<CommitteeAgendaAddendumId> openlegAgendaIds = openlegAgendas.stream()
-                .map(Agenda::getCommitteeAgendaAddendumIds)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toSet());
-        List<CommitteeAgendaAddendumId> toRemove = new ArrayList<>();
+    private SpotCheckObservation<CommitteeAgendaAddendumId> getAgendaMissingObs(AgendaId agendaId,
+                                                                               SpotCheckReferenceId refId) {
+        SpotCheckObservation<CommitteeAgendaAddendumId> observation = new SpotCheckObservation<>(refId,
+                new CommitteeAgendaAddendumId(agendaId, null, Version.DEFAULT));
+        observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.OBSERVE_DATA_MISSING, "", agendaId));
+        return observation;
+    }
 
+    private List<SpotCheckObservation<CommitteeAgendaAddendumId>> getRefDataMissingObs(Set<CommitteeAgendaAddendumId> senSiteAgendaIds,
+                                                                                       Set<CommitteeAgendaAddendumId> openlegAgendaIds,
+                                                                                       SpotCheckReferenceId refId) {
         List<SpotCheckObservation<CommitteeAgendaAddendumId>> refData = Sets.difference(openlegAgendaIds, senSiteAgendaIds).stream()
                 .map(agendaId -> {
                     SpotCheckObservation<CommitteeAgendaAddendumId> observation =
@@ -195,22 +223,20 @@ public class AgendaReportServices extends BaseSpotCheckReportService<CommitteeAg
                     return observation;
                 }).collect(Collectors.toList());
 
-        List<SpotCheckObservation<CommitteeAgendaAddendumId>> obsData = Sets.difference(senSiteAgendaIds,openlegAgendaIds).stream()
+        List<SpotCheckObservation<CommitteeAgendaAddendumId>> obsData = Sets.difference(senSiteAgendaIds, openlegAgendaIds).stream()
                 .map(agendaId -> {
                     SpotCheckObservation<CommitteeAgendaAddendumId> observation =
                             new SpotCheckObservation<>(refId, agendaId);
                     observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.OBSERVE_DATA_MISSING, "", ""));
-                    toRemove.add(agendaId);
                     return observation;
                 }).collect(Collectors.toList());
 
         List<SpotCheckObservation<CommitteeAgendaAddendumId>> allDataObs = new ArrayList<>();
         allDataObs.addAll(refData);
         allDataObs.addAll(obsData);
-        return Tuple.tuple(allDataObs,toRemove);
+        return allDataObs;
     }
 
-
     /**
      * @param dump SenateSiteDump
      * @return String - notes that indicate the type of dump and the relevant dates
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.time.*;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class BillJsonParser extends JsonParser{
@@ -30,9 +31,19 @@ public class BillJsonParser extends JsonParser{
     @Autowired ObjectMapper objectMapper;
 
     public List<SenateSiteBill> parseBills(SenateSiteDump billDump) throws ParseError {
+        return streamBills(billDump).collect(Collectors.toList());
+    }
+
+    /**
+     * Parses the bills of a dump lazily, reading one dump fragment at a time as the stream is consumed.
+     *
+     * @param billDump SenateSiteDump
+     * @return Stream<SenateSiteBill>
+     * @throws ParseError while the stream is consumed, if a fragment could not be parsed
+     */
+    public Stream<SenateSiteBill> streamBills(SenateSiteDump billDump) throws ParseError {
         return billDump.getDumpFragments().stream()
-                .flatMap(fragment -> extractBillsFromFragment(fragment).stream())
-                .collect(Collectors.toList());
+                .flatMap(fragment -> extractBillsFromFragment(fragment).stream());
     }
 
     /** --- Internal Methods --- */
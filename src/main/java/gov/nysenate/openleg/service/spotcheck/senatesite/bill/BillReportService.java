@@ -4,6 +4,7 @@ import com.google.common.collect.*;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.dao.bill.data.BillDao;
 import gov.nysenate.openleg.dao.bill.data.BillUpdatesDao;
 import gov.nysenate.openleg.dao.bill.reference.senatesite.SenateSiteDao;
 import gov.nysenate.openleg.dao.spotcheck.BillIdSpotCheckReportDao;
@@ -21,8 +22,8 @@ import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDump;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
-import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
 import gov.nysenate.openleg.service.spotcheck.base.BaseSpotCheckReportService;
+import gov.nysenate.openleg.service.spotcheck.base.SpotCheckExecutor;
 import gov.nysenate.openleg.service.spotcheck.senatesite.bill.BillCheckService;
 import gov.nysenate.openleg.service.spotcheck.senatesite.bill.BillJsonParser;
 import gov.nysenate.openleg.util.DateUtils;
@@ -34,6 +35,7 @@ import org.springframework.stereotype.Service;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -41,14 +43,19 @@ public class BillReportService extends BaseSpotCheckReportService<BillId> {
 
     private static final Logger logger = LoggerFactory.getLogger(BillReportService.class);
 
+    /** The number of bills loaded at once when looking for bills that are missing from the dump. */
+    private static final int BILL_BATCH_SIZE = 200;
+
     @Autowired private BillIdSpotCheckReportDao billReportDao;
     @Autowired private SenateSiteDao senateSiteDao;
     @Autowired private BillJsonParser billJsonParser;
 
     @Autowired private BillDataService billDataService;
+    @Autowired private BillDao billDao;
     @Autowired private BillUpdatesDao billUpdatesDao;
 
     @Autowired private BillCheckService billCheckService;
+    @Autowired private SpotCheckExecutor spotCheckExecutor;
 
     @Override
     protected SpotCheckReportDao<BillId> getReportDao() {
@@ -74,36 +81,44 @@ public class BillReportService extends BaseSpotCheckReportService<BillId> {
             // Get reference bills using the bill dump update interval
             Set<BaseBillId> updatedBillIds = getBillUpdatesDuring(billDump);
             logger.info("got {} updated bill ids", updatedBillIds.size());
-            Map<BaseBillId, Bill> updatedBills = new LinkedHashMap<>();
-            logger.info("retrieving bills");
-            for (BaseBillId billId : updatedBillIds) {
-                try {
-                    updatedBills.put(billId, billDataService.getBill(billId));
-                } catch (BillNotFoundEx ex) {
-                    SpotCheckObservation<BillId> observation = new SpotCheckObservation<>(reportId.getReferenceId(), billId);
-                    observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.OBSERVE_DATA_MISSING, "", billId));
-                    report.addObservation(observation);
-                }
-            }
-            logger.info("got {} bills", updatedBills.size());
-            logger.info("retrieving bill dump");
-            // Extract senate site bills from the dump
-            Multimap<BaseBillId, SenateSiteBill> dumpedBills = ArrayListMultimap.create();
-            billJsonParser.parseBills(billDump).forEach(b -> dumpedBills.put(b.getBaseBillId(), b));
-            logger.info("parsed {} dumped bills", dumpedBills.size());
 
-            prunePostDumpBills(billDump, report, dumpedBills, updatedBills);
+            Set<BaseBillId> postDumpBillIds = prunePostDumpBills(billDump, report, updatedBillIds);
+
+            // Bill ids that are collected while the dump is checked, used to find bills missing from either side
+            Set<BaseBillId> loadedBillIds = new HashSet<>();
+            Set<BillId> publishedBillIds = new HashSet<>();
+            Set<BillId> dumpedBillIds = new HashSet<>();
+            Function<Collection<BaseBillId>, Map<BaseBillId, Bill>> billLoader = billIds -> {
+                Map<BaseBillId, Bill> bills = billDao.getBills(
+                        Sets.intersection(new HashSet<>(billIds), updatedBillIds).immutableCopy());
+                bills.values().forEach(bill -> {
+                    loadedBillIds.add(bill.getBaseBillId());
+                    publishedBillIds.addAll(getPublishedBillIds(bill));
+                });
+                return bills;
+            };
+
+            logger.info("checking bills");
+            // Check each dumped senate site bill as it is parsed from the dump
+            Iterator<SenateSiteBill> dumpedBills = billJsonParser.streamBills(billDump)
+                    .filter(senSiteBill -> !postDumpBillIds.contains(senSiteBill.getBaseBillId()))
+                    .peek(senSiteBill -> dumpedBillIds.add(senSiteBill.getBillId()))
+                    .iterator();
+            int checked = spotCheckExecutor.check(dumpedBills, SenateSiteBill::getBaseBillId, billLoader,
+                    billCheckService::check, report::addObservation);
+            logger.info("checked {} dumped bills", checked);
 
             logger.info("comparing bills present");
+            // Load the updated bills that were not in the dump to see which of them should have been
+            Iterables.partition(Sets.difference(updatedBillIds, loadedBillIds).immutableCopy(), BILL_BATCH_SIZE)
+                    .forEach(billLoader::apply);
+            for (BaseBillId billId : Sets.difference(updatedBillIds, loadedBillIds)) {
+                SpotCheckObservation<BillId> observation = new SpotCheckObservation<>(reportId.getReferenceId(), billId);
+                observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.OBSERVE_DATA_MISSING, "", billId));
+                report.addObservation(observation);
+            }
             // Add observations for any missing bills that should have been in the dump
-            report.addObservations(getRefDataMissingObs(dumpedBills.values(), updatedBills.values(),
-                    reportId.getReferenceId()));
-
-            logger.info("checking bills");
-            // Check each dumped senate site bill
-            dumpedBills.values().stream()
-                    .map(senSiteBill -> billCheckService.check(updatedBills.get(senSiteBill.getBaseBillId()), senSiteBill))
-                    .forEach(report::addObservation);
+            report.addObservations(getRefDataMissingObs(dumpedBillIds, publishedBillIds, reportId.getReferenceId()));
 
             logger.info("done: {} mismatches", report.getOpenMismatchCount(false));
         } finally {
@@ -147,15 +162,15 @@ public class BillReportService extends BaseSpotCheckReportService<BillId> {
 
     /**
      * Get the base bill ids of all bills updated after the update interval specified by the dump
-     * Remove these bills from the openleg and senate site bill references
+     * Remove these bills from the openleg bill references, they are also skipped when reading the dump
      * Store a string list of these bill ids in the report notes
      *
      * @param billDump SenateSiteBillDump
-     * @param senSiteBills Multimap<BaseBillId, SenateSiteBill>
-     * @param openlegBills Map<BaseBillId, Bill>
+     * @param openlegBillIds Set<BaseBillId> - Bills updated during the dump interval
+     * @return Set<BaseBillId> - The bills that were updated after the dump interval
      */
-    private void prunePostDumpBills(SenateSiteDump billDump, SpotCheckReport report,
-                                    Multimap<BaseBillId, SenateSiteBill> senSiteBills, Map<BaseBillId, Bill> openlegBills) {
+    private Set<BaseBillId> prunePostDumpBills(SenateSiteDump billDump, SpotCheckReport report,
+                                               Set<BaseBillId> openlegBillIds) {
         Range<LocalDateTime> billDumpRange = billDump.getDumpId().getRange();
         Range<LocalDateTime> postDumpRange =  Range.downTo(DateUtils.endOfDateTimeRange(billDumpRange),
                 billDumpRange.upperBoundType() == BoundType.OPEN ? BoundType.CLOSED : BoundType.OPEN);
@@ -169,33 +184,36 @@ public class BillReportService extends BaseSpotCheckReportService<BillId> {
             // Iterate over bills updated after the update interval, removing them from the references and
             //  collecting them in a list to add to the report notes
             String notes = postDumpUpdatedBills.stream()
-                    .peek(senSiteBills::removeAll)
-                    .peek(openlegBills::remove)
+                    .peek(openlegBillIds::remove)
                     .reduce("Ignored Bills:", (str, billId) -> str + " " + billId, (a, b) -> a + " " + b);
             report.setNotes(report.getNotes() + "\n" + notes);
         }
+        return postDumpUpdatedBills;
+    }
+
+    /**
+     * @param bill Bill
+     * @return Set<BillId> - The ids of the amendments of the bill that are currently published
+     */
+    private static Set<BillId> getPublishedBillIds(Bill bill) {
+        return bill.getAmendmentIds().stream()
+                .filter(billId -> bill.getPublishStatus(billId.getVersion())
+                        .map(PublishStatus::isPublished)
+                        .orElse(false))
+                .collect(Collectors.toSet());
     }
 
     /**
      * Generate data missing observations for all bills that were updated in the bill dump update interval,
      *  but not included in the bill dump
-     * @param senSiteBills Collection<SenateSiteBill> - Bills extracted from the dump
-     * @param openlegBills Collection<Bill> - Bills updated during the dump interval
+     * @param senSiteBillIds Set<BillId> - Ids of the bills extracted from the dump
+     * @param openlegBillIds Set<BillId> - Ids of the published amendments of bills updated during the dump interval
      * @param refId SpotCheckReferenceId - reference Id used to create the observations
      * @return List<SpotCheckObservation<BillId>>
      */
-    private List<SpotCheckObservation<BillId>> getRefDataMissingObs(Collection<SenateSiteBill> senSiteBills,
-                                                                    Collection<Bill> openlegBills,
+    private List<SpotCheckObservation<BillId>> getRefDataMissingObs(Set<BillId> senSiteBillIds,
+                                                                    Set<BillId> openlegBillIds,
                                                                     SpotCheckReferenceId refId) {
-        Set<BillId> senSiteBillIds = senSiteBills.stream()
-                .map(SenateSiteBill::getBillId)
-                .collect(Collectors.toSet());
-        Set<BillId> openlegBillIds = openlegBills.stream()
-                .flatMap(bill -> bill.getAmendmentIds().stream()
-                        .filter(billId -> bill.getPublishStatus(billId.getVersion())
-                                .map(PublishStatus::isPublished)
-                                .orElse(false)))
-                .collect(Collectors.toSet());
         return Sets.difference(openlegBillIds, senSiteBillIds).stream()
                 .map(billId -> {
                     SpotCheckObservation<BillId> observation = new SpotCheckObservation<>(refId, billId);
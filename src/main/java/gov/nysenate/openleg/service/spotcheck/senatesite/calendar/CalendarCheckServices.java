@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.service.spotcheck.senatesite.calendar;
 
+import gov.nysenate.openleg.client.view.bill.BillInfoLookup;
 import gov.nysenate.openleg.client.view.calendar.CalendarEntryView;
 import gov.nysenate.openleg.client.view.calendar.CalendarSupEntryView;
 import gov.nysenate.openleg.client.view.calendar.CalendarSupView;
@@ -108,9 +109,11 @@ public class CalendarCheckServices extends BaseSpotCheckService<CalendarEntryLis
     }
 
     private List<CalendarEntryView> getCalEntryView(List<CalendarEntry> calendarEntries){
+        BillInfoLookup billInfoLookup =
+                BillInfoLookup.of(billDataService, calendarEntries.stream().map(CalendarEntry::getBillId));
         return calendarEntries.stream()
                 .map(calendarEntry ->
-                        new CalendarEntryView(calendarEntry,billDataService))
+                        new CalendarEntryView(calendarEntry,billInfoLookup))
                 .collect(Collectors.toList());
     }
 
@@ -5,6 +5,7 @@ import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.dao.bill.reference.senatesite.SenateSiteDao;
+import gov.nysenate.openleg.dao.calendar.data.CalendarDao;
 import gov.nysenate.openleg.dao.calendar.data.CalendarUpdatesDao;
 import gov.nysenate.openleg.dao.spotcheck.SpotCheckReportDao;
 import gov.nysenate.openleg.dao.spotcheck.CalendarEntryListIdSpotCheckReportDao;
@@ -22,10 +23,9 @@ import gov.nysenate.openleg.model.spotcheck.senatesite.calendar.SenateSiteCalend
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
 import gov.nysenate.openleg.service.calendar.data.CalendarDataService;
-import gov.nysenate.openleg.service.calendar.data.CalendarNotFoundEx;
 import gov.nysenate.openleg.service.spotcheck.base.BaseSpotCheckReportService;
+import gov.nysenate.openleg.service.spotcheck.base.SpotCheckExecutor;
 import gov.nysenate.openleg.util.DateUtils;
-import org.elasticsearch.common.collect.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,6 +34,7 @@ import org.springframework.stereotype.Service;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -49,6 +50,8 @@ public class CalendarReportServices extends BaseSpotCheckReportService<CalendarE
     @Autowired private CalendarJsonParser calendarJsonParser;
     @Autowired private CalendarUpdatesDao calendarUpdatesDao;
     @Autowired private CalendarDataService calendarDataService;
+    @Autowired private CalendarDao calendarDao;
+    @Autowired private SpotCheckExecutor spotCheckExecutor;
     @Autowired private CalendarEntryListIdSpotCheckReportDao calendarEntryListIdSpotCheckReportDao;
 
     @Override
@@ -75,39 +78,49 @@ public class CalendarReportServices extends BaseSpotCheckReportService<CalendarE
             // Get reference calendars using the calendar dump update interval
             Set<CalendarId> updatedCalendarIds = getCalendarUpdatesDuring(calendarDump);
             logger.info("got {} updated calendar ids", updatedCalendarIds.size());
-            Map<CalendarId, Calendar> updatedCalendars = new LinkedHashMap<>();
-            logger.info("retrieving calendars");
-            for (CalendarId calendarId : updatedCalendarIds) {
-                try {
-                    updatedCalendars.put(calendarId, calendarDataService.getCalendar(calendarId));
-                } catch (CalendarNotFoundEx ex) {
-                    SpotCheckObservation<CalendarEntryListId> observation = new SpotCheckObservation<>(reportId.getReferenceId(),
-                            new CalendarEntryListId(calendarId, CalendarType.ALL, Version.DEFAULT, 0));
-                    observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.OBSERVE_DATA_MISSING, "", calendarId));
-                    report.addObservation(observation);
-                }
-            }
-            logger.info("got {} calendars", updatedCalendars.size());
             logger.info("retrieving calendar dump");
             // Extract senate site calendars from the dump
             Multimap<CalendarEntryListId, SenateSiteCalendar> dumpedCalendars = ArrayListMultimap.create();
             calendarJsonParser.parseCalendars(calendarDump).forEach(b -> dumpedCalendars.put(b.getCalendarEntryListId(), b));
             logger.info("parsed {} dumped calendars", dumpedCalendars.size());
 
-            prunePostDumpcalendars(calendarDump, report, dumpedCalendars, updatedCalendars);
+            prunePostDumpcalendars(calendarDump, report, dumpedCalendars, updatedCalendarIds);
+
+            // Calendars are loaded in batches as they are checked, keeping only the ids of their entry lists
+            Set<CalendarId> loadedCalendarIds = new HashSet<>();
+            Set<CalendarEntryListId> openlegEntryListIds = new HashSet<>();
+            Function<Collection<CalendarId>, Map<CalendarId, Calendar>> calendarLoader = calendarIds -> {
+                Map<CalendarId, Calendar> calendars = calendarDao.getCalendars(calendarIds);
+                calendarIds.stream().filter(loadedCalendarIds::add).forEach(calendarId -> {
+                    if (calendars.containsKey(calendarId)) {
+                        openlegEntryListIds.addAll(calendars.get(calendarId).getCalendarEntryListIds());
+                    }
+                    else {
+                        report.addObservation(getCalendarMissingObs(calendarId, reportId.getReferenceId()));
+                    }
+                });
+                return calendars;
+            };
+
+            logger.info("checking calendars");
+            // Check each dumped senate site calendar whose entry list is present in openleg
+            Iterator<SenateSiteCalendar> senSiteCalendars = dumpedCalendars.values().stream()
+                    .filter(sencal -> updatedCalendarIds.contains(sencal.getCalendarId()))
+                    .sorted(Comparator.comparing(SenateSiteCalendar::getCalendarId))
+                    .iterator();
+            spotCheckExecutor.check(senSiteCalendars, SenateSiteCalendar::getCalendarId, calendarLoader,
+                    (calendar, sencal) -> calendar != null && calendar.getCalendarEntryListIds().contains(sencal.getCalendarEntryListId())
+                            ? calendarCheckServices.check(calendar, sencal) : null,
+                    report::addObservation);
+            // The remaining updated calendars have nothing in the dump, but their entry lists are still expected there
+            Iterables.partition(ImmutableList.copyOf(Sets.difference(updatedCalendarIds, loadedCalendarIds)),
+                    spotCheckExecutor.getBatchSize()).forEach(calendarLoader::apply);
+            logger.info("got {} calendars", loadedCalendarIds.size());
 
             logger.info("comparing calendars present");
             // Add observations for any missing calendars that should have been in the dump
-            Tuple<List<SpotCheckObservation<CalendarEntryListId>>,List<CalendarEntryListId>> obs = getRefDataMissingObs(dumpedCalendars.values(), updatedCalendars.values(),
-                    reportId.getReferenceId());
-            report.addObservations(obs.v1());
-
-            logger.info("checking calendars");
-            // Check each dumped senate site calendar
-            dumpedCalendars.values().stream()
-                    .filter(sencal -> updatedCalendars.containsKey(sencal.getCalendarId()) && !obs.v2().contains(sencal.getCalendarEntryListId()))
-                    .map(senSitecalendar -> calendarCheckServices.check(updatedCalendars.get(senSitecalendar.getCalendarId()), senSitecalendar))
-                    .forEach(report::addObservation);
+            report.addObservations(getRefDataMissingObs(dumpedCalendars.keySet(), openlegEntryListIds,
+                    reportId.getReferenceId()));
 
             logger.info("done: {} mismatches", report.getOpenMismatchCount(false));
         } finally {
@@ -149,7 +162,7 @@ public class CalendarReportServices extends BaseSpotCheckReportService<CalendarE
     }
 
     private void prunePostDumpcalendars(SenateSiteDump calendarDump, SpotCheckReport report,
-                                        Multimap<CalendarEntryListId, SenateSiteCalendar> senSiteCalendars, Map<CalendarId, Calendar> openlegCalendars) {
+                                        Multimap<CalendarEntryListId, SenateSiteCalendar> senSiteCalendars, Set<CalendarId> openlegCalendarIds) {
         Range<LocalDateTime> calendarDumpRange = calendarDump.getDumpId().getRange();
         Range<LocalDateTime> postDumpRange =  Range.downTo(DateUtils.endOfDateTimeRange(calendarDumpRange),
                 calendarDumpRange.upperBoundType() == BoundType.OPEN ? BoundType.CLOSED : BoundType.OPEN);
@@ -164,25 +177,23 @@ public class CalendarReportServices extends BaseSpotCheckReportService<CalendarE
             //  collecting them in a list to add to the report notes
             String notes = postDumpUpdatedCalendars.stream()
                     .peek(senSiteCalendars::removeAll)
-                    .peek(openlegCalendars::remove)
+                    .peek(openlegCalendarIds::remove)
                     .reduce("Ignored Calendars:", (str, calendarId) -> str + " " + calendarId, (a, b) -> a + " " + b);
             report.setNotes(notes);
         }
     }
 
-    private Tuple<List<SpotCheckObservation<CalendarEntryListId>>, List<CalendarEntryListId>> getRefDataMissingObs(Collection<SenateSiteCalendar> senSiteCalendars,
-                                                                                       Collection<Calendar> openlegCalendars,
-                                                                                       SpotCheckReferenceId refId) {
-        Set<CalendarEntryListId> senSiteCalendarIds = senSiteCalendars.stream()
-                .map(SenateSiteCalendar::getCalendarEntryListId)
-                .collect(Collectors.toSet());
-
-        Set<CalendarEntryListId> openlegCalendarIds = openlegCalendars.stream()
-                .map(Calendar::getCalendarEntryListIds)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toSet());
-        List<CalendarEntryListId> toRemove = new ArrayList<>();
+    private SpotCheckObservation<CalendarEntryListId> getCalendarMissingObs(CalendarId calendarId,
+                                                                           SpotCheckReferenceId refId) {
+        SpotCheckObservation<CalendarEntryListId> observation = new SpotCheckObservation<>(refId,
+                new CalendarEntryListId(calendarId, CalendarType.ALL, Version.DEFAULT, 0));
+        observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.OBSERVE_DATA_MISSING, "", calendarId));
+        return observation;
+    }
 
+    private List<SpotCheckObservation<CalendarEntryListId>> getRefDataMissingObs(Set<CalendarEntryListId> senSiteCalendarIds,
+                                                                                 Set<CalendarEntryListId> openlegCalendarIds,
+                                                                                 SpotCheckReferenceId refId) {
         List<SpotCheckObservation<CalendarEntryListId>> refData = Sets.difference(openlegCalendarIds, senSiteCalendarIds).stream()
                 .map(calendarId -> {
                     SpotCheckObservation<CalendarEntryListId> observation =
@@ -191,19 +202,18 @@ public class CalendarReportServices extends BaseSpotCheckReportService<CalendarE
                     return observation;
                 }).collect(Collectors.toList());
 
-        List<SpotCheckObservation<CalendarEntryListId>> obsData = Sets.difference(senSiteCalendarIds,openlegCalendarIds).stream()
+        List<SpotCheckObservation<CalendarEntryListId>> obsData = Sets.difference(senSiteCalendarIds, openlegCalendarIds).stream()
                 .map(calendarId -> {
                     SpotCheckObservation<CalendarEntryListId> observation =
                             new SpotCheckObservation<>(refId, calendarId);
                     observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.OBSERVE_DATA_MISSING, "", ""));
-                    toRemove.add(calendarId);
                     return observation;
                 }).collect(Collectors.toList());
 
         List<SpotCheckObservation<CalendarEntryListId>> allDataObs = new ArrayList<>();
         allDataObs.addAll(refData);
         allDataObs.addAll(obsData);
-        return Tuple.tuple(allDataObs,toRemove);
+        return allDataObs;
     }
 
     /**
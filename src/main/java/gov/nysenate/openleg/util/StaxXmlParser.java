@@ -0,0 +1,135 @@
+package gov.nysenate.openleg.util;
+
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Parses xml into {@link XmlElement}s using a StAX pull parser. Unlike {@link XmlHelper}, which shares a single
+ * DocumentBuilder and XPath instance, the parser holds no state between calls and can be used by any number of
+ * threads at once.
+ *
+ * The returned element represents the document itself, so paths are evaluated from the document in the same
+ * way as they would be against a DOM Document, e.g. 'SENATEDATA/sencalendar'.
+ */
+@Component
+public class StaxXmlParser
+{
+    /** Input factories are thread safe once they have been configured. */
+    private final XMLInputFactory inputFactory;
+
+    public StaxXmlParser() {
+        inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+    }
+
+    /**
+     * @param xmlString String - An xml document
+     * @return XmlElement - The document element
+     * @throws XMLStreamException if the xml is not well formed
+     */
+    public XmlElement parse(String xmlString) throws XMLStreamException {
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(new StringReader(xmlString));
+        try {
+            return read(reader);
+        }
+        finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * @param file File - An xml document
+     * @return XmlElement - The document element
+     * @throws XMLStreamException if the xml is not well formed
+     * @throws IOException if the file could not be read
+     */
+    public XmlElement parse(File file) throws XMLStreamException, IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            XMLStreamReader reader = inputFactory.createXMLStreamReader(in);
+            try {
+                return read(reader);
+            }
+            finally {
+                reader.close();
+            }
+        }
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Builds the element tree from the reader's events. Only elements, attributes and character data are kept,
+     * adjacent character data is merged into a single text item.
+     */
+    private static XmlElement read(XMLStreamReader reader) throws XMLStreamException {
+        Deque<String> nameStack = new ArrayDeque<>();
+        Deque<String[]> attributeStack = new ArrayDeque<>();
+        Deque<ArrayList<Object>> contentStack = new ArrayDeque<>();
+        ArrayList<Object> content = new ArrayList<>(1);
+        StringBuilder text = new StringBuilder();
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    flushText(text, content);
+                    String[] attributes = new String[reader.getAttributeCount() * 2];
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        attributes[i * 2] = reader.getAttributeLocalName(i);
+                        attributes[i * 2 + 1] = reader.getAttributeValue(i);
+                    }
+                    nameStack.push(reader.getLocalName());
+                    attributeStack.push(attributes);
+                    contentStack.push(content);
+                    content = new ArrayList<>(2);
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    flushText(text, content);
+                    XmlElement element = new XmlElement(nameStack.pop(), attributeStack.pop(), toContent(content));
+                    content = contentStack.pop();
+                    content.add(element);
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    // Text outside of the root element is not part of the document content
+                    if (!nameStack.isEmpty()) {
+                        text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return new XmlElement("", new String[0], toContent(content));
+    }
+
+    private static void flushText(StringBuilder text, List<Object> content) {
+        if (text.length() > 0) {
+            content.add(text.toString());
+            text.setLength(0);
+        }
+    }
+
+    private static List<Object> toContent(ArrayList<Object> content) {
+        if (content.isEmpty()) {
+            return Collections.emptyList();
+        }
+        content.trimToSize();
+        return Collections.unmodifiableList(content);
+    }
+}
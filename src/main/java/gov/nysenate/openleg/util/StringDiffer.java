@@ -4,6 +4,8 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -59,6 +61,11 @@ public class StringDiffer
      * Chunk size for context length.
      */
     public short Patch_Margin = 4;
+    /**
+     * Minimum number of lines in each chunk that diff_parallel() diffs
+     * as a separate task.
+     */
+    public int Diff_ParallelChunkLines = 200;
 
     /**
      * The number of bits in an int.
@@ -96,6 +103,16 @@ public class StringDiffer
         DELETE, INSERT, EQUAL
     }
 
+    /**
+     * The units that diff_tokens() splits the texts into.
+     */
+    public enum TokenMode {
+        /** A line, including its trailing newline. */
+        LINE,
+        /** A run of non-whitespace, including the whitespace that follows it. */
+        WORD
+    }
+
     /**
      * Find the differences between two texts.
      * Run a faster, slightly less optimal diff.
@@ -121,13 +138,105 @@ public class StringDiffer
     public LinkedList<Diff> diff_main(String text1, String text2,
                                       boolean checklines) {
         // Set a deadline by which time the diff must be complete.
-        long deadline;
+        return diff_main(text1, text2, checklines, diff_deadline());
+    }
+
+    /**
+     * Find the differences between two texts, treating each line or word as
+     * a single unit.  Much faster and lighter than a character level diff on
+     * long texts, at the cost of only reporting whole lines or words as changed.
+     * @param text1 Old string to be diffed.
+     * @param text2 New string to be diffed.
+     * @param mode Whether to diff by line or by word.
+     * @return Linked List of Diff objects.
+     */
+    public LinkedList<Diff> diff_tokens(String text1, String text2,
+                                        TokenMode mode) {
+        if (text1 == null || text2 == null) {
+            throw new IllegalArgumentException("Null inputs. (diff_tokens)");
+        }
+        long deadline = diff_deadline();
+        LinesToCharsResult b = diff_tokensToChars(text1, text2, mode);
+        LinkedList<Diff> diffs = diff_main(b.chars1, b.chars2, false, deadline);
+        diff_charsToLines(diffs, b.lineArray);
+        return diffs;
+    }
+
+    /**
+     * Find the differences between two texts using the common fork join pool.
+     * @see #diff_parallel(String, String, ForkJoinPool)
+     */
+    public LinkedList<Diff> diff_parallel(String text1, String text2) {
+        return diff_parallel(text1, text2, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Find the differences between two texts by splitting them into chunks
+     * that are diffed in parallel.  The texts are split at anchor lines, which
+     * occur exactly once in each text and in the same order, so the chunks
+     * can be diffed independently.  Texts without enough anchors to split
+     * are diffed as in diff_main().
+     * This speedup can produce non-minimal diffs when text is moved across
+     * an anchor line.
+     * @param text1 Old string to be diffed.
+     * @param text2 New string to be diffed.
+     * @param pool Pool that the chunks are diffed on.
+     * @return Linked List of Diff objects.
+     */
+    public LinkedList<Diff> diff_parallel(String text1, String text2,
+                                          ForkJoinPool pool) {
+        if (text1 == null || text2 == null) {
+            throw new IllegalArgumentException("Null inputs. (diff_parallel)");
+        }
+        final long deadline = diff_deadline();
+        LinesToCharsResult b = diff_tokensToChars(text1, text2, TokenMode.LINE);
+        int[][] anchors = diff_anchors(b.chars1, b.chars2, b.lineArray);
+
+        // Cut the texts at anchors spaced at least Diff_ParallelChunkLines apart.
+        List<ForkJoinTask<LinkedList<Diff>>> chunks = new ArrayList<ForkJoinTask<LinkedList<Diff>>>();
+        List<String> anchorLines = new ArrayList<String>();
+        int start1 = 0;
+        int start2 = 0;
+        for (int[] anchor : anchors) {
+            if (anchor[0] - start1 < Diff_ParallelChunkLines) {
+                continue;
+            }
+            final String chunk1 = diff_tokensToText(b.chars1, start1, anchor[0], b.lineArray);
+            final String chunk2 = diff_tokensToText(b.chars2, start2, anchor[1], b.lineArray);
+            chunks.add(pool.submit(() -> diff_main(chunk1, chunk2, true, deadline)));
+            anchorLines.add(b.lineArray.get(b.chars1.charAt(anchor[0])));
+            start1 = anchor[0] + 1;
+            start2 = anchor[1] + 1;
+        }
+        if (chunks.isEmpty()) {
+            return diff_main(text1, text2, true, deadline);
+        }
+        LinkedList<Diff> diffs = diff_main(
+                diff_tokensToText(b.chars1, start1, b.chars1.length(), b.lineArray),
+                diff_tokensToText(b.chars2, start2, b.chars2.length(), b.lineArray),
+                true, deadline);
+
+        // Stitch the chunks back together in order, separated by their anchors.
+        LinkedList<Diff> lastChunk = diffs;
+        diffs = new LinkedList<Diff>();
+        for (int i = 0; i < chunks.size(); i++) {
+            diffs.addAll(chunks.get(i).join());
+            diffs.add(new Diff(Operation.EQUAL, anchorLines.get(i)));
+        }
+        diffs.addAll(lastChunk);
+        diff_cleanupMerge(diffs);
+        return diffs;
+    }
+
+    /**
+     * Compute the deadline for a diff that starts now, based on Diff_Timeout.
+     * @return Time when the diff should be complete by.
+     */
+    private long diff_deadline() {
         if (Diff_Timeout <= 0) {
-            deadline = Long.MAX_VALUE;
-        } else {
-            deadline = System.currentTimeMillis() + (long) (Diff_Timeout * 1000);
+            return Long.MAX_VALUE;
         }
-        return diff_main(text1, text2, checklines, deadline);
+        return System.currentTimeMillis() + (long) (Diff_Timeout * 1000);
     }
 
     /**
@@ -291,19 +400,19 @@ public class StringDiffer
         diffs.add(new Diff(Operation.EQUAL, ""));
         int count_delete = 0;
         int count_insert = 0;
-        String text_delete = "";
-        String text_insert = "";
+        StringBuilder text_delete = new StringBuilder();
+        StringBuilder text_insert = new StringBuilder();
         ListIterator<Diff> pointer = diffs.listIterator();
         Diff thisDiff = pointer.next();
         while (thisDiff != null) {
             switch (thisDiff.operation) {
                 case INSERT:
                     count_insert++;
-                    text_insert += thisDiff.text;
+                    text_insert.append(thisDiff.text);
                     break;
                 case DELETE:
                     count_delete++;
-                    text_delete += thisDiff.text;
+                    text_delete.append(thisDiff.text);
                     break;
                 case EQUAL:
                     // Upon reaching an equality, check for prior redundancies.
@@ -314,15 +423,15 @@ public class StringDiffer
                             pointer.previous();
                             pointer.remove();
                         }
-                        for (Diff newDiff : diff_main(text_delete, text_insert, false,
+                        for (Diff newDiff : diff_main(text_delete.toString(), text_insert.toString(), false,
                                 deadline)) {
                             pointer.add(newDiff);
                         }
                     }
                     count_insert = 0;
                     count_delete = 0;
-                    text_delete = "";
-                    text_insert = "";
+                    text_delete.setLength(0);
+                    text_insert.setLength(0);
                     break;
             }
             thisDiff = pointer.hasNext() ? pointer.next() : null;
@@ -557,6 +666,151 @@ public class StringDiffer
         }
     }
 
+    /**
+     * Split two texts into lines or words and reduce them to strings of
+     * hashes, as in diff_linesToChars().  Once the number of unique tokens
+     * nears the number of available characters, the rest of each text is
+     * treated as a single token.
+     * @param text1 First string.
+     * @param text2 Second string.
+     * @param mode Whether to split into lines or words.
+     * @return An object containing the encoded text1, the encoded text2 and
+     *     the List of unique strings.  The zeroth element of the List of
+     *     unique strings is intentionally blank.
+     */
+    protected LinesToCharsResult diff_tokensToChars(String text1, String text2,
+                                                    TokenMode mode) {
+        List<String> lineArray = new ArrayList<String>();
+        Map<String, Integer> lineHash = new HashMap<String, Integer>();
+        lineArray.add("");
+        // Leave some of the character space for the tokens that only occur in text2.
+        String chars1 = diff_tokensToCharsMunge(text1, lineArray, lineHash, mode, 40000);
+        String chars2 = diff_tokensToCharsMunge(text2, lineArray, lineHash, mode, Character.MAX_VALUE);
+        return new LinesToCharsResult(chars1, chars2, lineArray);
+    }
+
+    /**
+     * Split a text into lines or words and reduce it to a string of hashes
+     * where each Unicode character represents one token.
+     * @param text String to encode.
+     * @param lineArray List of unique strings.
+     * @param lineHash Map of strings to indices.
+     * @param mode Whether to split into lines or words.
+     * @param maxTokens Number of unique tokens after which the rest of the
+     *     text is treated as a single token.
+     * @return Encoded string.
+     */
+    private String diff_tokensToCharsMunge(String text, List<String> lineArray,
+                                           Map<String, Integer> lineHash,
+                                           TokenMode mode, int maxTokens) {
+        int tokenStart = 0;
+        int tokenEnd;
+        String token;
+        StringBuilder chars = new StringBuilder();
+        while (tokenStart < text.length()) {
+            if (lineArray.size() >= maxTokens) {
+                tokenEnd = text.length();
+            } else if (mode == TokenMode.LINE) {
+                tokenEnd = text.indexOf('\n', tokenStart);
+                tokenEnd = (tokenEnd == -1) ? text.length() : tokenEnd + 1;
+            } else {
+                tokenEnd = tokenStart;
+                while (tokenEnd < text.length() && !Character.isWhitespace(text.charAt(tokenEnd))) {
+                    tokenEnd++;
+                }
+                while (tokenEnd < text.length() && Character.isWhitespace(text.charAt(tokenEnd))) {
+                    tokenEnd++;
+                }
+            }
+            token = text.substring(tokenStart, tokenEnd);
+            tokenStart = tokenEnd;
+
+            Integer index = lineHash.get(token);
+            if (index == null) {
+                lineArray.add(token);
+                index = lineArray.size() - 1;
+                lineHash.put(token, index);
+            }
+            chars.append((char) (int) index);
+        }
+        return chars.toString();
+    }
+
+    /**
+     * Rehydrate a range of a string of token hashes into the original text.
+     * @param chars Encoded string.
+     * @param start Index of the first token.
+     * @param end Index after the last token.
+     * @param lineArray List of unique strings.
+     * @return The text of the tokens.
+     */
+    private String diff_tokensToText(String chars, int start, int end,
+                                     List<String> lineArray) {
+        StringBuilder text = new StringBuilder();
+        for (int i = start; i < end; i++) {
+            text.append(lineArray.get(chars.charAt(i)));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Find lines that occur exactly once in each of two encoded texts, and
+     * keep the longest run of them that appears in the same order in both.
+     * @param chars1 First encoded string.
+     * @param chars2 Second encoded string.
+     * @param lineArray List of unique strings.
+     * @return Pairs of {index in chars1, index in chars2}, in increasing order.
+     */
+    protected int[][] diff_anchors(String chars1, String chars2,
+                                   List<String> lineArray) {
+        int tokenCount = lineArray.size();
+        int[] count1 = new int[tokenCount];
+        int[] count2 = new int[tokenCount];
+        int[] index2 = new int[tokenCount];
+        for (int i = 0; i < chars1.length(); i++) {
+            count1[chars1.charAt(i)]++;
+        }
+        for (int i = 0; i < chars2.length(); i++) {
+            count2[chars2.charAt(i)]++;
+            index2[chars2.charAt(i)] = i;
+        }
+        List<int[]> unique = new ArrayList<int[]>();
+        for (int i = 0; i < chars1.length(); i++) {
+            char c = chars1.charAt(i);
+            // Skip blank lines, which make poor anchors.
+            if (count1[c] == 1 && count2[c] == 1 && !lineArray.get(c).trim().isEmpty()) {
+                unique.add(new int[]{i, index2[c]});
+            }
+        }
+
+        // Longest increasing subsequence on the chars2 indices (patience sorting).
+        int[] tails = new int[unique.size()];
+        int[] prev = new int[unique.size()];
+        int length = 0;
+        for (int i = 0; i < unique.size(); i++) {
+            int lo = 0;
+            int hi = length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (unique.get(tails[mid])[1] < unique.get(i)[1]) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            prev[i] = (lo > 0) ? tails[lo - 1] : -1;
+            tails[lo] = i;
+            if (lo == length) {
+                length++;
+            }
+        }
+        int[][] anchors = new int[length][];
+        for (int i = length - 1, k = (length > 0) ? tails[length - 1] : -1; i >= 0; i--, k = prev[k]) {
+            anchors[i] = unique.get(k);
+        }
+        return anchors;
+    }
+
     /**
      * Determine the common prefix of two strings
      * @param text1 First string.
@@ -0,0 +1,268 @@
+package gov.nysenate.openleg.util;
+
+import javax.xml.stream.XMLStreamException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A lightweight, immutable xml element produced by {@link StaxXmlParser}. It only retains the element names,
+ * attributes and character data of a document, which makes it much cheaper to build than a DOM tree, and since
+ * it is never modified after parsing it can be shared between threads.
+ *
+ * Values are extracted using precompiled {@link XmlPath}s. The extraction methods follow the XPath conventions
+ * that the processors relied on, e.g. a missing value is returned as an empty string.
+ */
+public final class XmlElement
+{
+    /** The local name of the element, empty for the document element. */
+    private final String name;
+
+    /** Attribute names and values, stored as alternating entries. */
+    private final String[] attributes;
+
+    /** The text and child elements of this element in document order. */
+    private final List<Object> content;
+
+    /** --- Constructors --- */
+
+    XmlElement(String name, String[] attributes, List<Object> content) {
+        this.name = name;
+        this.attributes = attributes;
+        this.content = content;
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * @param attributeName String
+     * @return String - The value of the attribute, or an empty string if it is not present
+     */
+    public String getAttribute(String attributeName) {
+        String value = findAttribute(attributeName);
+        return value != null ? value : "";
+    }
+
+    /**
+     * @return List<XmlElement> - The child elements of this element in document order
+     */
+    public List<XmlElement> getChildren() {
+        List<XmlElement> children = new ArrayList<>();
+        for (Object item : content) {
+            if (item instanceof XmlElement) {
+                children.add((XmlElement) item);
+            }
+        }
+        return children;
+    }
+
+    /**
+     * @return String - The concatenated text of this element and all of its descendants, like DOM's getTextContent
+     */
+    public String getTextContent() {
+        if (content.size() == 1 && content.get(0) instanceof String) {
+            return (String) content.get(0);
+        }
+        StringBuilder text = new StringBuilder();
+        appendTextContent(text);
+        return text.toString();
+    }
+
+    /**
+     * Returns the first element selected by the path.
+     *
+     * @param path XmlPath - A path that selects elements
+     * @return XmlElement - The first matching element, or null if there are none
+     */
+    public XmlElement getElement(XmlPath path) {
+        checkElementPath(path);
+        return findFirst(path, 0);
+    }
+
+    /**
+     * Returns the first element selected by the path, for elements that a document cannot be processed without.
+     *
+     * @param path XmlPath - A path that selects elements
+     * @return XmlElement - The first matching element
+     * @throws XMLStreamException if there is no matching element
+     */
+    public XmlElement getRequiredElement(XmlPath path) throws XMLStreamException {
+        XmlElement element = getElement(path);
+        if (element == null) {
+            throw new XMLStreamException("Missing required element " + path + " in " + this);
+        }
+        return element;
+    }
+
+    /**
+     * Returns all of the elements selected by the path.
+     *
+     * @param path XmlPath - A path that selects elements
+     * @return List<XmlElement> - The matching elements in document order
+     */
+    public List<XmlElement> getElements(XmlPath path) {
+        checkElementPath(path);
+        if (path.getElementNames().length == 0) {
+            return Collections.singletonList(this);
+        }
+        List<XmlElement> elements = new ArrayList<>();
+        collect(path.getElementNames(), 0, elements);
+        return elements;
+    }
+
+    /**
+     * Returns the string value selected by the path. For a path that selects elements this is the text content
+     * of the first matching element.
+     *
+     * @param path XmlPath
+     * @return String - The selected value, or an empty string if nothing was selected
+     */
+    public String getString(XmlPath path) {
+        String value;
+        if (path.getAttributeName() != null) {
+            value = findAttribute(path, 0);
+        }
+        else if (path.isTextSelected()) {
+            value = findText(path, 0);
+        }
+        else {
+            XmlElement element = findFirst(path, 0);
+            value = (element != null) ? element.getTextContent() : null;
+        }
+        return value != null ? value : "";
+    }
+
+    /**
+     * Returns the value selected by the path as an integer. As with an XPath number conversion, a value that is
+     * not numeric evaluates to 0 and any fractional part is truncated.
+     *
+     * @param path XmlPath
+     * @return int
+     */
+    public int getInteger(XmlPath path) {
+        String value = getString(path).trim();
+        try {
+            return (int) Double.parseDouble(value);
+        }
+        catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    /** --- Internal Methods --- */
+
+    private static void checkElementPath(XmlPath path) {
+        if (path.selectsValue()) {
+            throw new IllegalArgumentException("Path does not select elements: " + path);
+        }
+    }
+
+    private String findAttribute(String attributeName) {
+        for (int i = 0; i < attributes.length; i += 2) {
+            if (attributes[i].equals(attributeName)) {
+                return attributes[i + 1];
+            }
+        }
+        return null;
+    }
+
+    private String getFirstText() {
+        for (Object item : content) {
+            if (item instanceof String) {
+                return (String) item;
+            }
+        }
+        return null;
+    }
+
+    private void appendTextContent(StringBuilder text) {
+        for (Object item : content) {
+            if (item instanceof String) {
+                text.append((String) item);
+            }
+            else {
+                ((XmlElement) item).appendTextContent(text);
+            }
+        }
+    }
+
+    /**
+     * The following methods walk the element steps of a path depth first, which visits the matches in document
+     * order, stopping at the first element that yields a value.
+     */
+
+    private XmlElement findFirst(XmlPath path, int step) {
+        String[] names = path.getElementNames();
+        if (step == names.length) {
+            return this;
+        }
+        for (Object item : content) {
+            if (item instanceof XmlElement && ((XmlElement) item).name.equals(names[step])) {
+                XmlElement match = ((XmlElement) item).findFirst(path, step + 1);
+                if (match != null) {
+                    return match;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String findAttribute(XmlPath path, int step) {
+        String[] names = path.getElementNames();
+        if (step == names.length) {
+            return findAttribute(path.getAttributeName());
+        }
+        for (Object item : content) {
+            if (item instanceof XmlElement && ((XmlElement) item).name.equals(names[step])) {
+                String value = ((XmlElement) item).findAttribute(path, step + 1);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String findText(XmlPath path, int step) {
+        String[] names = path.getElementNames();
+        if (step == names.length) {
+            return getFirstText();
+        }
+        for (Object item : content) {
+            if (item instanceof XmlElement && ((XmlElement) item).name.equals(names[step])) {
+                String value = ((XmlElement) item).findText(path, step + 1);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void collect(String[] names, int step, List<XmlElement> elements) {
+        for (Object item : content) {
+            if (item instanceof XmlElement && ((XmlElement) item).name.equals(names[step])) {
+                XmlElement child = (XmlElement) item;
+                if (step == names.length - 1) {
+                    elements.add(child);
+                }
+                else {
+                    child.collect(names, step + 1, elements);
+                }
+            }
+        }
+    }
+
+    /** --- Overrides --- */
+
+    @Override
+    public String toString() {
+        return "<" + name + ">";
+    }
+
+    /** --- Basic Getters --- */
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,128 @@
+package gov.nysenate.openleg.util;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A precompiled path for extracting values from an {@link XmlElement}. Paths are meant to be compiled once
+ * and stored as constants, after which they can be evaluated concurrently.
+ *
+ * Only the subset of XPath that is needed to read the LBDC xml feeds is supported, namely a sequence of child
+ * element names that is optionally terminated by an attribute or a text node selector, e.g.
+ * <ul>
+ *     <li>calnos/calno - All 'calno' children of all 'calnos' children</li>
+ *     <li>bill/@no - The 'no' attribute of the first 'bill' child that has one</li>
+ *     <li>name/text() - The first text node of the first 'name' child that has text</li>
+ * </ul>
+ * An empty path selects the element the path is evaluated against.
+ */
+public final class XmlPath
+{
+    private static final String TEXT_SELECTOR = "text()";
+
+    /** The original path expression. */
+    private final String expression;
+
+    /** The element names that are followed from the context element. */
+    private final String[] elementNames;
+
+    /** The name of the attribute that is selected, null if an attribute is not selected. */
+    private final String attributeName;
+
+    /** True if the first text node of the matched element is selected. */
+    private final boolean textSelected;
+
+    /** --- Constructors --- */
+
+    private XmlPath(String expression, String[] elementNames, String attributeName, boolean textSelected) {
+        this.expression = expression;
+        this.elementNames = elementNames;
+        this.attributeName = attributeName;
+        this.textSelected = textSelected;
+    }
+
+    /**
+     * Compiles the given path expression.
+     *
+     * @param expression String - A path in the form 'a/b/c', 'a/b/@attr' or 'a/b/text()'
+     * @return XmlPath
+     * @throws IllegalArgumentException if the expression is not supported
+     */
+    public static XmlPath compile(String expression) {
+        String[] steps = StringUtils.isEmpty(expression) ? new String[0] : expression.split("/", -1);
+        String attributeName = null;
+        boolean textSelected = false;
+        int elementSteps = steps.length;
+        if (elementSteps > 0) {
+            String last = steps[elementSteps - 1];
+            if (last.startsWith("@")) {
+                attributeName = last.substring(1);
+                elementSteps--;
+            }
+            else if (last.equals(TEXT_SELECTOR)) {
+                textSelected = true;
+                elementSteps--;
+            }
+        }
+        String[] elementNames = Arrays.copyOf(steps, elementSteps);
+        for (String name : elementNames) {
+            if (!isValidName(name)) {
+                throw new IllegalArgumentException("Unsupported xml path: " + expression);
+            }
+        }
+        if (attributeName != null && !isValidName(attributeName)) {
+            throw new IllegalArgumentException("Unsupported xml path: " + expression);
+        }
+        return new XmlPath(expression, elementNames, attributeName, textSelected);
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * @return boolean - true if this path selects an attribute or text node rather than elements
+     */
+    public boolean selectsValue() {
+        return attributeName != null || textSelected;
+    }
+
+    /** --- Internal Methods --- */
+
+    private static boolean isValidName(String name) {
+        return !name.isEmpty() && name.chars().noneMatch(c -> "/@[]()*:= ".indexOf(c) >= 0);
+    }
+
+    /** --- Overrides --- */
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return expression.equals(((XmlPath) o).expression);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(expression);
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    /** --- Basic Getters --- */
+
+    String[] getElementNames() {
+        return elementNames;
+    }
+
+    String getAttributeName() {
+        return attributeName;
+    }
+
+    boolean isTextSelected() {
+        return textSelected;
+    }
+}
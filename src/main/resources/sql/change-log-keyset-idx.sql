@@ -0,0 +1,35 @@
+-- Index the change logs on (date column, id) so that update digests can be paged through with
+-- continuation tokens, which seek on the update date time and change log id.
+--
+-- Each new index is built concurrently next to the old one so that the change logs stay writable,
+-- then the old index is dropped and the new one takes its name. CREATE/DROP INDEX CONCURRENTLY cannot
+-- run inside a transaction block, so run this file with autocommit on (e.g. psql -f without -1).
+-- If a concurrent build fails it leaves an invalid *_new index behind, drop it before running again.
+
+CREATE INDEX CONCURRENTLY agenda_change_log_action_date_time_new_idx ON master.agenda_change_log USING btree (action_date_time, id);
+DROP INDEX CONCURRENTLY IF EXISTS master.agenda_change_log_action_date_time_idx;
+ALTER INDEX master.agenda_change_log_action_date_time_new_idx RENAME TO agenda_change_log_action_date_time_idx;
+CREATE INDEX CONCURRENTLY agenda_change_log_published_date_time_new_idx ON master.agenda_change_log USING btree (published_date_time, id);
+DROP INDEX CONCURRENTLY IF EXISTS master.agenda_change_log_published_date_time_idx;
+ALTER INDEX master.agenda_change_log_published_date_time_new_idx RENAME TO agenda_change_log_published_date_time_idx;
+
+CREATE INDEX CONCURRENTLY bill_change_log_action_date_time_new_idx ON master.bill_change_log USING btree (action_date_time, id);
+DROP INDEX CONCURRENTLY IF EXISTS master.bill_change_log_action_date_time_idx;
+ALTER INDEX master.bill_change_log_action_date_time_new_idx RENAME TO bill_change_log_action_date_time_idx;
+CREATE INDEX CONCURRENTLY bill_change_log_published_date_time_new_idx ON master.bill_change_log USING btree (published_date_time, id);
+DROP INDEX CONCURRENTLY IF EXISTS master.bill_change_log_published_date_time_idx;
+ALTER INDEX master.bill_change_log_published_date_time_new_idx RENAME TO bill_change_log_published_date_time_idx;
+
+CREATE INDEX CONCURRENTLY calendar_change_log_action_date_time_new_idx ON master.calendar_change_log USING btree (action_date_time, id);
+DROP INDEX CONCURRENTLY IF EXISTS master.calendar_change_log_action_date_time_idx;
+ALTER INDEX master.calendar_change_log_action_date_time_new_idx RENAME TO calendar_change_log_action_date_time_idx;
+CREATE INDEX CONCURRENTLY calendar_change_log_published_date_time_new_idx ON master.calendar_change_log USING btree (published_date_time, id);
+DROP INDEX CONCURRENTLY IF EXISTS master.calendar_change_log_published_date_time_idx;
+ALTER INDEX master.calendar_change_log_published_date_time_new_idx RENAME TO calendar_change_log_published_date_time_idx;
+
+CREATE INDEX CONCURRENTLY law_change_log_action_date_time_new_idx ON master.law_change_log USING btree (action_date_time, id);
+DROP INDEX CONCURRENTLY IF EXISTS master.law_change_log_action_date_time_idx;
+ALTER INDEX master.law_change_log_action_date_time_new_idx RENAME TO law_change_log_action_date_time_idx;
+CREATE INDEX CONCURRENTLY law_change_log_published_date_new_idx ON master.law_change_log USING btree (published_date_time, id);
+DROP INDEX CONCURRENTLY IF EXISTS master.law_change_log_published_date_idx;
+ALTER INDEX master.law_change_log_published_date_new_idx RENAME TO law_change_log_published_date_idx;
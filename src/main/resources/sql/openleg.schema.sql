@@ -5747,7 +5747,7 @@ SET search_path = master, pg_catalog;
 -- Name: agenda_change_log_action_date_time_idx; Type: INDEX; Schema: master; Owner: postgres
 --
 
-CREATE INDEX agenda_change_log_action_date_time_idx ON agenda_change_log USING btree (action_date_time);
+CREATE INDEX agenda_change_log_action_date_time_idx ON agenda_change_log USING btree (action_date_time, id);
 
 
 --
@@ -5761,7 +5761,7 @@ CREATE INDEX agenda_change_log_agenda_id_idx ON agenda_change_log USING btree (a
 -- Name: agenda_change_log_published_date_time_idx; Type: INDEX; Schema: master; Owner: postgres
 --
 
-CREATE INDEX agenda_change_log_published_date_time_idx ON agenda_change_log USING btree (published_date_time);
+CREATE INDEX agenda_change_log_published_date_time_idx ON agenda_change_log USING btree (published_date_time, id);
 
 
 --
@@ -5782,14 +5782,14 @@ CREATE INDEX agenda_info_committee_item_bill_idx ON agenda_info_committee_item U
 -- Name: bill_change_log_action_date_time_idx; Type: INDEX; Schema: master; Owner: postgres
 --
 
-CREATE INDEX bill_change_log_action_date_time_idx ON bill_change_log USING btree (action_date_time);
+CREATE INDEX bill_change_log_action_date_time_idx ON bill_change_log USING btree (action_date_time, id);
 
 
 --
 -- Name: bill_change_log_published_date_time_idx; Type: INDEX; Schema: master; Owner: postgres
 --
 
-CREATE INDEX bill_change_log_published_date_time_idx ON bill_change_log USING btree (published_date_time);
+CREATE INDEX bill_change_log_published_date_time_idx ON bill_change_log USING btree (published_date_time, id);
 
 
 --
@@ -5826,7 +5826,7 @@ CREATE INDEX bill_session_year_idx ON bill USING btree (bill_session_year);
 -- Name: calendar_change_log_action_date_time_idx; Type: INDEX; Schema: master; Owner: postgres
 --
 
-CREATE INDEX calendar_change_log_action_date_time_idx ON calendar_change_log USING btree (action_date_time);
+CREATE INDEX calendar_change_log_action_date_time_idx ON calendar_change_log USING btree (action_date_time, id);
 
 
 --
@@ -5840,7 +5840,7 @@ CREATE INDEX calendar_change_log_calendar_id_idx ON calendar_change_log USING bt
 -- Name: calendar_change_log_published_date_time_idx; Type: INDEX; Schema: master; Owner: postgres
 --
 
-CREATE INDEX calendar_change_log_published_date_time_idx ON calendar_change_log USING btree (published_date_time);
+CREATE INDEX calendar_change_log_published_date_time_idx ON calendar_change_log USING btree (published_date_time, id);
 
 
 --
@@ -5882,7 +5882,7 @@ CREATE INDEX daybreak_sponsor_pkey ON daybreak_bill_sponsor USING btree (report_
 -- Name: law_change_log_action_date_time_idx; Type: INDEX; Schema: master; Owner: postgres
 --
 
-CREATE INDEX law_change_log_action_date_time_idx ON law_change_log USING btree (action_date_time);
+CREATE INDEX law_change_log_action_date_time_idx ON law_change_log USING btree (action_date_time, id);
 
 
 --
@@ -5896,7 +5896,7 @@ CREATE INDEX law_change_log_law_id_idx ON law_change_log USING btree (law_id);
 -- Name: law_change_log_published_date_idx; Type: INDEX; Schema: master; Owner: postgres
 --
 
-CREATE INDEX law_change_log_published_date_idx ON law_change_log USING btree (published_date_time);
+CREATE INDEX law_change_log_published_date_idx ON law_change_log USING btree (published_date_time, id);
 
 
 --
@@ -0,0 +1,61 @@
+package gov.nysenate.openleg.client.view.base;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.client.response.base.ListViewResponse;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.util.OutputUtils;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class StreamingListViewTest
+{
+    @Test
+    public void testStreamedResponseMatchesListResponse() {
+        List<StringView> items = Arrays.asList(new StringView("S1"), new StringView("S2"));
+        LimitOffset limOff = new LimitOffset(2, 1);
+        assertEquals(OutputUtils.toJson(ListViewResponse.of(items, 10, limOff)),
+                     OutputUtils.toJson(ListViewResponse.ofStream(items.stream(), 10, limOff)));
+        assertEquals(OutputUtils.toJson(ListViewResponse.of(Arrays.<StringView>asList(), 0, limOff)),
+                     OutputUtils.toJson(ListViewResponse.ofStream(Stream.<StringView>empty(), 0, limOff)));
+    }
+
+    @Test
+    public void testItemsAreProducedWhileWriting() {
+        AtomicInteger produced = new AtomicInteger();
+        StreamingListView<StringView> view = StreamingListView.of(Stream.of("S1", "S2", "S3")
+            .map(text -> {
+                produced.incrementAndGet();
+                return new StringView(text);
+            }));
+        assertEquals("string-view list", view.getViewType());
+        assertEquals(1, produced.get());
+        OutputUtils.toJson(view);
+        assertEquals(3, produced.get());
+        assertEquals(3, view.getSize());
+    }
+
+    @Test
+    public void testGetItemsRetainsItems() {
+        StreamingListView<StringView> view = StreamingListView.of(Stream.of("S1", "S2").map(StringView::new));
+        assertEquals(2, view.getItems().size());
+        assertEquals("S2", view.getItems().get(1).getText());
+        assertEquals(2, view.getSize());
+        assertEquals(OutputUtils.toJson(ListView.of(Arrays.asList(new StringView("S1"), new StringView("S2")))),
+                     OutputUtils.toJson(view));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetItemsAfterStreaming() {
+        StreamingListView<StringView> view = StreamingListView.of(Stream.of("S1", "S2").map(StringView::new));
+        OutputUtils.toJson(view);
+        view.getItems();
+    }
+}
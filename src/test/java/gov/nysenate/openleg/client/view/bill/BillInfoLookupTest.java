@@ -0,0 +1,66 @@
+package gov.nysenate.openleg.client.view.bill;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.bill.BillInfo;
+import gov.nysenate.openleg.service.bill.data.BillDataService;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class BillInfoLookupTest
+{
+    private final List<String> calls = new ArrayList<>();
+
+    /** A bill data service that knows every bill except S3 and records each call made to it. */
+    @SuppressWarnings("unchecked")
+    private final BillDataService billDataService = (BillDataService) Proxy.newProxyInstance(
+        getClass().getClassLoader(), new Class[]{BillDataService.class}, (proxy, method, args) -> {
+            calls.add(method.getName());
+            switch (method.getName()) {
+                case "getBillInfos":
+                    return ((Collection<BaseBillId>) args[0]).stream()
+                        .filter(id -> !id.getBasePrintNo().equals("S3"))
+                        .map(BillInfoLookupTest::newBillInfo)
+                        .collect(Collectors.toList());
+                case "getBillInfoSafe":
+                    return newBillInfo((BaseBillId) args[0]);
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+
+    private static BillInfo newBillInfo(BaseBillId billId) {
+        BillInfo billInfo = new BillInfo();
+        billInfo.setBillId(billId);
+        billInfo.setTitle(billId.toString());
+        return billInfo;
+    }
+
+    @Test
+    public void testReferencesAreLoadedInOneBatch() {
+        BillInfoLookup lookup = BillInfoLookup.of(billDataService, Stream.of(
+            new BillId("S1A", 2017), new BillId("S1", 2017), new BillId("S2", 2017), null));
+        assertEquals("S1-2017", lookup.getBillInfoSafe(new BaseBillId("S1", 2017)).getTitle());
+        assertEquals("S2-2017", lookup.getBillInfo(new BaseBillId("S2", 2017)).getTitle());
+        assertEquals(1, calls.size());
+        assertEquals("getBillInfos", calls.get(0));
+    }
+
+    @Test
+    public void testMissingReferencesFallBackToSingleLookup() {
+        BillInfoLookup lookup = BillInfoLookup.of(billDataService, Stream.of(new BillId("S3", 2017)));
+        assertEquals("S3-2017", lookup.getBillInfoSafe(new BaseBillId("S3", 2017)).getTitle());
+        assertEquals("getBillInfoSafe", calls.get(calls.size() - 1));
+    }
+}
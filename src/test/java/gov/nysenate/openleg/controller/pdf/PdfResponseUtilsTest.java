@@ -0,0 +1,28 @@
+package gov.nysenate.openleg.controller.pdf;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class PdfResponseUtilsTest
+{
+    private static final String eTag = "\"S1234A-20170314123015000\"";
+
+    @Test
+    public void testETagMatches() throws Exception {
+        assertTrue(PdfResponseUtils.eTagMatches(eTag, eTag));
+        assertTrue(PdfResponseUtils.eTagMatches(eTag, "\"other\", " + eTag));
+        assertTrue(PdfResponseUtils.eTagMatches(eTag, "W/" + eTag));
+        assertTrue(PdfResponseUtils.eTagMatches(eTag, "*"));
+    }
+
+    @Test
+    public void testETagDoesNotMatch() throws Exception {
+        assertFalse(PdfResponseUtils.eTagMatches(eTag, null));
+        assertFalse(PdfResponseUtils.eTagMatches(eTag, "\"S1234A-20170314123014000\""));
+        assertFalse(PdfResponseUtils.eTagMatches(eTag, "S1234A-20170314123015000"));
+    }
+}
@@ -0,0 +1,226 @@
+package gov.nysenate.openleg.dao.base;
+
+import com.google.common.base.Strings;
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.ActionRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.get.GetRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class ElasticIndexQueueTest
+{
+    private ElasticIndexQueue indexQueue;
+
+    @Before
+    public void setUp() {
+        indexQueue = new ElasticIndexQueue();
+        indexQueue.asyncEnabled = true;
+        indexQueue.coalesceWindowMs = 1000;
+        indexQueue.queueCapacity = 100;
+        indexQueue.maxBulkActions = 3;
+        indexQueue.maxBulkBytes = 1000;
+        indexQueue.maxRetries = 3;
+    }
+
+    @Test
+    public void testRepeatedUpdatesCoalesce() throws Exception {
+        indexQueue.submit(Arrays.asList(index("bills", "S1", 10), index("bills", "S2", 10)));
+        indexQueue.submit(Collections.singletonList(index("bills", "S1", 20)));
+        indexQueue.submit(Collections.singletonList(delete("bills", "S2")));
+
+        assertEquals(2, indexQueue.getQueueDepth());
+        assertEquals(2, indexQueue.getCoalescedCount());
+        assertEquals(20, indexQueue.getPendingBytes());
+
+        List<ElasticIndexQueue.PendingRequest> batch = indexQueue.drainBatch();
+        assertEquals(2, batch.size());
+        assertEquals(20, ((IndexRequest) batch.get(0).request).source().length());
+        assertTrue(batch.get(1).request instanceof DeleteRequest);
+        assertEquals(0, indexQueue.getQueueDepth());
+    }
+
+    @Test
+    public void testBatchesAreBoundedByActionsAndBytes() throws Exception {
+        indexQueue.submit(Arrays.asList(index("bills", "S1", 100), index("bills", "S2", 100),
+                                        index("bills", "S3", 100), index("bills", "S4", 100)));
+        assertEquals(3, indexQueue.drainBatch().size());
+        assertEquals(1, indexQueue.drainBatch().size());
+
+        indexQueue.submit(Arrays.asList(index("bills", "S5", 600), index("bills", "S6", 600)));
+        assertEquals(1, indexQueue.drainBatch().size());
+        assertEquals(1, indexQueue.drainBatch().size());
+
+        // A single request over the byte limit is still sent on its own
+        indexQueue.submit(Collections.singletonList(index("bills", "S7", 2000)));
+        assertEquals(1, indexQueue.drainBatch().size());
+    }
+
+    @Test
+    public void testDiscardRemovesOnlyTheGivenIndex() throws Exception {
+        indexQueue.submit(Arrays.asList(index("bills", "S1", 10), index("agendas", "1", 10), delete("bills", "S2")));
+        indexQueue.discard("bills");
+        assertEquals(1, indexQueue.getQueueDepth());
+        assertEquals(10, indexQueue.getPendingBytes());
+        assertEquals("agendas", indexQueue.drainBatch().get(0).index);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOnlyIndexAndDeleteRequestsAreQueued() throws Exception {
+        indexQueue.submit(Collections.singletonList(new GetRequest("bills", "2017", "S1")));
+    }
+
+    @Test
+    public void testSyncFailuresAreThrown() throws Exception {
+        FakeClusterQueue failingQueue = new FakeClusterQueue();
+        failingQueue.failIds.add("S2");
+        try {
+            failingQueue.submit(Arrays.asList(index("bills", "S1", 10), index("bills", "S2", 10)));
+            fail("Expected the failed request to be surfaced");
+        }
+        catch (ElasticsearchException ex) {
+            assertTrue(ex.getMessage().contains("1 of 2"));
+        }
+        assertEquals(1, failingQueue.getCompletedCount());
+        assertEquals(1, failingQueue.getFailedCount());
+        assertEquals(1, failingQueue.getDroppedBatchCount());
+
+        failingQueue.submit(Collections.singletonList(index("bills", "S3", 10)));
+        assertEquals(2, failingQueue.getCompletedCount());
+        assertEquals(1, failingQueue.getDroppedBatchCount());
+    }
+
+    @Test
+    public void testRetryableFailuresAreRetried() throws Exception {
+        FakeClusterQueue retryQueue = new FakeClusterQueue();
+        retryQueue.rejectOnce.add("S1");
+        retryQueue.submit(Arrays.asList(index("bills", "S1", 10), index("bills", "S2", 10)));
+        assertEquals(2, retryQueue.bulkSizes.size());
+        assertEquals(1, (int) retryQueue.bulkSizes.get(1));
+        assertEquals(1, retryQueue.getRetryCount());
+        assertEquals(2, retryQueue.getCompletedCount());
+        assertEquals(0, retryQueue.getDroppedBatchCount());
+    }
+
+    @Test
+    public void testExhaustedRetriesAreDropped() throws Exception {
+        FakeClusterQueue retryQueue = new FakeClusterQueue();
+        retryQueue.maxRetries = 0;
+        retryQueue.rejectOnce.add("S1");
+        List<ElasticIndexQueue.PendingRequest> batch = new ArrayList<>();
+        batch.add(new ElasticIndexQueue.PendingRequest(index("bills", "S1", 10)));
+        assertEquals(1, retryQueue.executeBulk(batch));
+        assertEquals(1, retryQueue.getFailedCount());
+    }
+
+    @Test
+    public void testHeldQueueDoesNotSend() throws Exception {
+        FakeClusterQueue asyncQueue = new FakeClusterQueue();
+        asyncQueue.asyncEnabled = true;
+        asyncQueue.coalesceWindowMs = 0;
+        asyncQueue.init();
+        try {
+            asyncQueue.hold();
+            asyncQueue.submit(Collections.singletonList(index("bills", "S1", 10)));
+            assertFalse(asyncQueue.awaitDrained(200, TimeUnit.MILLISECONDS));
+            assertTrue(asyncQueue.bulkSizes.isEmpty());
+
+            asyncQueue.release();
+            assertTrue(asyncQueue.awaitDrained(5, TimeUnit.SECONDS));
+            assertEquals(1, asyncQueue.getCompletedCount());
+        }
+        finally {
+            asyncQueue.shutdown();
+        }
+    }
+
+    @Test
+    public void testHeldQueueBlocksSyncSubmit() throws Exception {
+        FakeClusterQueue syncQueue = new FakeClusterQueue();
+        syncQueue.hold();
+        Thread submitter = new Thread(() -> {
+            try {
+                syncQueue.submit(Collections.singletonList(index("bills", "S1", 10)));
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        submitter.start();
+        submitter.join(200);
+        assertTrue(submitter.isAlive());
+        assertTrue(syncQueue.bulkSizes.isEmpty());
+
+        syncQueue.release();
+        submitter.join(5000);
+        assertFalse(submitter.isAlive());
+        assertEquals(1, syncQueue.getCompletedCount());
+    }
+
+    /**
+     * Answers bulk requests without a cluster, failing the configured document ids.
+     */
+    private static class FakeClusterQueue extends ElasticIndexQueue
+    {
+        final Set<String> failIds = new HashSet<>();
+        final Set<String> rejectOnce = new HashSet<>();
+        final List<Integer> bulkSizes = Collections.synchronizedList(new ArrayList<>());
+
+        FakeClusterQueue() {
+            asyncEnabled = false;
+            queueCapacity = 100;
+            maxBulkActions = 10;
+            maxBulkBytes = 1000;
+            maxRetries = 3;
+        }
+
+        @Override
+        BulkResponse sendBulk(BulkRequest bulkRequest) {
+            bulkSizes.add(bulkRequest.requests().size());
+            BulkItemResponse[] items = new BulkItemResponse[bulkRequest.requests().size()];
+            for (int i = 0; i < items.length; i++) {
+                IndexRequest request = (IndexRequest) bulkRequest.requests().get(i);
+                if (failIds.contains(request.id())) {
+                    items[i] = new BulkItemResponse(i, "index", new BulkItemResponse.Failure(request.index(),
+                        request.type(), request.id(), new IllegalArgumentException("mapping error")));
+                }
+                else if (rejectOnce.remove(request.id())) {
+                    items[i] = new BulkItemResponse(i, "index", new BulkItemResponse.Failure(request.index(),
+                        request.type(), request.id(), new EsRejectedExecutionException("queue full")));
+                }
+                else {
+                    items[i] = new BulkItemResponse(i, "index",
+                        new IndexResponse(request.index(), request.type(), request.id(), 1, true));
+                }
+            }
+            return new BulkResponse(items, 1);
+        }
+    }
+
+    private static ActionRequest index(String index, String id, int size) {
+        return new IndexRequest(index, "2017", id).source("{\"a\":\"" + Strings.repeat("x", size - 8) + "\"}");
+    }
+
+    private static ActionRequest delete(String index, String id) {
+        return new DeleteRequest(index, "2017", id);
+    }
+}
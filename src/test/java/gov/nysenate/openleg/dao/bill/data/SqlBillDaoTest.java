@@ -0,0 +1,119 @@
+package gov.nysenate.openleg.dao.bill.data;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillAmendment;
+import gov.nysenate.openleg.model.bill.BillSponsor;
+import gov.nysenate.openleg.model.entity.Chamber;
+import gov.nysenate.openleg.model.entity.SessionMember;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class SqlBillDaoTest
+{
+    private static final BaseBillId baseBillId = new BaseBillId("S1234", 2017);
+
+    /** The queries that write the bill, amendment and sponsor rows. */
+    private static final List<SqlBillQuery> rowQueries = Arrays.asList(
+        SqlBillQuery.INSERT_BILL, SqlBillQuery.UPDATE_BILL,
+        SqlBillQuery.INSERT_BILL_AMENDMENT, SqlBillQuery.UPDATE_BILL_AMENDMENT,
+        SqlBillQuery.INSERT_BILL_SPONSOR, SqlBillQuery.UPDATE_BILL_SPONSOR, SqlBillQuery.DELETE_BILL_SPONSOR);
+
+    private SqlBillDao billDao;
+
+    @Before
+    public void setUp() {
+        billDao = new SqlBillDao();
+    }
+
+    @Test
+    public void testNewBillIsInserted() {
+        SqlBillDao.BillUpdateBatch batch = batchUpdate(getBill(), null);
+        assertEquals(Arrays.asList(SqlBillQuery.INSERT_BILL, SqlBillQuery.INSERT_BILL_AMENDMENT,
+                                   SqlBillQuery.INSERT_BILL_SPONSOR), getRowQueries(batch));
+    }
+
+    @Test
+    public void testUnchangedBillIsNotWritten() {
+        SqlBillDao.BillUpdateBatch batch = batchUpdate(getBill(), getBill());
+        assertEquals(Collections.emptyList(), getRowQueries(batch));
+    }
+
+    @Test
+    public void testChangedRowsAreUpdated() {
+        Bill bill = getBill();
+        bill.setTitle("An act to amend the tax law and the labor law");
+        SqlBillDao.BillUpdateBatch batch = batchUpdate(bill, getBill());
+        assertEquals(Arrays.asList(SqlBillQuery.UPDATE_BILL), getRowQueries(batch));
+        assertEquals(bill.getTitle(), batch.getStatements(SqlBillQuery.UPDATE_BILL).get(0).getValue("title"));
+
+        bill = getBill();
+        bill.getAmendment(Version.DEFAULT).setFullText("AN ACT to amend the labor law");
+        bill.setSponsor(new BillSponsor(getMember(372, "JONES")));
+        batch = batchUpdate(bill, getBill());
+        assertEquals(Arrays.asList(SqlBillQuery.UPDATE_BILL_AMENDMENT, SqlBillQuery.UPDATE_BILL_SPONSOR),
+                     getRowQueries(batch));
+    }
+
+    @Test
+    public void testNewAmendmentIsInserted() {
+        Bill bill = getBill();
+        BillAmendment amendment = new BillAmendment(baseBillId, Version.A);
+        amendment.setFullText("AN ACT to amend the tax law, in relation to rates");
+        bill.addAmendment(amendment);
+        SqlBillDao.BillUpdateBatch batch = batchUpdate(bill, getBill());
+        assertEquals(Arrays.asList(SqlBillQuery.INSERT_BILL_AMENDMENT), getRowQueries(batch));
+        assertEquals("A", batch.getStatements(SqlBillQuery.INSERT_BILL_AMENDMENT).get(0).getValue("version"));
+    }
+
+    /** --- Internal Methods --- */
+
+    private SqlBillDao.BillUpdateBatch batchUpdate(Bill bill, Bill existingBill) {
+        SqlBillDao.BillUpdateBatch batch = billDao.new BillUpdateBatch();
+        billDao.batchBillUpdate(batch, bill, existingBill, null);
+        return batch;
+    }
+
+    private static List<SqlBillQuery> getRowQueries(SqlBillDao.BillUpdateBatch batch) {
+        return rowQueries.stream()
+            .filter(query -> !batch.getStatements(query).isEmpty())
+            .collect(Collectors.toList());
+    }
+
+    /** Creates a new instance of the same bill on every call. */
+    private static Bill getBill() {
+        LocalDateTime published = LocalDateTime.of(2017, 3, 14, 12, 30, 15);
+        Bill bill = new Bill(baseBillId);
+        BillAmendment amendment = new BillAmendment(baseBillId, Version.DEFAULT);
+        amendment.setFullText("AN ACT to amend the tax law");
+        bill.addAmendment(amendment);
+        bill.setActiveVersion(Version.DEFAULT);
+        bill.setYear(2017);
+        bill.setTitle("An act to amend the tax law");
+        bill.setPublishedDateTime(published);
+        bill.setModifiedDateTime(published);
+        bill.setSponsor(new BillSponsor(getMember(371, "SMITH")));
+        return bill;
+    }
+
+    private static SessionMember getMember(int sessionMemberId, String shortName) {
+        SessionMember member = new SessionMember(sessionMemberId, SessionYear.of(2017));
+        member.setSessionMemberId(sessionMemberId);
+        member.setLbdcShortName(shortName);
+        member.setChamber(Chamber.SENATE);
+        return member;
+    }
+}
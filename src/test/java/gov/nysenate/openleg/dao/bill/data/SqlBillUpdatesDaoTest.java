@@ -0,0 +1,170 @@
+package gov.nysenate.openleg.dao.bill.data;
+
+import com.google.common.collect.Range;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.config.Environment;
+import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
+import gov.nysenate.openleg.model.updates.UpdateDigest;
+import gov.nysenate.openleg.model.updates.UpdateType;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class SqlBillUpdatesDaoTest
+{
+    private static final LocalDateTime noon = LocalDateTime.of(2017, 3, 14, 12, 0);
+    private static final Range<LocalDateTime> allTime = Range.closed(noon.minusYears(1), noon.plusYears(1));
+
+    private SqlBillUpdatesDao billUpdatesDao;
+    private SeekingJdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() {
+        // Change ids 2 through 4 share a timestamp, so only the change id orders them
+        jdbcTemplate = new SeekingJdbcTemplate(Arrays.asList(
+            getDigest("S1", noon.minusMinutes(1), 1),
+            getDigest("S2", noon, 3),
+            getDigest("S3", noon, 2),
+            getDigest("S4", noon, 4),
+            getDigest("S5", noon.plusMinutes(1), 5)));
+        billUpdatesDao = new InMemoryBillUpdatesDao(jdbcTemplate);
+    }
+
+    @Test
+    public void testSeekQuery() {
+        UpdateCursor cursor = new UpdateCursor(noon, "BILL", 3);
+        billUpdatesDao.getDetailedUpdates(allTime, UpdateType.PROCESSED_DATE, null, SortOrder.ASC, cursor, 2);
+        assertTrue(jdbcTemplate.sql, jdbcTemplate.sql.contains(
+            "AND (action_date_time, id) > (:cursorDateTime, :cursorChangeId)"));
+        assertTrue(jdbcTemplate.sql, jdbcTemplate.sql.endsWith(
+            "ORDER BY last_processed_date_time ASC, change_id ASC LIMIT 2"));
+        assertFalse(jdbcTemplate.sql, jdbcTemplate.sql.contains("COUNT(*)"));
+        assertEquals(Timestamp.valueOf(noon), jdbcTemplate.params.getValue("cursorDateTime"));
+        assertEquals(3, jdbcTemplate.params.getValue("cursorChangeId"));
+
+        billUpdatesDao.getDetailedUpdatesForBill(new BaseBillId("S1", 2017), allTime, UpdateType.PUBLISHED_DATE,
+                                                 null, SortOrder.DESC, cursor, 2);
+        assertTrue(jdbcTemplate.sql, jdbcTemplate.sql.contains(
+            "AND (published_date_time, id) < (:cursorDateTime, :cursorChangeId)"));
+        assertTrue(jdbcTemplate.sql, jdbcTemplate.sql.endsWith(
+            "ORDER BY last_published_date_time DESC, change_id DESC LIMIT 2"));
+    }
+
+    @Test
+    public void testPagesBreakTiesByChangeId() {
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), getAllChangeIds(SortOrder.ASC, 2));
+        assertEquals(Arrays.asList(5, 4, 3, 2, 1), getAllChangeIds(SortOrder.DESC, 2));
+        // A page boundary within the equal timestamps neither skips nor repeats digests
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), getAllChangeIds(SortOrder.ASC, 1));
+    }
+
+    @Test
+    public void testEmptyPageKeepsCursor() {
+        UpdateCursor cursor = new UpdateCursor(noon.plusMinutes(1), "BILL", 5);
+        List<UpdateDigest<BaseBillId>> page = billUpdatesDao.getDetailedUpdates(
+            allTime, UpdateType.PROCESSED_DATE, null, SortOrder.ASC, cursor, 2);
+        assertTrue(page.isEmpty());
+        assertEquals(cursor, UpdateCursor.next(page, cursor, UpdateType.PROCESSED_DATE));
+
+        // Updates that come in later are picked up with the same cursor
+        jdbcTemplate.rows.add(getDigest("S6", noon.plusMinutes(2), 6));
+        page = billUpdatesDao.getDetailedUpdates(allTime, UpdateType.PROCESSED_DATE, null, SortOrder.ASC, cursor, 2);
+        assertEquals(1, page.size());
+        assertEquals(6, page.get(0).getChangeId());
+    }
+
+    /** --- Internal Methods --- */
+
+    private List<Integer> getAllChangeIds(SortOrder sortOrder, int limit) {
+        List<Integer> changeIds = new ArrayList<>();
+        UpdateCursor cursor = UpdateCursor.start(sortOrder);
+        List<UpdateDigest<BaseBillId>> page;
+        do {
+            page = billUpdatesDao.getDetailedUpdates(allTime, UpdateType.PROCESSED_DATE, null, sortOrder, cursor, limit);
+            page.forEach(digest -> changeIds.add(digest.getChangeId()));
+            cursor = UpdateCursor.next(page, cursor, UpdateType.PROCESSED_DATE);
+        }
+        while (!page.isEmpty());
+        return changeIds;
+    }
+
+    private static UpdateDigest<BaseBillId> getDigest(String printNo, LocalDateTime processed, int changeId) {
+        UpdateDigest<BaseBillId> digest = new UpdateDigest<>(new BaseBillId(printNo, 2017), UpdateContentType.BILL,
+                                                             "fragment", processed, processed);
+        digest.setChangeId(changeId);
+        return digest;
+    }
+
+    private static class InMemoryBillUpdatesDao extends SqlBillUpdatesDao
+    {
+        InMemoryBillUpdatesDao(NamedParameterJdbcTemplate jdbcTemplate) {
+            this.jdbcNamed = jdbcTemplate;
+            this.environment = new Environment();
+            this.environment.setSchema("master");
+        }
+    }
+
+    /**
+     * Runs the seek queries against an in memory change log, applying the seek operator, ordering and limit
+     * of the generated sql to the digests' processed date times and change ids.
+     */
+    private static class SeekingJdbcTemplate extends NamedParameterJdbcTemplate
+    {
+        private static final Pattern seekPattern = Pattern.compile("\\(\\w+, id\\) ([<>]) \\(:cursorDateTime");
+        private static final Pattern limitPattern = Pattern.compile(" LIMIT (\\d+)$");
+
+        final List<UpdateDigest<BaseBillId>> rows;
+        String sql;
+        SqlParameterSource params;
+
+        SeekingJdbcTemplate(List<UpdateDigest<BaseBillId>> rows) {
+            super(new JdbcTemplate());
+            this.rows = new ArrayList<>(rows);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> query(String sql, SqlParameterSource params, RowMapper<T> rowMapper) {
+            this.sql = sql;
+            this.params = params;
+            Matcher seek = seekPattern.matcher(sql);
+            Matcher limit = limitPattern.matcher(sql);
+            assertTrue(sql, seek.find() && limit.find());
+            boolean desc = seek.group(1).equals("<");
+            Comparator<UpdateDigest<BaseBillId>> order = Comparator
+                .comparing((UpdateDigest<BaseBillId> digest) -> digest.getProcessedDateTime())
+                .thenComparing(UpdateDigest::getChangeId);
+            if (desc) {
+                order = order.reversed();
+            }
+            UpdateDigest<BaseBillId> cursor = getDigest("S0", ((Timestamp) params.getValue("cursorDateTime"))
+                .toLocalDateTime(), (int) params.getValue("cursorChangeId"));
+            Comparator<UpdateDigest<BaseBillId>> seekOrder = order;
+            return (List<T>) rows.stream()
+                .filter(digest -> seekOrder.compare(digest, cursor) > 0)
+                .sorted(order)
+                .limit(Integer.parseInt(limit.group(1)))
+                .collect(Collectors.toList());
+        }
+    }
+}
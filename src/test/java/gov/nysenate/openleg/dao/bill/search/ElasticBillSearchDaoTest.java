@@ -0,0 +1,212 @@
+package gov.nysenate.openleg.dao.bill.search;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.collect.ImmutableMap;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.client.view.bill.BillInfoView;
+import gov.nysenate.openleg.client.view.bill.BillView;
+import gov.nysenate.openleg.config.ApplicationConfig;
+import gov.nysenate.openleg.dao.base.ElasticIndexQueue;
+import gov.nysenate.openleg.model.base.PublishStatus;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.*;
+import gov.nysenate.openleg.model.entity.Chamber;
+import gov.nysenate.openleg.util.OutputUtils;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.client.transport.TransportClient;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class ElasticBillSearchDaoTest
+{
+    private static final String billIndexName = ElasticBillSearchDao.billIndexName;
+
+    private ElasticBillSearchDao billSearchDao;
+
+    private FakeIndexBillSearchDao fakeIndexDao;
+
+    @Before
+    public void setUp() {
+        billSearchDao = new ElasticBillSearchDao();
+        billSearchDao.objectMapper = new ApplicationConfig().objectMapper();
+        fakeIndexDao = new FakeIndexBillSearchDao();
+    }
+
+    @Test
+    public void testIndexedBillInfoMatchesBillInfoView() throws Exception {
+        LocalDateTime modified = LocalDateTime.of(2017, 3, 14, 12, 30, 15);
+        Bill bill = getTestBill(modified);
+        Map<String, Object> source = OutputUtils.getJsonMapper().readValue(
+            billSearchDao.getBillSource(new BillView(bill), bill.getModifiedDateTime()),
+            new TypeReference<Map<String, Object>>() {});
+
+        IndexedBillInfo indexedInfo = billSearchDao.getIndexedBillInfo(source);
+
+        assertEquals(modified, indexedInfo.getModifiedDateTime());
+        assertEquals(bill.getBaseBillId(), indexedInfo.getBaseBillId());
+        assertEquals(OutputUtils.toJson(new BillInfoView(bill.getBillInfo())),
+                     OutputUtils.toJson(indexedInfo.getBillInfoView()));
+    }
+
+    @Test
+    public void testIndexedBillInfoFreshness() throws Exception {
+        LocalDateTime modified = LocalDateTime.of(2017, 3, 14, 12, 30, 15);
+        IndexedBillInfo indexedInfo = new IndexedBillInfo(null, modified);
+        assertTrue(indexedInfo.isFresh(modified));
+        assertTrue(indexedInfo.isFresh(modified.minusMinutes(1)));
+        assertFalse(indexedInfo.isFresh(null));
+        assertFalse(indexedInfo.isFresh(modified.plusSeconds(1)));
+        assertFalse(new IndexedBillInfo(null, null).isFresh(modified));
+    }
+
+    @Test
+    public void testCreateBillIndexVersion() throws Exception {
+        String indexName = fakeIndexDao.createBillIndexVersion();
+        assertTrue(indexName, indexName.matches(billIndexName + "_\\d{14}"));
+        assertEquals(Collections.singletonList("create " + indexName), fakeIndexDao.operations);
+    }
+
+    @Test
+    public void testActivateMovesAliasThenDeletesOldIndex() throws Exception {
+        fakeIndexDao.aliasIndices.add(billIndexName + "_20170101000000");
+        fakeIndexDao.activateBillIndexVersion(billIndexName + "_20170301000000");
+        assertEquals(Arrays.asList(
+                "alias " + billIndexName + "_20170301000000 remove [" + billIndexName + "_20170101000000]",
+                "delete " + billIndexName + "_20170101000000"),
+            fakeIndexDao.operations);
+    }
+
+    @Test
+    public void testFirstActivateHoldsQueueWhileReplacingIndex() throws Exception {
+        fakeIndexDao.concreteIndexExists = true;
+        fakeIndexDao.activateBillIndexVersion(billIndexName + "_20170301000000");
+        // The concrete index must be gone before the alias can be added, and no queued write may recreate it
+        assertEquals(Arrays.asList(
+                "delete " + billIndexName + " (held)",
+                "alias " + billIndexName + "_20170301000000 remove [] (held)"),
+            fakeIndexDao.operations);
+        assertFalse(fakeIndexDao.indexQueue().isHeld());
+    }
+
+    @Test
+    public void testIndexBillsThrowsOnItemFailures() throws Exception {
+        TransportClient client = TransportClient.builder().build();
+        try {
+            fakeIndexDao.setSearchClient(client);
+            List<Bill> bills = Collections.singletonList(getTestBill(LocalDateTime.of(2017, 3, 14, 12, 30, 15)));
+            fakeIndexDao.indexBills(billIndexName + "_20170301000000", bills);
+
+            fakeIndexDao.failBulkItems = true;
+            try {
+                fakeIndexDao.indexBills(billIndexName + "_20170301000000", bills);
+                fail("Expected an exception since a bill failed to index");
+            }
+            catch (ElasticsearchException ex) {
+                assertTrue(ex.getMessage(), ex.getMessage().contains("mapper_parsing_exception"));
+            }
+        }
+        finally {
+            client.close();
+        }
+    }
+
+    /** --- Internal Methods --- */
+
+    private Bill getTestBill(LocalDateTime modified) {
+        BaseBillId baseBillId = new BaseBillId("S1234", 2017);
+        Bill bill = new Bill(baseBillId);
+        bill.addAmendment(new BillAmendment(baseBillId, Version.DEFAULT));
+        bill.setActiveVersion(Version.DEFAULT);
+        bill.setPublishedDateTime(modified.minusDays(10));
+        bill.setModifiedDateTime(modified);
+        bill.setTitle("An act to amend the tax law");
+        bill.setSummary("Amends the tax law");
+        bill.setProgramInfo(new ProgramInfo("Governor", 12));
+        bill.setPublishStatuses(
+            ImmutableMap.of(Version.DEFAULT, new PublishStatus(true, modified.minusDays(10))));
+        bill.addAction(new BillAction(LocalDate.of(2017, 3, 1), "REFERRED TO FINANCE", Chamber.SENATE, 1,
+                                      new BillId(baseBillId, Version.DEFAULT)));
+        bill.setStatus(new BillStatus(BillStatusType.IN_SENATE_COMM, LocalDate.of(2017, 3, 1)));
+        return bill;
+    }
+
+    /**
+     * Records the index administration calls instead of sending them to a cluster.
+     */
+    private static class FakeIndexBillSearchDao extends ElasticBillSearchDao
+    {
+        List<String> operations = new ArrayList<>();
+        List<String> aliasIndices = new ArrayList<>();
+        boolean concreteIndexExists = false;
+        boolean failBulkItems = false;
+
+        FakeIndexBillSearchDao() {
+            indexQueue = new ElasticIndexQueue();
+        }
+
+        ElasticIndexQueue indexQueue() {
+            return indexQueue;
+        }
+
+        void setSearchClient(TransportClient client) {
+            searchClient = client;
+        }
+
+        @Override
+        protected void createIndex(String indexName) {
+            record("create " + indexName);
+        }
+
+        @Override
+        protected void deleteIndex(String index) {
+            record("delete " + index);
+        }
+
+        @Override
+        protected List<String> getAliasIndices(String alias) {
+            return new ArrayList<>(aliasIndices);
+        }
+
+        @Override
+        protected boolean indicesExist(String... indices) {
+            return concreteIndexExists;
+        }
+
+        @Override
+        protected void updateAlias(String alias, String indexName, List<String> oldIndices) {
+            record("alias " + indexName + " remove " + oldIndices);
+        }
+
+        @Override
+        protected BulkResponse safeBulkRequestExecute(BulkRequestBuilder bulkRequest) {
+            BulkItemResponse[] items = new BulkItemResponse[bulkRequest.numberOfActions()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = failBulkItems
+                    ? new BulkItemResponse(i, "index", new BulkItemResponse.Failure(
+                        "bills", "2017", "S1234", new IllegalArgumentException("mapper_parsing_exception")))
+                    : new BulkItemResponse(i, "index", new IndexResponse("bills", "2017", "S1234", 1, true));
+            }
+            return new BulkResponse(items, 1);
+        }
+
+        private void record(String operation) {
+            operations.add(indexQueue.isHeld() ? operation + " (held)" : operation);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package gov.nysenate.openleg.model.sobi;
+
+import com.google.common.collect.Lists;
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class SobiBlockIteratorTest
+{
+    private static final String FRAGMENT_TEXT =
+        "2013S01234 3An act to amend the education law, in relation to\r\n" +
+        "2013S01234 3school district budgets\n" +
+        "<sencalendar>not a sobi line</sencalendar>\n" +
+        "2013S01234 6SMITH\n" +
+        "2013S01234 C\0Summary of the bill\n" +
+        "2013S01234 CDELETE\n" +
+        "2013A05678A3  DELETE  \n" +
+        "2013A05678A3Another title\n" +
+        "2013A05678A1KRUEGER             00000 \n" +
+        "2013A05678A1MARTINS             00000 ";
+
+    @Test
+    public void testBlocks() {
+        List<SobiBlock> blocks = Lists.newArrayList(new SobiBlockIterator("frag", SobiFragmentType.BILL, FRAGMENT_TEXT));
+        assertEquals(8, blocks.size());
+
+        assertBlock(blocks.get(0), "2013S01234 3", SobiLineType.TITLE, 0, 1,
+                    "An act to amend the education law, in relation to\nschool district budgets");
+        assertEquals("S1234-2013", blocks.get(0).getBillId().toString());
+        assertTrue(blocks.get(0).isMultiline());
+        assertBlock(blocks.get(1), "2013S01234 6", SobiLineType.SPONSOR, 3, 3, "SMITH");
+        // A law block is inserted when a summary does not follow one
+        assertBlock(blocks.get(2), "2013S01234 B", SobiLineType.LAW, 4, 0, "");
+        assertBlock(blocks.get(3), "2013S01234 C", SobiLineType.SUMMARY, 4, 5, " Summary of the bill\nDELETE");
+        // Delete blocks are never extended
+        assertBlock(blocks.get(4), "2013A05678A3", SobiLineType.TITLE, 6, 6, "  DELETE  ");
+        assertFalse(blocks.get(4).isMultiline());
+        assertBlock(blocks.get(5), "2013A05678A3", SobiLineType.TITLE, 7, 7, "Another title");
+        assertEquals("A5678A-2013", blocks.get(5).getBillId().toString());
+        // Bill info blocks are single line
+        assertEquals(SobiLineType.BILL_INFO, blocks.get(6).getType());
+        assertTrue(blocks.get(6).getData().startsWith("KRUEGER"));
+        assertFalse(blocks.get(6).isMultiline());
+        assertEquals(9, (int) blocks.get(7).getEndLineNo());
+        assertEquals("frag", blocks.get(7).getFragmentFileName());
+    }
+
+    @Test
+    public void testIsBlockLine() {
+        assertTrue(SobiBlockIterator.isBlockLine("2013S01234 3", 0, 12));
+        assertTrue(SobiBlockIterator.isBlockLine("2013S01234\0V", 0, 12));
+        assertTrue(SobiBlockIterator.isBlockLine("xx2013A01234BTtext", 2, 18));
+        assertFalse(SobiBlockIterator.isBlockLine("2013S01234 3", 0, 11));
+        assertFalse(SobiBlockIterator.isBlockLine("2013S01234 0", 0, 12));
+        assertFalse(SobiBlockIterator.isBlockLine("2013s01234 3", 0, 12));
+        assertFalse(SobiBlockIterator.isBlockLine("201SS01234 3", 0, 12));
+        assertFalse(SobiBlockIterator.isBlockLine("2013S0123423", 0, 12));
+    }
+
+    @Test
+    public void testNoBlocks() {
+        assertFalse(new SobiBlockIterator("frag", SobiFragmentType.BILL, "").hasNext());
+        assertFalse(new SobiBlockIterator("frag", SobiFragmentType.BILL, "\n\nnothing here\n").hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNextPastEnd() {
+        Iterator<SobiBlock> blocks = new SobiBlockIterator("frag", SobiFragmentType.BILL, "2013S01234 6SMITH");
+        blocks.next();
+        blocks.next();
+    }
+
+    private static void assertBlock(SobiBlock block, String header, SobiLineType type, int startLineNo, int endLineNo,
+                                    String data) {
+        assertEquals(header, block.getHeader());
+        assertEquals(type, block.getType());
+        assertEquals(startLineNo, block.getStartLineNo());
+        assertEquals(endLineNo, (int) block.getEndLineNo());
+        assertEquals(data, block.getData());
+    }
+}
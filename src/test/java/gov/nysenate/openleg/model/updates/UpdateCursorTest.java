@@ -0,0 +1,49 @@
+package gov.nysenate.openleg.model.updates;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+@Category(UnitTest.class)
+public class UpdateCursorTest
+{
+    @Test
+    public void testEncodeDecode() {
+        UpdateCursor cursor = new UpdateCursor(LocalDateTime.of(2015, 3, 17, 13, 30, 2, 123456000), "BILL", 98765);
+        assertEquals(cursor, UpdateCursor.decode(cursor.encode()));
+
+        cursor = new UpdateCursor(LocalDateTime.of(2015, 3, 17, 0, 0), "", 0);
+        assertEquals(cursor, UpdateCursor.decode(cursor.encode()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeMalformedToken() {
+        UpdateCursor.decode("not a token");
+    }
+
+    @Test
+    public void testNextCursor() {
+        LocalDateTime processed = LocalDateTime.of(2015, 3, 17, 12, 0);
+        LocalDateTime published = LocalDateTime.of(2015, 3, 16, 12, 0);
+        UpdateDigest<BaseBillId> first = new UpdateDigest<>(new BaseBillId("S1", 2015), UpdateContentType.BILL,
+                                                            "fragment", published, processed.minusHours(1));
+        first.setChangeId(1);
+        UpdateDigest<BaseBillId> last = new UpdateDigest<>(new BaseBillId("S2", 2015), UpdateContentType.BILL,
+                                                           "fragment", published, processed);
+        last.setChangeId(2);
+
+        UpdateCursor start = UpdateCursor.start(null);
+        assertEquals(new UpdateCursor(processed, "BILL", 2),
+                     UpdateCursor.next(Arrays.asList(first, last), start, UpdateType.PROCESSED_DATE));
+        assertEquals(new UpdateCursor(published, "BILL", 2),
+                     UpdateCursor.next(Arrays.asList(first, last), start, UpdateType.PUBLISHED_DATE));
+        assertEquals(start, UpdateCursor.next(Collections.emptyList(), start, UpdateType.PROCESSED_DATE));
+    }
+}
@@ -0,0 +1,324 @@
+package gov.nysenate.openleg.processor.law;
+
+import com.google.common.eventbus.EventBus;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.config.Environment;
+import gov.nysenate.openleg.model.law.*;
+import gov.nysenate.openleg.model.process.DataProcessUnit;
+import gov.nysenate.openleg.service.law.data.LawDataService;
+import gov.nysenate.openleg.service.law.data.LawTreeNotFoundEx;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class LawProcessorParallelTest
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testParallelMatchesSequential() throws Exception {
+        LawFile lawFile = createSplitLawFile();
+
+        CapturingLawDataService sequential = process(lawFile, false, 1);
+        assertEquals(Arrays.asList("ABC", "XYZ", "QRS"), sequential.savedTrees);
+        for (int threads : new int[]{1, 2, 4}) {
+            CapturingLawDataService parallel = process(lawFile, true, threads);
+            // Every law is saved once, with all of its documents
+            assertEquals(3, parallel.savedTrees.size());
+            assertEquals(new HashSet<>(sequential.savedTrees), new HashSet<>(parallel.savedTrees));
+            assertEquals(sequential.documents, parallel.documents);
+            assertEquals(sequential.trees, parallel.trees);
+        }
+        assertTrue(sequential.trees.get("ABC"), sequential.trees.get("ABC").contains("ABC9@"));
+
+        LawFile updateFile = createLawFile("20150102.UPDATE",
+            updateBlock("ABC2", "", "  S 2. Amended title. The amended provisions of section 2.\n") +
+            updateBlock("XYZ5", "*REPEAL*", "") +
+            updateBlock("ABC8", "", "  S 8. Amended title. The amended provisions of section 8.\n") +
+            updateBlock("QRS3", "", "  S 3. Amended title. The amended provisions of section 3.\n"));
+        sequential = processUpdate(lawFile, updateFile, false, 1);
+        assertEquals(new HashSet<>(Arrays.asList("ABC", "XYZ", "QRS")), new HashSet<>(sequential.savedTrees));
+        for (int threads : new int[]{1, 2, 4}) {
+            CapturingLawDataService parallel = processUpdate(lawFile, updateFile, true, threads);
+            assertEquals(3, parallel.savedTrees.size());
+            assertEquals(new HashSet<>(sequential.savedTrees), new HashSet<>(parallel.savedTrees));
+            assertEquals(sequential.documents, parallel.documents);
+            assertEquals(sequential.trees, parallel.trees);
+        }
+        assertEquals(new HashSet<>(Arrays.asList("ABC2", "ABC8", "QRS3")), sequential.documents.keySet());
+        assertTrue(sequential.trees.get("XYZ"), sequential.trees.get("XYZ").contains("XYZ5@8<XYZA2!2015-01-02"));
+    }
+
+    @Test
+    public void testMalformedFileHaltsProcessing() throws Exception {
+        LawFile lawFile = createSplitLawFile();
+        LawFile updateFile = createLawFile("20150102.UPDATE",
+            updateBlock("ABC2", "*BOGUS*", "  S 2. Amended title.\n") +
+            updateBlock("XYZ5", "", "  S 5. Amended title.\n") +
+            updateBlock("ABC8", "", "  S 8. Amended title.\n") +
+            updateBlock("QRS3", "", "  S 3. Amended title.\n"));
+        for (boolean parallel : new boolean[]{false, true}) {
+            CapturingLawDataService lawDataService = new CapturingLawDataService();
+            process(lawFile, lawDataService, false, 1);
+            lawDataService.clear();
+            // A single thread runs the steps in the order they were read, so all steps after the failure are skipped
+            TestLawProcessor lawProcessor = new TestLawProcessor(lawDataService, parallel, 1);
+            try {
+                lawProcessor.process(updateFile);
+            }
+            finally {
+                lawProcessor.shutdown();
+            }
+            assertNotNull(lawProcessor.postedUnit);
+            assertEquals(1, lawProcessor.postedUnit.getErrors().size());
+            assertTrue(lawProcessor.postedUnit.getErrors().get(0),
+                       lawProcessor.postedUnit.getErrors().get(0).contains("updates with method: *BOGUS*"));
+            assertEquals(Collections.emptyList(), lawDataService.savedTrees);
+            assertTrue(lawDataService.documents.isEmpty());
+            // Nothing is changed once the unit has been posted
+            assertEquals(lawProcessor.messagesAtPost, lawProcessor.postedUnit.getMessages().toString());
+            assertEquals(lawProcessor.callsAtPost, lawDataService.calls.get());
+        }
+    }
+
+    @Test
+    public void testLawIsPersistedOnceReaderHasPassedIt() throws Exception {
+        LawFile lawFile = createSplitLawFile();
+        CapturingLawDataService lawDataService = new CapturingLawDataService();
+        CountDownLatch xyzSaved = new CountDownLatch(1);
+        lawDataService.onTreeSaved = lawId -> {
+            if (lawId.equals("XYZ")) {
+                xyzSaved.countDown();
+            }
+        };
+        List<Boolean> savedBeforeQrs = new ArrayList<>();
+        TestLawProcessor lawProcessor = new TestLawProcessor(lawDataService, true, 2) {
+            @Override
+            protected void readLawBlocks(LawFile lawFile, Consumer<LawBlock> consumer) throws IOException {
+                // The headers are scanned before the blocks are read for processing
+                boolean processing = ++readCount > 1;
+                super.readLawBlocks(lawFile, block -> {
+                    if (processing && block.getDocumentId().equals("QRS-CH")) {
+                        savedBeforeQrs.add(await(xyzSaved));
+                    }
+                    consumer.accept(block);
+                });
+            }
+        };
+        try {
+            lawProcessor.process(lawFile);
+        }
+        finally {
+            lawProcessor.shutdown();
+        }
+        assertEquals(Collections.singletonList(true), savedBeforeQrs);
+        assertEquals(3, lawDataService.savedTrees.size());
+    }
+
+    /** --- Internal Methods --- */
+
+    private static CapturingLawDataService process(LawFile lawFile, boolean parallel, int threads) {
+        return process(lawFile, new CapturingLawDataService(), parallel, threads);
+    }
+
+    /** Processes the update file on top of the laws of the initial file, capturing only the update. */
+    private static CapturingLawDataService processUpdate(LawFile initialFile, LawFile updateFile, boolean parallel,
+                                                         int threads) {
+        CapturingLawDataService lawDataService = process(initialFile, false, 1);
+        lawDataService.clear();
+        return process(updateFile, lawDataService, parallel, threads);
+    }
+
+    private static CapturingLawDataService process(LawFile lawFile, CapturingLawDataService lawDataService,
+                                                   boolean parallel, int threads) {
+        TestLawProcessor lawProcessor = new TestLawProcessor(lawDataService, parallel, threads);
+        try {
+            lawProcessor.process(lawFile);
+        }
+        finally {
+            lawProcessor.shutdown();
+        }
+        return lawDataService;
+    }
+
+    /** Creates an initial dump of three laws, where ABC is split across the file by XYZ. */
+    private LawFile createSplitLawFile() throws IOException {
+        return createLawFile("DATABASE.LAWS",
+            law("ABC", "ALCOHOLIC BEVERAGE CONTROL LAW", true, 1, 2, 1) +
+            law("XYZ", "EXAMPLE LAW", true, 1, 3, 1) +
+            law("ABC", null, false, 3, 2, 7) +
+            law("QRS", "QUALIFIED RULES LAW", true, 1, 2, 1));
+    }
+
+    private LawFile createLawFile(String fileName, String content) throws IOException {
+        File file = tempFolder.newFile(fileName);
+        Files.write(file.toPath(), content.getBytes(LawProcessor.LAWFILE_CHARSET));
+        return new LawFile(file);
+    }
+
+    /**
+     * Creates the documents for a part of a law, optionally starting with its chapter, followed by a number of
+     * articles that each contain three sections.
+     */
+    private static String law(String lawId, String name, boolean withChapter, int firstArticle, int articles,
+                              int firstSection) {
+        StringBuilder content = new StringBuilder();
+        if (withChapter) {
+            content.append(header(lawId + "-CH")).append("                          ").append(name).append("\n\n");
+        }
+        int section = firstSection;
+        for (int article = firstArticle; article < firstArticle + articles; article++) {
+            content.append(header(lawId + "A" + article))
+                .append("                                 ARTICLE ").append(article).append("\n")
+                .append("                    GENERAL PROVISIONS PART ").append(article).append("\n");
+            for (int i = 0; i < 3; i++, section++) {
+                content.append(header(lawId + section))
+                    .append("  S ").append(section).append(". Short title. The provisions of section ")
+                    .append(section).append(" of the ").append(lawId).append(" law.\n")
+                    .append("  Such section shall be known as section ").append(section).append(".\n");
+            }
+        }
+        return content.toString();
+    }
+
+    private static String updateBlock(String documentId, String method, String text) {
+        return header(documentId, method) + text;
+    }
+
+    private static String header(String documentId) {
+        return header(documentId, "");
+    }
+
+    private static String header(String documentId, String method) {
+        return String.format("..SO DOC %-16s%-8s %-15s LAWS(CONSOLIDATED)\n", documentId, method, "");
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static class TestLawProcessor extends LawProcessor
+    {
+        private final CapturingLawDataService lawDataService;
+        int readCount = 0;
+        DataProcessUnit postedUnit;
+        String messagesAtPost;
+        int callsAtPost;
+
+        TestLawProcessor(CapturingLawDataService lawDataService, boolean parallel, int threads) {
+            this.lawDataService = lawDataService;
+            setLawDataService(lawDataService);
+            this.eventBus = new EventBus();
+            this.env = new Environment();
+            this.env.setLawParallelEnabled(parallel);
+            this.env.setLawParallelThreads(threads);
+        }
+
+        @Override
+        protected void postDataUnitEvent(DataProcessUnit unit) {
+            postedUnit = unit;
+            messagesAtPost = unit.getMessages().toString();
+            callsAtPost = lawDataService.calls.get();
+            super.postDataUnitEvent(unit);
+        }
+    }
+
+    /**
+     * Records the documents and trees that are saved, in a form that can be compared between runs. The saved
+     * trees are served as the existing trees of later updates.
+     */
+    private static class CapturingLawDataService implements LawDataService
+    {
+        final Map<String, String> documents = Collections.synchronizedMap(new TreeMap<>());
+        final Map<String, String> trees = Collections.synchronizedMap(new TreeMap<>());
+        final List<String> savedTrees = Collections.synchronizedList(new ArrayList<>());
+        final Map<String, LawTree> lawTrees = new ConcurrentHashMap<>();
+        final AtomicInteger calls = new AtomicInteger();
+        volatile Consumer<String> onTreeSaved = lawId -> {};
+
+        /** Clears what was captured, keeping the saved trees. */
+        void clear() {
+            documents.clear();
+            trees.clear();
+            savedTrees.clear();
+        }
+
+        @Override
+        public void saveLawTree(LawFile lawFile, LawTree lawTree) {
+            calls.incrementAndGet();
+            trees.put(lawTree.getLawId(), lawTree.getRootNode().getAllNodes().stream()
+                .map(node -> node.getDocumentId() + "@" + node.getSequenceNo() + "<" +
+                             (node.getParent() != null ? node.getParent().getDocumentId() : "") +
+                             (node.getRepealedDate() != null ? "!" + node.getRepealedDate() : ""))
+                .collect(Collectors.joining(",")));
+            lawTrees.put(lawTree.getLawId(), lawTree);
+            savedTrees.add(lawTree.getLawId());
+            onTreeSaved.accept(lawTree.getLawId());
+        }
+
+        @Override
+        public void saveLawDocument(LawFile lawFile, LawDocument lawDocument) {
+            calls.incrementAndGet();
+            documents.put(lawDocument.getDocumentId(), lawDocument.getDocType() + "|" + lawDocument.getDocTypeId() +
+                                                       "|" + lawDocument.getTitle() + "|" + lawDocument.getText());
+        }
+
+        @Override
+        public void saveLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments) {
+            lawDocuments.forEach(lawDocument -> saveLawDocument(lawFile, lawDocument));
+        }
+
+        @Override
+        public List<LawInfo> getLawInfos() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public LawTree getLawTree(String lawId, LocalDate endPublishedDate) {
+            calls.incrementAndGet();
+            LawTree lawTree = lawTrees.get(lawId);
+            if (lawTree == null) {
+                throw new LawTreeNotFoundEx(lawId, endPublishedDate, "No tree has been saved");
+            }
+            return lawTree;
+        }
+
+        @Override
+        public LawDocument getLawDocument(String documentId, LocalDate endPublishedDate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public LawDocInfo getLawDocInfo(String documentId, LocalDate endPublishedDate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<String, LawDocument> getLawDocuments(String lawId, LocalDate endPublishedDate) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package gov.nysenate.openleg.processor.law;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.law.LawFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class MappedLawFileReaderTest
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testMatchesLineReader() throws IOException {
+        String content =
+            header("ABC-CH", "") + "\n" +
+            "CHAPTER 1 OF THE CONSOLIDATED LAWS\r\n" +
+            "\n" +
+            header("ABCA1", "") + "\r\n" +
+            "ARTICLE 1\r" +
+            "..SO DOC not a header line\n" +
+            header("ABC1", "") + "\n" +
+            header("XYZ1", "*DELETE*") + "\n" +
+            "S 1. Short title. éü\n" +
+            "Last line without a terminator";
+        LawFile lawFile = createLawFile("DATABASE.LAWS", content);
+
+        List<LawBlock> expected = new ArrayList<>();
+        new LawProcessor().readLawBlocksByLine(lawFile, expected::add);
+        List<LawBlock> actual = new ArrayList<>();
+        MappedLawFileReader.readLawBlocks(lawFile, LawProcessor.LAWFILE_CHARSET, actual::add);
+
+        assertEquals(4, expected.size());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            LawBlock expectedBlock = expected.get(i);
+            LawBlock actualBlock = actual.get(i);
+            assertEquals(expectedBlock.getHeader(), actualBlock.getHeader());
+            assertEquals(expectedBlock.getDocumentId(), actualBlock.getDocumentId());
+            assertEquals(expectedBlock.getLawId(), actualBlock.getLawId());
+            assertEquals(expectedBlock.getLocationId(), actualBlock.getLocationId());
+            assertEquals(expectedBlock.getMethod(), actualBlock.getMethod());
+            assertEquals(expectedBlock.getPublishedDate(), actualBlock.getPublishedDate());
+            assertEquals(expectedBlock.isConsolidated(), actualBlock.isConsolidated());
+            assertEquals(expectedBlock.getText(), actualBlock.getText());
+        }
+        assertEquals("", actual.get(2).getText());
+        assertEquals("ARTICLE 1\\n..SO DOC not a header line\\n", actual.get(1).getText());
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        List<LawBlock> blocks = new ArrayList<>();
+        MappedLawFileReader.readLawBlocks(createLawFile("20150102.UPDATE", ""), LawProcessor.LAWFILE_CHARSET, blocks::add);
+        assertEquals(0, blocks.size());
+    }
+
+    @Test(expected = LawParseException.class)
+    public void testMissingHeader() throws IOException {
+        LawFile lawFile = createLawFile("20150102.UPDATE", "Some text\n" + header("ABC1", "") + "\n");
+        MappedLawFileReader.readLawBlocks(lawFile, LawProcessor.LAWFILE_CHARSET, block -> {});
+    }
+
+    @Test
+    public void testOnlySingleByteCharsetsAreMapped() throws IOException {
+        LawFile lawFile = createLawFile("DATABASE.LAWS", header("ABC1", "") + "\n");
+        assertTrue(MappedLawFileReader.canMap(lawFile, LawProcessor.LAWFILE_CHARSET));
+        assertTrue(MappedLawFileReader.canMap(lawFile, StandardCharsets.ISO_8859_1));
+        // Every byte decodes to one char, but the high bytes are malformed
+        assertFalse(MappedLawFileReader.canMap(lawFile, StandardCharsets.UTF_8));
+        // Single byte, but the high bytes are not mapped
+        assertFalse(MappedLawFileReader.canMap(lawFile, StandardCharsets.US_ASCII));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMultiByteCharsetIsRejected() throws IOException {
+        LawFile lawFile = createLawFile("DATABASE.LAWS", header("ABC1", "") + "\n");
+        MappedLawFileReader.readLawBlocks(lawFile, StandardCharsets.UTF_8, block -> {});
+    }
+
+    /** --- Internal Methods --- */
+
+    private LawFile createLawFile(String fileName, String content) throws IOException {
+        File file = tempFolder.newFile(fileName);
+        Files.write(file.toPath(), content.getBytes(LawProcessor.LAWFILE_CHARSET));
+        return new LawFile(file);
+    }
+
+    private static String header(String documentId, String method) {
+        return String.format("..SO DOC %-16s%-8s %-15s LAWS(CONSOLIDATED)", documentId, method, "");
+    }
+}
@@ -0,0 +1,76 @@
+package gov.nysenate.openleg.processor.sobi;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.sobi.SobiFile;
+import gov.nysenate.openleg.model.sobi.SobiFragment;
+import gov.nysenate.openleg.model.sobi.SobiFragmentType;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.File;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class SobiFragmentSplitterTest
+{
+    private SobiFile sobiFile;
+
+    @Before
+    public void setUp() throws Exception {
+        sobiFile = new SobiFile(new File(getClass().getClassLoader()
+            .getResource("sobi/SOBI.D140509.T124706.TXT").getFile()));
+    }
+
+    @Test
+    public void testBillLinesFormSingleFragment() throws Exception {
+        List<SobiFragment> fragments = new SobiFragmentSplitter(sobiFile).split();
+        assertEquals(1, fragments.size());
+        SobiFragment billFragment = fragments.get(0);
+        assertEquals(SobiFragmentType.BILL, billFragment.getType());
+        assertEquals(0, billFragment.getSequenceNo());
+        assertTrue(billFragment.getText().startsWith("2013S07300 T00000.SO DOC S 7300"));
+        assertFalse(billFragment.getText().contains("<DATAPROCESS"));
+    }
+
+    @Test
+    public void testXmlFragmentsAreCleanedUp() throws Exception {
+        String text =
+            "<sencalendar no=\"1\" sessyr=\"2017\">\r\n" +
+            "  <text><![CDATA[line one\\nline  two\r\n" +
+            "continued ¹ here]]></text>\r\n" +
+            "</sencalendar>\r\n" +
+            "2017S01234 1Bill line\u0000text\r\n" +
+            "<sameas no=\"2\">\n" +
+            "<x>\u0001y</x>\n" +
+            "</sameas>\n";
+        List<SobiFragment> fragments = new SobiFragmentSplitter(sobiFile).split(new StringReader(text));
+        assertEquals(3, fragments.size());
+
+        assertEquals(SobiFragmentType.CALENDAR, fragments.get(0).getType());
+        assertEquals(1, fragments.get(0).getSequenceNo());
+        assertEquals("<?xml version='1.0' encoding='UTF-8'?>\n<SENATEDATA>\n" +
+                     "<sencalendar no=\"1\" sessyr=\"2017\">\n" +
+                     " <text><![CDATA[line one\nline twocontinued &sect; here]]></text>\n" +
+                     "</sencalendar>\n</SENATEDATA>", fragments.get(0).getText());
+
+        assertEquals(SobiFragmentType.SAMEAS, fragments.get(1).getType());
+        assertEquals(2, fragments.get(1).getSequenceNo());
+        assertTrue(fragments.get(1).getText().contains("<x>y</x>"));
+
+        assertEquals(SobiFragmentType.BILL, fragments.get(2).getType());
+        assertEquals("2017S01234 1Bill line text\n", fragments.get(2).getText());
+    }
+
+    @Test
+    public void testPatchTagsMarkManualFix() throws Exception {
+        String text = "<PATCH>\n  Fixed the sponsor  \n</PATCH>\n2017S01234 1Bill line\n";
+        List<SobiFragment> fragments = new SobiFragmentSplitter(sobiFile).split(new StringReader(text));
+        assertEquals(1, fragments.size());
+        assertTrue(fragments.get(0).isManualFix());
+        assertEquals("Fixed the sponsor", fragments.get(0).getManualFixNotes());
+    }
+}
@@ -0,0 +1,85 @@
+package gov.nysenate.openleg.service.bill.data;
+
+import com.google.common.collect.ImmutableMap;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.client.view.bill.BillView;
+import gov.nysenate.openleg.model.base.PublishStatus;
+import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.*;
+import gov.nysenate.openleg.model.entity.Chamber;
+import gov.nysenate.openleg.model.entity.SessionMember;
+import gov.nysenate.openleg.util.OutputUtils;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class CompactBillTest
+{
+    @Test
+    public void testRoundTrip() throws Exception {
+        Bill bill = getTestBill();
+        CompactBill compactBill = CompactBill.of(bill);
+        Bill copy = compactBill.toBill();
+
+        assertNotSame(bill, copy);
+        assertEquals(bill.getBaseBillId(), copy.getBaseBillId());
+        assertEquals(bill.getModifiedDateTime(), compactBill.getModifiedDateTime());
+        assertEquals(bill.getModifiedDateTime(), copy.getModifiedDateTime());
+        assertEquals(bill.getSponsor().getMember().getFullName(), copy.getSponsor().getMember().getFullName());
+        assertEquals(OutputUtils.toJson(new BillView(bill)), OutputUtils.toJson(new BillView(copy)));
+    }
+
+    @Test
+    public void testCopiesAreIndependent() throws Exception {
+        CompactBill compactBill = CompactBill.of(getTestBill());
+        Bill copy = compactBill.toBill();
+        copy.setTitle("Modified");
+        assertNotEquals("Modified", compactBill.toBill().getTitle());
+    }
+
+    @Test
+    public void testBillInfoIsKeptWithoutDecoding() throws Exception {
+        Bill bill = getTestBill();
+        CompactBill compactBill = CompactBill.of(bill);
+        BillInfo billInfo = compactBill.getBillInfo();
+        assertSame(billInfo, compactBill.getBillInfo());
+        assertEquals(OutputUtils.toJson(new BillInfo(bill)), OutputUtils.toJson(billInfo));
+
+        // Later changes to the bill's actions do not show up in the cached info
+        bill.addAction(new BillAction(LocalDate.of(2017, 3, 8), "AMEND AND RECOMMIT TO FINANCE", Chamber.SENATE, 2,
+                                      new BillId(bill.getBaseBillId(), Version.DEFAULT)));
+        assertEquals(1, billInfo.getActions().size());
+    }
+
+    private Bill getTestBill() {
+        LocalDateTime modified = LocalDateTime.of(2017, 3, 14, 12, 30, 15);
+        BaseBillId baseBillId = new BaseBillId("S1234", 2017);
+        BillId billId = new BillId(baseBillId, Version.DEFAULT);
+        SessionMember member = new SessionMember(371, SessionYear.of(2017));
+        member.setFullName("John Smith");
+        member.setLbdcShortName("SMITH");
+        member.setChamber(Chamber.SENATE);
+
+        Bill bill = new Bill(baseBillId);
+        BillAmendment amendment = new BillAmendment(baseBillId, Version.DEFAULT);
+        BillVote vote = new BillVote(billId, LocalDate.of(2017, 3, 10), BillVoteType.FLOOR);
+        vote.addMemberVote(BillVoteCode.AYE, member);
+        amendment.updateVote(vote);
+        bill.addAmendment(amendment);
+        bill.setActiveVersion(Version.DEFAULT);
+        bill.setPublishedDateTime(modified.minusDays(10));
+        bill.setModifiedDateTime(modified);
+        bill.setTitle("An act to amend the tax law");
+        bill.setSponsor(new BillSponsor(member));
+        bill.setPublishStatuses(ImmutableMap.of(Version.DEFAULT, new PublishStatus(true, modified.minusDays(10))));
+        bill.addAction(new BillAction(LocalDate.of(2017, 3, 1), "REFERRED TO FINANCE", Chamber.SENATE, 1, billId));
+        bill.setStatus(new BillStatus(BillStatusType.IN_SENATE_COMM, LocalDate.of(2017, 3, 1)));
+        return bill;
+    }
+}
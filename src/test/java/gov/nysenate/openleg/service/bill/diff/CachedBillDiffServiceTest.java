@@ -0,0 +1,179 @@
+package gov.nysenate.openleg.service.bill.diff;
+
+import com.google.common.eventbus.EventBus;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillAmendment;
+import gov.nysenate.openleg.model.cache.ContentCache;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class CachedBillDiffServiceTest
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static final BaseBillId baseBillId = new BaseBillId("S1234", 2017);
+
+    private CountingDiffService diffService;
+
+    @Before
+    public void setUp() throws Exception {
+        diffService = new CountingDiffService();
+        diffService.eventBus = new EventBus();
+        diffService.cacheManager = new CacheManager(new Configuration().name("bill-diff-test").updateCheck(false));
+        diffService.cacheDirPath = tempFolder.getRoot().getPath();
+        diffService.diffTimeoutMs = 2000;
+        diffService.parallelThreshold = 50000;
+        diffService.precomputeEnabled = false;
+        diffService.precomputeQueueSize = 10;
+        diffService.init();
+    }
+
+    @After
+    public void tearDown() {
+        diffService.cleanUp();
+        diffService.cacheManager.shutdown();
+    }
+
+    @Test
+    public void testDiffKeyTracksText() throws Exception {
+        Bill bill = getBill("AN ACT to amend the tax law", "AN ACT to amend the tax law and the labor law");
+        String key = CachedBillDiffService.getDiffKey(baseBillId, bill.getAmendment(Version.DEFAULT),
+                                                      bill.getAmendment(Version.A));
+        assertTrue(key, key.startsWith("S1234-2017-DEFAULT-A-"));
+        assertEquals(key, CachedBillDiffService.getDiffKey(baseBillId, bill.getAmendment(Version.DEFAULT),
+                                                           bill.getAmendment(Version.A)));
+
+        bill.getAmendment(Version.A).setFullText("AN ACT to amend the education law");
+        assertNotEquals(key, CachedBillDiffService.getDiffKey(baseBillId, bill.getAmendment(Version.DEFAULT),
+                                                              bill.getAmendment(Version.A)));
+    }
+
+    @Test
+    public void testDiffIsCached() throws Exception {
+        Bill bill = getBill("AN ACT to amend the tax law", "AN ACT to amend the tax law and the labor law");
+        String diffHtml = diffService.getDiffHtml(bill, Version.DEFAULT, Version.A);
+        assertTrue(diffHtml, diffHtml.contains("labor"));
+        assertEquals(diffHtml, diffService.getDiffHtml(bill, Version.DEFAULT, Version.A));
+        assertEquals(1, diffService.timeouts.size());
+
+        // Served from disk once the memory cache is cleared
+        diffService.evictCaches();
+        assertEquals(diffHtml, diffService.getDiffHtml(bill, Version.DEFAULT, Version.A));
+        assertEquals(1, diffService.timeouts.size());
+    }
+
+    @Test
+    public void testChangedTextInvalidatesDiff() throws Exception {
+        Bill bill = getBill("AN ACT to amend the tax law", "AN ACT to amend the tax law and the labor law");
+        diffService.getDiffHtml(bill, Version.DEFAULT, Version.A);
+
+        bill.getAmendment(Version.A).setFullText("AN ACT to amend the tax law and the education law");
+        String diffHtml = diffService.getDiffHtml(bill, Version.DEFAULT, Version.A);
+        assertTrue(diffHtml, diffHtml.contains("education"));
+        assertFalse(diffHtml, diffHtml.contains("labor"));
+        assertEquals(2, diffService.timeouts.size());
+        // Only the latest diff for the pair is kept on disk
+        assertEquals(1, getDiffFiles().length);
+    }
+
+    @Test
+    public void testPrecomputeStoresMissingDiffs() throws Exception {
+        Bill bill = getBill("AN ACT to amend the tax law", "AN ACT to amend the tax law and the labor law");
+        assertTrue(diffService.needsPrecompute(bill));
+
+        diffService.precomputeDiffs(bill);
+        assertFalse(diffService.needsPrecompute(bill));
+        assertEquals(1, diffService.timeouts.size());
+        assertEquals(0L, (long) diffService.timeouts.get(0));
+
+        diffService.getDiffHtml(bill, Version.DEFAULT, Version.A);
+        diffService.precomputeDiffs(bill);
+        assertEquals(1, diffService.timeouts.size());
+    }
+
+    @Test
+    public void testTimedOutDiffsAreNotStored() throws Exception {
+        Bill bill = getBill("AN ACT to amend the tax law", "AN ACT to amend the tax law and the labor law");
+        diffService.diffTimeoutMs = 1;
+        diffService.delayMs = 20;
+        String coarseHtml = diffService.getDiffHtml(bill, Version.DEFAULT, Version.A);
+        assertEquals(coarseHtml, diffService.getDiffHtml(bill, Version.DEFAULT, Version.A));
+        assertEquals(1, diffService.timeouts.size());
+        assertEquals(0, getDiffFiles().length);
+        assertTrue(diffService.needsPrecompute(bill));
+
+        // The exact diff replaces the coarse one
+        diffService.precomputeDiffs(bill);
+        assertEquals(1, getDiffFiles().length);
+        assertFalse(diffService.needsPrecompute(bill));
+        diffService.getDiffHtml(bill, Version.DEFAULT, Version.A);
+        assertEquals(2, diffService.timeouts.size());
+    }
+
+    /** --- Internal Methods --- */
+
+    private static Bill getBill(String originalText, String amendedText) {
+        Bill bill = new Bill(baseBillId);
+        BillAmendment original = new BillAmendment(baseBillId, Version.DEFAULT);
+        original.setFullText(originalText);
+        bill.addAmendment(original);
+        BillAmendment amended = new BillAmendment(baseBillId, Version.A);
+        amended.setFullText(amendedText);
+        bill.addAmendment(amended);
+        return bill;
+    }
+
+    private File[] getDiffFiles() {
+        File[] files = new File(tempFolder.getRoot(), "2017").listFiles((dir, name) -> name.endsWith(".html"));
+        return files != null ? files : new File[0];
+    }
+
+    /**
+     * Records the time limit of every diff that is computed.
+     */
+    private static class CountingDiffService extends CachedBillDiffService
+    {
+        final List<Long> timeouts = new ArrayList<>();
+        long delayMs = 0;
+
+        /** Bounds the cache by entries, since sizing the heap by reflection depends on the jvm. */
+        @Override
+        public void setupCaches() {
+            diffCache = new Cache(new CacheConfiguration().name(ContentCache.BILL_DIFF.name())
+                .eternal(true)
+                .maxEntriesLocalHeap(100));
+            cacheManager.addCache(diffCache);
+        }
+
+        @Override
+        String computeDiffHtml(String text1, String text2, long timeoutMs) {
+            timeouts.add(timeoutMs);
+            try {
+                Thread.sleep(delayMs);
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return super.computeDiffHtml(text1, text2, timeoutMs);
+        }
+    }
+}
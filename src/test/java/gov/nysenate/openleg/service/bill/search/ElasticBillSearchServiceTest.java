@@ -0,0 +1,126 @@
+package gov.nysenate.openleg.service.bill.search;
+
+import com.google.common.collect.ImmutableMap;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.dao.bill.data.SqlBillDao;
+import gov.nysenate.openleg.dao.bill.search.ElasticBillSearchDao;
+import gov.nysenate.openleg.model.base.PublishStatus;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillAmendment;
+import org.elasticsearch.ElasticsearchException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class ElasticBillSearchServiceTest
+{
+    private ElasticBillSearchService billSearchService;
+    private FakeBillSearchDao billSearchDao;
+
+    @Before
+    public void setUp() {
+        billSearchDao = new FakeBillSearchDao();
+        billSearchService = new ElasticBillSearchService();
+        billSearchService.billSearchDao = billSearchDao;
+        billSearchService.billDao = new FakeBillDao(Arrays.asList(
+            new BaseBillId("S1", 2017), new BaseBillId("S2", 2017), new BaseBillId("S3", 2017)));
+        billSearchService.reindexBatchSize = 1;
+        billSearchService.reindexThreads = 2;
+    }
+
+    @Test
+    public void testRebuildActivatesNewIndex() throws Exception {
+        billSearchService.rebuildIndex();
+        assertEquals(3, billSearchDao.indexedPrintNos.size());
+        assertEquals(Collections.singletonList("bills_v1"), billSearchDao.activated);
+        assertTrue(billSearchDao.deleted.isEmpty());
+    }
+
+    @Test
+    public void testRebuildKeepsExistingIndexOnFailure() throws Exception {
+        billSearchDao.failPrintNo = "S2";
+        try {
+            billSearchService.rebuildIndex();
+            fail("Expected the rebuild to fail");
+        }
+        catch (ElasticsearchException ex) {
+            assertTrue(ex.getCause() instanceof ElasticsearchException);
+        }
+        assertTrue(billSearchDao.activated.isEmpty());
+        assertEquals(Collections.singletonList("bills_v1"), billSearchDao.deleted);
+    }
+
+    /** --- Internal Classes --- */
+
+    private static class FakeBillSearchDao extends ElasticBillSearchDao
+    {
+        final Set<String> indexedPrintNos = Collections.synchronizedSet(new HashSet<>());
+        final List<String> activated = new ArrayList<>();
+        final List<String> deleted = new ArrayList<>();
+        volatile String failPrintNo;
+
+        @Override
+        public String createBillIndexVersion() {
+            return "bills_v1";
+        }
+
+        @Override
+        public void indexBills(String indexName, Collection<Bill> bills) {
+            for (Bill bill : bills) {
+                if (bill.getBasePrintNo().equals(failPrintNo)) {
+                    throw new ElasticsearchException("Failed to index bills into " + indexName);
+                }
+                indexedPrintNos.add(bill.getBasePrintNo());
+            }
+        }
+
+        @Override
+        public void activateBillIndexVersion(String indexName) {
+            activated.add(indexName);
+        }
+
+        @Override
+        public void deleteBillIndexVersion(String indexName) {
+            deleted.add(indexName);
+        }
+    }
+
+    /**
+     * Pages through a fixed list of bill ids, returning a published bill for each.
+     */
+    private static class FakeBillDao extends SqlBillDao
+    {
+        private final List<BaseBillId> billIds;
+
+        FakeBillDao(List<BaseBillId> billIds) {
+            this.billIds = billIds;
+        }
+
+        @Override
+        public List<BaseBillId> getBillIds(BaseBillId afterId, int limit) {
+            int start = (afterId == null) ? 0 : billIds.indexOf(afterId) + 1;
+            return billIds.subList(start, Math.min(start + limit, billIds.size()));
+        }
+
+        @Override
+        public Map<BaseBillId, Bill> getBills(Collection<BaseBillId> ids) {
+            return ids.stream().collect(Collectors.toMap(id -> id, FakeBillDao::getPublishedBill));
+        }
+
+        private static Bill getPublishedBill(BaseBillId baseBillId) {
+            Bill bill = new Bill(baseBillId);
+            bill.addAmendment(new BillAmendment(baseBillId, Version.DEFAULT));
+            bill.setPublishStatuses(ImmutableMap.of(Version.DEFAULT, new PublishStatus(true, LocalDateTime.now())));
+            return bill;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package gov.nysenate.openleg.service.entity.member.data;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.entity.Chamber;
+import gov.nysenate.openleg.model.entity.SessionMember;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class MemberShortNameIndexTest
+{
+    private static final SessionYear SESSION = SessionYear.of(2017);
+
+    private static SessionMember newMember(int sessionMemberId, String shortName, Chamber chamber, boolean alternate) {
+        SessionMember member = new SessionMember();
+        member.setSessionMemberId(sessionMemberId);
+        member.setLbdcShortName(shortName);
+        member.setSessionYear(SESSION);
+        member.setChamber(chamber);
+        member.setAlternate(alternate);
+        return member;
+    }
+
+    @Test
+    public void testLookupMatchesLikeTheDao() {
+        MemberShortNameIndex index = new MemberShortNameIndex();
+        index.rebuild(Arrays.asList(newMember(1, "MONTGOMERY-SMITH-JR", Chamber.SENATE, false),
+                                    newMember(2, "Kaminsky", Chamber.ASSEMBLY, false)));
+        assertEquals(1, index.get("MONTGOMERY-SMITH-JONES", SESSION, Chamber.SENATE).get().getSessionMemberId());
+        assertEquals(2, index.get(" KAMINSKY ", SESSION, Chamber.ASSEMBLY).get().getSessionMemberId());
+        assertFalse(index.get("KAMINSKY", SESSION, Chamber.SENATE).isPresent());
+        assertFalse(index.get("KAMINSKY", SessionYear.of(2015), Chamber.ASSEMBLY).isPresent());
+        assertEquals(2, index.getHitCount());
+        assertEquals(2, index.getMissCount());
+    }
+
+    @Test
+    public void testPrimaryMemberIsPreferredOverAlternate() {
+        MemberShortNameIndex index = new MemberShortNameIndex();
+        index.put(newMember(1, "LANZA", Chamber.SENATE, true));
+        index.put(newMember(2, "LANZA", Chamber.SENATE, false));
+        index.put(newMember(3, "LANZA", Chamber.SENATE, true));
+        assertEquals(2, index.get("LANZA", SESSION, Chamber.SENATE).get().getSessionMemberId());
+        index.remove(2);
+        assertFalse(index.get("LANZA", SESSION, Chamber.SENATE).isPresent());
+    }
+}
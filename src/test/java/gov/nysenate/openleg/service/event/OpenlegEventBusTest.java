@@ -0,0 +1,204 @@
+package gov.nysenate.openleg.service.event;
+
+import com.google.common.eventbus.DeadEvent;
+import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class OpenlegEventBusTest
+{
+    private final OpenlegEventBus eventBus = new OpenlegEventBus(100);
+
+    @After
+    public void tearDown() {
+        eventBus.shutdown();
+    }
+
+    @Test
+    public void testSyncDeliveryOrder() {
+        List<Object> received = new ArrayList<>();
+        eventBus.register(new Object() {
+            @Subscribe
+            public void handleString(String event) {
+                received.add(event);
+                if (event.equals("first")) {
+                    // Events posted by a subscriber are delivered once the current event is done
+                    eventBus.post(1);
+                    received.add("first done");
+                }
+            }
+
+            @Subscribe
+            public void handleInteger(Integer event) {
+                received.add(event);
+            }
+        });
+        eventBus.post("first");
+        eventBus.post("second");
+        assertEquals(4, received.size());
+        assertEquals("first", received.get(0));
+        assertEquals("first done", received.get(1));
+        assertEquals(1, received.get(2));
+        assertEquals("second", received.get(3));
+    }
+
+    @Test
+    public void testSupertypeAndDeadEvents() {
+        List<Object> numbers = new ArrayList<>();
+        List<Object> deadEvents = new ArrayList<>();
+        Object subscriber = new Object() {
+            @Subscribe
+            public void handleNumber(Number event) {
+                numbers.add(event);
+            }
+
+            @Subscribe
+            public void handleDeadEvent(DeadEvent event) {
+                deadEvents.add(event.getEvent());
+            }
+        };
+        eventBus.register(subscriber);
+        eventBus.post(5L);
+        eventBus.post("nobody");
+        assertEquals(Collections.singletonList(5L), numbers);
+        assertEquals(Collections.singletonList("nobody"), deadEvents);
+
+        eventBus.unregister(subscriber);
+        eventBus.post(6L);
+        assertEquals(1, numbers.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnregisterUnknown() {
+        eventBus.unregister(new SlowSubscriber(1));
+    }
+
+    @Test
+    public void testAsyncDelivery() throws InterruptedException {
+        SlowSubscriber subscriber = new SlowSubscriber(1);
+        eventBus.register(subscriber);
+        eventBus.post("event");
+        // The event is queued rather than delivered by the posting thread
+        assertEquals(0, subscriber.received.size());
+        assertEquals(1, eventBus.getAsyncDispatchers().size());
+        subscriber.release.countDown();
+        eventBus.shutdown();
+        assertTrue(subscriber.done.await(5, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList("event"), subscriber.received);
+        assertNotSame(Thread.currentThread(), subscriber.threads.get(0));
+    }
+
+    @Test
+    public void testDiscardOverflow() throws InterruptedException {
+        SlowSubscriber subscriber = new SlowSubscriber(3);
+        eventBus.register(subscriber);
+        AsyncEventDispatcher dispatcher = eventBus.getAsyncDispatchers().get(0);
+        assertEquals(EventOverflowPolicy.DISCARD, dispatcher.getOverflowPolicy());
+        assertEquals(2, dispatcher.getCapacity());
+        // One event is delivered, two are queued, and the rest overflow
+        for (int i = 0; i < 5; i++) {
+            eventBus.post("event" + i);
+        }
+        assertEquals(2, dispatcher.getOverflowCount());
+        assertEquals(2, dispatcher.getDiscardedCount());
+        subscriber.release.countDown();
+        eventBus.shutdown();
+        assertTrue(subscriber.done.await(5, TimeUnit.SECONDS));
+        assertEquals(3, subscriber.received.size());
+    }
+
+    @Test
+    public void testBlockedPostIsDiscardedOnShutdown() throws InterruptedException {
+        AsyncEventDispatcher dispatcher = new AsyncEventDispatcher("test", 1, EventOverflowPolicy.BLOCK);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        dispatcher.dispatch(() -> {
+            await(release);
+            delivered.add("first");
+        });
+        dispatcher.dispatch(() -> delivered.add("second"));
+        Thread poster = new Thread(() -> dispatcher.dispatch(() -> delivered.add("third")));
+        poster.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (poster.getState() != Thread.State.TIMED_WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, dispatcher.getOverflowCount());
+
+        // The blocked poster gives up once the dispatcher is shut down, rather than queueing after the shutdown
+        dispatcher.shutdown();
+        poster.join(5000);
+        assertFalse(poster.isAlive());
+        assertEquals(1, dispatcher.getDiscardedCount());
+        release.countDown();
+        deadline = System.currentTimeMillis() + 5000;
+        while (delivered.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50);
+        assertEquals(Arrays.asList("first", "second"), delivered);
+    }
+
+    @Test
+    public void testEventTypeStats() {
+        eventBus.register(new Object() {
+            @Subscribe
+            public void handleString(String event) {
+                throw new IllegalStateException("fail");
+            }
+
+            @Subscribe
+            public void handleObject(Object event) {}
+        });
+        eventBus.post("a");
+        eventBus.post("b");
+        EventTypeStats stats = eventBus.getEventTypeStats().get(0);
+        assertEquals(String.class, stats.getEventType());
+        assertEquals(2, stats.getPostCount());
+        assertEquals(4, stats.getDeliveryCount());
+        assertEquals(2, stats.getFailureCount());
+        assertTrue(stats.getMaxLatencyMillis() >= stats.getAvgLatencyMillis());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @AsyncSubscriber(queueSize = 2, overflow = EventOverflowPolicy.DISCARD)
+    public static class SlowSubscriber
+    {
+        final List<String> received = Collections.synchronizedList(new ArrayList<>());
+        final List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done;
+
+        SlowSubscriber(int expectedEvents) {
+            done = new CountDownLatch(expectedEvents);
+        }
+
+        @Subscribe
+        public void handleString(String event) throws InterruptedException {
+            release.await();
+            received.add(event);
+            threads.add(Thread.currentThread());
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package gov.nysenate.openleg.service.law.data;
+
+import com.google.common.base.Strings;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.law.LawDocInfo;
+import gov.nysenate.openleg.model.law.LawDocument;
+import gov.nysenate.openleg.model.law.LawDocumentType;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class CompactLawDocumentTest
+{
+    @Test
+    public void testRoundTrip() {
+        String text = Strings.repeat("  § 100. The commissioner shall enforce this section.\n", 200);
+        LawDocument doc = new LawDocument(new LawDocInfo("EDN100", "EDN", "100", "Enforcement",
+            LawDocumentType.SECTION, "100", LocalDate.of(2014, 9, 22)), text);
+        CompactLawDocument compactDoc = CompactLawDocument.of(doc);
+        LawDocument copy = compactDoc.toLawDocument();
+
+        assertNotSame(doc, copy);
+        assertEquals(text, copy.getText());
+        assertEquals(doc.getDocumentId(), copy.getDocumentId());
+        assertEquals(doc.getPublishedDate(), copy.getPublishedDate());
+        assertEquals(doc.getDocType(), copy.getDocType());
+        assertTrue(compactDoc.getSize() < text.length() / 10);
+    }
+
+    @Test
+    public void testMissingText() {
+        LawDocument doc = new LawDocument(new LawDocInfo("EDNA1", "EDN", "A1", "General provisions",
+            LawDocumentType.ARTICLE, "1", LocalDate.of(2014, 9, 22)), null);
+        assertNull(CompactLawDocument.of(doc).toLawDocument().getText());
+    }
+}
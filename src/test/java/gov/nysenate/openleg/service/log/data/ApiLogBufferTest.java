@@ -0,0 +1,63 @@
+package gov.nysenate.openleg.service.log.data;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.auth.ApiRequest;
+import gov.nysenate.openleg.model.auth.ApiResponse;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class ApiLogBufferTest
+{
+    private static ApiResponse newResponse() {
+        return new ApiResponse(new ApiRequest());
+    }
+
+    @Test
+    public void testDropsWhenFull() {
+        ApiLogBuffer buffer = new ApiLogBuffer(4, 1);
+        for (int i = 0; i < 6; i++) {
+            buffer.offer(newResponse());
+        }
+        assertEquals(4, buffer.size());
+        assertEquals(4, buffer.getAcceptedCount());
+        assertEquals(2, buffer.getDroppedCount());
+        assertEquals(0, buffer.getSampledOutCount());
+    }
+
+    @Test
+    public void testSamplesWhenOverloaded() {
+        ApiLogBuffer buffer = new ApiLogBuffer(100, 5);
+        for (int i = 0; i < 75; i++) {
+            assertTrue(buffer.offer(newResponse()));
+        }
+        // Past three quarters of capacity only one in five responses is kept
+        int kept = 0;
+        for (int i = 0; i < 20; i++) {
+            if (buffer.offer(newResponse())) {
+                kept++;
+            }
+        }
+        assertEquals(4, kept);
+        assertEquals(16, buffer.getSampledOutCount());
+        assertEquals(0, buffer.getDroppedCount());
+    }
+
+    @Test
+    public void testDrainInBatches() {
+        ApiLogBuffer buffer = new ApiLogBuffer(10, 1);
+        for (int i = 0; i < 7; i++) {
+            buffer.offer(newResponse());
+        }
+        List<ApiResponse> batch = new ArrayList<>();
+        assertEquals(5, buffer.drainTo(batch, 5));
+        assertEquals(2, buffer.drainTo(batch, 5));
+        assertEquals(0, buffer.drainTo(batch, 5));
+        assertEquals(7, batch.size());
+    }
+}
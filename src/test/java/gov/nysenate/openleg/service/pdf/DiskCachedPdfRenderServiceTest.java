@@ -0,0 +1,105 @@
+package gov.nysenate.openleg.service.pdf;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class DiskCachedPdfRenderServiceTest
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static final LocalDateTime firstModified = LocalDateTime.of(2017, 3, 14, 12, 30, 15);
+    private static final LocalDateTime secondModified = firstModified.plusDays(1);
+
+    private DiskCachedPdfRenderService pdfRenderService;
+    private File dir;
+    private AtomicInteger renderCount;
+
+    @Before
+    public void setUp() throws Exception {
+        pdfRenderService = new DiskCachedPdfRenderService();
+        pdfRenderService.staleGraceMinutes = 0;
+        dir = tempFolder.newFolder("bills");
+        renderCount = new AtomicInteger();
+    }
+
+    @Test
+    public void testCachedPdfIsNotRenderedAgain() throws Exception {
+        CachedPdf first = getPdf(firstModified);
+        CachedPdf second = getPdf(firstModified);
+        assertEquals(1, renderCount.get());
+        assertEquals(first.getFile(), second.getFile());
+        assertEquals(first.getETag(), second.getETag());
+        assertEquals("%PDF " + firstModified, new String(Files.readAllBytes(second.getFile().toPath())));
+    }
+
+    @Test
+    public void testNewVersionIsRendered() throws Exception {
+        CachedPdf first = getPdf(firstModified);
+        CachedPdf second = getPdf(secondModified);
+        assertEquals(2, renderCount.get());
+        assertNotEquals(first.getFile(), second.getFile());
+        assertNotEquals(first.getETag(), second.getETag());
+        assertEquals("%PDF " + secondModified, new String(Files.readAllBytes(second.getFile().toPath())));
+        assertFalse(first.getFile().exists());
+    }
+
+    @Test
+    public void testNewerVersionsAreKept() throws Exception {
+        CachedPdf newer = getPdf(secondModified);
+        CachedPdf older = getPdf(firstModified);
+        assertTrue(newer.getFile().exists());
+        assertTrue(older.getFile().exists());
+    }
+
+    @Test
+    public void testRecentlyServedVersionsAreKept() throws Exception {
+        pdfRenderService.staleGraceMinutes = 10;
+        CachedPdf first = getPdf(firstModified);
+        CachedPdf second = getPdf(secondModified);
+        assertTrue(first.getFile().exists());
+
+        // Cleaned up once the grace period has passed
+        pdfRenderService.staleGraceMinutes = 0;
+        pdfRenderService.removeStaleVersions(dir, "S1234", "20170315123015000");
+        assertFalse(first.getFile().exists());
+        assertTrue(second.getFile().exists());
+    }
+
+    @Test
+    public void testOtherKeysAreKept() throws Exception {
+        CachedPdf amendment = getPdf("S1234A", firstModified);
+        getPdf("S1234", firstModified);
+        getPdf("S1234", secondModified);
+        assertTrue(amendment.getFile().exists());
+    }
+
+    /** --- Internal Methods --- */
+
+    private CachedPdf getPdf(LocalDateTime modified) throws Exception {
+        return getPdf("S1234", modified);
+    }
+
+    private CachedPdf getPdf(String key, LocalDateTime modified) throws Exception {
+        Bill bill = new Bill(new BaseBillId("S1234", 2017));
+        bill.setModifiedDateTime(modified);
+        return pdfRenderService.getPdf(dir, key, bill, out -> {
+            renderCount.incrementAndGet();
+            out.write(("%PDF " + modified).getBytes());
+        });
+    }
+}
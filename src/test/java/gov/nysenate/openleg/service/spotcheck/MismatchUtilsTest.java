@@ -83,6 +83,19 @@ public class MismatchUtilsTest {
         assertIgnoreStatus(MismatchUtils.updateIgnoreStatus(Lists.newArrayList(closedMismatch)), SpotCheckMismatchIgnore.NOT_IGNORED);
     }
 
+    /** --- copyIgnoreStatuses() tests --- */
+
+    @Test
+    public void givenMatchingCurrentMismatch_copyIgnoreStatus() {
+        closedMismatch.setIgnoreStatus(SpotCheckMismatchIgnore.IGNORE_PERMANENTLY);
+        DeNormSpotCheckMismatch otherType = createMismatch(SpotCheckMismatchType.BILL_ACTION, MismatchState.OPEN);
+        otherType.setIgnoreStatus(SpotCheckMismatchIgnore.NOT_IGNORED);
+        List<DeNormSpotCheckMismatch> copied = MismatchUtils.copyIgnoreStatuses(Lists.newArrayList(closedMismatch),
+                Lists.newArrayList(openMismatch, otherType));
+        assertThat(copied.get(0).getIgnoreStatus(), is(SpotCheckMismatchIgnore.IGNORE_PERMANENTLY));
+        assertThat(copied.get(1).getIgnoreStatus(), is(SpotCheckMismatchIgnore.NOT_IGNORED));
+    }
+
     /** --- deriveClosedMismatches() tests --- */
 
     @Test
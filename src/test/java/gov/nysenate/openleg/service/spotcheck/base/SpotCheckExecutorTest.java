@@ -0,0 +1,164 @@
+package gov.nysenate.openleg.service.spotcheck.base;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.spotcheck.SpotCheckObservation;
+import gov.nysenate.openleg.model.spotcheck.SpotCheckRefType;
+import gov.nysenate.openleg.model.spotcheck.SpotCheckReferenceId;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class SpotCheckExecutorTest
+{
+    private static final SpotCheckReferenceId refId =
+        new SpotCheckReferenceId(SpotCheckRefType.LBDC_DAYBREAK, LocalDateTime.of(2017, 3, 14, 12, 0));
+
+    private SpotCheckExecutor executor;
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testObservationsAreInReferenceOrder() {
+        executor = getExecutor(4, 5);
+        List<Integer> references = IntStream.range(0, 42).boxed().collect(Collectors.toList());
+        List<List<Integer>> loadedBatches = new ArrayList<>();
+        List<Integer> observed = new ArrayList<>();
+        Thread callingThread = Thread.currentThread();
+
+        int checked = executor.check(references.iterator(), ref -> ref,
+            ids -> {
+                loadedBatches.add(new ArrayList<>(ids));
+                // Content is left out for odd references
+                return ids.stream().filter(id -> id % 2 == 0).collect(Collectors.toMap(id -> id, id -> "content " + id));
+            },
+            (content, ref) -> {
+                assertEquals((ref % 2 == 0) ? "content " + ref : null, content);
+                sleep(ThreadLocalRandom.current().nextInt(5));
+                return new SpotCheckObservation<>(refId, ref);
+            },
+            observation -> {
+                assertSame(callingThread, Thread.currentThread());
+                observed.add(observation.getKey());
+            });
+
+        assertEquals(42, checked);
+        assertEquals(references, observed);
+        assertEquals(9, loadedBatches.size());
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), loadedBatches.get(0));
+        assertEquals(Arrays.asList(40, 41), loadedBatches.get(8));
+    }
+
+    @Test
+    public void testReadingIsThrottledBySlowChecks() throws Exception {
+        executor = getExecutor(1, 2);
+        AtomicInteger read = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Iterator<Integer> references = IntStream.range(0, 20).boxed()
+            .peek(ref -> read.incrementAndGet())
+            .iterator();
+        AtomicInteger checked = new AtomicInteger();
+        Thread checkThread = new Thread(() -> checked.set(executor.check(references, ref -> ref,
+            ids -> Collections.emptyMap(),
+            (content, ref) -> {
+                await(release);
+                return new SpotCheckObservation<>(refId, ref);
+            },
+            observation -> {})));
+        checkThread.start();
+
+        // The first batch is being checked while the second one waits, so no further references are read
+        long deadline = System.currentTimeMillis() + 5000;
+        while (read.get() < 4 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(100);
+        assertEquals(4, read.get());
+
+        release.countDown();
+        checkThread.join(5000);
+        assertFalse(checkThread.isAlive());
+        assertEquals(20, read.get());
+        assertEquals(20, checked.get());
+    }
+
+    @Test
+    public void testCheckFailureIsPropagated() {
+        executor = getExecutor(2, 3);
+        List<Integer> observed = new ArrayList<>();
+        try {
+            executor.check(IntStream.range(0, 10).boxed().iterator(), ref -> ref, ids -> Collections.emptyMap(),
+                (content, ref) -> {
+                    if (ref == 4) {
+                        throw new IllegalStateException("Failed to check " + ref);
+                    }
+                    return new SpotCheckObservation<>(refId, ref);
+                },
+                observation -> observed.add(observation.getKey()));
+            fail("Expected the check to fail");
+        }
+        catch (IllegalStateException ex) {
+            assertEquals("Failed to check 4", ex.getMessage());
+        }
+        // Observations preceding the failed check were still handed over, later batches were not checked
+        assertEquals(Arrays.asList(0, 1, 2, 3), observed);
+    }
+
+    @Test
+    public void testLoaderFailureIsPropagated() {
+        executor = getExecutor(2, 3);
+        try {
+            executor.check(IntStream.range(0, 10).boxed().iterator(), ref -> ref,
+                ids -> {
+                    throw new IllegalArgumentException("No content");
+                },
+                (content, ref) -> new SpotCheckObservation<>(refId, ref), observation -> {});
+            fail("Expected the check to fail");
+        }
+        catch (IllegalArgumentException ex) {
+            assertEquals("No content", ex.getMessage());
+        }
+    }
+
+    /** --- Internal Methods --- */
+
+    private static SpotCheckExecutor getExecutor(int threads, int batchSize) {
+        SpotCheckExecutor executor = new SpotCheckExecutor();
+        executor.threads = threads;
+        executor.batchSize = batchSize;
+        executor.init();
+        return executor;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
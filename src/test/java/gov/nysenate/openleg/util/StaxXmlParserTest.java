@@ -0,0 +1,90 @@
+package gov.nysenate.openleg.util;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.w3c.dom.Document;
+
+import javax.xml.stream.XMLStreamException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class StaxXmlParserTest
+{
+    private static final String CALENDAR_XML =
+        "<?xml version='1.0' encoding='UTF-8'?>\n" +
+        "<SENATEDATA>\n" +
+        "<sencalendar no=\"54\" sessyr=\"2015\" year=\"2016\" action=\"replace\">\n" +
+        "  <supplemental id=\"A\">\n" +
+        "    <caldate>20160502</caldate>\n" +
+        "    <sections>\n" +
+        "      <section cd=\"400\">\n" +
+        "        <calnos>\n" +
+        "          <calno no=\"7\"><bill no=\"S1234A\" high=\"true\"/></calno>\n" +
+        "          <calno no=\"9\"><bill no=\"S99\"/><subbill no=\"A100\"/></calno>\n" +
+        "        </calnos>\n" +
+        "      </section>\n" +
+        "      <section cd=\"450\"/>\n" +
+        "    </sections>\n" +
+        "    <notes>Taken up <b>first</b> &amp; <![CDATA[quickly]]></notes>\n" +
+        "  </supplemental>\n" +
+        "</sencalendar>\n" +
+        "</SENATEDATA>";
+
+    private final StaxXmlParser parser = new StaxXmlParser();
+
+    @Test
+    public void testMatchesXPathEvaluation() throws Exception {
+        XmlHelper xmlHelper = new XmlHelper();
+        Document doc = xmlHelper.parse(CALENDAR_XML);
+        XmlElement root = parser.parse(CALENDAR_XML);
+
+        String[] paths = {"SENATEDATA/sencalendar/@no", "SENATEDATA/sencalendar/@missing",
+                          "SENATEDATA/sencalendar/supplemental/caldate/text()",
+                          "SENATEDATA/sencalendar/supplemental/notes/text()",
+                          "SENATEDATA/sencalendar/supplemental/notes",
+                          "SENATEDATA/sencalendar/supplemental/sections/section/calnos/calno/subbill/@no",
+                          "SENATEDATA/sencalendar/supplemental/sections/section/@cd",
+                          "SENATEDATA/sencalendar/supplemental/nothing/text()"};
+        for (String path : paths) {
+            assertEquals(path, xmlHelper.getString(path, doc), root.getString(XmlPath.compile(path)));
+        }
+        assertEquals((int) xmlHelper.getInteger("SENATEDATA/sencalendar/@sessyr", doc),
+                     root.getInteger(XmlPath.compile("SENATEDATA/sencalendar/@sessyr")));
+        assertEquals((int) xmlHelper.getInteger("SENATEDATA/sencalendar/@action", doc),
+                     root.getInteger(XmlPath.compile("SENATEDATA/sencalendar/@action")));
+    }
+
+    @Test
+    public void testElementSelection() throws Exception {
+        XmlElement calendar = parser.parse(CALENDAR_XML).getRequiredElement(XmlPath.compile("SENATEDATA/sencalendar"));
+        List<String> calNos = calendar.getElements(XmlPath.compile("supplemental/sections/section/calnos/calno")).stream()
+            .map(calNo -> calNo.getString(XmlPath.compile("bill/@no")))
+            .collect(Collectors.toList());
+        assertEquals(2, calNos.size());
+        assertEquals("S1234A", calNos.get(0));
+        assertEquals("S99", calNos.get(1));
+        assertEquals(2, calendar.getElements(XmlPath.compile("supplemental/sections/section")).size());
+        assertNull(calendar.getElement(XmlPath.compile("supplemental/missing")));
+        assertEquals("Taken up first & quickly",
+                     calendar.getRequiredElement(XmlPath.compile("supplemental/notes")).getTextContent());
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void testMissingRequiredElement() throws Exception {
+        parser.parse(CALENDAR_XML).getRequiredElement(XmlPath.compile("SENATEDATA/senagenda"));
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void testMalformedXml() throws Exception {
+        parser.parse("<SENATEDATA><sencalendar></SENATEDATA>");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedPath() {
+        XmlPath.compile("SENATEDATA//sencalendar[1]");
+    }
+}
@@ -0,0 +1,52 @@
+package gov.nysenate.openleg.util;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.LinkedList;
+import java.util.concurrent.ForkJoinPool;
+
+import static gov.nysenate.openleg.util.StringDiffer.Operation.*;
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class StringDifferTest
+{
+    private final StringDiffer stringDiffer = new StringDiffer();
+
+    private static String numberedLines(int count, int changedLine) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append("Section ").append(i).append(i == changedLine ? " was amended" : " of the law").append('\n');
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    @Test
+    public void testTokenDiffReportsWholeTokens() {
+        LinkedList<StringDiffer.Diff> diffs =
+            stringDiffer.diff_tokens("the quick fox\njumps\n", "the quiet fox\njumps\n", StringDiffer.TokenMode.WORD);
+        assertEquals(new StringDiffer.Diff(EQUAL, "the "), diffs.get(0));
+        assertEquals(new StringDiffer.Diff(DELETE, "quick "), diffs.get(1));
+        assertEquals(new StringDiffer.Diff(INSERT, "quiet "), diffs.get(2));
+        assertEquals(new StringDiffer.Diff(EQUAL, "fox\njumps\n"), diffs.get(3));
+
+        diffs = stringDiffer.diff_tokens("a\nb\nc", "a\nB\nc", StringDiffer.TokenMode.LINE);
+        assertEquals(new StringDiffer.Diff(DELETE, "b\n"), diffs.get(1));
+        assertEquals(new StringDiffer.Diff(INSERT, "B\n"), diffs.get(2));
+    }
+
+    @Test
+    public void testParallelDiffMatchesInputs() {
+        stringDiffer.Diff_ParallelChunkLines = 10;
+        String text1 = numberedLines(200, 50);
+        String text2 = numberedLines(200, 150).replace("Section 99 ", "Section 99 and 100 ");
+        LinkedList<StringDiffer.Diff> diffs = stringDiffer.diff_parallel(text1, text2, new ForkJoinPool(2));
+        assertEquals(text1, stringDiffer.diff_text1(diffs));
+        assertEquals(text2, stringDiffer.diff_text2(diffs));
+        assertEquals(stringDiffer.diff_levenshtein(stringDiffer.diff_main(text1, text2)),
+                     stringDiffer.diff_levenshtein(diffs));
+    }
+}